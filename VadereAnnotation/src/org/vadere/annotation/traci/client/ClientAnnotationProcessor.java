@@ -22,7 +22,9 @@ import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.MirroredTypeException;
+import javax.tools.Diagnostic;
 import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardLocation;
@@ -66,6 +68,9 @@ public class ClientAnnotationProcessor extends AbstractProcessor {
 				try {
 					writeApiClass(annotatedElement);
 					writePythonBinding(annotatedElement, pythonConstants);
+					if (annotatedElement.getAnnotation(TraCIApi.class).dispatchTable()) {
+						writeDispatchClass(annotatedElement);
+					}
 				} catch (IOException e) {
 					e.printStackTrace();
 				}
@@ -305,6 +310,90 @@ public class ClientAnnotationProcessor extends AbstractProcessor {
 		}
 	}
 
+	/**
+	 * Writes the class <tt>[handler class]Dispatch</tt> into the package of the annotated command
+	 * handler if {@link TraCIApi#dispatchTable()} is set. Its <tt>register</tt> method registers one lambda for each (command, variable) pair of
+	 * the single and multiple handler annotations, which calls the annotated method directly. This
+	 * replaces the lookup of the methods by reflection at runtime.
+	 */
+	protected void writeDispatchClass(Element apiClass) throws IOException {
+		TraCiApiWrapper traCIApi = new TraCiApiWrapper(apiClass);
+		String packageName = processingEnv.getElementUtils().getPackageOf(apiClass).getQualifiedName().toString();
+		String handlerName = apiClass.getSimpleName().toString();
+		String dispatchName = handlerName + "Dispatch";
+		JavaFileObject jFile = processingEnv.getFiler().createSourceFile(packageName + "." + dispatchName, apiClass);
+
+		try (PrintWriter writer = new PrintWriter(jFile.openWriter())){
+			writer.append("package ").append(packageName).append(";").println();
+			writer.println();
+			writer.append("import ").append(traCIApi.cmdEnum).append(";").println();
+			writer.append("import ").append(traCIApi.varEnum).append(";").println();
+			writer.println();
+			writer.append("// Generated source file. DO NOT CHANGE!").println();
+			writer.append("final class ").append(dispatchName).append(" {").println();
+			writer.println();
+			writer.append("\tprivate ").append(dispatchName).append("() { }").println();
+			writer.println();
+			writer.append("\tstatic void register(final ").append(handlerName).append(" handler) {").println();
+
+			for (Element element : apiClass.getEnclosedElements()) {
+				if (element.getKind() != ElementKind.METHOD)
+					continue;
+
+				for (AnnotationMirror anMirror : element.getAnnotationMirrors()) {
+					String anName = anMirror.getAnnotationType().toString();
+					if (anName.equals(traCIApi.singleAnnotation)){
+						writeRegistration(writer, traCIApi, (ExecutableElement) element, anMirror);
+					} else if (anName.equals(traCIApi.multipleAnnotation)){
+						for (AnnotationValue value : anMirror.getElementValues().values()) {
+							for (Object single : (List<?>) value.getValue()) {
+								writeRegistration(writer, traCIApi, (ExecutableElement) element, (AnnotationMirror) ((AnnotationValue) single).getValue());
+							}
+						}
+					}
+				}
+			}
+
+			writer.append("\t}").println();
+			writer.append("}").println();
+		}
+	}
+
+	private void writeRegistration(PrintWriter writer, TraCiApiWrapper traCIApi, ExecutableElement method, AnnotationMirror annotationMirror){
+		String cmdEnum = traCIApi.cmdEnum.substring(traCIApi.cmdEnum.lastIndexOf('.') + 1);
+		String varEnum = traCIApi.varEnum.substring(traCIApi.varEnum.lastIndexOf('.') + 1);
+		String cmd = null;
+		String var = null;
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotationMirror.getElementValues().entrySet()) {
+			String key = entry.getKey().getSimpleName().toString();
+			if (key.equals("cmd")){
+				cmd = entry.getValue().getValue().toString();
+			} else if (key.equals("var")){
+				var = entry.getValue().getValue().toString();
+			}
+		}
+
+		List<? extends VariableElement> parameters = method.getParameters();
+		boolean passVar = parameters.size() == 3
+				&& processingEnv.getTypeUtils().erasure(parameters.get(2).asType()).toString().equals(traCIApi.varEnum);
+		if (method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.STATIC)
+				|| (parameters.size() != 2 && !passVar)){
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"handler methods must be non-private instance methods with the parameters (command, RemoteManager[, " + varEnum + "])", method);
+			return;
+		}
+
+		String cmdType = processingEnv.getTypeUtils().erasure(parameters.get(0).asType()).toString();
+		writer.append("\t\thandler.putHandler(").append(cmdEnum).append(".").append(cmd).append(", ")
+				.append(varEnum).append(".").append(var).append(",").println();
+		writer.append("\t\t\t\t(cmd, remoteManager) -> handler.").append(method.getSimpleName())
+				.append("((").append(cmdType).append(") cmd, remoteManager");
+		if (passVar){
+			writer.append(", ").append(varEnum).append(".").append(var);
+		}
+		writer.append("));").println();
+	}
+
 	protected void writeGET(PrintWriter writer, ApiHandler apiHandler){
 		if (apiHandler.dataTypeStr.isEmpty()){
 			// standard GET command without additional data
@@ -37,4 +37,9 @@ public @interface TraCIApi {
 	int cmdResponseSub();
 	int cmdCtx();
 	int cmdResponseCtx();
+	/**
+	 * If true, a <tt>[handler class]Dispatch</tt> class is generated which registers the annotated
+	 * handler methods. Set it only for command handlers which dispatch through these tables.
+	 */
+	boolean dispatchTable() default false;
 }
@@ -0,0 +1,64 @@
+package org.vadere.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the update of the data processors of the template <tt>synthetic.scenario</tt>
+ * (positions, target ids, overlaps, densities, velocities and evacuation times) after a
+ * simulation step. The simulation step itself is not measured and the {@link SyntheticSimulation}
+ * is restarted after <tt>numberOfSteps</tt> steps such that the processed data does not grow
+ * without bound.
+ */
+@State(Scope.Benchmark)
+@Fork(1) @Warmup(iterations = 3) @Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DataProcessorBenchmark {
+
+	@Param({"50", "100"})
+	public double size;
+
+	@Param({"100", "1000"})
+	public int numberOfPedestrians;
+
+	@Param({"25"})
+	public int numberOfSteps;
+
+	private SyntheticSimulation simulation;
+
+	@Setup(Level.Invocation)
+	public void step() {
+		if (simulation == null || simulation.getStep() >= numberOfSteps) {
+			tearDown();
+			simulation = SyntheticSimulation.create(size, numberOfPedestrians);
+			simulation.startDataProcessing();
+		}
+		simulation.step();
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (simulation != null) {
+			simulation.close();
+			simulation = null;
+		}
+	}
+
+	@Benchmark
+	public void update() {
+		simulation.updateDataProcessing();
+	}
+}
@@ -0,0 +1,109 @@
+package org.vadere.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.AGridEikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFIM;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFMM;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFSM;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverIFIM;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverSFMM;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.simulator.models.potential.solver.timecost.UnitTimeCostFunction;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.FloorDiscretizer;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.math.IDistanceFunction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the computation of a target floor field by the cartesian eikonal solvers on a square
+ * of <tt>size</tt> x <tt>size</tt> meters with a target along the right border and a column of
+ * pillars in the middle (the layout of {@link SyntheticSimulation}).
+ */
+@State(Scope.Thread)
+@Fork(1) @Warmup(iterations = 3) @Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EikonalSolverBenchmark {
+
+	public enum Solver {
+		FMM, SFMM, FIM, IFIM, FSM
+	}
+
+	@Param({"FMM", "SFMM", "FIM", "IFIM", "FSM"})
+	public Solver solver;
+
+	@Param({"50", "200"})
+	public double size;
+
+	@Param({"0.1"})
+	public double resolution;
+
+	private CellGrid cellGrid;
+	private IDistanceFunction distanceFunction;
+	private AGridEikonalSolver eikonalSolver;
+
+	@Setup(Level.Invocation)
+	public void setUp() {
+		VRectangle bounds = new VRectangle(0, 0, size, size);
+		List<VShape> targets = new ArrayList<>();
+		targets.add(new VRectangle(size - 2.0, 1.0, 1.0, size - 2.0));
+		List<VShape> obstacles = new ArrayList<>();
+		int numberOfPillars = Math.max(1, (int)(size / 10.0));
+		for (int i = 1; i <= numberOfPillars; i++) {
+			obstacles.add(new VRectangle(size / 2, i * size / (numberOfPillars + 1) - 0.5, 1.0, 1.0));
+		}
+
+		cellGrid = new CellGrid(bounds.getWidth(), bounds.getHeight(), resolution, new CellState(), bounds.getMinX(), bounds.getMinY());
+		distanceFunction = p -> {
+			VPoint dp = new VPoint(cellGrid.getWidth() / (cellGrid.getNumPointsX() - 1) / 2.0,
+					cellGrid.getHeight() / (cellGrid.getNumPointsY() - 1) / 2.0);
+			double dist = Double.MAX_VALUE;
+			for (VShape targetShape : targets) {
+				// negative distances are possible when point is inside the target
+				dist = Math.min(dist, -targetShape.distance(p.add(dp)));
+			}
+			return dist;
+		};
+
+		for (VShape shape : targets) {
+			FloorDiscretizer.setGridValuesForShape(cellGrid, shape, new CellState(0.0, PathFindingTag.Target));
+		}
+		for (VShape obstacle : obstacles) {
+			FloorDiscretizer.setGridValuesForShape(cellGrid, obstacle, new CellState(Double.MAX_VALUE, PathFindingTag.Obstacle));
+		}
+
+		ITimeCostFunction timeCostFunction = new UnitTimeCostFunction();
+		switch (solver) {
+			case FMM: eikonalSolver = new EikonalSolverFMM(cellGrid, distanceFunction, true, timeCostFunction, 0.1, 1.0); break;
+			case SFMM: eikonalSolver = new EikonalSolverSFMM(cellGrid, distanceFunction, true, timeCostFunction, 0.1, 1.0); break;
+			case FIM: eikonalSolver = new EikonalSolverFIM(cellGrid, distanceFunction, true, timeCostFunction, 0.1, 1.0); break;
+			case IFIM: eikonalSolver = new EikonalSolverIFIM(cellGrid, distanceFunction, timeCostFunction, 0.1, 1.0); break;
+			case FSM: eikonalSolver = new EikonalSolverFSM(cellGrid, distanceFunction, true, timeCostFunction, 0.1, 1.0); break;
+			default: throw new IllegalArgumentException("unknown solver " + solver);
+		}
+	}
+
+	@Benchmark
+	public double solve() {
+		eikonalSolver.solve();
+		return cellGrid.getValue(0, 0).potential;
+	}
+}
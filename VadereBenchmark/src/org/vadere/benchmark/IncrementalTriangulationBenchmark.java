@@ -0,0 +1,64 @@
+package org.vadere.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.meshing.mesh.gen.AFace;
+import org.vadere.meshing.mesh.gen.AHalfEdge;
+import org.vadere.meshing.mesh.gen.AVertex;
+import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
+import org.vadere.meshing.mesh.inter.IPointLocator;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the incremental construction of a Delaunay triangulation of uniformly distributed
+ * points, i.e. the point location and the legalization of each insertion, for each
+ * {@link IPointLocator.Type}.
+ */
+@State(Scope.Thread)
+@Fork(1) @Warmup(iterations = 3) @Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IncrementalTriangulationBenchmark {
+
+	@Param({"DELAUNAY_TREE", "DELAUNAY_HIERARCHY", "JUMP_AND_WALK"})
+	public IPointLocator.Type pointLocator;
+
+	@Param({"10000", "100000"})
+	public int numberOfPoints;
+
+	private VRectangle bound;
+	private List<VPoint> points;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(0);
+		double size = Math.sqrt(numberOfPoints);
+		bound = new VRectangle(0, 0, size, size);
+		points = new ArrayList<>(numberOfPoints);
+		for (int i = 0; i < numberOfPoints; i++) {
+			points.add(new VPoint(random.nextDouble() * size, random.nextDouble() * size));
+		}
+	}
+
+	@Benchmark
+	public int insert() {
+		IIncrementalTriangulation<AVertex, AHalfEdge, AFace> triangulation = IIncrementalTriangulation.createATriangulation(pointLocator, bound);
+		triangulation.insert(points);
+		triangulation.finish();
+		return triangulation.getMesh().getNumberOfVertices();
+	}
+}
@@ -0,0 +1,97 @@
+package org.vadere.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.vadere.util.geometry.LinkedCellsGrid;
+import org.vadere.util.geometry.PointPositioned;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the radius queries {@link LinkedCellsGrid#getObjects(VPoint, double)} and
+ * {@link LinkedCellsGrid#forEachObject(VPoint, double, java.util.function.Consumer)} of a grid of
+ * uniformly distributed points, with and without the packed cells.
+ */
+@State(Scope.Benchmark)
+@Fork(1) @Warmup(iterations = 3) @Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LinkedCellsGridBenchmark {
+
+	private static final int NUMBER_OF_QUERIES = 1024;
+
+	@Param({"50", "200"})
+	public double size;
+
+	@Param({"1000", "10000"})
+	public int numberOfObjects;
+
+	@Param({"1.0", "3.0"})
+	public double radius;
+
+	@Param({"false", "true"})
+	public boolean packed;
+
+	private LinkedCellsGrid<Position> grid;
+	private VPoint[] queries;
+	private int query;
+
+	private static class Position implements PointPositioned {
+		private final VPoint position;
+
+		private Position(final VPoint position) {
+			this.position = position;
+		}
+
+		@Override
+		public VPoint getPosition() {
+			return position;
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(0);
+		grid = new LinkedCellsGrid<>(new VRectangle(0, 0, size, size), 1.0);
+		for (int i = 0; i < numberOfObjects; i++) {
+			grid.addObject(new Position(new VPoint(random.nextDouble() * size, random.nextDouble() * size)));
+		}
+		if (packed) {
+			grid.rebuildPackedCells();
+		}
+
+		queries = new VPoint[NUMBER_OF_QUERIES];
+		for (int i = 0; i < queries.length; i++) {
+			queries[i] = new VPoint(random.nextDouble() * size, random.nextDouble() * size);
+		}
+		query = 0;
+	}
+
+	private VPoint nextQuery() {
+		query = (query + 1) % NUMBER_OF_QUERIES;
+		return queries[query];
+	}
+
+	@Benchmark
+	public List<Position> getObjects() {
+		return grid.getObjects(nextQuery(), radius);
+	}
+
+	@Benchmark
+	public void forEachObject(final Blackhole blackhole) {
+		grid.forEachObject(nextQuery(), radius, blackhole::consume);
+	}
+}
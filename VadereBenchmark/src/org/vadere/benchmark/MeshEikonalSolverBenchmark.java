@@ -0,0 +1,85 @@
+package org.vadere.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.meshing.mesh.gen.AFace;
+import org.vadere.meshing.mesh.gen.AHalfEdge;
+import org.vadere.meshing.mesh.gen.AVertex;
+import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
+import org.vadere.meshing.mesh.inter.IPointLocator;
+import org.vadere.meshing.mesh.triangulation.triangulator.gen.GenUniformTriangulator;
+import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFIM;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFIMLockFree;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFMM;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverIFIM;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverIFIMLockFree;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.simulator.models.potential.solver.timecost.UnitTimeCostFunction;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the computation of a target floor field by the mesh based eikonal solvers on a uniform
+ * triangulation of a square of <tt>size</tt> x <tt>size</tt> meters with a target along the right
+ * border. The triangulation is generated for each invocation since the solvers store their state
+ * in the mesh.
+ */
+@State(Scope.Thread)
+@Fork(1) @Warmup(iterations = 3) @Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MeshEikonalSolverBenchmark {
+
+	public enum Solver {
+		FMM, FIM, IFIM, FIM_LOCK_FREE, IFIM_LOCK_FREE
+	}
+
+	@Param({"FMM", "FIM", "IFIM", "FIM_LOCK_FREE", "IFIM_LOCK_FREE"})
+	public Solver solver;
+
+	@Param({"50", "100"})
+	public double size;
+
+	@Param({"0.5"})
+	public double edgeLength;
+
+	private EikonalSolver eikonalSolver;
+
+	@Setup(Level.Invocation)
+	public void setUp() {
+		VRectangle bound = new VRectangle(0, 0, size, size);
+		IIncrementalTriangulation<AVertex, AHalfEdge, AFace> triangulation = new GenUniformTriangulator<>(
+				bound, edgeLength, IIncrementalTriangulation.createATriangulation(IPointLocator.Type.JUMP_AND_WALK, bound)).generate();
+		Collection<VShape> targetShapes = Collections.singletonList(new VRectangle(size - 2.0, 1.0, 1.0, size - 2.0));
+
+		ITimeCostFunction timeCostFunction = new UnitTimeCostFunction();
+		switch (solver) {
+			case FMM: eikonalSolver = new MeshEikonalSolverFMM<>("", targetShapes, timeCostFunction, triangulation); break;
+			case FIM: eikonalSolver = new MeshEikonalSolverFIM<>("", targetShapes, timeCostFunction, triangulation); break;
+			case IFIM: eikonalSolver = new MeshEikonalSolverIFIM<>("", targetShapes, timeCostFunction, triangulation); break;
+			case FIM_LOCK_FREE: eikonalSolver = new MeshEikonalSolverFIMLockFree<>("", targetShapes, timeCostFunction, triangulation); break;
+			case IFIM_LOCK_FREE: eikonalSolver = new MeshEikonalSolverIFIMLockFree<>("", targetShapes, timeCostFunction, triangulation); break;
+			default: throw new IllegalArgumentException("unknown solver " + solver);
+		}
+	}
+
+	@Benchmark
+	public double solve() {
+		eikonalSolver.solve();
+		return eikonalSolver.getPotential(0.5, 0.5);
+	}
+}
@@ -0,0 +1,86 @@
+package org.vadere.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.vadere.simulator.models.Model;
+import org.vadere.simulator.models.osm.OptimalStepsModel;
+import org.vadere.simulator.models.osm.PedestrianOSM;
+import org.vadere.simulator.models.osm.optimization.StepCircleOptimizer;
+import org.vadere.simulator.models.potential.fields.IPotentialFieldTargetGrid;
+import org.vadere.state.attributes.models.AttributesOSM;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.types.OptimizationType;
+import org.vadere.util.geometry.shapes.VCircle;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the search of the next position of all pedestrians of a {@link SyntheticSimulation}
+ * by each {@link StepCircleOptimizer}. The pedestrians do not move, i.e. each invocation
+ * solves the same optimization problems.
+ */
+@State(Scope.Benchmark)
+@Fork(1) @Warmup(iterations = 3) @Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StepCircleOptimizerBenchmark {
+
+	// PATTERN_SEARCH does not terminate for the movement threshold 0 of the template and GRADIENT
+	// requires the gradient of the obstacle potential which the compact softshell potential does not provide
+	@Param({"DISCRETE", "NELDER_MEAD", "NELDER_MEAD_CIRCLE", "POWELL", "BRENT", "PSO", "EVOLUTION_STRATEGY"})
+	public OptimizationType optimizationType;
+
+	@Param({"50"})
+	public double size;
+
+	@Param({"100", "1000"})
+	public int numberOfPedestrians;
+
+	private SyntheticSimulation simulation;
+	private StepCircleOptimizer optimizer;
+	private PedestrianOSM[] pedestrians;
+
+	@Setup
+	public void setUp() {
+		simulation = SyntheticSimulation.create(size, numberOfPedestrians,
+				builder -> builder.setAttributesField("optimizationType", optimizationType, AttributesOSM.class));
+
+		// one step such that the pedestrians know their neighbours and the target potential is defined
+		simulation.step();
+
+		OptimalStepsModel model = (OptimalStepsModel) simulation.getMainModel();
+		AttributesOSM attributesOSM = Model.findAttributes(simulation.getScenarioStore().getAttributesList(), AttributesOSM.class);
+		optimizer = StepCircleOptimizer.create(attributesOSM, simulation.getRandom(), simulation.getTopography(),
+				(IPotentialFieldTargetGrid) model.getPotentialFieldTarget());
+
+		List<Pedestrian> list = simulation.getPedestrians();
+		pedestrians = new PedestrianOSM[list.size()];
+		for (int i = 0; i < pedestrians.length; i++) {
+			pedestrians[i] = (PedestrianOSM) list.get(i);
+			pedestrians[i].refreshRelevantPedestrians();
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		simulation.close();
+	}
+
+	@Benchmark
+	public void getNextPosition(final Blackhole blackhole) {
+		for (PedestrianOSM pedestrian : pedestrians) {
+			blackhole.consume(optimizer.getNextPosition(pedestrian, new VCircle(pedestrian.getPosition(), pedestrian.getDesiredStepSize())));
+		}
+	}
+}
@@ -0,0 +1,264 @@
+package org.vadere.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.control.scenarioelements.TopographyController;
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.entrypoints.ScenarioBuilder;
+import org.vadere.simulator.models.MainModel;
+import org.vadere.simulator.models.MainModelBuilder;
+import org.vadere.simulator.models.Model;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.projects.ScenarioStore;
+import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
+import org.vadere.simulator.projects.io.JsonConverter;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.attributes.scenario.AttributesObstacle;
+import org.vadere.state.attributes.scenario.AttributesTarget;
+import org.vadere.state.attributes.scenario.AttributesTopography;
+import org.vadere.state.psychology.perception.types.ElapsedTime;
+import org.vadere.state.scenario.Obstacle;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * A synthetic simulation of configurable size which can be advanced step by step such that
+ * benchmarks can measure single parts of the simulation loop. The scenario is a square room of
+ * <tt>size</tt> x <tt>size</tt> meters with a (non-absorbing) target along the right wall, a column of
+ * pillars in the middle and <tt>numberOfPedestrians</tt> pedestrians placed on a jittered grid
+ * in the left half of the room. All other attributes are taken from the template
+ * <tt>synthetic.scenario</tt> and can be changed by the configuration passed to {@link #create}.
+ *
+ * In contrast to {@link org.vadere.simulator.control.simulation.Simulation} there are no sources,
+ * target controllers or psychology layer, i.e. the number of pedestrians is constant.
+ */
+public class SyntheticSimulation {
+
+	public static final String TEMPLATE = "/org/vadere/benchmark/synthetic.scenario";
+	public static final int TARGET_ID = 1;
+
+	private static final double PEDESTRIAN_DISTANCE = 0.5;
+	private static final double PILLAR_SIZE = 1.0;
+	private static final double PILLAR_DISTANCE = 10.0;
+
+	private final Scenario scenario;
+	private final ScenarioStore scenarioStore;
+	private final Topography topography;
+	private final MainModel mainModel;
+	private final TopographyController topographyController;
+	private final Random random;
+	private final double simTimeStepLength;
+
+	private ProcessorManager processorManager;
+	private double simTimeInSec;
+	private int step;
+
+	private SyntheticSimulation(@NotNull final Scenario scenario) throws ClassNotFoundException, InstantiationException, IllegalAccessException {
+		this.scenario = scenario;
+		this.scenarioStore = scenario.getScenarioStore();
+		this.topography = scenarioStore.getTopography();
+		this.simTimeStepLength = scenarioStore.getAttributesSimulation().getSimTimeStepLength();
+		this.simTimeInSec = 0;
+		this.step = 0;
+
+		MainModelBuilder modelBuilder = new MainModelBuilder(scenarioStore, null, null);
+		modelBuilder.createModelAndRandom();
+		Domain domain = modelBuilder.getDomain();
+		this.mainModel = modelBuilder.getModel();
+		this.random = modelBuilder.getRandom();
+		this.topographyController = new TopographyController(domain, mainModel, random);
+	}
+
+	/**
+	 * Creates and initializes a synthetic simulation, i.e. the floor fields are computed and the
+	 * pedestrians are placed.
+	 *
+	 * @param size                the width and height of the room in meters
+	 * @param numberOfPedestrians the number of pedestrians
+	 * @param configuration       changes the attributes of the template, e.g. the update scheme of the OSM
+	 *
+	 * @return an initialized simulation at time 0
+	 */
+	public static SyntheticSimulation create(
+			final double size,
+			final int numberOfPedestrians,
+			@NotNull final Consumer<ScenarioBuilder> configuration) {
+		try {
+			ScenarioBuilder builder = new ScenarioBuilder(loadTemplate());
+			builder.setName(String.format("synthetic_%.0fx%.0f_%d", size, size, numberOfPedestrians));
+			builder.setAttributesField("bounds", new VRectangle(0, 0, size, size), AttributesTopography.class);
+			configuration.accept(builder);
+			Scenario scenario = builder.build();
+			populate(scenario.getTopography(), size, numberOfPedestrians);
+
+			SyntheticSimulation simulation = new SyntheticSimulation(scenario);
+			simulation.preLoop();
+			return simulation;
+		} catch (IOException | ClassNotFoundException | InstantiationException | IllegalAccessException e) {
+			throw new IllegalStateException("cannot create the synthetic scenario", e);
+		}
+	}
+
+	public static SyntheticSimulation create(final double size, final int numberOfPedestrians) {
+		return create(size, numberOfPedestrians, builder -> {});
+	}
+
+	private static Scenario loadTemplate() throws IOException {
+		try (InputStream inputStream = SyntheticSimulation.class.getResourceAsStream(TEMPLATE)) {
+			if(inputStream == null) {
+				throw new IOException("missing resource " + TEMPLATE);
+			}
+			return JsonConverter.deserializeScenarioRunManager(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+		}
+	}
+
+	private static void populate(@NotNull final Topography topography, final double size, final int numberOfPedestrians) {
+		VRectangle bound = new VRectangle(topography.getBounds());
+		double border = topography.getBoundingBoxWidth() + PEDESTRIAN_DISTANCE;
+
+		topography.addTarget(new Target(new AttributesTarget(
+				new VRectangle(bound.getMaxX() - border - 1.0, bound.getMinY() + border, 1.0, bound.getHeight() - 2 * border), TARGET_ID, false)));
+
+		int numberOfPillars = Math.max(1, (int)(size / PILLAR_DISTANCE));
+		double pillarDistance = bound.getHeight() / (numberOfPillars + 1);
+		for(int i = 1; i <= numberOfPillars; i++) {
+			topography.addObstacle(new Obstacle(new AttributesObstacle(TARGET_ID + i,
+					new VRectangle(bound.getCenterX(), bound.getMinY() + i * pillarDistance - PILLAR_SIZE / 2, PILLAR_SIZE, PILLAR_SIZE))));
+		}
+
+		// pedestrians are placed in the left half of the room, the jitter keeps them PEDESTRIAN_DISTANCE apart
+		double width = bound.getWidth() / 2 - 2 * border;
+		double height = bound.getHeight() - 2 * border;
+		int columns = (int)Math.ceil(Math.sqrt(numberOfPedestrians * width / height));
+		int rows = (int)Math.ceil((double)numberOfPedestrians / columns);
+		double dx = width / columns;
+		double dy = height / rows;
+		double jitter = Math.min(dx, dy) - PEDESTRIAN_DISTANCE;
+		if(jitter < 0) {
+			throw new IllegalArgumentException(String.format("%d pedestrians do not fit into a room of size %.1f", numberOfPedestrians, size));
+		}
+
+		Random random = new Random(0);
+		AttributesAgent attributesAgent = topography.getAttributesPedestrian();
+		int firstId = TARGET_ID + numberOfPillars + 1;
+		for(int i = 0; i < numberOfPedestrians; i++) {
+			double x = bound.getMinX() + border + (i % columns + 0.5) * dx + (random.nextDouble() - 0.5) * jitter;
+			double y = bound.getMinY() + border + (i / columns + 0.5) * dy + (random.nextDouble() - 0.5) * jitter;
+			Pedestrian pedestrian = new Pedestrian(new AttributesAgent(attributesAgent, firstId + i), random);
+			pedestrian.setPosition(new VPoint(x, y));
+			LinkedList<Integer> targets = new LinkedList<>();
+			targets.add(TARGET_ID);
+			pedestrian.setTargets(targets);
+			topography.addInitialElement(pedestrian);
+		}
+	}
+
+	private void preLoop() {
+		topographyController.preLoop(simTimeInSec, scenarioStore.getAttributesList());
+		for (Model model : mainModel.getSubmodels()) {
+			model.preLoop(simTimeInSec);
+		}
+		updateStimuli();
+	}
+
+	/**
+	 * Advances the simulation by one time step, i.e. updates all models like the locomotion layer
+	 * of {@link org.vadere.simulator.control.simulation.Simulation}.
+	 */
+	public void step() {
+		simTimeInSec += simTimeStepLength;
+		step++;
+		updateStimuli();
+		for (Model model : mainModel.getSubmodels()) {
+			model.update(simTimeInSec);
+			if (topography.isRecomputeCells()) {
+				topographyController.update(simTimeInSec);
+			}
+		}
+	}
+
+	/**
+	 * Creates the data processors of the template and calls their pre-loop. Output files are initialized
+	 * but never written.
+	 */
+	public ProcessorManager startDataProcessing() {
+		processorManager = scenario.getDataProcessingJsonManager().createProcessorManager(mainModel, topography);
+		processorManager.initOutputFiles();
+		processorManager.preLoop(getSimulationState());
+		return processorManager;
+	}
+
+	/**
+	 * Updates all data processors by the current state of the simulation.
+	 */
+	public void updateDataProcessing() {
+		processorManager.update(getSimulationState());
+	}
+
+	/**
+	 * Finishes the models, e.g. shuts down the thread pools of parallel update schemes.
+	 */
+	public void close() {
+		for (Model model : mainModel.getSubmodels()) {
+			model.postLoop(simTimeInSec);
+		}
+		topographyController.postLoop(simTimeInSec);
+	}
+
+	private void updateStimuli() {
+		ElapsedTime elapsedTime = new ElapsedTime(simTimeInSec);
+		for (Pedestrian pedestrian : topography.getElements(Pedestrian.class)) {
+			pedestrian.setMostImportantStimulus(elapsedTime);
+		}
+	}
+
+	private SimulationState getSimulationState() {
+		return new BenchmarkSimulationState(scenario.getName(), topography, scenarioStore, simTimeInSec, step, mainModel);
+	}
+
+	public ScenarioStore getScenarioStore() {
+		return scenarioStore;
+	}
+
+	public Topography getTopography() {
+		return topography;
+	}
+
+	public MainModel getMainModel() {
+		return mainModel;
+	}
+
+	public Random getRandom() {
+		return random;
+	}
+
+	public List<Pedestrian> getPedestrians() {
+		return new LinkedList<>(topography.getElements(Pedestrian.class));
+	}
+
+	public double getSimTimeInSec() {
+		return simTimeInSec;
+	}
+
+	public int getStep() {
+		return step;
+	}
+
+	private static class BenchmarkSimulationState extends SimulationState {
+		private BenchmarkSimulationState(final String name, final Topography topography, final ScenarioStore scenarioStore,
+		                                 final double simTimeInSec, final int step, final MainModel mainModel) {
+			super(name, topography, scenarioStore, simTimeInSec, step, mainModel, null);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package org.vadere.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.simulator.models.osm.updateScheme.UpdateSchemeOSM;
+import org.vadere.state.attributes.models.AttributesOSM;
+import org.vadere.state.types.UpdateType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one simulation step of the optimal steps model for each {@link UpdateSchemeOSM}. The
+ * {@link SyntheticSimulation} is restarted (outside of the measurement) after <tt>numberOfSteps</tt>
+ * steps such that the measured steps are taken from the first seconds of the evacuation only.
+ */
+@State(Scope.Benchmark)
+@Fork(1) @Warmup(iterations = 3) @Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UpdateSchemeOSMBenchmark {
+
+	@Param({"SEQUENTIAL", "PARALLEL", "EVENT_DRIVEN", "SHUFFLE", "EVENT_DRIVEN_PARALLEL"})
+	public UpdateType updateType;
+
+	@Param({"50", "100"})
+	public double size;
+
+	@Param({"100", "1000"})
+	public int numberOfPedestrians;
+
+	@Param({"25"})
+	public int numberOfSteps;
+
+	private SyntheticSimulation simulation;
+
+	@Setup(Level.Invocation)
+	public void setUp() {
+		if (simulation == null || simulation.getStep() >= numberOfSteps) {
+			tearDown();
+			simulation = SyntheticSimulation.create(size, numberOfPedestrians,
+					builder -> builder.setAttributesField("updateType", updateType, AttributesOSM.class));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (simulation != null) {
+			simulation.close();
+			simulation = null;
+		}
+	}
+
+	@Benchmark
+	public double step() {
+		simulation.step();
+		return simulation.getSimTimeInSec();
+	}
+}
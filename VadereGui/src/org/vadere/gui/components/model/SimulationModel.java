@@ -12,6 +12,8 @@ import org.vadere.meshing.mesh.gen.PMesh;
 import org.vadere.meshing.mesh.inter.IMesh;
 import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.TargetChanger;
 import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VRectangle;
 
@@ -34,6 +36,18 @@ public abstract class SimulationModel<T extends DefaultSimulationConfig> extends
 
 	public abstract Collection<Pedestrian> getPedestrians();
 
+	public int getAgentCount() {
+		return getAgents().size();
+	}
+
+	public Collection<Target> getTargets() {
+		return getTopography().getTargets();
+	}
+
+	public Collection<TargetChanger> getTargetChangers() {
+		return getTopography().getTargetChangers();
+	}
+
 	public abstract int getTopographyId();
 
 	public abstract double getSimTimeInSec();
@@ -83,10 +97,10 @@ public abstract class SimulationModel<T extends DefaultSimulationConfig> extends
 
             VPoint gridPointCoord = potentialField.pointToCoord(gridPoint);
 
-            double z1 = potentialField.getValue(gridPoint).potential;
-            double z2 = potentialField.getValue(new Point(gridPoint.x + incX, gridPoint.y)).potential;
-            double z3 = potentialField.getValue(new Point(gridPoint.x + incX, gridPoint.y + incY)).potential;
-            double z4 = potentialField.getValue(new Point(gridPoint.x, gridPoint.y + incY)).potential;
+            double z1 = potentialField.getPotential(gridPoint);
+            double z2 = potentialField.getPotential(new Point(gridPoint.x + incX, gridPoint.y));
+            double z3 = potentialField.getPotential(new Point(gridPoint.x + incX, gridPoint.y + incY));
+            double z4 = potentialField.getPotential(new Point(gridPoint.x, gridPoint.y + incY));
 
             double t = (pos.x - gridPointCoord.x) / potentialField.getResolution();
             double u = (pos.y - gridPointCoord.y) / potentialField.getResolution();
@@ -100,11 +114,23 @@ public abstract class SimulationModel<T extends DefaultSimulationConfig> extends
     public abstract boolean isAlive(int pedId);
 
 	public Color getGroupColor(@NotNull final  Pedestrian ped) {
-		if (ped.getGroupIds().isEmpty() || (!ped.getGroupSizes().isEmpty() && ped.getGroupSizes().getFirst() == 1)) {
+		int groupId = ped.getGroupIds().isEmpty() ? -1 : ped.getGroupIds().getFirst();
+		int groupSize = ped.getGroupSizes().isEmpty() ? -1 : ped.getGroupSizes().getFirst();
+		return getGroupColor(groupId, groupSize);
+	}
+
+	/**
+	 * Returns the color of a group.
+	 *
+	 * @param groupId   the id of the group or <tt>-1</tt> if the pedestrian is not part of a group
+	 * @param groupSize the size of the group or <tt>-1</tt> if it is unknown
+	 * @return the color of the group
+	 */
+	public Color getGroupColor(final int groupId, final int groupSize) {
+		if (groupId == -1 || groupSize == 1) {
 			return config.getPedestrianDefaultColor();
 		}
 
-		int groupId = ped.getGroupIds().getFirst();
 		Color c = colorMap.get(groupId);
 		if (c == null) {
 			c = new Color(Color.HSBtoRGB(random.nextFloat(), 1f, 0.75f));
@@ -500,7 +500,7 @@ public abstract class DefaultRenderer {
 		 */
 		for (coord.y = 0; coord.y < potentialField.getHeight(); coord.y += pixToW) {
 			for (coord.x = 0; coord.x < potentialField.getWidth(); coord.x += pixToW) {
-				potOld = potentialField.getValue(potentialField.getNearestPoint(coord.x, coord.y)).potential;
+				potOld = potentialField.getPotential(potentialField.getNearestPoint(coord.x, coord.y));
 
 				if ((potOld > maxPotential) && (potOld != Double.MAX_VALUE)) {
 					maxPotential = potOld;
@@ -531,9 +531,9 @@ public abstract class DefaultRenderer {
 					 * Retrieve potentials of the current pixel as well as its
 					 * upper and right neighbor pixels.
 					 */
-					potential[0] = potentialField.getValue(p.x, p.y).potential;
-					potential[1] = potentialField.getValue(p.x + 1, p.y).potential;
-					potential[2] = potentialField.getValue(p.x, p.y + 1).potential;
+					potential[0] = potentialField.getPotential(p.x, p.y);
+					potential[1] = potentialField.getPotential(p.x + 1, p.y);
+					potential[2] = potentialField.getPotential(p.x, p.y + 1);
 
 					/* Map potential values by a sigmoidal transfer function. */
 					for (int i = 0; i < 3; ++i) {
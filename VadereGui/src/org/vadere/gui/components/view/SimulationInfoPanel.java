@@ -38,6 +38,6 @@ public class SimulationInfoPanel extends InfoPanel {
 	public void update(Observable o, Object arg) {
 		super.update(o, arg);
 		lblSimTimeValue.setText(String.format("%3.2f | ", simModel.getSimTimeInSec()));
-		lblNumberOfPedestriansValue.setText(String.format("%d", simModel.getAgents().size()));
+		lblNumberOfPedestriansValue.setText(String.format("%d", simModel.getAgentCount()));
 	}
 }
@@ -92,11 +92,11 @@ public abstract class SimulationRenderer extends DefaultRenderer {
         }
 
 		if (model.config.isShowTargets()) {
-			renderScenarioElement(model.getTopography().getTargets(), graphics, model.config.getTargetColor());
+			renderScenarioElement(model.getTargets(), graphics, model.config.getTargetColor());
 		}
 
         if (model.config.isShowTargetChangers()) {
-            renderScenarioElement(model.getTopography().getTargetChangers(), graphics, model.config.getTargetChangerColor());
+            renderScenarioElement(model.getTargetChangers(), graphics, model.config.getTargetChangerColor());
         }
 
         if (model.config.isShowAbsorbingAreas()) {
@@ -137,17 +137,21 @@ public abstract class SimulationRenderer extends DefaultRenderer {
     }
 
     protected void renderTrajectory(final Graphics2D g, final Stream<VPoint> points, final Pedestrian pedestrain) {
+        VPoint endPos = model.config.isInterpolatePositions() ? pedestrain.getInterpolatedFootStepPosition(model.getSimTimeInSec()) : pedestrain.getPosition();
+        renderTrajectory(g, points, endPos, model.isElementSelected() && model.getSelectedElement().equals(pedestrain));
+    }
+
+    protected void renderTrajectory(final Graphics2D g, final Stream<VPoint> points, final VPoint endPos, final boolean selected) {
         Color color = g.getColor();
         Stroke stroke = g.getStroke();
 
-        if (model.isElementSelected() && model.getSelectedElement().equals(pedestrain)) {
+        if (selected) {
             g.setColor(Color.MAGENTA);
             g.setStroke(new BasicStroke(getLineWidth() / 2.0f));
         } else {
             g.setStroke(new BasicStroke(getLineWidth() / 4.0f));
         }
 
-        VPoint endPos = model.config.isInterpolatePositions() ? pedestrain.getInterpolatedFootStepPosition(model.getSimTimeInSec()) : pedestrain.getPosition();
         Path2D.Double path = new Path2D.Double();
         path.moveTo(
 		        endPos.getX(), endPos.getY());
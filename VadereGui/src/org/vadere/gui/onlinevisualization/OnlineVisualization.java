@@ -2,6 +2,7 @@ package org.vadere.gui.onlinevisualization;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.vadere.gui.onlinevisualization.model.AgentSnapshot;
 import org.vadere.gui.onlinevisualization.model.OnlineVisualizationModel;
 import org.vadere.gui.onlinevisualization.view.MainPanel;
 import org.vadere.gui.onlinevisualization.view.OnlineVisualisationWindow;
@@ -10,19 +11,29 @@ import org.vadere.simulator.control.simulation.PassiveCallback;
 import org.vadere.simulator.models.potential.fields.IPotentialField;
 import org.vadere.simulator.models.potential.fields.IPotentialFieldTarget;
 import org.vadere.simulator.projects.Domain;
+import org.vadere.state.attributes.scenario.AttributesTarget;
 import org.vadere.state.scenario.Agent;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.TargetChanger;
 import org.vadere.state.scenario.Topography;
 import org.vadere.util.geometry.shapes.VRectangle;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class OnlineVisualization implements PassiveCallback {
 
 	/**
 	 * Holds a snapshot of the observation area of a frame. This class is used
-	 * to provide simulation data for visualization to the draw thread. To avoid
-	 * threading issues, the class holds a partial copy of the original
-	 * scenario.
+	 * to provide simulation data for visualization to the draw thread. The
+	 * domain is not copied, the draw thread only uses its static parts. The
+	 * targets and target changers, which are changed by the simulation, are
+	 * copies. The pedestrians are provided by the {@link AgentSnapshot}s of
+	 * the model.
 	 */
 	public class ObservationAreaSnapshotData {
 		public final double simTimeInSec;
@@ -31,16 +42,22 @@ public class OnlineVisualization implements PassiveCallback {
 		public final Agent selectedAgent;
 		public final IPotentialField potentialField;
 		public final Function<Agent, IMesh<?, ?, ?>> discretizations;
+		public final List<Target> targets;
+		public final List<TargetChanger> targetChangers;
 
 		public ObservationAreaSnapshotData(
 				final double simTimeInSec,
 				@NotNull final Domain scenario,
+				@NotNull final List<Target> targets,
+				@NotNull final List<TargetChanger> targetChangers,
 				@Nullable final IPotentialField potentialFieldTarget,
 				@Nullable final IPotentialField potentialField,
 				@Nullable final Agent selectedAgent,
 				@Nullable final Function<Agent, IMesh<?, ?, ?>> discretizations) {
 			this.simTimeInSec = simTimeInSec;
 			this.domain = scenario;
+			this.targets = targets;
+			this.targetChangers = targetChangers;
 			this.potentialFieldTarget = potentialFieldTarget;
 			this.potentialField = potentialField;
 			this.selectedAgent = selectedAgent;
@@ -53,6 +70,16 @@ public class OnlineVisualization implements PassiveCallback {
 	private OnlineVisualizationModel model;
 	private Domain domain;
 
+	/**
+	 * The targets and target changers of the topography at the last frame and their copies for the
+	 * draw thread. The simulation adds and removes targets and the shapes of pedestrian targets follow
+	 * the pedestrians, therefore the draw thread must not read the lists of the topography.
+	 */
+	private List<Target> targets = Collections.emptyList();
+	private List<Target> targetCopies = Collections.emptyList();
+	private List<TargetChanger> targetChangers = Collections.emptyList();
+	private List<TargetChanger> targetChangerCopies = Collections.emptyList();
+
 	/**
 	 * Target potential.
 	 */
@@ -109,6 +136,10 @@ public class OnlineVisualization implements PassiveCallback {
 	public void postLoop(double simTimeInSec) {
 		onlineVisualisationPanel.setVisible(false);
 		model.reset();
+		targets = Collections.emptyList();
+		targetCopies = Collections.emptyList();
+		targetChangers = Collections.emptyList();
+		targetChangerCopies = Collections.emptyList();
 
 		// [issue 280] deactivate mouse listeners because model is not valid anymore
 		window.removeListeners();
@@ -125,31 +156,65 @@ public class OnlineVisualization implements PassiveCallback {
 	}
 
 	/**
-	 * Pushes (by copy) required data from current simulation into data queues
+	 * Pushes required data from current simulation into data exchange structures
 	 * for being displayed by draw thread (thread-safe). These may be for
-	 * example the physical world representation and potential field of
-	 * perception.
+	 * example the state of the pedestrians and potential field of perception.
+	 * Only the dynamic state of the pedestrians is copied into a double buffer,
+	 * therefore the simulation neither copies the topography nor waits for the
+	 * draw thread.
 	 */
 	private void pushDrawData(double simTimeInSec) {
+		/* Push new snapshot of the observation area to the draw thread. */
+		IPotentialField pft = (model.config.isShowTargetPotentialField() && potentialFieldTarget != null) ? potentialFieldTarget.getSolution() : null;
+		Function<Agent, IMesh<?, ?, ?>> discretizations = (model.config.isShowTargetPotentielFieldMesh() && potentialFieldTarget != null) ? potentialFieldTarget.getDiscretization() : null;
+		IPotentialField pedPotentialField = null;
+		Agent selectedAgent = null;
+
+		// the selected element is created from a snapshot, use the pedestrian of the simulation instead
+		if(model.getSelectedElement() instanceof Pedestrian){
+			selectedAgent = domain.getTopography().getElement(Pedestrian.class, model.getSelectedElement().getId());
+		}
 
-		synchronized (model.getDataSynchronizer()) {
-			/* Push new snapshot of the observation area to the draw thread. */
-			IPotentialField pft = (model.config.isShowTargetPotentialField() && potentialFieldTarget != null) ? potentialFieldTarget.getSolution() : null;
-			Function<Agent, IMesh<?, ?, ?>> discretizations = (model.config.isShowTargetPotentielFieldMesh() && potentialFieldTarget != null) ? potentialFieldTarget.getDiscretization() : null;
-			IPotentialField pedPotentialField = null;
-			Agent selectedAgent = null;
+		if(model.config.isShowPotentialField() && selectedAgent != null && potentialField != null) {
+			pedPotentialField = IPotentialField.copyAgentField(potentialField, selectedAgent, new VRectangle(model.getTopographyBound()), 0.1);
+		}
 
-			if(model.getSelectedElement() instanceof Agent){
-				selectedAgent = (Agent)model.getSelectedElement();
-			}
+		Topography topography = domain.getTopography();
+		if (!isSameElements(targets, topography.getTargets()) || topography.containsTarget(t -> t.isMovingTarget() || t.isTargetPedestrian())) {
+			targets = new ArrayList<>(topography.getTargets());
+			targetCopies = Collections.unmodifiableList(targets.stream().map(OnlineVisualization::copyOf).collect(Collectors.toList()));
+		}
+		if (!isSameElements(targetChangers, topography.getTargetChangers())) {
+			targetChangers = new ArrayList<>(topography.getTargetChangers());
+			targetChangerCopies = Collections.unmodifiableList(targetChangers.stream().map(TargetChanger::clone).collect(Collectors.toList()));
+		}
 
-			if(model.config.isShowPotentialField() && selectedAgent != null && potentialField != null) {
-				pedPotentialField = IPotentialField.copyAgentField(potentialField, selectedAgent, new VRectangle(model.getTopographyBound()), 0.1);
-			}
+		model.pushAgentSnapshot(topography.getElements(Pedestrian.class));
+		ObservationAreaSnapshotData data = new ObservationAreaSnapshotData(simTimeInSec, domain, targetCopies, targetChangerCopies, pft, pedPotentialField, selectedAgent, discretizations);
+		model.pushObservationAreaSnapshot(data);
+	}
+
+	/**
+	 * Copies the target at its current position, the copy of a moving target or a pedestrian target
+	 * is a static target with the current shape.
+	 */
+	private static Target copyOf(@NotNull final Target target) {
+		if (target.isMovingTarget() || target.isTargetPedestrian()) {
+			return new Target(new AttributesTarget(target.getShape(), target.getId(), target.isAbsorbing()));
+		}
+		return target.clone();
+	}
 
-			ObservationAreaSnapshotData data = new ObservationAreaSnapshotData(simTimeInSec, domain.clone(), pft, pedPotentialField, selectedAgent, discretizations);
-			model.pushObservationAreaSnapshot(data);
+	private static boolean isSameElements(@NotNull final List<?> list, @NotNull final List<?> other) {
+		if (list.size() != other.size()) {
+			return false;
+		}
+		for (int i = 0; i < list.size(); i++) {
+			if (list.get(i) != other.get(i)) {
+				return false;
+			}
 		}
+		return true;
 	}
 
 
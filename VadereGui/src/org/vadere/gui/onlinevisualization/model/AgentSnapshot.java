@@ -0,0 +1,180 @@
+package org.vadere.gui.onlinevisualization.model;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.psychology.cognition.SelfCategory;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A compact copy of the dynamic state of all pedestrians of a frame which is required to draw
+ * them, i.e. the ids, positions, radii and the attributes used to color them. The data is stored
+ * in arrays which are reused for the following frames, therefore a snapshot is only written by
+ * the {@link AgentSnapshotBuffer} it belongs to.
+ */
+public class AgentSnapshot {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private int size;
+	private int[] ids;
+	private double[] x;
+	private double[] y;
+	private double[] radii;
+	private int[] nextTargetIds;
+	private int[] groupIds;
+	private int[] groupSizes;
+	private SelfCategory[] selfCategories;
+
+	/**
+	 * The number of threads currently reading this snapshot, see {@link AgentSnapshotBuffer}.
+	 */
+	final AtomicInteger readers;
+
+	AgentSnapshot() {
+		this.readers = new AtomicInteger(0);
+		allocate(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Replaces the content of this snapshot by the state of the pedestrians.
+	 */
+	void write(@NotNull final Collection<Pedestrian> pedestrians) {
+		if (pedestrians.size() > ids.length) {
+			allocate(Math.max(pedestrians.size(), 2 * ids.length));
+		}
+
+		int i = 0;
+		for (Pedestrian pedestrian : pedestrians) {
+			VPoint position = pedestrian.getPosition();
+			ids[i] = pedestrian.getId();
+			x[i] = position.getX();
+			y[i] = position.getY();
+			radii[i] = pedestrian.getRadius();
+			nextTargetIds[i] = pedestrian.hasNextTarget() ? pedestrian.getNextTargetId() : -1;
+			groupIds[i] = pedestrian.getGroupIds().isEmpty() ? -1 : pedestrian.getGroupIds().getFirst();
+			groupSizes[i] = pedestrian.getGroupSizes().isEmpty() ? -1 : pedestrian.getGroupSizes().getFirst();
+			selfCategories[i] = pedestrian.getSelfCategory();
+			i++;
+		}
+
+		// release the references to the categories of the last frame
+		if (i < size) {
+			Arrays.fill(selfCategories, i, size, null);
+		}
+		size = i;
+	}
+
+	private void allocate(final int capacity) {
+		ids = new int[capacity];
+		x = new double[capacity];
+		y = new double[capacity];
+		radii = new double[capacity];
+		nextTargetIds = new int[capacity];
+		groupIds = new int[capacity];
+		groupSizes = new int[capacity];
+		selfCategories = new SelfCategory[capacity];
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getId(final int i) {
+		return ids[i];
+	}
+
+	public double getX(final int i) {
+		return x[i];
+	}
+
+	public double getY(final int i) {
+		return y[i];
+	}
+
+	public VPoint getPosition(final int i) {
+		return new VPoint(x[i], y[i]);
+	}
+
+	public double getRadius(final int i) {
+		return radii[i];
+	}
+
+	/**
+	 * Returns the id of the next target or <tt>-1</tt> if the pedestrian has no next target.
+	 */
+	public int getNextTargetId(final int i) {
+		return nextTargetIds[i];
+	}
+
+	/**
+	 * Returns the id of the first group of the pedestrian or <tt>-1</tt> if it is not part of a group.
+	 */
+	public int getGroupId(final int i) {
+		return groupIds[i];
+	}
+
+	/**
+	 * Returns the size of the first group of the pedestrian or <tt>-1</tt> if it is unknown.
+	 */
+	public int getGroupSize(final int i) {
+		return groupSizes[i];
+	}
+
+	public SelfCategory getSelfCategory(final int i) {
+		return selfCategories[i];
+	}
+
+	public int indexOf(final int id) {
+		for (int i = 0; i < size; i++) {
+			if (ids[i] == id) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Creates pedestrians carrying the state of this snapshot for parts of the GUI which require
+	 * scenario elements, e.g. the selection of a pedestrian. These pedestrians are not connected
+	 * to the simulation.
+	 */
+	public List<Pedestrian> toPedestrians(@NotNull final Random random) {
+		List<Pedestrian> pedestrians = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			pedestrians.add(toPedestrian(i, random));
+		}
+		return pedestrians;
+	}
+
+	public Pedestrian toPedestrian(final int i, @NotNull final Random random) {
+		AttributesAgent attributesAgent = new AttributesAgent(ids[i]);
+		attributesAgent.setRadius(radii[i]);
+		// avoid the sampling of the free flow speed and the footstep history
+		attributesAgent.setSpeedDistributionStandardDeviation(0);
+		attributesAgent.setFootstepHistorySize(0);
+
+		Pedestrian pedestrian = new Pedestrian(attributesAgent, random);
+		pedestrian.setPosition(new VPoint(x[i], y[i]));
+		if (nextTargetIds[i] != -1) {
+			pedestrian.setTargets(new LinkedList<>(Arrays.asList(nextTargetIds[i])));
+		}
+		if (groupIds[i] != -1) {
+			pedestrian.setGroupIds(new LinkedList<>(Arrays.asList(groupIds[i])));
+		}
+		if (groupSizes[i] != -1) {
+			pedestrian.setGroupSizes(new LinkedList<>(Arrays.asList(groupSizes[i])));
+		}
+		pedestrian.setSelfCategory(selfCategories[i]);
+		return pedestrian;
+	}
+}
@@ -0,0 +1,78 @@
+package org.vadere.gui.onlinevisualization.model;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.state.scenario.Pedestrian;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Double buffer of {@link AgentSnapshot}s to exchange the state of the pedestrians between the
+ * simulation thread (the only writer) and the threads drawing it without locks. The writer fills
+ * the buffer which is not published and publishes it afterwards. Readers acquire the published
+ * snapshot and release it after they are done. If a reader still holds the buffer the writer
+ * would overwrite, the frame is dropped instead of waiting for the reader.
+ */
+public class AgentSnapshotBuffer {
+
+	private final AgentSnapshot first;
+	private final AgentSnapshot second;
+	private volatile AgentSnapshot published;
+
+	public AgentSnapshotBuffer() {
+		this.first = new AgentSnapshot();
+		this.second = new AgentSnapshot();
+		this.published = first;
+	}
+
+	/**
+	 * Writes the state of the pedestrians into the back buffer and publishes it. This method must
+	 * only be called by one thread.
+	 *
+	 * @param pedestrians the pedestrians of the current frame
+	 * @return <tt>true</tt> if the snapshot was published, <tt>false</tt> if the frame was dropped
+	 *         since the back buffer is still read
+	 */
+	public boolean write(@NotNull final Collection<Pedestrian> pedestrians) {
+		AgentSnapshot back = published == first ? second : first;
+
+		// a reader which acquires the back buffer after this check sees that it is not published and retries
+		if (back.readers.get() > 0) {
+			return false;
+		}
+
+		back.write(pedestrians);
+		published = back;
+		return true;
+	}
+
+	/**
+	 * Acquires the latest published snapshot which is not modified until it is released by
+	 * {@link #release(AgentSnapshot)}.
+	 *
+	 * @return the latest published snapshot
+	 */
+	public AgentSnapshot acquire() {
+		while (true) {
+			AgentSnapshot snapshot = published;
+			snapshot.readers.incrementAndGet();
+			if (snapshot == published) {
+				return snapshot;
+			}
+			snapshot.readers.decrementAndGet();
+		}
+	}
+
+	public void release(@NotNull final AgentSnapshot snapshot) {
+		snapshot.readers.decrementAndGet();
+	}
+
+	/**
+	 * Publishes an empty snapshot. This method must only be called by the writing thread.
+	 *
+	 * @return <tt>true</tt> if the snapshot was published, <tt>false</tt> if the back buffer is still read
+	 */
+	public boolean clear() {
+		return write(Collections.emptyList());
+	}
+}
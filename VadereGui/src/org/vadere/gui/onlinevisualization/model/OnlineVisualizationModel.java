@@ -6,8 +6,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.NotNull;
 import org.vadere.gui.components.model.AgentColoring;
@@ -15,32 +17,35 @@ import org.vadere.gui.components.model.DefaultSimulationConfig;
 import org.vadere.gui.components.model.SimulationModel;
 import org.vadere.gui.onlinevisualization.OnlineVisualization;
 import org.vadere.meshing.mesh.gen.AMesh;
-import org.vadere.meshing.mesh.gen.PMesh;
 import org.vadere.meshing.mesh.inter.IMesh;
 import org.vadere.simulator.models.potential.fields.IPotentialField;
 import org.vadere.simulator.projects.Domain;
 import org.vadere.state.scenario.*;
 import org.vadere.util.geometry.shapes.IPoint;
+import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.voronoi.VoronoiDiagram;
 
 public class OnlineVisualizationModel extends SimulationModel<DefaultSimulationConfig> {
 
 	/**
-	 * Lists for thread safe data exchange between main and draw thread.
+	 * Structures for thread safe data exchange between main and draw thread. The latest observation
+	 * area snapshot is replaced by each push, the state of the pedestrians is exchanged by a double
+	 * buffer such that neither thread has to wait for the other one.
 	 */
 	private LinkedList<VoronoiDiagram> voronoiSnapshots;
-	private LinkedList<OnlineVisualization.ObservationAreaSnapshotData> observationAreaSnapshots;
+	private final AtomicReference<OnlineVisualization.ObservationAreaSnapshotData> observationAreaSnapshot;
+	private final AgentSnapshotBuffer agentSnapshots;
 
 	/**
 	 * Latest snapshot of the potential field to be displayed. This is a certain
 	 * pontetial field of a certain pedestrian. See 'Simulation' for more
 	 * information. For debug purposes. Updated by popDrawData().
 	 */
-	private IPotentialField potentialFieldTarget = null;
+	private volatile IPotentialField potentialFieldTarget = null;
 
-	private IPotentialField potentialField = null;
+	private volatile IPotentialField potentialField = null;
 
-	private Agent agent = null;
+	private volatile Agent agent = null;
 
 	/**
 	 * Latest snapshot of the jts diagram to be displayed. Updated by
@@ -48,49 +53,80 @@ public class OnlineVisualizationModel extends SimulationModel<DefaultSimulationC
 	 */
 	private VoronoiDiagram voronoiDiagram = null;
 
-	private double simTimeInSec;
+	private volatile double simTimeInSec;
 
 	private boolean drawArrows;
 
 	/**
-	 * Synchronizer object used to control access to the simulation data
-	 * exchange structures to avoid threading issues.
+	 * The observation area to display. Updated by popDrawData() with the latest
+	 * observation area snapshot. The domain is shared with the simulation, only
+	 * its static parts are displayed, the pedestrians are drawn from the
+	 * {@link AgentSnapshot}s.
 	 */
-	private Object drawDataSynchronizer;
+	private volatile Domain domain;
 
+	/**
+	 * Copies of the targets and target changers of the latest observation area
+	 * snapshot, the draw thread must not read the lists of the shared domain.
+	 */
+	private volatile Collection<Target> targets;
+	private volatile Collection<TargetChanger> targetChangers;
 
 	/**
-	 * The observation area to display. Updated by popDrawData() with the latest
-	 * observation area snapshot.
+	 * Random number generator of the pedestrians created from {@link AgentSnapshot}s.
 	 */
-	private Domain domain;
+	private final Random random;
 
 	public OnlineVisualizationModel() {
 		super(new DefaultSimulationConfig());
-		this.drawDataSynchronizer = new Object();
 		this.voronoiSnapshots = new LinkedList<>();
-		this.observationAreaSnapshots = new LinkedList<>();
+		this.observationAreaSnapshot = new AtomicReference<>();
+		this.agentSnapshots = new AgentSnapshotBuffer();
+		this.random = new Random();
+		this.targets = new ArrayList<>();
+		this.targetChangers = new ArrayList<>();
 		this.config.setInterpolatePositions(false);
 	}
 
 	@Override
 	public Collection<Agent> getAgents() {
-		if (domain == null || domain.getTopography() == null) {
-			return new ArrayList<>();
-		}
-		Collection<Agent> result = new LinkedList<>();
-		result.addAll(domain.getTopography().getElements(Agent.class));
-		return result;
+		return new ArrayList<>(getPedestrians());
 	}
 
+	/**
+	 * Returns pedestrians created from the latest {@link AgentSnapshot}. Drawing the pedestrians
+	 * should use {@link #acquireAgentSnapshot()} instead, which does not create any objects.
+	 */
 	@Override
 	public Collection<Pedestrian> getPedestrians() {
-		if (domain == null) {
-			return new ArrayList<>();
+		AgentSnapshot snapshot = acquireAgentSnapshot();
+		try {
+			return snapshot.toPedestrians(random);
+		} finally {
+			releaseAgentSnapshot(snapshot);
+		}
+	}
+
+	@Override
+	public int getAgentCount() {
+		AgentSnapshot snapshot = acquireAgentSnapshot();
+		try {
+			return snapshot.size();
+		} finally {
+			releaseAgentSnapshot(snapshot);
 		}
-		Collection<Pedestrian> result = new LinkedList<>();
-		result.addAll(domain.getTopography().getElements(Pedestrian.class));
-		return result;
+	}
+
+	/**
+	 * Returns the latest snapshot of the pedestrians, which is not modified until it is released by
+	 * {@link #releaseAgentSnapshot(AgentSnapshot)}.
+	 */
+	public AgentSnapshot acquireAgentSnapshot() {
+		return agentSnapshots.acquire();
+	}
+
+	public void releaseAgentSnapshot(@NotNull final AgentSnapshot snapshot) {
+		agentSnapshots.release(snapshot);
 	}
 
 	@Override
@@ -106,101 +142,121 @@ public class OnlineVisualizationModel extends SimulationModel<DefaultSimulationC
 		return domain.getTopography();
 	}
 
+	@Override
+	public Collection<Target> getTargets() {
+		return targets;
+	}
+
+	@Override
+	public Collection<TargetChanger> getTargetChangers() {
+		return targetChangers;
+	}
+
+	/**
+	 * Iterates over the elements in the same order as {@link TopographyIterator} but uses the
+	 * snapshots of the pedestrians, targets and target changers.
+	 */
 	@Override
 	public Iterator<ScenarioElement> iterator() {
+		Domain domain = this.domain;
+		List<ScenarioElement> elements = new ArrayList<>();
 		if (domain == null) {
-			return new ArrayList<ScenarioElement>().iterator();
+			return elements.iterator();
 		}
-		return new TopographyIterator(domain.getTopography());
+
+		Topography topography = domain.getTopography();
+		elements.addAll(getAgents());
+		elements.addAll(topography.getStairs());
+		elements.addAll(topography.getSources());
+		elements.addAll(targets);
+		elements.addAll(topography.getObstacles());
+		elements.addAll(topography.getAbsorbingAreas());
+		elements.addAll(targetChangers);
+		return elements.iterator();
 	}
 
 	/**
-	 * Retrieve latest simulation data from data exchange structures. As these
-	 * structures may be accessed by the main thread at the same time, access is
-	 * controlled by drawDataSynchronizer.
+	 * Retrieve latest simulation data from data exchange structures. The snapshot
+	 * is taken atomically, therefore the main thread is never blocked.
 	 */
 	public boolean popDrawData() {
-		synchronized (drawDataSynchronizer) {
-			if (observationAreaSnapshots.isEmpty()) {
-				return false;
-			}
+		OnlineVisualization.ObservationAreaSnapshotData observationAreaSnapshot =
+				this.observationAreaSnapshot.getAndSet(null);
+		if (observationAreaSnapshot == null) {
+			return false;
+		}
 
-			OnlineVisualization.ObservationAreaSnapshotData observationAreaSnapshot =
-					observationAreaSnapshots.getFirst();
-			simTimeInSec = observationAreaSnapshot.simTimeInSec;
-
-			// potentialFieldTarget might be null!
-            potentialFieldTarget = observationAreaSnapshot.potentialFieldTarget;
-			potentialField = observationAreaSnapshot.potentialField;
-			agent = observationAreaSnapshot.selectedAgent;
-
-			/*
-			 * if(topography == null ||
-			 * !topography.getBounds().equals(observationAreaSnapshot.scenario.getBounds())) {
-			 * setViewportBound(observationAreaSnapshot.scenario.getBounds());
-			 * }
-			 */
-
-			if (domain == null) {
-				domain = observationAreaSnapshot.domain;
-				// recalculate GUI (fireChangeViewportEvent will synchronize on model which is also
-				// needed by some awt event. Therefore do this in EDT (Event Dispatching Thread)
-				EventQueue.invokeLater(() -> {
-					fireChangeViewportEvent(new Rectangle2D.Double(getTopography().getBounds().x, getTopography().getBounds().y,
-							getTopography().getBounds().width, getTopography().getBounds().height));
-				});
-			} else {
-				domain = observationAreaSnapshot.domain;
-			}
+		simTimeInSec = observationAreaSnapshot.simTimeInSec;
 
-			if (getSelectedElement() instanceof Car) {
-				int carId = getSelectedElement().getId();
-				Car car = domain.getTopography().getElement(Car.class, carId);
-				setSelectedElement(car);
-			} else if (getSelectedElement() instanceof Pedestrian) {
-				int pedId = getSelectedElement().getId();
-				Pedestrian ped = domain.getTopography().getElement(Pedestrian.class, pedId);
-				setSelectedElement(ped);
+		// potentialFieldTarget might be null!
+		potentialFieldTarget = observationAreaSnapshot.potentialFieldTarget;
+		potentialField = observationAreaSnapshot.potentialField;
+		agent = observationAreaSnapshot.selectedAgent;
+		targets = observationAreaSnapshot.targets;
+		targetChangers = observationAreaSnapshot.targetChangers;
+
+		if (domain == null) {
+			domain = observationAreaSnapshot.domain;
+			// recalculate GUI (fireChangeViewportEvent will synchronize on model which is also
+			// needed by some awt event. Therefore do this in EDT (Event Dispatching Thread)
+			EventQueue.invokeLater(() -> {
+				fireChangeViewportEvent(new Rectangle2D.Double(getTopography().getBounds().x, getTopography().getBounds().y,
+						getTopography().getBounds().width, getTopography().getBounds().height));
+			});
+		} else {
+			domain = observationAreaSnapshot.domain;
+		}
+
+		AgentSnapshot snapshot = acquireAgentSnapshot();
+		try {
+			if (getSelectedElement() instanceof Pedestrian) {
+				int index = snapshot.indexOf(getSelectedElement().getId());
+				setSelectedElement(index == -1 ? null : snapshot.toPedestrian(index, random));
 			}
 
 			if (isVoronoiDiagramAvailable() && isVoronoiDiagramVisible()) {
-				getVoronoiDiagram().computeVoronoiDiagram(domain.getTopography().getPedestrianDynamicElements().getElements()
-								.stream()
-								.map(ped -> ped.getPosition())
-								.collect(Collectors.toList()));
+				List<VPoint> positions = new ArrayList<>(snapshot.size());
+				for (int i = 0; i < snapshot.size(); i++) {
+					positions.add(snapshot.getPosition(i));
+				}
+				getVoronoiDiagram().computeVoronoiDiagram(positions);
 			}
-
-			return true;
+		} finally {
+			releaseAgentSnapshot(snapshot);
 		}
+
+		return true;
 	}
 
 	public void pushObservationAreaSnapshot(final OnlineVisualization.ObservationAreaSnapshotData observationAreaSnapshotData) {
-        if (observationAreaSnapshots.size() > 0) {
-            observationAreaSnapshots.pop();
-        }
-        observationAreaSnapshots.push(observationAreaSnapshotData);
-        setChanged();
+		observationAreaSnapshot.set(observationAreaSnapshotData);
+		setChanged();
+	}
+
+	/**
+	 * Writes the state of the pedestrians into the back buffer and publishes it. This method must
+	 * only be called by the main thread.
+	 *
+	 * @return <tt>true</tt> if the snapshot was published, <tt>false</tt> if the frame was dropped
+	 *         since the draw thread is still reading the back buffer
+	 */
+	public boolean pushAgentSnapshot(@NotNull final Collection<Pedestrian> pedestrians) {
+		return agentSnapshots.write(pedestrians);
 	}
 
 	public void reset() {
 		voronoiSnapshots.clear();
-		observationAreaSnapshots.clear();
+		observationAreaSnapshot.set(null);
+		agentSnapshots.clear();
 		selectedElement = null;
 
 		voronoiDiagram = null;
 		domain = null;
+		targets = new ArrayList<>();
+		targetChangers = new ArrayList<>();
 		simTimeInSec = 0.0;
 	}
 
-	/**
-	 * Returns the data synchronization object, used for thread safe data
-	 * exchange between main thread and draw thread. Ensure that there is no
-	 * simultaneous access to the shared data structures.
-	 */
-	public Object getDataSynchronizer() {
-		return drawDataSynchronizer;
-	}
-
 	/**
 	 * Returns the list of jts diagram snapshots. Used for thread safe data
 	 * exchange between main thread and draw thread.
@@ -212,8 +268,12 @@ public class OnlineVisualizationModel extends SimulationModel<DefaultSimulationC
 	@Override
 	public Function<IPoint, Double> getPotentialField() {
 	    Function<IPoint, Double> f = pos -> 0.0;
+	    // the fields are replaced by the main thread, use the ones of the current frame
+	    Agent agent = this.agent;
+	    IPotentialField potentialField = this.potentialField;
+	    IPotentialField potentialFieldTarget = this.potentialFieldTarget;
 
-	    if(agent != null && potentialField != null && config.isShowPotentialField() && agent.equals(getSelectedElement())) {
+	    if(agent != null && potentialField != null && config.isShowPotentialField() && getSelectedElement() != null && agent.getId() == getSelectedElement().getId()) {
 	    	f = pos -> potentialField.getPotential(pos, agent);
 	    }
 		else if(potentialFieldTarget != null && config.isShowTargetPotentialField()) {
@@ -265,6 +325,11 @@ public class OnlineVisualizationModel extends SimulationModel<DefaultSimulationC
 
 	@Override
 	public boolean isAlive(int pedId) {
-		return domain.getTopography().getPedestrianDynamicElements().idExists(pedId);
+		AgentSnapshot snapshot = acquireAgentSnapshot();
+		try {
+			return snapshot.indexOf(pedId) != -1;
+		} finally {
+			releaseAgentSnapshot(snapshot);
+		}
 	}
 }
@@ -9,11 +9,14 @@ import java.util.stream.Stream;
 import org.jetbrains.annotations.NotNull;
 import org.vadere.gui.components.view.DefaultRenderer;
 import org.vadere.gui.components.view.SimulationRenderer;
+import org.vadere.gui.onlinevisualization.model.AgentSnapshot;
 import org.vadere.gui.onlinevisualization.model.OnlineVisualizationModel;
-import org.vadere.gui.renderer.agent.AgentRender;
+import org.vadere.gui.renderer.agent.FormHelper;
 import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.Pedestrian;
+import org.vadere.util.geometry.shapes.VCircle;
 import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VShape;
 
 public class OnlinevisualizationRenderer extends SimulationRenderer {
 
@@ -31,58 +34,45 @@ public class OnlinevisualizationRenderer extends SimulationRenderer {
 		this.pedestrianPositions = new HashMap<>();
 	}
 
-	@Override
-	public void render(final Graphics2D targetGraphics2D, int x, int y, int width, int height) {
-	    synchronized (model.getDataSynchronizer()) {
-            super.render(targetGraphics2D, x, y, width, height);
-        }
-
-	}
-
-	@Override
-	public void render(final Graphics2D targetGraphics2D, int width, int height) {
-        synchronized (model.getDataSynchronizer()) {
-            super.render(targetGraphics2D, width, height);
-        }
-	}
-
 	@Override
 	protected void renderSimulationContent(final Graphics2D g) {
 		if (model.config.isShowPedestrians()) {
-			renderPedestrians(g);
+			AgentSnapshot snapshot = model.acquireAgentSnapshot();
+			try {
+				renderPedestrians(g, snapshot);
+			} finally {
+				model.releaseAgentSnapshot(snapshot);
+			}
 			// DefaultRenderer.paintPedestrianIds(g, model.getPedestrians());
 		}
 	}
 
-	private void renderPedestrians(final Graphics2D g) {
-		AgentRender agentRender = getAgentRender();
-		for (Pedestrian ped : model.getPedestrians()) {
-			Color agentColor = getPedestrianColor(ped);
-			g.setColor(agentColor);
-			VPoint position = ped.getPosition();
-			agentRender.render(ped, agentColor, g);
-
-			if (!pedestrianPositions.containsKey(ped.getId())) {
-				pedestrianPositions.put(ped.getId(), new LinkedList());
+	/**
+	 * Draws the pedestrians of the snapshot. The snapshot contains no footsteps, therefore the
+	 * positions are not interpolated.
+	 */
+	private void renderPedestrians(final Graphics2D g, final AgentSnapshot snapshot) {
+		int selectedId = model.getSelectedElement() instanceof Pedestrian ? model.getSelectedElement().getId() : -1;
+
+		for (int i = 0; i < snapshot.size(); i++) {
+			int pedestrianId = snapshot.getId(i);
+			double radius = snapshot.getRadius(i);
+			VPoint position = snapshot.getPosition(i);
+			Color agentColor = getPedestrianColor(snapshot, i);
+			renderPedestrian(g, snapshot, i, position, agentColor);
+
+			if (!pedestrianPositions.containsKey(pedestrianId)) {
+				pedestrianPositions.put(pedestrianId, new LinkedList());
 			}
 
 			// reverse the point order
-			if(!model.config.isInterpolatePositions()) {
-				pedestrianPositions.get(ped.getId()).addFirst(ped.getPosition());
-			} else {
-				if(ped.getFootstepHistory().getCapacity() > 0) {
-					pedestrianPositions.get(ped.getId()).addFirst(ped.getFootstepHistory().getYoungestFootStep().getStart());
-				} else {
-					pedestrianPositions.get(ped.getId()).addFirst(ped.getPosition());
-				}
-			}
+			pedestrianPositions.get(pedestrianId).addFirst(position);
 
 			if (model.config.isShowTrajectories()) {
-				renderTrajectory(g, pedestrianPositions.get(ped.getId()), ped);
+				renderTrajectory(g, pedestrianPositions.get(pedestrianId).stream(), position, pedestrianId == selectedId);
 			}
 
 			if (model.config.isShowWalkdirection()) {
-				int pedestrianId = ped.getId();
 				VPoint lastPosition = lastPedestrianPositions.get(pedestrianId);
 				lastPedestrianPositions.put(pedestrianId, position);
 
@@ -102,14 +92,52 @@ public class OnlinevisualizationRenderer extends SimulationRenderer {
 					}
 					if (direction != null) {
 						double theta = Math.atan2(-direction.getY(), -direction.getX());
-						DefaultRenderer.drawArrow(g, theta, position.getX() - ped.getRadius() * 2 * direction.getX(),
-								position.getY() - ped.getRadius() * 2 * direction.getY());
+						DefaultRenderer.drawArrow(g, theta, position.getX() - radius * 2 * direction.getX(),
+								position.getY() - radius * 2 * direction.getY());
 					}
 				}
 			}
 		}
 	}
 
+	/**
+	 * Draws a pedestrian like {@link org.vadere.gui.renderer.agent.AgentRender} does.
+	 */
+	private void renderPedestrian(final Graphics2D g, final AgentSnapshot snapshot, final int i, final VPoint position, final Color color) {
+		VShape shape = new VCircle(position, snapshot.getRadius(i));
+		int groupId = snapshot.getGroupId(i);
+
+		if (model.config.isShowGroups()) {
+			g.setColor(Color.DARK_GRAY);
+			g.fill(shape);
+			if (groupId != -1 && snapshot.getGroupSize(i) != 1 && groupId != 1) {
+				shape = FormHelper.getShape(groupId, position, snapshot.getRadius(i));
+			}
+		}
+
+		g.setColor(color);
+		DefaultRenderer.fill(shape, g);
+	}
+
+	/**
+	 * Returns the color of a pedestrian like {@link #getPedestrianColor(Agent)} for the colorings
+	 * supported by the {@link OnlineVisualizationModel}.
+	 */
+	private Color getPedestrianColor(final AgentSnapshot snapshot, final int i) {
+		switch (model.config.getAgentColoring()) {
+			case TARGET:
+				return model.config.getColorByTargetId(snapshot.getNextTargetId(i)).orElseGet(model.config::getPedestrianDefaultColor);
+			case RANDOM:
+				return model.config.getRandomColor(snapshot.getId(i));
+			case SELF_CATEGORY:
+				return model.config.getSelfCategoryColor(snapshot.getSelfCategory(i));
+			case GROUP:
+				return model.getGroupColor(snapshot.getGroupId(i), snapshot.getGroupSize(i));
+			default:
+				return model.config.getPedestrianColor();
+		}
+	}
+
 	/*
 	 * This method should replace pedestrianPositions.get(ped.getId()).addFirst(ped.getPosition());
 	 * However the simulation runs in an separated thread. Therefore, foot steps might be cleared
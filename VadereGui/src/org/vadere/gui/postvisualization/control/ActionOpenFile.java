@@ -6,6 +6,7 @@ import org.vadere.gui.components.control.simulation.ActionVisualization;
 import org.vadere.gui.components.utils.Messages;
 import org.vadere.gui.components.view.DialogFactory;
 import org.vadere.gui.postvisualization.model.PostvisualizationModel;
+import org.vadere.gui.postvisualization.model.TableTrajectoryFootStep;
 import org.vadere.simulator.projects.Scenario;
 import org.vadere.simulator.projects.io.IOOutput;
 import org.vadere.util.config.VadereConfig;
@@ -82,7 +83,7 @@ public class ActionOpenFile extends ActionVisualization {
 							IOUtils.getFirstFile(scenarioOutputDir, IOUtils.SCENARIO_FILE_EXTENSION);
 					if (trajectoryFile.isPresent() && snapshotFile.isPresent()) {
 						Scenario vadere = IOOutput.readScenario(snapshotFile.get().toPath());
-						model.init(IOOutput.readTrajectories(trajectoryFile.get().toPath()), vadere, trajectoryFile.get().getParent());
+						model.init(TableTrajectoryFootStep.read(trajectoryFile.get().toPath()), null, vadere, trajectoryFile.get().getParent());
 						model.notifyObservers();
 						dialog.dispose();
 						setLastDirectories(scenarioOutputDir);
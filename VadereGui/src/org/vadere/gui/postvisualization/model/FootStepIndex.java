@@ -0,0 +1,187 @@
+package org.vadere.gui.postvisualization.model;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+
+import org.jetbrains.annotations.NotNull;
+
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.selection.Selection;
+import tech.tablesaw.table.Rows;
+
+/**
+ * A static in-memory index of the footsteps (rows) of a trajectory table by their time intervals
+ * <tt>[startTime, endTime]</tt>. It is built once in O(n log n) such that the footsteps which
+ * overlap some time interval can be found in O(log n + k) where k is the number of footsteps
+ * found, instead of scanning the whole table for each rendered frame.
+ *
+ * The footsteps are sorted by their start time and form an implicit balanced binary search tree,
+ * i.e. the root of <tt>[lo, hi)</tt> is <tt>(lo + hi) / 2</tt>. Each node knows the maximal end time
+ * of its subtree (an augmented interval tree) which allows to skip subtrees of footsteps which end too early.
+ * Additionally, the footsteps of each agent are sorted by their start time to find the last footstep
+ * of an agent which started before some time.
+ *
+ * Footsteps with an undefined (NaN) time are never found, which is consistent with the comparisons
+ * of tablesaw filters.
+ */
+class FootStepIndex implements FootStepSource {
+
+	private final Table table;
+	private final IntColumn pedIdColumn;
+
+	// the interval tree: rows sorted by start time
+	private final int[] rows;
+	private final double[] startTimes;
+	private final double[] endTimes;
+	private final double[] maxEndTimes;
+
+	// the footsteps of all agents sorted by (pedId, startTime), the footsteps of agent i are in [offsets[i], offsets[i+1])
+	private final int[] pedIds;
+	private final int[] offsets;
+	private final double[] agentStartTimes;
+	/** the largest row number of all footsteps of an agent which started before (or with) this footstep */
+	private final int[] agentLastRows;
+
+	FootStepIndex(@NotNull final Table table, final int pedIdCol, final int startTimeCol, final int endTimeCol) {
+		int n = table.rowCount();
+		// an empty table might have no columns at all
+		this.table = table;
+		this.pedIdColumn = n > 0 ? table.intColumn(pedIdCol) : null;
+		DoubleColumn startTimeColumn = n > 0 ? table.doubleColumn(startTimeCol) : null;
+		DoubleColumn endTimeColumn = n > 0 ? table.doubleColumn(endTimeCol) : null;
+
+		// 1. interval tree
+		IntArrayList validRows = new IntArrayList(n);
+		for(int row = 0; row < n; row++) {
+			if(!Double.isNaN(startTimeColumn.getDouble(row)) && !Double.isNaN(endTimeColumn.getDouble(row))) {
+				validRows.add(row);
+			}
+		}
+		rows = validRows.toIntArray();
+		IntArrays.mergeSort(rows, (row1, row2) -> Double.compare(startTimeColumn.getDouble(row1), startTimeColumn.getDouble(row2)));
+		startTimes = new double[rows.length];
+		endTimes = new double[rows.length];
+		maxEndTimes = new double[rows.length];
+		for(int i = 0; i < rows.length; i++) {
+			startTimes[i] = startTimeColumn.getDouble(rows[i]);
+			endTimes[i] = endTimeColumn.getDouble(rows[i]);
+		}
+		computeMaxEndTimes(0, rows.length);
+
+		// 2. footsteps of each agent, only the start time has to be defined
+		IntArrayList startedRows = new IntArrayList(n);
+		for(int row = 0; row < n; row++) {
+			if(!Double.isNaN(startTimeColumn.getDouble(row))) {
+				startedRows.add(row);
+			}
+		}
+		int[] agentRows = startedRows.toIntArray();
+		IntArrays.mergeSort(agentRows, (row1, row2) -> {
+			int cmp = Integer.compare(pedIdColumn.getInt(row1), pedIdColumn.getInt(row2));
+			return cmp != 0 ? cmp : Double.compare(startTimeColumn.getDouble(row1), startTimeColumn.getDouble(row2));
+		});
+
+		IntArrayList agentIds = new IntArrayList();
+		IntArrayList agentOffsets = new IntArrayList();
+		agentStartTimes = new double[agentRows.length];
+		agentLastRows = new int[agentRows.length];
+		for(int i = 0; i < agentRows.length; i++) {
+			int row = agentRows[i];
+			int pedId = pedIdColumn.getInt(row);
+			if(agentIds.isEmpty() || agentIds.getInt(agentIds.size() - 1) != pedId) {
+				agentIds.add(pedId);
+				agentOffsets.add(i);
+				agentLastRows[i] = row;
+			} else {
+				agentLastRows[i] = Math.max(agentLastRows[i - 1], row);
+			}
+			agentStartTimes[i] = startTimeColumn.getDouble(row);
+		}
+		agentOffsets.add(agentRows.length);
+		pedIds = agentIds.toIntArray();
+		offsets = agentOffsets.toIntArray();
+	}
+
+	private double computeMaxEndTimes(final int lo, final int hi) {
+		if(lo >= hi) {
+			return Double.NEGATIVE_INFINITY;
+		}
+		int mid = (lo + hi) >>> 1;
+		double maxEndTime = Math.max(endTimes[mid], Math.max(computeMaxEndTimes(lo, mid), computeMaxEndTimes(mid + 1, hi)));
+		maxEndTimes[mid] = maxEndTime;
+		return maxEndTime;
+	}
+
+	@Override
+	public int[] getRows(final double minEndTime, final double maxStartTime) {
+		IntArrayList result = new IntArrayList();
+		collect(0, rows.length, minEndTime, maxStartTime, result);
+		int[] array = result.toIntArray();
+		IntArrays.quickSort(array);
+		return array;
+	}
+
+	private void collect(final int lo, final int hi, final double minEndTime, final double maxStartTime, @NotNull final IntArrayList result) {
+		if(lo >= hi) {
+			return;
+		}
+		int mid = (lo + hi) >>> 1;
+		if(maxEndTimes[mid] < minEndTime) {
+			return;
+		}
+		collect(lo, mid, minEndTime, maxStartTime, result);
+		if(startTimes[mid] <= maxStartTime) {
+			if(endTimes[mid] >= minEndTime) {
+				result.add(rows[mid]);
+			}
+			collect(mid + 1, hi, minEndTime, maxStartTime, result);
+		}
+	}
+
+	@Override
+	public Table getTable(@NotNull final int[] rows) {
+		return table.where(Selection.with(rows));
+	}
+
+	@Override
+	public void appendRow(final int row, @NotNull final Table table) {
+		Rows.appendRowToTable(row, this.table, table);
+	}
+
+	@Override
+	public int getPedIdOfRow(final int row) {
+		return pedIdColumn.getInt(row);
+	}
+
+	@Override
+	public int getNumberOfAgents() {
+		return pedIds.length;
+	}
+
+	@Override
+	public int getPedId(final int agentIndex) {
+		return pedIds[agentIndex];
+	}
+
+	/**
+	 * Returns the largest row number of all footsteps of an agent with <tt>fs.startTime &lt;= simTimeInSec</tt>
+	 * or -1 if there is no such footstep, in O(log m) where m is the number of footsteps of the agent.
+	 */
+	@Override
+	public int getLastRow(final int agentIndex, final double simTimeInSec) {
+		int lo = offsets[agentIndex];
+		int hi = offsets[agentIndex + 1];
+		// find the first footstep which started after simTimeInSec
+		while(lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if(agentStartTimes[mid] <= simTimeInSec) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo > offsets[agentIndex] ? agentLastRows[lo - 1] : -1;
+	}
+}
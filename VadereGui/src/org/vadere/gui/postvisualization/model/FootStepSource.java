@@ -0,0 +1,40 @@
+package org.vadere.gui.postvisualization.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import tech.tablesaw.api.Table;
+
+/**
+ * The footsteps of a {@link TableTrajectoryFootStep} indexed by time. Footsteps are identified by their row
+ * which is only meaningful for the source, agents are identified by their index in the order of their identifiers.
+ */
+interface FootStepSource {
+
+	/**
+	 * Returns the rows in ascending order of all footsteps <tt>fs</tt> for which
+	 * <tt>fs.startTime &lt;= maxStartTime</tt> and <tt>fs.endTime &gt;= minEndTime</tt>.
+	 */
+	int[] getRows(double minEndTime, double maxStartTime);
+
+	/**
+	 * Returns the footsteps of the rows in the given order.
+	 */
+	Table getTable(@NotNull int[] rows);
+
+	/**
+	 * Appends a footstep to a table with the same columns.
+	 */
+	void appendRow(int row, @NotNull Table table);
+
+	int getPedIdOfRow(int row);
+
+	int getNumberOfAgents();
+
+	int getPedId(int agent);
+
+	/**
+	 * Returns the row of the last footstep of an agent which started before (or at) <tt>simTimeInSec</tt>
+	 * or -1 if there is no such footstep.
+	 */
+	int getLastRow(int agent, double simTimeInSec);
+}
@@ -100,9 +100,28 @@ public class PostvisualizationModel extends SimulationModel<PostvisualizationCon
 	 * @param projectPath   the path to the project.
 	 */
 	public synchronized void init(final Table trajectories, final Table contactTrajectories, final Scenario scenario, final String projectPath, final AttributesAgent attributesAgent) {
+		init(new TableTrajectoryFootStep(trajectories), contactTrajectories, scenario, projectPath, attributesAgent);
+	}
+
+	public synchronized void init(final TableTrajectoryFootStep trajectories, final Table contactTrajectories, final Scenario scenario, final String projectPath) {
+		init(trajectories, contactTrajectories, scenario, projectPath, new AttributesAgent());
+	}
+
+	/**
+	 * Initialize the {@link PostvisualizationModel} with trajectories which might be paged in,
+	 * see {@link TableTrajectoryFootStep#read(java.nio.file.Path)}.
+	 *
+	 * @param trajectories          the trajectories, which are closed if the model is initialized again
+	 * @param contactTrajectories   the contacts or <tt>null</tt>
+	 * @param scenario              the scenario which was used to produce the output the PostVis will display.
+	 *                              This scenario will not contain any agents.
+	 * @param projectPath           the path to the project.
+	 */
+	public synchronized void init(final TableTrajectoryFootStep trajectories, final Table contactTrajectories, final Scenario scenario, final String projectPath, final AttributesAgent attributesAgent) {
 		this.scenario = scenario;
 		this.simTimeStepLength = scenario.getAttributesSimulation().getSimTimeStepLength();
-		this.trajectories = new TableTrajectoryFootStep(trajectories);
+		closeTrajectories();
+		this.trajectories = trajectories;
 		if (contactTrajectories != null) {
 			this.config.setContactsRecorded(true);
 			this.contactData = new ContactData(contactTrajectories);
@@ -122,12 +141,21 @@ public class PostvisualizationModel extends SimulationModel<PostvisualizationCon
 	 */
 	public synchronized void init(final Scenario scenario, final String projectPath) {
 		this.scenario = scenario;
+		closeTrajectories();
 		this.trajectories = new TableTrajectoryFootStep(Table.create());
 		this.selectedElement = null;
 		this.outputPath = projectPath;
 		this.outputChanged = true;
 	}
 
+	private void closeTrajectories() {
+		try {
+			trajectories.close();
+		} catch (IOException e) {
+			logger.error("could not close the trajectories: " + e.getMessage());
+		}
+	}
+
 	private double stepToTime(final int step) {
 		return timeResolution * (step - 1);
 	}
@@ -1,10 +1,16 @@
 package org.vadere.gui.postvisualization.model;
 
-import it.unimi.dsi.fastutil.ints.Int2IntAVLTreeMap;
 import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.ints.IntSets;
 
 import org.jetbrains.annotations.NotNull;
 import org.vadere.simulator.projects.io.ColumnNames;
+import org.vadere.simulator.projects.io.IOOutput;
+import org.vadere.simulator.projects.io.TrajectoryStore;
 import org.vadere.state.attributes.scenario.AttributesAgent;
 import org.vadere.state.psychology.cognition.GroupMembership;
 import org.vadere.state.psychology.cognition.SelfCategory;
@@ -14,24 +20,49 @@ import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.simulation.FootStep;
 import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.io.ColumnarTableReader;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Random;
 
 import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.IntColumn;
 import tech.tablesaw.api.Row;
 import tech.tablesaw.api.Table;
-import tech.tablesaw.table.Rows;
 
 import static tech.tablesaw.aggregate.AggregateFunctions.*;
 
 /**
  * The {@link TableTrajectoryFootStep}
+ *
+ * The footsteps are either held in memory or, for large trajectory files, paged in from a memory-mapped
+ * {@link TrajectoryStore} (see {@link #read(Path)}). In the latter case the trajectory table is never
+ * loaded completely: each query reads only the footsteps of its time window and footsteps which
+ * ended more than {@link #getPagedTrajectoryLength()} seconds ago are not returned by the queries
+ * for multiple footsteps per agent.
  */
-public class TableTrajectoryFootStep {
+public class TableTrajectoryFootStep implements Closeable {
 
+	/**
+	 * Trajectory files larger than this fraction of the maximal heap size are paged in.
+	 */
+	private static final double MAX_IN_MEMORY_FILE_SIZE_FRACTION = 0.25;
+
+	private static final double DEFAULT_PAGED_TRAJECTORY_LENGTH = 30.0;
+
+	/**
+	 * The whole table in memory or an empty table with the same columns if the footsteps are paged in.
+	 */
 	private final Table trajectoryDataFrame;
 
+	/**
+	 * The store of paged footsteps or <tt>null</tt> if all footsteps are held in memory.
+	 */
+	private final TrajectoryStore store;
+
 	private Table currentSlice;
 
 	/**
@@ -39,6 +70,18 @@ public class TableTrajectoryFootStep {
 	 */
 	private final Table agentDataFrame;
 
+	/**
+	 * Footsteps indexed by time such that the footsteps of a frame are found without scanning the whole table.
+	 */
+	private final FootStepSource footSteps;
+
+	private double pagedTrajectoryLength;
+
+	/**
+	 * Maps the agent identifier to its row in the {@link #agentDataFrame}.
+	 */
+	private final Int2IntMap pedIdToAgentRow;
+
 	private final double startTime;
 	private final double endTime;
 
@@ -71,6 +114,19 @@ public class TableTrajectoryFootStep {
 	 * @param dataFrame the whole table containing all trajectories of all agents for all times
 	 */
 	public TableTrajectoryFootStep(@NotNull final Table dataFrame) {
+		this(dataFrame, null);
+	}
+
+	/**
+	 * Constructs trajectories which are paged in from the store, the store is closed by {@link #close()}.
+	 *
+	 * @param store the store containing all trajectories of all agents for all times
+	 */
+	public TableTrajectoryFootStep(@NotNull final TrajectoryStore store) {
+		this(store.emptyTable(), store);
+	}
+
+	private TableTrajectoryFootStep(@NotNull final Table dataFrame, final TrajectoryStore store) {
 		// get all ids of all columns
 		// 1. mandatory columns:
 		ColumnNames columnNames = ColumnNames.getInstance();
@@ -92,10 +148,19 @@ public class TableTrajectoryFootStep {
 
 
 		this.trajectoryDataFrame = dataFrame;
+		this.store = store;
 		this.currentSlice = trajectoryDataFrame;
 		this.agentDataFrame = generateAgentDataFrame();
+		this.footSteps = store != null ? new TrajectoryStoreSource(store) : new FootStepIndex(dataFrame, pedIdCol, startTimeCol, endTimeCol);
+		this.pagedTrajectoryLength = DEFAULT_PAGED_TRAJECTORY_LENGTH;
+		this.pedIdToAgentRow = new Int2IntOpenHashMap();
+		this.pedIdToAgentRow.defaultReturnValue(-1);
 
 		if(!isEmpty()) {
+			IntColumn agentPedIds = agentDataFrame.intColumn(agentDFPedIdCol);
+			for(int row = 0; row < agentPedIds.size(); row++) {
+				pedIdToAgentRow.put(agentPedIds.getInt(row), row);
+			}
 			this.startTime = agentDataFrame.summarize(birthTimeColName, min).apply().doubleColumn(0).get(0);
 			this.endTime = agentDataFrame.summarize(deathTimeColName, max).apply().doubleColumn(0).get(0);
 		} else {
@@ -104,6 +169,38 @@ public class TableTrajectoryFootStep {
 		}
 	}
 
+	/**
+	 * Reads a trajectory file. Files which would occupy a large part of the heap are not loaded but
+	 * paged in from a {@link TrajectoryStore} which is built next to the file on first open. Binary
+	 * (columnar) trajectory files are always loaded since they are read without parsing.
+	 *
+	 * @param trajectoryFilePath the trajectory file
+	 * @return the trajectories
+	 * @throws IOException if the file can not be read
+	 */
+	public static TableTrajectoryFootStep read(@NotNull final Path trajectoryFilePath) throws IOException {
+		if(!ColumnarTableReader.isColumnarTable(trajectoryFilePath)
+				&& Files.size(trajectoryFilePath) > MAX_IN_MEMORY_FILE_SIZE_FRACTION * Runtime.getRuntime().maxMemory()) {
+			return new TableTrajectoryFootStep(TrajectoryStore.open(trajectoryFilePath));
+		}
+		return new TableTrajectoryFootStep(IOOutput.readTrajectories(trajectoryFilePath));
+	}
+
+	public boolean isPaged() {
+		return store != null;
+	}
+
+	/**
+	 * Returns the time in seconds for which past footsteps are returned if the footsteps are paged in.
+	 */
+	public double getPagedTrajectoryLength() {
+		return pagedTrajectoryLength;
+	}
+
+	public void setPagedTrajectoryLength(final double pagedTrajectoryLength) {
+		this.pagedTrajectoryLength = pagedTrajectoryLength;
+	}
+
 	public Table getAgentDataFrame() {
 		return agentDataFrame;
 	}
@@ -179,8 +276,26 @@ public class TableTrajectoryFootStep {
 	 * @return multiple foosteps for each agent
 	 */
 	public Table getAgents(final double startTime, final double endTime) {
-		return currentSlice.where(getStartTime().isLessThan(endTime)
-				.and(getEndTime().isGreaterThanOrEqualTo(startTime)));
+		return footSteps.getTable(getFootSteps(startTime, endTime));
+	}
+
+	/**
+	 * Returns the rows of all footsteps which start before <tt>endTime</tt> and end at or after <tt>startTime</tt>.
+	 * Paged footsteps are limited to the last {@link #pagedTrajectoryLength} seconds.
+	 */
+	private int[] getFootSteps(final double startTime, final double endTime) {
+		double minEndTime = isPaged() ? Math.max(startTime, endTime - pagedTrajectoryLength) : startTime;
+		return footSteps.getRows(minEndTime, Math.nextDown(endTime));
+	}
+
+	private int[] filterPedIds(@NotNull final int[] rows, @NotNull final IntSet pedIds) {
+		IntArrayList filteredRows = new IntArrayList(rows.length);
+		for(int row : rows) {
+			if(pedIds.contains(footSteps.getPedIdOfRow(row))) {
+				filteredRows.add(row);
+			}
+		}
+		return filteredRows.toIntArray();
 	}
 
 	/**
@@ -193,10 +308,8 @@ public class TableTrajectoryFootStep {
 	 * @return multiple foosteps for each agent
 	 */
 	public Table getAliveAgents(final double startTime, final double endTime) {
-		Integer[] filteredPedIds = filterAgents(startTime, endTime);
-		return currentSlice.where(getPedId().isIn(filteredPedIds)
-				.and(getStartTime().isLessThan(endTime)
-						.and(getEndTime().isGreaterThanOrEqualTo(startTime))));
+		IntSet filteredPedIds = filterAgents(startTime, endTime);
+		return footSteps.getTable(filterPedIds(getFootSteps(startTime, endTime), filteredPedIds));
 	}
 
 	/**
@@ -206,25 +319,34 @@ public class TableTrajectoryFootStep {
 	 * @return for all agent at most one footstep
 	 */
 	public Table getAgents(final double simTimeInSec) {
-		return currentSlice.where(
-				getStartTime().isLessThanOrEqualTo(simTimeInSec)
-						.and(getEndTime().isGreaterThanOrEqualTo(simTimeInSec)))
+		return footSteps.getTable(footSteps.getRows(simTimeInSec, simTimeInSec))
 				.sortAscendingOn(getColumnName(pedIdCol));
 	}
 
+	/**
+	 * Returns the same footsteps as {@link #getAgents(double)} followed by the last footstep of each agent
+	 * (ordered by the agent's identifier) which is not alive at <tt>simTimeInSec</tt> but was born before.
+	 *
+	 * @param simTimeInSec
+	 * @return for all agent born before <tt>simTimeInSec</tt> exactly one footstep
+	 */
 	public Table getAgentsWithDisappearedAgents(final double simTimeInSec) {
 		Table aliveAgents = getAgents(simTimeInSec);
-		Table deadAgents = currentSlice.where(getPedId().isNotIn(getPedId(aliveAgents).asObjectArray())
-						.and(getStartTime().isLessThanOrEqualTo(simTimeInSec)));
-
-		Int2IntMap idToRowNr = new Int2IntAVLTreeMap();
-
-		// get the last rows only, this might be computational expensive!
-		for(Row row : deadAgents) {
-			idToRowNr.put(row.getInt(pedIdCol), row.getRowNumber());
+		IntSet alivePedIds = new IntOpenHashSet();
+		IntColumn alivePedIdColumn = getPedId(aliveAgents);
+		for(int row = 0; row < alivePedIdColumn.size(); row++) {
+			alivePedIds.add(alivePedIdColumn.getInt(row));
 		}
 
-		idToRowNr.forEach((pedId, rowNr) -> Rows.appendRowToTable(rowNr, deadAgents, aliveAgents));
+		// the agents of the index are sorted by their identifier
+		for(int agentIndex = 0; agentIndex < footSteps.getNumberOfAgents(); agentIndex++) {
+			if(!alivePedIds.contains(footSteps.getPedId(agentIndex))) {
+				int rowNr = footSteps.getLastRow(agentIndex, simTimeInSec);
+				if(rowNr >= 0) {
+					footSteps.appendRow(rowNr, aliveAgents);
+				}
+			}
+		}
 
 		return aliveAgents;
 	}
@@ -238,17 +360,19 @@ public class TableTrajectoryFootStep {
 	 * @return at most one footstep
 	 */
 	public Table getAgent(final double simTimeInSec, final int pedId) {
-		return currentSlice.where(
-				getStartTime().isLessThanOrEqualTo(simTimeInSec)
-						.and(getEndTime().isGreaterThanOrEqualTo(simTimeInSec))
-						.and(getPedId().isEqualTo(pedId)));
+		int[] rows = filterPedIds(footSteps.getRows(simTimeInSec, simTimeInSec), IntSets.singleton(pedId));
+		return footSteps.getTable(rows);
 	}
 
-	private Integer[] filterAgents(final double startTime, final double endTime) {
-		return agentDataFrame
+	private IntSet filterAgents(final double startTime, final double endTime) {
+		IntColumn pedIds = agentDataFrame
 				.where(getBirthTime().isGreaterThanOrEqualTo(startTime).and(getDeathTime().isGreaterThanOrEqualTo(endTime)))
-				.intColumn(agentDFPedIdCol)
-				.asObjectArray();
+				.intColumn(agentDFPedIdCol);
+		IntSet filteredPedIds = new IntOpenHashSet(pedIds.size());
+		for(int row = 0; row < pedIds.size(); row++) {
+			filteredPedIds.add(pedIds.getInt(row));
+		}
+		return filteredPedIds;
 	}
 
 	public Table getCurrentSlice() {
@@ -256,7 +380,7 @@ public class TableTrajectoryFootStep {
 	}
 
 	public boolean isEmpty() {
-		return trajectoryDataFrame.isEmpty();
+		return isPaged() ? store.isEmpty() : trajectoryDataFrame.isEmpty();
 	}
 
 	public double getMaxEndTime() {
@@ -268,7 +392,17 @@ public class TableTrajectoryFootStep {
 	}
 
 	private Table generateAgentDataFrame() {
-		if(!isEmpty()) {
+		if(isPaged()) {
+			IntColumn pedIds = IntColumn.create(getColumnName(pedIdCol));
+			DoubleColumn birthTimes = DoubleColumn.create(birthTimeColName);
+			DoubleColumn deathTimes = DoubleColumn.create(deathTimeColName);
+			for(int agent = 0; agent < store.getNumberOfAgents(); agent++) {
+				pedIds.append(store.getAgentPedId(agent));
+				birthTimes.append(store.getAgentBirthTime(agent));
+				deathTimes.append(store.getAgentDeathTime(agent));
+			}
+			return isEmpty() ? Table.create() : Table.create(trajectoryDataFrame.name(), pedIds, birthTimes, deathTimes);
+		} else if(!isEmpty()) {
 			Table agentDataFrame = trajectoryDataFrame
 					.summarize(getStartTime(), getEndTime(), min, max).by(getColumnName(pedIdCol));
 			agentDataFrame.column(1).setName(birthTimeColName);
@@ -328,12 +462,11 @@ public class TableTrajectoryFootStep {
 	}
 
 	public double getBirthTime(final int pedId) {
-		return agentDataFrame.where(agentDataFrame.intColumn(pedIdCol).isEqualTo(pedId)).doubleColumn(birthTimeCol).get(0);
+		return getBirthTime().getDouble(pedIdToAgentRow.get(pedId));
 	}
 
 	public double getDeathTime(final int pedId) {
-		double deathTime = agentDataFrame.where(agentDataFrame.intColumn(pedIdCol).isEqualTo(pedId)).doubleColumn(deathTimeCol).get(0);
-		return deathTime;
+		return getDeathTime().getDouble(pedIdToAgentRow.get(pedId));
 	}
 
 	public IntColumn getPedId() {
@@ -367,4 +500,11 @@ public class TableTrajectoryFootStep {
 	public boolean isValid() {
 		return startTimeCol != -1 && endTimeCol == -1;
 	}
+
+	@Override
+	public void close() throws IOException {
+		if(isPaged()) {
+			store.close();
+		}
+	}
 }
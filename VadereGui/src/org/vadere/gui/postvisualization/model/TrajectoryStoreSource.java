@@ -0,0 +1,54 @@
+package org.vadere.gui.postvisualization.model;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.projects.io.TrajectoryStore;
+
+import tech.tablesaw.api.Table;
+
+/**
+ * Serves the footsteps directly from the memory-mapped {@link TrajectoryStore}, i.e. only the footsteps
+ * of the requested time window are read and converted into a {@link Table}.
+ */
+class TrajectoryStoreSource implements FootStepSource {
+
+	private final TrajectoryStore store;
+
+	TrajectoryStoreSource(@NotNull final TrajectoryStore store) {
+		this.store = store;
+	}
+
+	@Override
+	public int[] getRows(final double minEndTime, final double maxStartTime) {
+		return store.getRows(minEndTime, maxStartTime);
+	}
+
+	@Override
+	public Table getTable(@NotNull final int[] rows) {
+		return store.getRows(rows);
+	}
+
+	@Override
+	public void appendRow(final int row, @NotNull final Table table) {
+		store.appendRow(row, table);
+	}
+
+	@Override
+	public int getPedIdOfRow(final int row) {
+		return store.getPedId(row);
+	}
+
+	@Override
+	public int getNumberOfAgents() {
+		return store.getNumberOfAgents();
+	}
+
+	@Override
+	public int getPedId(final int agent) {
+		return store.getAgentPedId(agent);
+	}
+
+	@Override
+	public int getLastRow(final int agent, final double simTimeInSec) {
+		return store.getLastRow(agent, simTimeInSec);
+	}
+}
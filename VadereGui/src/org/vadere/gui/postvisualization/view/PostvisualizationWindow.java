@@ -32,6 +32,7 @@ import org.vadere.gui.postvisualization.control.ActionStop;
 import org.vadere.gui.postvisualization.control.ActionVisualizationMenu;
 import org.vadere.gui.postvisualization.control.Player;
 import org.vadere.gui.postvisualization.model.PostvisualizationModel;
+import org.vadere.gui.postvisualization.model.TableTrajectoryFootStep;
 import org.vadere.gui.projectview.control.ActionDeselect;
 import org.vadere.gui.projectview.view.ProjectView;
 import org.vadere.simulator.projects.Scenario;
@@ -382,9 +383,9 @@ public class PostvisualizationWindow extends JPanel implements Observer, DropTar
 
 		try {
 			if (contactsTrajectoryFile != null) {
-				model.init(IOOutput.readTrajectories(trajectoryFile.toPath()), IOOutput.readContactData(contactsTrajectoryFile.toPath()), scenario, contactsTrajectoryFile.getParent());
+				model.init(TableTrajectoryFootStep.read(trajectoryFile.toPath()), IOOutput.readContactData(contactsTrajectoryFile.toPath()), scenario, contactsTrajectoryFile.getParent());
 			} else {
-				model.init(IOOutput.readTrajectories(trajectoryFile.toPath()), scenario, trajectoryFile.getParent());
+				model.init(TableTrajectoryFootStep.read(trajectoryFile.toPath()), null, scenario, trajectoryFile.getParent());
 			}
 			model.notifyObservers();
 		} catch (Exception ex) {
@@ -523,7 +524,7 @@ public class PostvisualizationWindow extends JPanel implements Observer, DropTar
 
 				if (trajectoryFile.isPresent() && scenarioFile.isPresent()) {
 					Scenario vadereScenario = IOOutput.readScenario(scenarioFile.get().toPath());
-					model.init(IOOutput.readTrajectories(trajectoryFile.get().toPath()), vadereScenario, trajectoryFile.get().getParent());
+					model.init(TableTrajectoryFootStep.read(trajectoryFile.get().toPath()), null, vadereScenario, trajectoryFile.get().getParent());
 					model.notifyObservers();
 					dialog.dispose();
 				} else {
@@ -175,6 +175,7 @@ class DataProcessingView extends JPanel implements IJsonView {
 
 		private JCheckBox isTimestampedCheckBox;
 		private JCheckBox isWriteMetaData;
+		private JCheckBox isStreamOutput;
 		private JTable outputFilesTable;
 		private DefaultTableModel outputFilesTableModel;
 		private JTable dataProcessorsTable;
@@ -227,6 +228,18 @@ class DataProcessingView extends JPanel implements IJsonView {
 			addEditableComponent(isWriteMetaData);
 			filesPanel.add(isWriteMetaData);
 
+			isStreamOutput = new JCheckBox(Messages.getString("DataProcessingView.chbStreamOutput"));
+			isStreamOutput.addActionListener(new AbstractAction() {
+				@Override
+				public void actionPerformed(ActionEvent e) {
+					currentScenario.getDataProcessingJsonManager().setStreamOutput(isStreamOutput.isSelected());
+				}
+			});
+
+			isStreamOutput.setAlignmentX(Component.LEFT_ALIGNMENT);
+			addEditableComponent(isStreamOutput);
+			filesPanel.add(isStreamOutput);
+
 			JButton addFileBtn = new JButton(new AbstractAction(Messages.getString("DataProcessingView.btnAdd")) {
 				@Override
 				public void actionPerformed(ActionEvent e) {
@@ -362,6 +375,7 @@ class DataProcessingView extends JPanel implements IJsonView {
 			selectedDataProcessor = null;
 			isTimestampedCheckBox.setSelected(scenario.getDataProcessingJsonManager().isTimestamped());
 			isWriteMetaData.setSelected(scenario.getDataProcessingJsonManager().isWriteMetaData());
+			isStreamOutput.setSelected(scenario.getDataProcessingJsonManager().isStreamOutput());
 			updateOutputFilesTable();
 			updateDataProcessorsTable();
 			updateDataProcessIdsInUse();
@@ -0,0 +1,230 @@
+package org.vadere.gui.postvisualization.model;
+
+import it.unimi.dsi.fastutil.ints.Int2IntAVLTreeMap;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vadere.simulator.projects.io.IOOutput;
+import org.vadere.simulator.projects.io.TrajectoryStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.Row;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.table.Rows;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the indexed lookups of {@link TableTrajectoryFootStep} with plain tablesaw filters.
+ */
+public class TableTrajectoryFootStepTest {
+
+	private static final int NUMBER_OF_AGENTS = 30;
+	private static final double STEP_DURATION = 0.4;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private List<double[]> footSteps;
+	private Table dataFrame;
+	private TableTrajectoryFootStep trajectory;
+
+	@Before
+	public void setUp() {
+		Random random = new Random(0);
+		footSteps = new ArrayList<>();
+		for(int pedId = 1; pedId <= NUMBER_OF_AGENTS; pedId++) {
+			// consecutive footsteps share their boundaries, some footsteps are on the time grid
+			double time = random.nextInt(20) * STEP_DURATION;
+			int numberOfSteps = 1 + random.nextInt(40);
+			for(int step = 0; step < numberOfSteps; step++) {
+				double duration = random.nextBoolean() ? STEP_DURATION : random.nextDouble();
+				footSteps.add(new double[]{pedId, time, time + duration});
+				time += duration;
+			}
+		}
+		// the trajectory file is ordered by time steps but not strictly by the start time of footsteps
+		Collections.shuffle(footSteps, random);
+
+		IntColumn pedIds = IntColumn.create("pedestrianId");
+		DoubleColumn startTimes = DoubleColumn.create("simTime");
+		DoubleColumn endTimes = DoubleColumn.create("endTime");
+		DoubleColumn startX = DoubleColumn.create("startX");
+		DoubleColumn startY = DoubleColumn.create("startY");
+		DoubleColumn endX = DoubleColumn.create("endX");
+		DoubleColumn endY = DoubleColumn.create("endY");
+		for(int i = 0; i < footSteps.size(); i++) {
+			double[] footStep = footSteps.get(i);
+			pedIds.append((int) footStep[0]);
+			startTimes.append(footStep[1]);
+			endTimes.append(footStep[2]);
+			// identifies the row
+			startX.append(i);
+			startY.append(0);
+			endX.append(i);
+			endY.append(1);
+		}
+		dataFrame = Table.create("trajectories", pedIds, startTimes, endTimes, startX, startY, endX, endY);
+		trajectory = new TableTrajectoryFootStep(dataFrame);
+	}
+
+	private List<Double> getRowIds(final Table table) {
+		List<Double> rowIds = new ArrayList<>();
+		for(Row row : table) {
+			rowIds.add(row.getDouble(trajectory.startXCol));
+		}
+		return rowIds;
+	}
+
+	private List<Double> getQueryTimes() {
+		List<Double> times = new ArrayList<>();
+		for(int i = -1; i < 60; i++) {
+			times.add(i * STEP_DURATION);
+			times.add(i * STEP_DURATION + 0.13);
+		}
+		for(Row row : dataFrame) {
+			times.add(row.getDouble(trajectory.endTimeCol));
+		}
+		return times;
+	}
+
+	private IntColumn getPedId() {
+		return dataFrame.intColumn(trajectory.pedIdCol);
+	}
+
+	private DoubleColumn getStartTime() {
+		return dataFrame.doubleColumn(trajectory.startTimeCol);
+	}
+
+	private DoubleColumn getEndTime() {
+		return dataFrame.doubleColumn(trajectory.endTimeCol);
+	}
+
+	@Test
+	public void testGetAgentsAtTime() {
+		for(double time : getQueryTimes()) {
+			Table expected = dataFrame.where(getStartTime().isLessThanOrEqualTo(time).and(getEndTime().isGreaterThanOrEqualTo(time)))
+					.sortAscendingOn("pedestrianId");
+			assertThat(getRowIds(trajectory.getAgents(time)), equalTo(getRowIds(expected)));
+		}
+	}
+
+	@Test
+	public void testGetAgentsInBetween() {
+		List<Double> times = getQueryTimes();
+		Random random = new Random(1);
+		for(int i = 0; i < 200; i++) {
+			double startTime = times.get(random.nextInt(times.size()));
+			double endTime = times.get(random.nextInt(times.size()));
+			Table expected = dataFrame.where(getStartTime().isLessThan(endTime).and(getEndTime().isGreaterThanOrEqualTo(startTime)));
+			assertThat(getRowIds(trajectory.getAgents(startTime, endTime)), equalTo(getRowIds(expected)));
+		}
+	}
+
+	@Test
+	public void testGetAgent() {
+		for(double time : getQueryTimes()) {
+			for(int pedId = 1; pedId <= NUMBER_OF_AGENTS; pedId += 7) {
+				Table expected = dataFrame.where(getStartTime().isLessThanOrEqualTo(time)
+						.and(getEndTime().isGreaterThanOrEqualTo(time))
+						.and(getPedId().isEqualTo(pedId)));
+				assertThat(getRowIds(trajectory.getAgent(time, pedId)), equalTo(getRowIds(expected)));
+			}
+		}
+	}
+
+	@Test
+	public void testGetAgentsWithDisappearedAgents() {
+		for(double time : getQueryTimes()) {
+			Table expected = dataFrame.where(getStartTime().isLessThanOrEqualTo(time).and(getEndTime().isGreaterThanOrEqualTo(time)))
+					.sortAscendingOn("pedestrianId");
+			Table deadAgents = dataFrame.where(getPedId().isNotIn(expected.intColumn(trajectory.pedIdCol).asObjectArray())
+					.and(getStartTime().isLessThanOrEqualTo(time)));
+			Int2IntMap idToRowNr = new Int2IntAVLTreeMap();
+			for(Row row : deadAgents) {
+				idToRowNr.put(row.getInt(trajectory.pedIdCol), row.getRowNumber());
+			}
+			idToRowNr.forEach((pedId, rowNr) -> Rows.appendRowToTable(rowNr, deadAgents, expected));
+
+			assertThat(getRowIds(trajectory.getAgentsWithDisappearedAgents(time)), equalTo(getRowIds(expected)));
+		}
+	}
+
+	@Test
+	public void testBirthAndDeathTime() {
+		for(int pedId = 1; pedId <= NUMBER_OF_AGENTS; pedId++) {
+			Table footSteps = dataFrame.where(getPedId().isEqualTo(pedId));
+			assertThat(trajectory.getBirthTime(pedId), equalTo(footSteps.doubleColumn(trajectory.startTimeCol).min()));
+			assertThat(trajectory.getDeathTime(pedId), equalTo(footSteps.doubleColumn(trajectory.endTimeCol).max()));
+		}
+	}
+
+	private Path writeTrajectoryFile() throws IOException {
+		// as written by the simulation: ordered by the start time
+		List<double[]> sortedFootSteps = new ArrayList<>(footSteps);
+		sortedFootSteps.sort(Comparator.comparingDouble(footStep -> footStep[1]));
+		List<String> lines = new ArrayList<>();
+		lines.add("pedestrianId simTime endTime-PID1 startX-PID1 startY-PID1 endX-PID1 endY-PID1");
+		for(int i = 0; i < sortedFootSteps.size(); i++) {
+			double[] footStep = sortedFootSteps.get(i);
+			lines.add((int) footStep[0] + " " + footStep[1] + " " + footStep[2] + " " + (i + 0.5) + " 0.5 " + (i + 0.5) + " 1.5");
+		}
+		Path trajectoryFilePath = folder.getRoot().toPath().resolve("postvis.traj");
+		Files.write(trajectoryFilePath, lines);
+		return trajectoryFilePath;
+	}
+
+	@Test
+	public void testPagedTrajectoriesEqualInMemoryTrajectories() throws IOException {
+		Path trajectoryFilePath = writeTrajectoryFile();
+		TableTrajectoryFootStep expected = new TableTrajectoryFootStep(IOOutput.readTrajectories(trajectoryFilePath));
+		try (TableTrajectoryFootStep actual = new TableTrajectoryFootStep(TrajectoryStore.open(trajectoryFilePath))) {
+			assertTrue(actual.isPaged());
+			actual.setPagedTrajectoryLength(Double.POSITIVE_INFINITY);
+			assertThat(actual.getMinStartTime(), equalTo(expected.getMinStartTime()));
+			assertThat(actual.getMaxEndTime(), equalTo(expected.getMaxEndTime()));
+
+			for(double time : getQueryTimes()) {
+				assertThat(getRowIds(actual.getAgents(time)), equalTo(getRowIds(expected.getAgents(time))));
+				assertThat(getRowIds(actual.getAgentsWithDisappearedAgents(time)), equalTo(getRowIds(expected.getAgentsWithDisappearedAgents(time))));
+				assertThat(getRowIds(actual.getAgents(expected.getMinStartTime(), time)), equalTo(getRowIds(expected.getAgents(expected.getMinStartTime(), time))));
+				assertThat(getRowIds(actual.getAliveAgents(expected.getMinStartTime(), time)), equalTo(getRowIds(expected.getAliveAgents(expected.getMinStartTime(), time))));
+				assertThat(getRowIds(actual.getAgent(time, 3)), equalTo(getRowIds(expected.getAgent(time, 3))));
+			}
+			for(int pedId = 1; pedId <= NUMBER_OF_AGENTS; pedId++) {
+				assertThat(actual.getBirthTime(pedId), equalTo(expected.getBirthTime(pedId)));
+				assertThat(actual.getDeathTime(pedId), equalTo(expected.getDeathTime(pedId)));
+			}
+		}
+	}
+
+	@Test
+	public void testPagedTrajectoriesAreLimited() throws IOException {
+		Path trajectoryFilePath = writeTrajectoryFile();
+		try (TableTrajectoryFootStep paged = new TableTrajectoryFootStep(TrajectoryStore.open(trajectoryFilePath))) {
+			paged.setPagedTrajectoryLength(2.0);
+			double time = 10.0;
+			Table footSteps = paged.getAgents(paged.getMinStartTime(), time);
+			assertTrue(footSteps.rowCount() > 0);
+			for(Row row : footSteps) {
+				assertTrue(row.getDouble(paged.endTimeCol) >= time - 2.0);
+				assertTrue(row.getDouble(paged.startTimeCol) < time);
+			}
+		}
+	}
+}
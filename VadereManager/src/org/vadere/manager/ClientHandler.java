@@ -10,6 +10,8 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * //todo comment
@@ -33,6 +35,15 @@ public class ClientHandler implements Runnable {
 		this.scenarioString = ""; // traci will provide the scenario
 	}
 
+	/**
+	 * Creates a handler without socket for transports which receive and send the packets themselves
+	 * and call {@link #handlePacket(TraCIPacketBuffer)} and {@link #close()}, i.e. {@link #run()} must
+	 * not be used.
+	 */
+	public ClientHandler(ServerSocket serverSocket, Path basedir, boolean guiSupport) {
+		this(serverSocket, null, basedir, guiSupport);
+	}
+
 	public void setScenario(String scenarioString) {
 		this.scenarioString = scenarioString;
 	}
@@ -64,28 +75,51 @@ public class ClientHandler implements Runnable {
 
 				TraCIPacketBuffer traCIPacketBuffer = traCISocket.receiveExact();
 
-				if (traCIPacketBuffer.hasRemaining()) {
-					TraCICommand cmd = traCIPacketBuffer.nextCommand();
-					while (cmd != null) {
-
-						TraCIPacket response = cmdExecutor.execute(cmd);
-						logger.debugf("send packet [%d byte]", response.size());
-						traCISocket.sendExact(response);
-
-						cmd = traCIPacketBuffer.nextCommand();
-					}
+				for (TraCIPacket response : handlePacket(traCIPacketBuffer)) {
+					logger.debugf("send packet [%d byte]", response.size());
+					traCISocket.sendExact(response);
 				}
 
 			}
 		} finally {
 			traCISocket.close();
-			remoteManager.stopSimulationIfRunning();
-			cmdExecutor = null;
-			remoteManager = null;
-			// hint VM to call garbage collection. The current simulation is done.
-			System.gc();
+			close();
 		}
 
 	}
 
+	/**
+	 * Executes all commands of one received packet and returns their responses in the order of the
+	 * commands. This is used by the blocking {@link #run()} loop as well as by transports which
+	 * receive the packets themselves, see {@link org.vadere.manager.server.NioVadereServer}.
+	 *
+	 * @param traCIPacketBuffer the received packet without its length field
+	 * @return the responses to send back to the client
+	 */
+	public List<TraCIPacket> handlePacket(TraCIPacketBuffer traCIPacketBuffer) {
+		List<TraCIPacket> responses = new ArrayList<>();
+		if (traCIPacketBuffer.hasRemaining()) {
+			TraCICommand cmd = traCIPacketBuffer.nextCommand();
+			while (cmd != null) {
+				responses.add(cmdExecutor.execute(cmd));
+				cmd = traCIPacketBuffer.nextCommand();
+			}
+		}
+		return responses;
+	}
+
+	/**
+	 * Stops the simulation of this client. Must be called once the connection to the client is
+	 * closed.
+	 */
+	public void close() {
+		if (remoteManager != null) {
+			remoteManager.stopSimulationIfRunning();
+		}
+		cmdExecutor = null;
+		remoteManager = null;
+		// hint VM to call garbage collection. The current simulation is done.
+		System.gc();
+	}
+
 }
@@ -6,13 +6,16 @@ import net.sourceforge.argparse4j.inf.Namespace;
 import net.sourceforge.argparse4j.internal.HelpScreenException;
 
 import org.vadere.manager.server.AbstractVadereServer;
+import org.vadere.manager.server.NioVadereServer;
 import org.vadere.manager.server.VadereServer;
 import org.vadere.manager.server.VadereSingleClientServer;
 import org.vadere.util.io.VadereArgumentParser;
 import org.vadere.util.logging.Logger;
 
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
+import java.nio.channels.ServerSocketChannel;
 import java.nio.file.Paths;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -30,12 +33,18 @@ public class Manager {
 		try {
 			ns = p.parseArgsAndProcessInitialOptions(args);
 
-			ServerSocket serverSocket = new ServerSocket(ns.getInt("port"), 50, InetAddress.getByName(ns.getString("bind")));
 			logger.infof("Start Server(%s) with Loglevel: %s", VadereServer.currentVersion.getVersionString(), logger.getLevel().toString());
 			AbstractVadereServer server;
 			if (ns.getBoolean("singleClient")) {
+				ServerSocket serverSocket = new ServerSocket(ns.getInt("port"), 50, InetAddress.getByName(ns.getString("bind")));
 				server = new VadereSingleClientServer(serverSocket, Paths.get(ns.getString("output-dir")), ns.getBoolean("guiMode"), ns.getBoolean("trace"), ns.getString("scenario"));
+			} else if (ns.getBoolean("nonBlocking")) {
+				ServerSocketChannel serverChannel = ServerSocketChannel.open();
+				serverChannel.bind(new InetSocketAddress(InetAddress.getByName(ns.getString("bind")), ns.getInt("port")), 50);
+				ExecutorService pool = Executors.newFixedThreadPool(ns.getInt("clientNum"));
+				server = new NioVadereServer(serverChannel, pool, Paths.get(ns.getString("output-dir")), ns.getBoolean("guiMode"), ns.getBoolean("trace"));
 			} else {
+				ServerSocket serverSocket = new ServerSocket(ns.getInt("port"), 50, InetAddress.getByName(ns.getString("bind")));
 				ExecutorService pool = Executors.newFixedThreadPool(ns.getInt("clientNum"));
 				server = new VadereServer(serverSocket, pool, Paths.get(ns.getString("output-dir")), ns.getBoolean("guiMode"), ns.getBoolean("trace"));
 			}
@@ -115,6 +124,13 @@ public class Manager {
 				.dest("singleClient")
 				.help("Use server which only accepts one client and terminates after one simulation run.");
 
+		parser.addArgument("--non-blocking")
+				.required(false)
+				.action(Arguments.storeTrue())
+				.type(Boolean.class)
+				.dest("nonBlocking")
+				.help("Serve all clients by one thread with non-blocking I/O. In this mode --clientNum only limits the number of clients whose commands are executed at the same time, not the number of connected clients.");
+
 		// boolean switch to tell server to start in gui mode.
 		parser.addArgument("--gui-mode")
 				.required(false)
@@ -17,7 +17,6 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -43,13 +42,13 @@ public class RemoteManager implements RunnableFinishedListener {
 	private boolean guiSupport;
 	private SimulationCfg simCfg;    // received from traci client.
 
-	private List<Subscription> subscriptions;
+	private SubscriptionEngine subscriptionEngine;
 
 
 	public RemoteManager(Path defaultOutputdir, boolean guiSupport) {
 		this.defaultOutputdir = defaultOutputdir;
 		this.guiSupport = guiSupport;
-		this.subscriptions = new ArrayList<>();
+		this.subscriptionEngine = new SubscriptionEngine();
 		this.clientCloseCommandReceived = false;
 		this.simCfg = null;
 	}
@@ -120,11 +119,15 @@ public class RemoteManager implements RunnableFinishedListener {
 	}
 
 	public void addValueSubscription(Subscription sub) {
-		subscriptions.add(sub);
+		subscriptionEngine.addSubscription(sub);
 	}
 
 	public List<Subscription> getSubscriptions() {
-		return subscriptions;
+		return subscriptionEngine.getSubscriptions();
+	}
+
+	public SubscriptionEngine getSubscriptionEngine() {
+		return subscriptionEngine;
 	}
 
 	public boolean accessState(StateAccessHandler stateAccessHandler) {
@@ -12,12 +12,14 @@ import org.vadere.manager.traci.response.TraCISubscriptionResponse;
 import org.vadere.util.logging.Logger;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 
 
 /**
  * Wrapper around a given TraCIValueSubscriptionCommand to execute the
- * subscription
- * todo: merge multiple subscription so no unnecessary duplicates are send  send
+ * subscription. Subscriptions of the same variables are merged by the {@link SubscriptionEngine}.
  */
 public class Subscription {
 
@@ -27,6 +29,8 @@ public class Subscription {
 	private final TraCICmd responseIdentifier;
 	private final TraCIValueSubscriptionCommand valueSubscriptionCommand;
 	private boolean markedForRemoval;
+	/** the values of the variables sent last, indexed like the get commands */
+	private Object[] lastValues;
 
 	public Subscription(TraCICmdHandler traCICmdHandler, TraCICmd responseIdentifier, TraCIValueSubscriptionCommand valueSubscriptionCommand) {
 		this.traCICmdHandler = traCICmdHandler;
@@ -36,6 +40,21 @@ public class Subscription {
 	}
 
 	public void executeSubscription(RemoteManager remoteManager) {
+		executeSubscription(getCmd -> {
+			traCICmdHandler.handel(getCmd, remoteManager);
+			return getCmd.getResponse();
+		}, false);
+	}
+
+	/**
+	 * Builds the response of the subscription from the responses of its get commands which are
+	 * provided by <tt>values</tt>. This allows the {@link SubscriptionEngine} to evaluate a
+	 * variable which is subscribed by many subscriptions only once.
+	 *
+	 * @param changedValuesOnly if true, only variables whose value changed since the last execution
+	 *                          are part of the response.
+	 */
+	public void executeSubscription(Function<TraCIGetCommand, TraCIGetResponse> values, boolean changedValuesOnly) {
 
 		// todo check if subscription is still valid.
 //		markForRemoval();
@@ -47,9 +66,13 @@ public class Subscription {
 				new StatusResponse(valueSubscriptionCommand.getTraCICmd(), TraCIStatusResponse.OK, ""),
 				responseIdentifier, valueSubscriptionCommand.getElementIdentifier(), valueSubscriptionCommand.getNumberOfVariables());
 
-		for (TraCIGetCommand getCmd : valueSubscriptionCommand.getGetCommands()) {
-			traCICmdHandler.handel(getCmd, remoteManager);
-			TraCIGetResponse getResponse = getCmd.getResponse();
+		List<TraCIGetCommand> getCommands = valueSubscriptionCommand.getGetCommands();
+		if (lastValues == null) {
+			lastValues = new Object[getCommands.size()];
+		}
+
+		for (int i = 0; i < getCommands.size(); i++) {
+			TraCIGetResponse getResponse = values.apply(getCommands.get(i));
 
 			if (getResponse.getStatusResponse().getResponse().equals(TraCIStatusResponse.ERR)) {
 				logger.warn("Get command returned error: " + getResponse.getStatusResponse().getDescription());
@@ -61,6 +84,12 @@ public class Subscription {
 				}
 			}
 
+			boolean ok = getResponse.getStatusResponse().getResponse().equals(TraCIStatusResponse.OK);
+			if (changedValuesOnly && ok && lastValues[i] != null && Objects.deepEquals(lastValues[i], getResponse.getResponseData())) {
+				continue;
+			}
+			lastValues[i] = ok ? getResponse.getResponseData() : null;
+
 			subResponse.addVariableResponse(getResponse.getVariableIdentifier(),
 					getResponse.getStatusResponse().getResponse(),
 					getResponse.getResponseDataType(),
@@ -71,6 +100,9 @@ public class Subscription {
 			valueSubscriptionCommand.setResponse(
 					TraCISubscriptionResponse.removeResponse(valueSubscriptionCommand, responseIdentifier));
 		} else {
+			if (changedValuesOnly) {
+				subResponse.setNumberOfVariables(subResponse.getResponses().size());
+			}
 			valueSubscriptionCommand.setResponse(subResponse);
 		}
 	}
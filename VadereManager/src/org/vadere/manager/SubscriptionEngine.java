@@ -0,0 +1,149 @@
+package org.vadere.manager;
+
+import org.vadere.manager.traci.TraCICmd;
+import org.vadere.manager.traci.commandHandler.PersonCommandHandler;
+import org.vadere.manager.traci.commandHandler.SubscriptionHandler;
+import org.vadere.manager.traci.commands.TraCIGetCommand;
+import org.vadere.manager.traci.response.TraCIGetResponse;
+import org.vadere.util.config.VadereConfig;
+import org.vadere.util.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Executes the {@link Subscription}s of one client after each simulation step.
+ *
+ * <ul>
+ *     <li>A new subscription for the same domain and element replaces the old one, a subscription
+ *     without any variable removes it.</li>
+ *     <li>All get commands of all subscriptions are executed within one access of the simulation
+ *     state and each distinct (command, variable, element) is evaluated only once per step.</li>
+ *     <li>If many elements subscribe to the same variable and there is a {@link SubscriptionHandler}
+ *     for it, the variable is evaluated for all elements at once, e.g. all person positions in one
+ *     pass over the pedestrians of the topography.</li>
+ *     <li>If <tt>Vadere.traci.sendChangedSubscriptionValuesOnly</tt> of the {@link VadereConfig} is
+ *     set, a subscription response only contains the variables whose value changed since the last
+ *     response. The first response of a subscription always contains all variables.</li>
+ * </ul>
+ */
+public class SubscriptionEngine {
+
+	private static Logger logger = Logger.getLogger(SubscriptionEngine.class);
+
+	private final List<Subscription> subscriptions;
+	private final EnumMap<TraCICmd, Map<Integer, SubscriptionHandler>> subscriptionHandlers;
+	private boolean changedValuesOnly;
+
+	public SubscriptionEngine() {
+		this.subscriptions = new ArrayList<>();
+		this.subscriptionHandlers = new EnumMap<>(TraCICmd.class);
+		this.changedValuesOnly = VadereConfig.getConfig().getBoolean("Vadere.traci.sendChangedSubscriptionValuesOnly", false);
+		PersonCommandHandler.instance.registerSubscriptionHandlers(this);
+	}
+
+	public void putSubscriptionHandler(TraCICmd getCmd, int variableId, SubscriptionHandler handler) {
+		subscriptionHandlers.computeIfAbsent(getCmd, c -> new HashMap<>()).put(variableId, handler);
+	}
+
+	public void addSubscription(Subscription sub) {
+		subscriptions.removeIf(s -> s.getSubscriptionId().equals(sub.getSubscriptionId()));
+		if (sub.getValueSubscriptionCommand().getNumberOfVariables() > 0) {
+			subscriptions.add(sub);
+		}
+	}
+
+	public List<Subscription> getSubscriptions() {
+		return subscriptions;
+	}
+
+	public boolean isChangedValuesOnly() {
+		return changedValuesOnly;
+	}
+
+	public void setChangedValuesOnly(boolean changedValuesOnly) {
+		this.changedValuesOnly = changedValuesOnly;
+	}
+
+	/**
+	 * Sets the response of all subscriptions.
+	 */
+	public void executeSubscriptions(RemoteManager remoteManager) {
+		logger.debugf("execute %d subscriptions", subscriptions.size());
+		// the get commands access the state on their own, this avoids the locking of the state for each of them
+		if (!remoteManager.accessState((manager, state) -> execute(remoteManager))) {
+			execute(remoteManager);
+		}
+	}
+
+	private void execute(RemoteManager remoteManager) {
+		Map<ValueKey, TraCIGetResponse> values = new HashMap<>();
+		executeSubscriptionHandlers(remoteManager, values);
+
+		for (Subscription sub : subscriptions) {
+			sub.executeSubscription(getCmd -> values.computeIfAbsent(new ValueKey(getCmd), key -> {
+				sub.getTraCICmdHandler().handel(getCmd, remoteManager);
+				return getCmd.getResponse();
+			}), changedValuesOnly);
+		}
+	}
+
+	private void executeSubscriptionHandlers(RemoteManager remoteManager, Map<ValueKey, TraCIGetResponse> values) {
+		if (subscriptionHandlers.isEmpty()) {
+			return;
+		}
+
+		// the distinct get commands of each variable which has a subscription handler
+		Map<SubscriptionHandler, Map<ValueKey, TraCIGetCommand>> groups = new LinkedHashMap<>();
+		for (Subscription sub : subscriptions) {
+			for (TraCIGetCommand getCmd : sub.getValueSubscriptionCommand().getGetCommands()) {
+				Map<Integer, SubscriptionHandler> handlers = subscriptionHandlers.get(getCmd.getTraCICmd());
+				SubscriptionHandler handler = handlers == null ? null : handlers.get(getCmd.getVariableIdentifier());
+				if (handler != null) {
+					groups.computeIfAbsent(handler, h -> new LinkedHashMap<>()).putIfAbsent(new ValueKey(getCmd), getCmd);
+				}
+			}
+		}
+
+		for (Map.Entry<SubscriptionHandler, Map<ValueKey, TraCIGetCommand>> group : groups.entrySet()) {
+			Map<ValueKey, TraCIGetCommand> getCommands = group.getValue();
+			// a single element is evaluated by its get command
+			if (getCommands.size() > 1) {
+				group.getKey().handel(new ArrayList<>(getCommands.values()), remoteManager);
+				getCommands.forEach((key, getCmd) -> values.put(key, getCmd.getResponse()));
+			}
+		}
+	}
+
+	private static final class ValueKey {
+		private final TraCICmd cmd;
+		private final int variableId;
+		private final String elementId;
+
+		private ValueKey(TraCIGetCommand getCmd) {
+			this.cmd = getCmd.getTraCICmd();
+			this.variableId = getCmd.getVariableIdentifier();
+			this.elementId = getCmd.getElementIdentifier();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			ValueKey that = (ValueKey) o;
+			return variableId == that.variableId &&
+					cmd == that.cmd &&
+					Objects.equals(elementId, that.elementId);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(cmd, variableId, elementId);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package org.vadere.manager.server;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of direct {@link ByteBuffer}s of the same capacity. Allocating direct buffers is expensive
+ * and their memory is only freed by the garbage collector, therefore the buffers used to send data
+ * over a channel are reused. At most <tt>maxPooled</tt> buffers are kept, further released buffers
+ * are dropped.
+ */
+public class ByteBufferPool {
+
+	private final int bufferCapacity;
+	private final int maxPooled;
+	private final ConcurrentLinkedQueue<ByteBuffer> buffers;
+	private final AtomicInteger pooled;
+
+	public ByteBufferPool(final int bufferCapacity, final int maxPooled) {
+		this.bufferCapacity = bufferCapacity;
+		this.maxPooled = maxPooled;
+		this.buffers = new ConcurrentLinkedQueue<>();
+		this.pooled = new AtomicInteger(0);
+	}
+
+	public int getBufferCapacity() {
+		return bufferCapacity;
+	}
+
+	/**
+	 * Returns a cleared buffer of the pool or a new one if the pool is empty.
+	 */
+	public ByteBuffer acquire() {
+		ByteBuffer buffer = buffers.poll();
+		if (buffer == null) {
+			return ByteBuffer.allocateDirect(bufferCapacity);
+		}
+		pooled.decrementAndGet();
+		buffer.clear();
+		return buffer;
+	}
+
+	/**
+	 * Gives a buffer acquired by {@link #acquire()} back to the pool. The buffer must not be used afterwards.
+	 */
+	public void release(final ByteBuffer buffer) {
+		if (!buffer.isDirect() || buffer.capacity() != bufferCapacity) {
+			return;
+		}
+		if (pooled.incrementAndGet() <= maxPooled) {
+			buffers.offer(buffer);
+		} else {
+			pooled.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Returns the number of buffers which are ready to be reused.
+	 */
+	public int size() {
+		return pooled.get();
+	}
+}
@@ -0,0 +1,390 @@
+package org.vadere.manager.server;
+
+import org.vadere.manager.ClientHandler;
+import org.vadere.manager.traci.reader.TraCIPacketBuffer;
+import org.vadere.manager.traci.writer.TraCIPacket;
+import org.vadere.util.config.VadereConfig;
+
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A multi-client server which does all network I/O of all clients within one selector thread with
+ * non-blocking channels. In contrast to the {@link VadereServer} a connection does not occupy a
+ * thread: The selector thread assembles the TraCI packets of a client and only a complete packet
+ * is handed to the <tt>handlerPool</tt> which executes its commands by the {@link ClientHandler}
+ * of the client. The packets of one client are executed one after the other in the order of
+ * their arrival, the packets of different clients in parallel. The responses are written by the
+ * selector thread using direct buffers of a {@link ByteBufferPool}.
+ *
+ * Therefore the size of the <tt>handlerPool</tt> only limits the number of clients whose commands
+ * are executed at the same time and not the number of connected clients.
+ */
+public class NioVadereServer extends AbstractVadereServer {
+
+	private static final int TRACI_LEN_LENGTH = 4;
+	private static final int BUFFER_CAPACITY = 64 * 1024;
+	private static final int MAX_POOLED_BUFFERS = 64;
+
+	private final ServerSocketChannel serverChannel;
+	private final ExecutorService handlerPool;
+	private final Selector selector;
+	private final ByteBufferPool bufferPool;
+	/** the buffer all channels are read into, it is only used by the selector thread */
+	private final ByteBuffer readBuffer;
+	/** the connections which have new responses to write */
+	private final ConcurrentLinkedQueue<Connection> writeRequests;
+	private volatile boolean running;
+
+	public NioVadereServer(ServerSocketChannel serverChannel, ExecutorService handlerPool, Path baseDir, boolean guiSupport, boolean trace) throws IOException {
+		super(serverChannel.socket(), baseDir, guiSupport, trace);
+		this.serverChannel = serverChannel;
+		this.handlerPool = handlerPool;
+		this.selector = Selector.open();
+		this.bufferPool = new ByteBufferPool(BUFFER_CAPACITY, MAX_POOLED_BUFFERS);
+		this.readBuffer = ByteBuffer.allocateDirect(BUFFER_CAPACITY);
+		this.writeRequests = new ConcurrentLinkedQueue<>();
+		this.running = true;
+	}
+
+	/**
+	 * Stops the selector loop of {@link #run()}, all connections are closed.
+	 */
+	public void shutdown() {
+		running = false;
+		selector.wakeup();
+	}
+
+	@Override
+	public void run() {
+		try {
+			logger.infof("listening on port %d... (gui-mode: %s) Non-blocking", serverSocket.getLocalPort(), Boolean.toString(guiSupport));
+			if (VadereConfig.getConfig().getBoolean("Vadere.cache.useGlobalCacheBaseDir")) {
+				logger.infof("Cache location lookup searches at: %s",
+						VadereConfig.getConfig().getString("Vadere.cache.globalCacheBaseDir"));
+			}
+
+			serverChannel.configureBlocking(false);
+			serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+			while (running) {
+				selector.select();
+
+				Connection connection;
+				while ((connection = writeRequests.poll()) != null) {
+					if (connection.key.isValid()) {
+						connection.write();
+					} else {
+						// the channel was closed by the thread which executed the commands of the client
+						connection.releaseWriteBuffer();
+					}
+				}
+
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					if (!key.isValid()) {
+						continue;
+					}
+
+					if (key.isAcceptable()) {
+						accept();
+					} else {
+						connection = (Connection) key.attachment();
+						if (key.isReadable()) {
+							connection.read();
+						}
+						if (key.isValid() && key.isWritable()) {
+							connection.write();
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			logger.warn("Interrupt Vadere Server");
+		} finally {
+			logger.info("Shutdown Vadere Server ...");
+			for (SelectionKey key : selector.keys()) {
+				if (key.attachment() instanceof Connection) {
+					((Connection) key.attachment()).close();
+				}
+			}
+			handlerPool.shutdown();
+			try {
+				handlerPool.awaitTermination(4L, TimeUnit.SECONDS);
+				selector.close();
+				if (serverChannel.isOpen()) {
+					serverChannel.close();
+				}
+			} catch (InterruptedException | IOException e) {
+				logger.error(e);
+			}
+		}
+	}
+
+	private void accept() throws IOException {
+		SocketChannel channel = serverChannel.accept();
+		if (channel == null) {
+			return;
+		}
+		channel.configureBlocking(false);
+		// TraCI packets are small request-response pairs
+		channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+		Connection connection = new Connection(channel, new ClientHandler(serverSocket, baseDir, guiSupport));
+		connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+		logger.infof("client %s connected...", channel.getRemoteAddress());
+	}
+
+	/**
+	 * The state of one client. The receive and send state is only accessed by the selector thread,
+	 * the queue of received packets is shared with the thread of the <tt>handlerPool</tt> which
+	 * executes them.
+	 */
+	private class Connection {
+
+		private final SocketChannel channel;
+		private final ClientHandler handler;
+		private SelectionKey key;
+
+		// receive state
+		private final ByteBuffer lengthField;
+		private byte[] payload;
+		private int payloadPosition;
+
+		// send state
+		private final ConcurrentLinkedQueue<byte[]> responses;
+		private byte[] sending;
+		private int sendingPosition;
+		private ByteBuffer writeBuffer;
+
+		// guarded by this
+		private final ArrayDeque<TraCIPacketBuffer> packets;
+		private boolean executing;
+		private boolean closed;
+
+		private Connection(SocketChannel channel, ClientHandler handler) {
+			this.channel = channel;
+			this.handler = handler;
+			this.lengthField = ByteBuffer.allocate(TRACI_LEN_LENGTH);
+			this.responses = new ConcurrentLinkedQueue<>();
+			this.packets = new ArrayDeque<>();
+			this.executing = false;
+			this.closed = false;
+		}
+
+		private void read() {
+			try {
+				readBuffer.clear();
+				if (channel.read(readBuffer) < 0) {
+					logger.infof("EOF. Client closed socket");
+					close();
+					return;
+				}
+				readBuffer.flip();
+				while (readBuffer.hasRemaining()) {
+					receive(readBuffer);
+				}
+			} catch (IOException e) {
+				logger.error("Exception caught when reading from client", e);
+				close();
+			}
+		}
+
+		/**
+		 * Consumes the bytes of the buffer up to the end of the current packet.
+		 */
+		private void receive(ByteBuffer buffer) {
+			if (payload == null) {
+				while (buffer.hasRemaining() && lengthField.hasRemaining()) {
+					lengthField.put(buffer.get());
+				}
+				if (!lengthField.hasRemaining()) {
+					int dataLength = lengthField.getInt(0) - TRACI_LEN_LENGTH;
+					lengthField.clear();
+					if (dataLength <= 0) {
+						packetReceived(TraCIPacketBuffer.empty());
+					} else {
+						payload = new byte[dataLength];
+						payloadPosition = 0;
+					}
+				}
+			} else {
+				int length = Math.min(buffer.remaining(), payload.length - payloadPosition);
+				buffer.get(payload, payloadPosition, length);
+				payloadPosition += length;
+				if (payloadPosition == payload.length) {
+					// the commands of the packet refer to the array, i.e. it can not be reused
+					packetReceived(TraCIPacketBuffer.wrap(payload));
+					payload = null;
+				}
+			}
+		}
+
+		private void packetReceived(TraCIPacketBuffer packet) {
+			synchronized (this) {
+				packets.add(packet);
+				if (executing) {
+					return;
+				}
+				executing = true;
+			}
+			handlerPool.execute(this::execute);
+		}
+
+		/**
+		 * Executes the received packets until there is none left. This runs within the <tt>handlerPool</tt>.
+		 */
+		private void execute() {
+			boolean isClosed = false;
+			try {
+				while (true) {
+					TraCIPacketBuffer packet;
+					synchronized (this) {
+						if (closed) {
+							isClosed = true;
+							break;
+						}
+						packet = packets.poll();
+						if (packet == null) {
+							executing = false;
+							return;
+						}
+					}
+
+					try {
+						for (TraCIPacket response : handler.handlePacket(packet)) {
+							if (trace)
+								logger.tracef("send packet [%d byte]: %s", response.size(), response.asHexString());
+							else
+								logger.debugf("send packet [%d byte]", response.size());
+							responses.add(response.send());
+						}
+						writeRequests.add(this);
+						selector.wakeup();
+					} catch (Exception e) {
+						logger.error("Error while handling TraCI Message", e);
+						try {
+							// the key of the channel is cancelled by the selector
+							channel.close();
+						} catch (IOException io) {
+							logger.error(io);
+						}
+						synchronized (this) {
+							closed = true;
+						}
+					}
+				}
+				handler.close();
+			} finally {
+				if (isClosed) {
+					// the write buffer is only used by the selector thread, which releases it since the key is invalid
+					writeRequests.add(this);
+					selector.wakeup();
+				}
+			}
+		}
+
+		private void write() {
+			try {
+				while (true) {
+					if (writeBuffer == null || !writeBuffer.hasRemaining()) {
+						if (!fillWriteBuffer()) {
+							key.interestOps(SelectionKey.OP_READ);
+							return;
+						}
+					}
+					channel.write(writeBuffer);
+					if (writeBuffer.hasRemaining()) {
+						// the socket buffer is full, continue if the channel is writable again
+						key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+						return;
+					}
+				}
+			} catch (IOException e) {
+				logger.error("Exception caught when writing to client", e);
+				close();
+			}
+		}
+
+		/**
+		 * Copies the next responses into the write buffer. Returns false and gives the buffer back
+		 * to the pool if there is nothing left to send.
+		 */
+		private boolean fillWriteBuffer() {
+			if (writeBuffer == null) {
+				writeBuffer = bufferPool.acquire();
+			}
+			writeBuffer.clear();
+			while (writeBuffer.hasRemaining()) {
+				if (sending == null) {
+					sending = responses.poll();
+					sendingPosition = 0;
+					if (sending == null) {
+						break;
+					}
+				}
+				int length = Math.min(writeBuffer.remaining(), sending.length - sendingPosition);
+				writeBuffer.put(sending, sendingPosition, length);
+				sendingPosition += length;
+				if (sendingPosition == sending.length) {
+					sending = null;
+				}
+			}
+			writeBuffer.flip();
+
+			if (!writeBuffer.hasRemaining()) {
+				releaseWriteBuffer();
+				return false;
+			}
+			return true;
+		}
+
+		/**
+		 * Gives the write buffer back to the pool. This must only be called by the selector thread.
+		 */
+		private void releaseWriteBuffer() {
+			if (writeBuffer != null) {
+				bufferPool.release(writeBuffer);
+				writeBuffer = null;
+			}
+		}
+
+		/**
+		 * Closes the channel and stops the simulation of the client once its running command is done.
+		 */
+		private void close() {
+			key.cancel();
+			try {
+				channel.close();
+			} catch (IOException e) {
+				logger.error(e);
+			}
+			releaseWriteBuffer();
+
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				closed = true;
+				if (executing) {
+					return;
+				}
+				executing = true;
+			}
+			handlerPool.execute(this::execute);
+		}
+	}
+}
@@ -1,6 +1,5 @@
 package org.vadere.manager.traci.commandHandler;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.vadere.manager.RemoteManager;
 import org.vadere.manager.Subscription;
 import org.vadere.manager.traci.TraCICmd;
@@ -13,10 +12,7 @@ import org.vadere.manager.traci.response.TraCIStatusResponse;
 import org.vadere.manager.traci.writer.TraCIPacket;
 import org.vadere.util.logging.Logger;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.util.EnumMap;
 
 
 /**
@@ -36,51 +32,41 @@ public abstract class CommandHandler<VAR extends Enum> {
 	public static final String COULD_NOT_SERIALIZE_OBJECT = "Could not serialize object ";
 	public static final String NO_MAIN_MODEL = "Main Model is not present.";
 	private static Logger logger = Logger.getLogger(CommandHandler.class);
-	private final Method processNotImplemented;
-	protected HashMap<Pair<TraCICmd, VAR>, Method> handler;
+	/** the handlers of each command indexed by the ordinal of the variable */
+	private final EnumMap<TraCICmd, TraCICmdHandler[]> handler;
+	private final TraCICmdHandler processNotImplemented;
 
 	public CommandHandler() {
-		handler = new HashMap<>();
-		Method tmp = null;
-		for (Method m : CommandHandler.class.getMethods()) {
-			if (m.getName().equals("process_NotImplemented")) {
-				tmp = m;
-				break;
-			}
-		}
-		assert (tmp != null) : "No Method found with name 'process_NotImplemented'";
-		processNotImplemented = tmp;
-	}
-
-	protected Method getHandler(TraCICmd cmd, VAR var) {
-		return handler.getOrDefault(Pair.of(cmd, var), processNotImplemented);
+		handler = new EnumMap<>(TraCICmd.class);
+		processNotImplemented = this::process_NotImplemented;
 	}
 
-	protected abstract void init_HandlerSingle(Method m);
-
-	protected abstract void init_HandlerMult(Method m);
-
-	protected void putHandler(TraCICmd cmd, VAR var, Method m) {
-		logger.debugf("Pair: %s | %s Method: %s", cmd.name(), var.name(), m.getName());
-		handler.put(Pair.of(cmd, var), m);
+	/**
+	 * Returns the handler of the command and variable or {@link #process_NotImplemented} if there is none.
+	 */
+	protected TraCICmdHandler getHandler(TraCICmd cmd, VAR var) {
+		TraCICmdHandler[] handlers = handler.get(cmd);
+		if (handlers == null || handlers[var.ordinal()] == null) {
+			return processNotImplemented;
+		}
+		return handlers[var.ordinal()];
 	}
 
-	protected void init(Class<? extends Annotation> singleAnnotation, Class<? extends Annotation> multAnnotation) {
-		for (Method m : this.getClass().getDeclaredMethods()) {
-			logger.tracef(m.getName());
-			if (m.isAnnotationPresent(singleAnnotation)) {
-				init_HandlerSingle(m);
-			}
-			if (m.isAnnotationPresent(multAnnotation)) {
-				init_HandlerMult(m);
-			}
-		}
+	/**
+	 * Registers the handler of a command and variable. The handlers of the classes annotated by
+	 * {@link org.vadere.annotation.traci.client.TraCIApi} with <tt>dispatchTable = true</tt> are
+	 * registered by the <tt>Dispatch</tt> class which the annotation processor generates from the
+	 * handler annotations of their methods, i.e. the methods are called directly instead of via reflection.
+	 */
+	protected void putHandler(TraCICmd cmd, VAR var, TraCICmdHandler h) {
+		logger.debugf("Pair: %s | %s", cmd.name(), var.name());
+		handler.computeIfAbsent(cmd, c -> new TraCICmdHandler[var.getDeclaringClass().getEnumConstants().length])[var.ordinal()] = h;
 	}
 
-	protected TraCICommand invokeHandler(Method m, Object obj, TraCICommand cmd, RemoteManager manager) {
+	protected TraCICommand invokeHandler(TraCICmdHandler h, TraCICommand cmd, RemoteManager manager) {
 		try {
-			return (TraCICommand) m.invoke(obj, cmd, manager);
-		} catch (IllegalAccessException | InvocationTargetException e) {
+			return h.handel(cmd, manager);
+		} catch (RuntimeException e) {
 			e.printStackTrace();
 		}
 		return process_UnknownCommand(cmd, manager);
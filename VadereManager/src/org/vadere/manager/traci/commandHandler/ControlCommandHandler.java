@@ -6,15 +6,12 @@ import org.vadere.manager.Subscription;
 import org.vadere.manager.server.VadereServer;
 import org.vadere.manager.traci.TraCICmd;
 import org.vadere.manager.traci.TraCIVersion;
-import org.vadere.manager.traci.commandHandler.annotation.ControlHandler;
-import org.vadere.manager.traci.commandHandler.annotation.ControlHandlers;
 import org.vadere.manager.traci.commandHandler.variables.ControlVar;
 import org.vadere.manager.traci.commands.TraCICommand;
 import org.vadere.manager.traci.commands.control.*;
 import org.vadere.manager.traci.response.*;
 import org.vadere.util.logging.Logger;
 
-import java.lang.reflect.Method;
 
 /**
  * Handel {@link org.vadere.manager.traci.commands.TraCICommand}s for the Control API
@@ -30,21 +27,6 @@ public class ControlCommandHandler extends CommandHandler<ControlVar> {
 
 	private ControlCommandHandler() {
 		super();
-		init(ControlHandler.class, ControlHandlers.class);
-	}
-
-	@Override
-	protected void init_HandlerSingle(Method m) {
-		ControlHandler an = m.getAnnotation(ControlHandler.class);
-		putHandler(an.cmd(), an.var(), m);
-	}
-
-	@Override
-	protected void init_HandlerMult(Method m) {
-		ControlHandler[] ans = m.getAnnotation(ControlHandlers.class).value();
-		for (ControlHandler a : ans) {
-			putHandler(a.cmd(), a.var(), m);
-		}
 	}
 
 	public TraCICommand process_load(TraCICommand rawCmd, RemoteManager remoteManager) {
@@ -67,7 +49,7 @@ public class ControlCommandHandler extends CommandHandler<ControlVar> {
 	public TraCICommand process_getState(TraCICommand rawCmd, RemoteManager remoteManager){
 		TraCIGetStateCommand cmd = (TraCIGetStateCommand) rawCmd;
 
-		remoteManager.getSubscriptions().forEach(sub -> sub.executeSubscription(remoteManager));
+		remoteManager.getSubscriptionEngine().executeSubscriptions(remoteManager);
 
 		// get responses
 		TraCIGetStateResponse response = new TraCIGetStateResponse(
@@ -94,7 +76,7 @@ public class ControlCommandHandler extends CommandHandler<ControlVar> {
 		logger.debugf("%s: execute %d subscriptions",
 				TraCICmd.SIM_STEP.name(),
 				remoteManager.getSubscriptions().size());
-		remoteManager.getSubscriptions().forEach(sub -> sub.executeSubscription(remoteManager));
+		remoteManager.getSubscriptionEngine().executeSubscriptions(remoteManager);
 
 		// remove subscriptions no longer valid
 		remoteManager.getSubscriptions().removeIf(Subscription::isMarkedForRemoval);
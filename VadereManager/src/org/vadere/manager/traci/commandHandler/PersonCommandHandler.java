@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 
 import org.vadere.annotation.traci.client.TraCIApi;
 import org.vadere.manager.RemoteManager;
+import org.vadere.manager.SubscriptionEngine;
 import org.vadere.manager.traci.TraCICmd;
 import org.vadere.state.traci.TraCIDataType;
 import org.vadere.manager.traci.commandHandler.annotation.PersonHandler;
@@ -24,12 +25,12 @@ import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.logging.Logger;
 
 import java.io.IOException;
-import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -49,7 +50,8 @@ import java.util.stream.Collectors;
 		cmdSub = 0xde,
 		cmdResponseSub = 0xee,
 		cmdCtx = 0x8e,
-		cmdResponseCtx = 0x9e)
+		cmdResponseCtx = 0x9e,
+		dispatchTable = true)
 public class PersonCommandHandler extends CommandHandler<PersonVar> {
 
 	public static PersonCommandHandler instance;
@@ -61,21 +63,7 @@ public class PersonCommandHandler extends CommandHandler<PersonVar> {
 
 	private PersonCommandHandler() {
 		super();
-		init(PersonHandler.class, PersonHandlers.class);
-	}
-
-	@Override
-	protected void init_HandlerSingle(Method m) {
-		PersonHandler an = m.getAnnotation(PersonHandler.class);
-		putHandler(an.cmd(), an.var(), m);
-	}
-
-	@Override
-	protected void init_HandlerMult(Method m) {
-		PersonHandler[] ans = m.getAnnotation(PersonHandlers.class).value();
-		for (PersonHandler a : ans) {
-			putHandler(a.cmd(), a.var(), m);
-		}
+		PersonCommandHandlerDispatch.register(this);
 	}
 
 	public TraCIGetResponse responseOK(TraCIDataType responseDataType, Object responseData) {
@@ -104,6 +92,59 @@ public class PersonCommandHandler extends CommandHandler<PersonVar> {
 		return true;
 	}
 
+	/**
+	 * Registers the handlers which evaluate a variable of many pedestrians at once.
+	 */
+	public void registerSubscriptionHandlers(SubscriptionEngine engine) {
+		engine.putSubscriptionHandler(TraCICmd.GET_PERSON_VALUE, PersonVar.POSITION.id,
+				(cmds, remoteManager) -> processBulkGet(cmds, remoteManager, PersonVar.POSITION, Pedestrian::getPosition));
+		engine.putSubscriptionHandler(TraCICmd.GET_PERSON_VALUE, PersonVar.VELOCITY.id,
+				(cmds, remoteManager) -> processBulkGet(cmds, remoteManager, PersonVar.VELOCITY, Pedestrian::getVelocity));
+		engine.putSubscriptionHandler(TraCICmd.GET_PERSON_VALUE, PersonVar.SPEED.id,
+				(cmds, remoteManager) -> processBulkGet(cmds, remoteManager, PersonVar.SPEED, ped -> {
+					double speed = ped.getFootstepHistory().getAverageSpeedInMeterPerSecond();
+					return Double.isNaN(speed) ? 0.0 : speed;
+				}));
+		engine.putSubscriptionHandler(TraCICmd.GET_PERSON_VALUE, PersonVar.ANGLE.id,
+				(cmds, remoteManager) -> processBulkGet(cmds, remoteManager, PersonVar.ANGLE,
+						ped -> ped.getFootstepHistory().getNorthBoundHeadingAngleDeg()));
+	}
+
+	/**
+	 * Sets the responses of get commands of the same variable but different pedestrians in one pass
+	 * over the pedestrians instead of looking up each pedestrian on its own. The responses are the
+	 * same as the ones of the corresponding <tt>process_get</tt> method.
+	 */
+	private void processBulkGet(List<TraCIGetCommand> cmds, RemoteManager remoteManager, PersonVar var, Function<Pedestrian, Object> value) {
+		remoteManager.accessState((manager, state) -> {
+			// different element identifiers might denote the same pedestrian, e.g. "1" and "01"
+			Map<Integer, List<TraCIGetCommand>> cmdsById = new HashMap<>();
+			for (TraCIGetCommand cmd : cmds) {
+				try {
+					cmdsById.computeIfAbsent(Integer.parseInt(cmd.getElementIdentifier()), id -> new LinkedList<>()).add(cmd);
+				} catch (NumberFormatException e) {
+					checkIfPedestrianExists(null, cmd);
+				}
+			}
+
+			for (Pedestrian ped : state.getTopography().getPedestrianDynamicElements().getElements()) {
+				List<TraCIGetCommand> pedCmds = cmdsById.remove(ped.getId());
+				if (pedCmds != null) {
+					Object data = value.apply(ped);
+					pedCmds.forEach(cmd -> cmd.setResponse(responseOK(var.type, data)));
+				}
+			}
+
+			// the remaining pedestrians do not exist (anymore)
+			cmdsById.values().forEach(pedCmds -> pedCmds.forEach(cmd -> checkIfPedestrianExists(null, cmd)));
+			logger.tracef("%s.%s: t=%f evaluated %d pedestrians",
+					TraCICmd.GET_PERSON_VALUE.logShort(),
+					var.logShort(),
+					state.getSimTimeInSec(),
+					cmds.size());
+		});
+	}
+
 	public boolean checkIfIdIsFree(List<String> idList, TraCISetCommand cmd) {
 		String id = cmd.getElementId();
 		if (idList.contains(id)) {
@@ -266,7 +307,9 @@ public class PersonCommandHandler extends CommandHandler<PersonVar> {
 			Pedestrian ped = state.getTopography().getPedestrianDynamicElements()
 					.getElement(Integer.parseInt(cmd.getElementId()));
 			if (checkIfPedestrianExists(ped, cmd)) {
+				VPoint oldPosition = ped.getPosition();
 				ped.setPosition(data);
+				state.getTopography().moveElement(ped, oldPosition);
 				cmd.setOK();
 			}
 		});
@@ -500,22 +543,21 @@ public class PersonCommandHandler extends CommandHandler<PersonVar> {
 		TraCIGetCommand getCmd = (TraCIGetCommand) cmd;
 
 		PersonVar var = PersonVar.fromId(getCmd.getVariableIdentifier());
-		Method m = getHandler(getCmd.getTraCICmd(), var);
+		TraCICmdHandler h = getHandler(getCmd.getTraCICmd(), var);
 
-		logger.tracef("invokeHandler: PersonCommandHandler.%s [CMD: %s VAR: %s]",
-				m.getName(),
+		logger.tracef("invokeHandler: PersonCommandHandler [CMD: %s VAR: %s]",
 				cmd.getTraCICmd().logShort(),
 				var.toString());
-		return invokeHandler(m, this, getCmd, remoteManager);
+		return invokeHandler(h, getCmd, remoteManager);
 	}
 
 	public TraCICommand processSet(TraCICommand cmd, RemoteManager remoteManager) {
 		TraCISetCommand setCmd = (TraCISetCommand) cmd;
 
 		PersonVar var = PersonVar.fromId(setCmd.getVariableId());
-		Method m = getHandler(setCmd.getTraCICmd(), var);
+		TraCICmdHandler h = getHandler(setCmd.getTraCICmd(), var);
 
-		return invokeHandler(m, this, setCmd, remoteManager);
+		return invokeHandler(h, setCmd, remoteManager);
 	}
 
 }
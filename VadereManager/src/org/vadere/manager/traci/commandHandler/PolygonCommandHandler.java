@@ -18,7 +18,6 @@ import org.vadere.util.logging.Logger;
 
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -54,21 +53,6 @@ public class PolygonCommandHandler extends CommandHandler<PolygonVar> {
 
 	public PolygonCommandHandler() {
 		super();
-		init(PolygonHandler.class, PolygonHandlers.class);
-	}
-
-	@Override
-	protected void init_HandlerSingle(Method m) {
-		PolygonHandler an = m.getAnnotation(PolygonHandler.class);
-		putHandler(an.cmd(), an.var(), m);
-	}
-
-	@Override
-	protected void init_HandlerMult(Method m) {
-		PolygonHandler[] ans = m.getAnnotation(PolygonHandlers.class).value();
-		for (PolygonHandler a : ans) {
-			putHandler(a.cmd(), a.var(), m);
-		}
 	}
 
 
@@ -31,7 +31,6 @@ import org.vadere.util.logging.Logger;
 
 import java.awt.geom.Rectangle2D;
 import java.io.IOException;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
@@ -57,7 +56,8 @@ import java.util.stream.Collectors;
 		cmdSub = 0xdb,
 		cmdResponseSub = 0xeb,
 		cmdCtx = 0x8b,
-		cmdResponseCtx = 0x9b
+		cmdResponseCtx = 0x9b,
+		dispatchTable = true
 )
 public class SimulationCommandHandler extends CommandHandler<SimulationVar> {
 
@@ -73,26 +73,12 @@ public class SimulationCommandHandler extends CommandHandler<SimulationVar> {
 
 	private SimulationCommandHandler() {
 		super();
-		init(SimulationHandler.class, SimulationHandlers.class);
+		SimulationCommandHandlerDispatch.register(this);
 		allPrevious = Pair.create(-1.0, new HashSet<>()); // never called.
 		departedCache = Pair.create(-1.0, new ArrayList<>());
 		arrivedCache = Pair.create(-1.0, new ArrayList<>());
 	}
 
-	@Override
-	protected void init_HandlerSingle(Method m) {
-		SimulationHandler an = m.getAnnotation(SimulationHandler.class);
-		putHandler(an.cmd(), an.var(), m);
-	}
-
-	@Override
-	protected void init_HandlerMult(Method m) {
-		SimulationHandler[] ans = m.getAnnotation(SimulationHandlers.class).value();
-		for (SimulationHandler a : ans) {
-			putHandler(a.cmd(), a.var(), m);
-		}
-	}
-
 	public TraCIGetResponse responseOK(TraCIDataType responseDataType, Object responseData) {
 		return responseOK(responseDataType, responseData, TraCICmd.GET_SIMULATION_VALUE, TraCICmd.RESPONSE_GET_SIMULATION_VALUE);
 	}
@@ -311,13 +297,12 @@ public class SimulationCommandHandler extends CommandHandler<SimulationVar> {
 		TraCIGetCommand cmd = (TraCIGetCommand) rawCmd;
 		SimulationVar var = SimulationVar.fromId(cmd.getVariableIdentifier());
 
-		Method m = getHandler(cmd.getTraCICmd(), var);
+		TraCICmdHandler h = getHandler(cmd.getTraCICmd(), var);
 
-		logger.tracef("invokeHandler: SimulationCommandHandler.%s [CMD: %s VAR: %s]",
-				m.getName(),
+		logger.tracef("invokeHandler: SimulationCommandHandler [CMD: %s VAR: %s]",
 				cmd.getTraCICmd().logShort(),
 				var.toString());
-		return  invokeHandler(m, this, cmd, remoteManager);
+		return  invokeHandler(h, cmd, remoteManager);
 
 	}
 
@@ -326,9 +311,9 @@ public class SimulationCommandHandler extends CommandHandler<SimulationVar> {
 		TraCISetCommand cmd = (TraCISetCommand) rawCmd;
 		SimulationVar var = SimulationVar.fromId(cmd.getVariableId());
 
-		Method m = getHandler(cmd.getTraCICmd(), var);
+		TraCICmdHandler h = getHandler(cmd.getTraCICmd(), var);
 
-		return invokeHandler(m, this, cmd, remoteManager);
+		return invokeHandler(h, cmd, remoteManager);
 
 	}
 
@@ -1,12 +1,19 @@
 package org.vadere.manager.traci.commandHandler;
 
+import org.vadere.manager.RemoteManager;
+import org.vadere.manager.SubscriptionEngine;
 import org.vadere.manager.traci.commands.TraCIGetCommand;
 
 import java.util.List;
 
+/**
+ * Interface used by the {@link SubscriptionEngine} to evaluate the same variable of many elements
+ * at once. An implementation sets the response of each of the given get commands exactly like the
+ * {@link TraCICmdHandler} of a single get command would do.
+ */
 @FunctionalInterface
 public interface SubscriptionHandler {
 
-	void handel(List<TraCIGetCommand> getCommands);
+	void handel(List<TraCIGetCommand> getCommands, RemoteManager remoteManager);
 
 }
@@ -25,7 +25,6 @@ import org.vadere.state.types.ScenarioElementType;
 import org.vadere.state.util.StateJsonConverter;
 
 import java.io.IOException;
-import java.lang.reflect.Method;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
@@ -60,21 +59,6 @@ public class VadereCommandHandler extends CommandHandler<VadereVar> {
 
 	public VadereCommandHandler() {
 		super();
-		init(VadereHandler.class, VadereHandlers.class);
-	}
-
-	@Override
-	protected void init_HandlerSingle(Method m) {
-		VadereHandler an = m.getAnnotation(VadereHandler.class);
-		putHandler(an.cmd(), an.var(), m);
-	}
-
-	@Override
-	protected void init_HandlerMult(Method m) {
-		VadereHandler[] ans = m.getAnnotation(VadereHandlers.class).value();
-		for (VadereHandler a : ans) {
-			putHandler(a.cmd(), a.var(), m);
-		}
 	}
 
 	public TraCIGetResponse responseOK(TraCIDataType responseDataType, Object responseData) {
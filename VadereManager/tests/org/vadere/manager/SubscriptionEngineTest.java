@@ -0,0 +1,161 @@
+package org.vadere.manager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.manager.traci.TraCICmd;
+import org.vadere.manager.traci.commandHandler.PersonCommandHandler;
+import org.vadere.manager.traci.commandHandler.variables.PersonVar;
+import org.vadere.manager.traci.commands.TraCIValueSubscriptionCommand;
+import org.vadere.manager.traci.response.TraCIStatusResponse;
+import org.vadere.manager.traci.response.TraCISubscriptionResponse;
+import org.vadere.manager.traci.writer.TraCIPacket;
+import org.vadere.state.scenario.DynamicElementContainer;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SubscriptionEngineTest {
+
+	private static final int NUMBER_OF_PEDESTRIANS = 5;
+
+	private List<Pedestrian> pedestrians;
+	private DynamicElementContainer<Pedestrian> container;
+	private RemoteManager remoteManager;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		pedestrians = new ArrayList<>();
+		container = mock(DynamicElementContainer.class);
+		for (int id = 1; id <= NUMBER_OF_PEDESTRIANS; id++) {
+			Pedestrian ped = mock(Pedestrian.class);
+			when(ped.getId()).thenReturn(id);
+			when(ped.getPosition()).thenReturn(new VPoint(id, 2 * id));
+			when(container.getElement(id)).thenReturn(ped);
+			pedestrians.add(ped);
+		}
+		when(container.getElements()).thenReturn(pedestrians);
+
+		remoteManager = new TestRemoteManager() {
+			@Override
+			protected void mockIt() {
+				when(simState.getTopography().getPedestrianDynamicElements()).thenReturn(container);
+			}
+		};
+		remoteManager.getSubscriptionEngine().setChangedValuesOnly(false);
+	}
+
+	private void subscribe(String elementId, PersonVar... vars) {
+		int cmdLen = 1 + 1 + 8 + 8 + 4 + elementId.getBytes(StandardCharsets.US_ASCII).length + 1 + vars.length;
+		TraCIPacket packet = TraCIPacket.create();
+		packet.writeCommandLength(cmdLen);
+		packet.writeUnsignedByte(TraCICmd.SUB_PERSON_VARIABLE.id)
+				.writeDouble(0.0)
+				.writeDouble(100.0)
+				.writeString(elementId)
+				.writeUnsignedByte(vars.length);
+		for (PersonVar var : vars) {
+			packet.writeUnsignedByte(var.id);
+		}
+
+		TraCIValueSubscriptionCommand cmd = (TraCIValueSubscriptionCommand) packet.getCommands().get(0);
+		PersonCommandHandler.instance.processValueSub(cmd, remoteManager);
+	}
+
+	private TraCISubscriptionResponse response(int i) {
+		return remoteManager.getSubscriptions().get(i).getValueSubscriptionCommand().getResponse();
+	}
+
+	@Test
+	public void testVariableOfAllPedestriansIsEvaluatedInOnePass() {
+		for (int id = 1; id <= NUMBER_OF_PEDESTRIANS; id++) {
+			subscribe(Integer.toString(id), PersonVar.POSITION);
+		}
+		reset(container);
+		when(container.getElements()).thenReturn(pedestrians);
+
+		remoteManager.getSubscriptionEngine().executeSubscriptions(remoteManager);
+
+		verify(container, times(1)).getElements();
+		verify(container, never()).getElement(anyInt());
+		for (int i = 0; i < NUMBER_OF_PEDESTRIANS; i++) {
+			TraCISubscriptionResponse res = response(i);
+			assertThat(res.getStatusResponse().getResponse(), equalTo(TraCIStatusResponse.OK));
+			assertThat(res.getResponses().size(), equalTo(1));
+			assertThat(res.getResponses().get(0).getVariableValue(), equalTo(new VPoint(i + 1, 2 * (i + 1))));
+		}
+	}
+
+	@Test
+	public void testIdenticalVariablesAreEvaluatedOnce() {
+		subscribe("1", PersonVar.POSITION);
+		subscribe("2", PersonVar.POSITION, PersonVar.TYPE);
+		subscribe("3", PersonVar.TYPE);
+		reset(container);
+		when(container.getElements()).thenReturn(pedestrians);
+
+		remoteManager.getSubscriptionEngine().executeSubscriptions(remoteManager);
+
+		verify(container, times(1)).getElements();
+		assertThat(response(1).getResponses().get(1).getVariableValue(), equalTo("pedestrian"));
+		assertThat(response(2).getResponses().get(0).getVariableValue(), equalTo("pedestrian"));
+	}
+
+	@Test
+	public void testSubscriptionOfRemovedPedestrianIsMarkedForRemoval() {
+		subscribe("1", PersonVar.POSITION);
+		subscribe("2", PersonVar.POSITION);
+		pedestrians.remove(1);
+
+		remoteManager.getSubscriptionEngine().executeSubscriptions(remoteManager);
+
+		assertFalse(remoteManager.getSubscriptions().get(0).isMarkedForRemoval());
+		assertTrue(remoteManager.getSubscriptions().get(1).isMarkedForRemoval());
+		assertThat(response(1).getStatusResponse().getDescription(), equalTo(TraCISubscriptionResponse.SUB_REMOVED));
+	}
+
+	@Test
+	public void testSubscriptionOfSameElementReplacesTheOldOne() {
+		subscribe("1", PersonVar.POSITION);
+		subscribe("1", PersonVar.POSITION, PersonVar.TYPE);
+
+		assertThat(remoteManager.getSubscriptions().size(), equalTo(1));
+		assertThat(remoteManager.getSubscriptions().get(0).getValueSubscriptionCommand().getNumberOfVariables(), equalTo(2));
+
+		subscribe("1");
+		assertTrue(remoteManager.getSubscriptions().isEmpty());
+	}
+
+	@Test
+	public void testOnlyChangedValuesAreSent() {
+		subscribe("1", PersonVar.POSITION, PersonVar.TYPE);
+		subscribe("2", PersonVar.POSITION, PersonVar.TYPE);
+		remoteManager.getSubscriptionEngine().setChangedValuesOnly(true);
+
+		when(pedestrians.get(1).getPosition()).thenReturn(new VPoint(7, 7));
+		remoteManager.getSubscriptionEngine().executeSubscriptions(remoteManager);
+
+		assertThat(response(0).getNumberOfVariables(), equalTo(0));
+		assertTrue(response(0).getResponses().isEmpty());
+
+		assertThat(response(1).getNumberOfVariables(), equalTo(1));
+		TraCISubscriptionResponse.SingeVarResponse position = response(1).getResponses().get(0);
+		assertThat(position.getVariableId(), equalTo(PersonVar.POSITION.id));
+		assertThat(position.getVariableValue(), equalTo(new VPoint(7, 7)));
+	}
+}
@@ -0,0 +1,139 @@
+package org.vadere.manager.server;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vadere.manager.TraCISocket;
+import org.vadere.manager.traci.TraCICmd;
+import org.vadere.manager.traci.commands.control.TraCIGetVersionCommand;
+import org.vadere.manager.traci.reader.TraCIPacketBuffer;
+import org.vadere.manager.traci.response.TraCIGetVersionResponse;
+import org.vadere.manager.traci.writer.TraCIPacket;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class NioVadereServerTest {
+
+	private static final int NUMBER_OF_CLIENTS = 8;
+	private static final int NUMBER_OF_REQUESTS = 20;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private NioVadereServer server;
+	private Thread serverThread;
+	private int port;
+
+	@Before
+	public void setUp() throws IOException {
+		ServerSocketChannel serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		port = serverChannel.socket().getLocalPort();
+		// fewer handler threads than clients: connections must not occupy a thread
+		server = new NioVadereServer(serverChannel, Executors.newFixedThreadPool(2), folder.getRoot().toPath(), false, false);
+		serverThread = new Thread(server);
+		serverThread.start();
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		server.shutdown();
+		serverThread.join(10000);
+	}
+
+	private TraCISocket connect() throws IOException {
+		return new TraCISocket(new Socket(InetAddress.getLoopbackAddress(), port));
+	}
+
+	/**
+	 * Compares the raw bytes since the response identifier which is written for Veins is not read
+	 * by {@link TraCISocket#receiveResponse()}.
+	 */
+	private static void assertVersionResponse(TraCISocket socket) throws IOException {
+		TraCIGetVersionCommand cmd = new TraCIGetVersionCommand();
+		cmd.setResponse(new TraCIGetVersionResponse(AbstractVadereServer.currentVersion));
+		byte[] expected = cmd.buildResponsePacket().send();
+
+		TraCIPacketBuffer buffer = socket.receiveExact();
+		byte[] actual = buffer.readBytes(buffer.limit());
+
+		assertArrayEquals(Arrays.copyOfRange(expected, 4, expected.length), actual);
+	}
+
+	@Test
+	public void testManyClientsAreServedConcurrently() throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(NUMBER_OF_CLIENTS);
+		try {
+			List<TraCISocket> sockets = new ArrayList<>();
+			// all clients are connected before the first request is sent
+			for (int i = 0; i < NUMBER_OF_CLIENTS; i++) {
+				sockets.add(connect());
+			}
+
+			List<Future<Integer>> results = new ArrayList<>();
+			for (TraCISocket socket : sockets) {
+				Callable<Integer> client = () -> {
+					try (TraCISocket s = socket) {
+						for (int i = 0; i < NUMBER_OF_REQUESTS; i++) {
+							s.sendExact(TraCIGetVersionCommand.build());
+							assertVersionResponse(s);
+						}
+					}
+					return NUMBER_OF_REQUESTS;
+				};
+				results.add(clients.submit(client));
+			}
+
+			for (Future<Integer> result : results) {
+				assertEquals(NUMBER_OF_REQUESTS, (int) result.get());
+			}
+		} finally {
+			clients.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testPipelinedPacketsAreAnsweredInOrder() throws IOException {
+		try (TraCISocket socket = connect()) {
+			// the packets are sent at once and might arrive in one read or split within a packet
+			for (int i = 0; i < NUMBER_OF_REQUESTS; i++) {
+				socket.sendExact(TraCIGetVersionCommand.build());
+			}
+			for (int i = 0; i < NUMBER_OF_REQUESTS; i++) {
+				assertVersionResponse(socket);
+			}
+		}
+	}
+
+	@Test
+	public void testResponsesLargerThanThePooledBuffersAreSent() throws IOException {
+		int numberOfCommands = 5000;
+		TraCIPacket packet = TraCIPacket.create(4 + 2 * numberOfCommands);
+		for (int i = 0; i < numberOfCommands; i++) {
+			packet.writeCommandLength(2).writeUnsignedByte(TraCICmd.GET_VERSION.id);
+		}
+
+		try (TraCISocket socket = connect()) {
+			socket.sendExact(packet);
+			for (int i = 0; i < numberOfCommands; i++) {
+				assertVersionResponse(socket);
+			}
+		}
+	}
+}
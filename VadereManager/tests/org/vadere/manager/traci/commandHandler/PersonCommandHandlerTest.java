@@ -6,6 +6,7 @@ import org.vadere.manager.RemoteManager;
 import org.vadere.manager.TestRemoteManager;
 import org.vadere.manager.traci.CmdType;
 import org.vadere.manager.traci.TraCICmd;
+import org.vadere.manager.traci.commandHandler.annotation.PersonHandler;
 import org.vadere.state.traci.TraCIDataType;
 import org.vadere.manager.traci.commandHandler.variables.PersonVar;
 import org.vadere.manager.traci.commands.TraCICommand;
@@ -25,6 +26,7 @@ import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.io.IOUtils;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -33,6 +35,8 @@ import java.util.Optional;
 import java.util.Random;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -41,6 +45,19 @@ public class PersonCommandHandlerTest extends CommandHandlerTest {
 
 	private PersonCommandHandler persCmdHandler = PersonCommandHandler.instance;
 
+	@Test
+	public void everyAnnotatedHandlerIsRegistered() {
+		// there is no handler for the command, i.e. the lookup falls back to process_NotImplemented
+		TraCICmdHandler notImplemented = persCmdHandler.getHandler(TraCICmd.GET_VERSION, PersonVar.ID_LIST);
+
+		for (Method method : PersonCommandHandler.class.getDeclaredMethods()) {
+			for (PersonHandler annotation : method.getAnnotationsByType(PersonHandler.class)) {
+				assertThat(method.getName(), persCmdHandler.getHandler(annotation.cmd(), annotation.var()),
+						not(sameInstance(notImplemented)));
+			}
+		}
+	}
+
 	// Get
 
 	@Test
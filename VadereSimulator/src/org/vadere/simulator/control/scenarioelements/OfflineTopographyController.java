@@ -8,7 +8,7 @@ import org.vadere.meshing.mesh.gen.IncrementalTriangulation;
 import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
 import org.vadere.meshing.mesh.triangulation.DistanceFunctionApproxBF;
 import org.vadere.simulator.context.VadereContext;
-import org.vadere.simulator.models.potential.fields.PotentialFieldDistancesBruteForce;
+import org.vadere.simulator.models.potential.fields.IPotentialField;
 import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFMM;
 import org.vadere.simulator.models.potential.solver.timecost.UnitTimeCostFunction;
 import org.vadere.simulator.projects.Domain;
@@ -70,14 +70,14 @@ public class OfflineTopographyController {
 		} else {
 			// add distance function
 			ScenarioCache cache = (ScenarioCache) VadereContext.get(getTopography()).getOrDefault("cache", ScenarioCache.empty());
-			PotentialFieldDistancesBruteForce distanceField = new PotentialFieldDistancesBruteForce(
+			IPotentialField distanceField = IPotentialField.createObstacleDistanceField(
 					getTopography().getObstacles().stream().map(obs -> obs.getShape()).collect(Collectors.toList()),
 					new VRectangle(getTopography().getBounds()),
 					attributesFloorField, cache);
 
 			getTopography().setObstacleDistanceFunction(iPoint -> -distanceField.getPotential(iPoint, null));
 
-			// use PotentialFieldDistancesBruteForce as distance function
+			// use the obstacle distance field as distance function
 			getTopography().setReachablePointProvider(SimpleReachablePointProvider.uniform(
 					random,
 					getTopography().getBounds(),
@@ -87,16 +87,11 @@ public class OfflineTopographyController {
 
 	/**
 	 * Recomputes the {@link org.vadere.util.geometry.LinkedCellsGrid} for fast access to pedestrian neighbors.
+	 * Only elements which are no longer stored in the cell of their position are moved.
 	 */
 	protected void recomputeCells() {
-		getTopography().getSpatialMap(Pedestrian.class).clear();
-		for (Pedestrian pedestrian : getTopography().getElements(Pedestrian.class)) {
-			getTopography().getSpatialMap(Pedestrian.class).addObject(pedestrian);
-		}
-		getTopography().getSpatialMap(Car.class).clear();
-		for (Car car : getTopography().getElements(Car.class)) {
-			getTopography().getSpatialMap(Car.class).addObject(car);
-		}
+		getTopography().getSpatialMap(Pedestrian.class).updateCells();
+		getTopography().getSpatialMap(Car.class).updateCells();
 		getTopography().setRecomputeCells(false);
 	}
 }
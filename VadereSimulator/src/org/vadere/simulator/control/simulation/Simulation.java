@@ -414,7 +414,10 @@ public class Simulation implements ControllerProvider{
 			absorbingAreaController.update(simTimeInSec);
 		}
 
-		topographyController.update(simTimeInSec); //rebuild CellGrid
+		// the spatial map is maintained by moveElement, only models which set positions directly request an update
+		if (topographyController.getTopography().isRecomputeCells()) {
+			topographyController.update(simTimeInSec); //rebuild CellGrid
+		}
 	}
 
 
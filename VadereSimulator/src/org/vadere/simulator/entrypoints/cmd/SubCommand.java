@@ -4,6 +4,7 @@ public enum SubCommand {
 
 	PROJECT_RUN("project-run"),
 	SCENARO_RUN("scenario-run"),
+	BATCH_RUN("batch"),
 	SUQ("suq"),
 	MIGRATE("migrate"),
 	UTILS("utils");
@@ -8,6 +8,7 @@ import net.sourceforge.argparse4j.inf.Subparser;
 import net.sourceforge.argparse4j.inf.Subparsers;
 
 import org.vadere.util.version.Version;
+import org.vadere.simulator.entrypoints.cmd.commands.BatchRunSubCommand;
 import org.vadere.simulator.entrypoints.cmd.commands.MigrationSubCommand;
 import org.vadere.simulator.entrypoints.cmd.commands.ProjectRunSubCommand;
 import org.vadere.simulator.entrypoints.cmd.commands.ScenarioRunSubCommand;
@@ -108,6 +109,39 @@ public class VadereConsole {
 				.setDefault(ScenarioChecker.CHECKER_ON)
 				.help("Turn Scenario Checker on or off.");
 
+		// Run batch of scenarios
+		Subparser batchRun = subparsers
+				.addParser(SubCommand.BATCH_RUN.getCmdName())
+				.help("Run many scenarios concurrently without a project.")
+				.setDefault("func", new BatchRunSubCommand());
+
+		batchRun.addArgument("path")
+				.nargs("+")
+				.metavar("PATH")
+				.required(true)
+				.type(String.class)
+				.dest("paths")
+				.help("Scenario files, directories containing scenario files or manifest files listing one scenario " +
+						"file per line (relative to the manifest).");
+		batchRun.addArgument("--output-dir", "-o")
+				.required(false)
+				.setDefault("output")
+				.dest("output-dir") // set name in namespace
+				.type(String.class)
+				.help("Directory containing one output directory per scenario run.");
+		batchRun.addArgument("--jobs", "-j")
+				.required(false)
+				.setDefault(0)
+				.dest("jobs")
+				.type(Integer.class)
+				.help("Maximal number of scenarios running at the same time. Default: number of available processors.");
+		batchRun.addArgument("--seed")
+				.required(false)
+				.dest("seed")
+				.type(Long.class)
+				.help("If set each run uses its own fixed seed derived from this seed. " +
+						"If not set the seed settings of the scenario files are used.");
+
 		// Run SUQ
 		Subparser suqRun = subparsers
 				.addParser(SubCommand.SUQ.getCmdName())
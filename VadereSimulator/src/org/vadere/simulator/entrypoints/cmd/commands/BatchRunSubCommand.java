@@ -0,0 +1,268 @@
+package org.vadere.simulator.entrypoints.cmd.commands;
+
+import net.sourceforge.argparse4j.inf.ArgumentParser;
+import net.sourceforge.argparse4j.inf.Namespace;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.control.simulation.ScenarioRun;
+import org.vadere.simulator.entrypoints.ScenarioFactory;
+import org.vadere.simulator.entrypoints.cmd.SubCommandRunner;
+import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.utils.cache.ScenarioCache;
+import org.vadere.util.io.IOUtils;
+import org.vadere.util.logging.Logger;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs many scenario files concurrently in one JVM. The scenario files are given by paths to
+ * scenario files, directories (searched recursively for scenario files) or manifest files (any
+ * other file: one path per line relative to the manifest, lines starting with # are ignored).
+ *
+ * At most <tt>--jobs</tt> scenarios are simulated at the same time. Each run writes into its own
+ * output directory <tt>output-dir/[index]_[scenario name]</tt>. If <tt>--seed</tt> is given, each
+ * run uses its own fixed seed derived from it, otherwise the seed settings of the scenario file are
+ * used. After all runs are finished a summary of the wall-clock time per run is logged and written
+ * to <tt>output-dir/batch_summary.txt</tt>.
+ */
+public class BatchRunSubCommand implements SubCommandRunner {
+	private final static Logger logger = Logger.getLogger(BatchRunSubCommand.class);
+
+	public static final String SUMMARY_FILENAME = "batch_summary.txt";
+
+	@Override
+	public void run(Namespace ns, ArgumentParser parser) throws Exception {
+		Locale.setDefault(Locale.ENGLISH);
+		Path outputDir = Paths.get(ns.getString("output-dir"));
+		List<String> paths = ns.getList("paths");
+		int jobs = ns.getInt("jobs");
+		Long seed = ns.getLong("seed");
+
+		List<Path> scenarioFiles = collectScenarioFiles(paths);
+		if (scenarioFiles.isEmpty()) {
+			logger.error("no scenario files found in " + paths);
+			System.exit(-1);
+		}
+		Files.createDirectories(outputDir);
+
+		if (jobs < 1) {
+			jobs = Runtime.getRuntime().availableProcessors();
+		}
+		jobs = Math.min(jobs, scenarioFiles.size());
+		logger.info(String.format("run %d scenarios with %d parallel jobs.", scenarioFiles.size(), jobs));
+
+		List<BatchJob> batchJobs = createJobs(scenarioFiles, outputDir, seed);
+		ExecutorService executorService = Executors.newFixedThreadPool(jobs);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (BatchJob job : batchJobs) {
+				futures.add(executorService.submit(job));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException | ExecutionException e) {
+			logger.error(e);
+			throw e;
+		} finally {
+			executorService.shutdown();
+		}
+
+		String summary = formatSummary(batchJobs);
+		logger.info("batch summary:\n" + summary);
+		try (PrintWriter out = new PrintWriter(outputDir.resolve(SUMMARY_FILENAME).toFile())) {
+			out.print(summary);
+		}
+
+		if (batchJobs.stream().anyMatch(job -> !job.isSuccessful())) {
+			System.exit(-1);
+		}
+	}
+
+	/**
+	 * Collects the scenario files of all paths in the given order. Directories are searched recursively
+	 * and the files of a directory are sorted by their path.
+	 *
+	 * @param paths scenario files, directories or manifest files
+	 * @return the list of scenario files
+	 * @throws IOException if a path does not exist or cannot be read
+	 */
+	static List<Path> collectScenarioFiles(@NotNull final List<String> paths) throws IOException {
+		List<Path> scenarioFiles = new ArrayList<>();
+		for (String path : paths) {
+			collectScenarioFiles(Paths.get(path), scenarioFiles);
+		}
+		return scenarioFiles;
+	}
+
+	private static void collectScenarioFiles(@NotNull final Path path, @NotNull final List<Path> scenarioFiles) throws IOException {
+		if (Files.isDirectory(path)) {
+			try (Stream<Path> files = Files.walk(path)) {
+				scenarioFiles.addAll(files
+						.filter(f -> Files.isRegularFile(f) && f.toString().endsWith(IOUtils.SCENARIO_FILE_EXTENSION))
+						.sorted()
+						.collect(Collectors.toList()));
+			}
+		} else if (!Files.isRegularFile(path)) {
+			throw new IOException("scenario file, directory or manifest does not exist: " + path);
+		} else if (path.toString().endsWith(IOUtils.SCENARIO_FILE_EXTENSION)) {
+			scenarioFiles.add(path);
+		} else {
+			// manifest file
+			for (String line : Files.readAllLines(path)) {
+				line = line.trim();
+				if (!line.isEmpty() && !line.startsWith("#")) {
+					Path entry = Paths.get(line);
+					collectScenarioFiles(entry.isAbsolute() ? entry : path.toAbsolutePath().getParent().resolve(entry), scenarioFiles);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates one job for each scenario file. The seeds of the runs are drawn from a {@link Random} initialized
+	 * by <tt>seed</tt> such that a batch is reproducible.
+	 *
+	 * @param scenarioFiles the scenario files
+	 * @param outputDir     the directory containing the output directories of all runs
+	 * @param seed          the seed of the seeds of all runs or <tt>null</tt> if the seeds of the scenario files should be used
+	 * @return the list of jobs
+	 */
+	static List<BatchJob> createJobs(@NotNull final List<Path> scenarioFiles, @NotNull final Path outputDir, final Long seed) {
+		Random seedGenerator = seed == null ? null : new Random(seed);
+		int digits = Integer.toString(scenarioFiles.size()).length();
+		List<BatchJob> jobs = new ArrayList<>(scenarioFiles.size());
+		for (int i = 0; i < scenarioFiles.size(); i++) {
+			Long runSeed = seedGenerator == null ? null : seedGenerator.nextLong();
+			String index = String.format("%0" + digits + "d", i + 1);
+			jobs.add(new BatchJob(index, scenarioFiles.get(i), outputDir, runSeed));
+		}
+		return jobs;
+	}
+
+	static String formatSummary(@NotNull final List<BatchJob> jobs) {
+		StringBuilder builder = new StringBuilder();
+		builder.append(String.format("%-8s %-40s %-22s %-10s %12s%n", "index", "scenario", "seed", "state", "time [s]"));
+		double total = 0;
+		for (BatchJob job : jobs) {
+			builder.append(String.format("%-8s %-40s %-22s %-10s %12.3f%n",
+					job.getIndex(),
+					job.getScenarioFile().getFileName(),
+					job.getSeed() == null ? "-" : job.getSeed().toString(),
+					job.isSuccessful() ? "OK" : "FAILED",
+					job.getWallClockTimeInSec()));
+			total += job.getWallClockTimeInSec();
+		}
+		builder.append(String.format("%-83s %12.3f%n", "sum", total));
+		return builder.toString();
+	}
+
+	/**
+	 * One scenario run of a batch. The run is isolated from the other runs by its own scenario object,
+	 * output directory, seed and scenario context.
+	 */
+	static class BatchJob implements Runnable {
+		/** the names of all scenarios of currently running jobs, the scenario context is registered by this name */
+		private static final Set<String> runningScenarioNames = new HashSet<>();
+
+		private final String index;
+		private final Path scenarioFile;
+		private final Path outputDir;
+		private final Long seed;
+		private boolean successful;
+		private double wallClockTimeInSec;
+
+		BatchJob(@NotNull final String index, @NotNull final Path scenarioFile, @NotNull final Path outputDir, final Long seed) {
+			this.index = index;
+			this.scenarioFile = scenarioFile;
+			this.outputDir = outputDir;
+			this.seed = seed;
+			this.successful = false;
+		}
+
+		@Override
+		public void run() {
+			long startTime = System.currentTimeMillis();
+			String scenarioName = null;
+			try {
+				Scenario scenario = ScenarioFactory.createScenarioWithScenarioFilePath(scenarioFile);
+				scenarioName = uniqueScenarioName(scenario.getName());
+				scenario.setName(scenarioName);
+				if (seed != null) {
+					scenario.getAttributesSimulation().setUseFixedSeed(true);
+					scenario.getAttributesSimulation().setFixedSeed(seed);
+				}
+
+				Path runOutputDir = outputDir.resolve(index + "_" + scenarioName);
+				logger.info(String.format("%s: running VADERE on %s...", index, scenarioFile));
+				ScenarioCache cache = ScenarioCache.load(scenario, scenarioFile.toAbsolutePath().getParent());
+				new ScenarioRun(scenario, runOutputDir.toString(), true, null, scenarioFile.toAbsolutePath(), cache).run();
+				successful = true;
+			} catch (Throwable e) {
+				logger.error(String.format("%s: error while executing scenario %s. Resume with next scenario.", index, scenarioFile), e);
+			} finally {
+				if (scenarioName != null) {
+					releaseScenarioName(scenarioName);
+				}
+				wallClockTimeInSec = (System.currentTimeMillis() - startTime) / 1000.0;
+			}
+		}
+
+		/**
+		 * Returns a name which is not used by any other running job. This is necessary since the
+		 * scenario context ({@link org.vadere.simulator.context.VadereContext}) is registered by the scenario name.
+		 */
+		private String uniqueScenarioName(@NotNull final String name) {
+			synchronized (runningScenarioNames) {
+				String uniqueName = name;
+				if (runningScenarioNames.contains(uniqueName)) {
+					uniqueName = name + "_" + index;
+				}
+				runningScenarioNames.add(uniqueName);
+				return uniqueName;
+			}
+		}
+
+		private void releaseScenarioName(@NotNull final String name) {
+			synchronized (runningScenarioNames) {
+				runningScenarioNames.remove(name);
+			}
+		}
+
+		String getIndex() {
+			return index;
+		}
+
+		Path getScenarioFile() {
+			return scenarioFile;
+		}
+
+		Long getSeed() {
+			return seed;
+		}
+
+		boolean isSuccessful() {
+			return successful;
+		}
+
+		double getWallClockTimeInSec() {
+			return wallClockTimeInSec;
+		}
+	}
+}
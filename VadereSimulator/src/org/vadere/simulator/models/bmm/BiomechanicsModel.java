@@ -125,6 +125,8 @@ public class BiomechanicsModel implements MainModel {
 			agent.getFootstepHistory().add(currentFootstep);
 		}
 
+		// the pedestrians set their positions without Topography.moveElement
+		topography.setRecomputeCells(true);
 		this.lastSimTimeInSec = simTimeInSec;
 	}
 
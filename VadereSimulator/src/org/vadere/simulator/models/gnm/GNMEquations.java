@@ -1,7 +1,6 @@
 package org.vadere.simulator.models.gnm;
 
 import org.vadere.simulator.models.ode.AbstractModelEquations;
-import org.vadere.simulator.models.ode.ODEModel;
 import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.Pedestrian;
 import org.vadere.util.geometry.shapes.VCircle;
@@ -9,15 +8,9 @@ import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.logging.Logger;
 import org.vadere.util.math.MathUtil;
-import org.vadere.util.parallel.AParallelWorker;
-import org.vadere.util.parallel.AParallelWorker.Work;
-import org.vadere.util.parallel.CountableParallelWorker;
 import org.vadere.util.parallel.IAsyncComputable;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
-import java.util.concurrent.ExecutionException;
 
 /**
  * The equations of the Gradient Navigation Model.
@@ -40,74 +33,36 @@ public class GNMEquations extends AbstractModelEquations<Pedestrian> implements
 	public void computeDerivatives(final double t, final double[] y,
 			final double[] yDot) {
 
-		// update the pedestrian positions in the topography to the ones computed in the integrator
-		ODEModel.updateElementPositions(Pedestrian.class, t, topography, this, y);
-
-		// create workers for each pedestrian
-		List<AParallelWorker<Double[]>> workers = new ArrayList<AParallelWorker<Double[]>>();
-
-		// loop over all persons and compute the next step
-		int personCounter = 0; // used for arrays, not identical to personID!
-		for (final Pedestrian pedestrian : elements) {
-			AParallelWorker<Double[]> w = new CountableParallelWorker<Double[]>(
-					personCounter, new Work<Double[]>() {
-						private int ID;
-
-						@Override
-						public Double[] call() throws Exception {
-							computeSinglePerson(pedestrian, getWorkerID(), t,
-									y, yDot);
-							return null;
-						}
-
-						@Override
-						public void setID(int ID) {
-							this.ID = ID;
-						}
-
-						@Override
-						public int getWorkerID() {
-							return this.ID;
-						}
-					});
-			personCounter++;
-			workers.add(w);
-			w.start();
-		}
+		// update the pedestrian positions in the topography or in the stage-local neighbour index to
+		// the ones computed in the integrator
+		prepareStage(Pedestrian.class, t, y);
 
-		// finish the work
-		for (AParallelWorker<Double[]> worker : workers) {
-			try {
-				worker.finish();
-			} catch (ExecutionException e) {
-				logger.error(e);
-				e.printStackTrace();
-			} catch (InterruptedException e) {
-				// Necessary in order to tell Simulation the thread has been
-				// interrupted.
-				// TODO [priority=low] [task=refactoring] Hack, other solution?
-				Thread.currentThread().interrupt();
-				break;
-			}
-		}
+		// compute yDot for all pedestrians in parallel
+		computeElementDerivatives(t, y, yDot);
 	}
 
 	/**
-	 * Computes yDot for a single person given by personID. This is computed
-	 * asynchronously by an {@link AParallelWorker}.
+	 * Computes yDot for a single person given by personCounter. This is computed
+	 * concurrently for different persons by {@link #computeElementDerivatives(double, double[], double[])}.
 	 * 
 	 * @param currentPed
 	 * @param personCounter
 	 * @param t
 	 * @param y
 	 * @param yDot
+	 * @param scratch
 	 */
-	private void computeSinglePerson(Pedestrian currentPed, int personCounter,
-			double t, double[] y, double[] yDot) {
-		double[] position = new double[2];
-		double[] speed = new double[2];
-		double[] grad_field = new double[2];
-		double[] viewing_direction = new double[2];
+	@Override
+	protected void computeSingleElement(Pedestrian currentPed, int personCounter,
+			double t, double[] y, double[] yDot, ScratchBuffers scratch) {
+		double[] position = scratch.position;
+		double[] speed = scratch.velocity;
+		double[] grad_field = scratch.gradField;
+		double[] viewing_direction = scratch.viewingDirection;
+		grad_field[0] = 0;
+		grad_field[1] = 0;
+		viewing_direction[0] = 0;
+		viewing_direction[1] = 0;
 
 		// ///////////////////////////////////////
 		// extract data
@@ -122,8 +77,7 @@ public class GNMEquations extends AbstractModelEquations<Pedestrian> implements
 
 		VCircle relevantArea = new VCircle(
 				new VPoint(position[0], position[1]), 0.01);
-		Collection<? extends Agent> otherPeds = pedestrianGradientProvider
-				.getRelevantAgents(relevantArea, currentPed, topography);
+		Collection<? extends Agent> otherPeds = getRelevantAgents(relevantArea, currentPed);
 		otherPeds.remove(currentPed);
 
 		// get the static gradient
@@ -150,8 +104,6 @@ public class GNMEquations extends AbstractModelEquations<Pedestrian> implements
 			}
 			MathUtil.normalize(viewing_direction);
 		}
-		currentPed.setVelocity(new Vector2D(viewing_direction[0],
-				viewing_direction[1]));
 
 		// get the gradient for obstacles
 		Vector2D grad_obstacles = obstacleGradientProvider
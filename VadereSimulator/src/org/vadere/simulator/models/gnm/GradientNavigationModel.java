@@ -23,7 +23,6 @@ import org.vadere.state.scenario.Target;
 import org.vadere.state.types.GradientProviderType;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VShape;
-import org.vadere.util.parallel.ParallelWorkerUtil;
 
 import java.util.*;
 
@@ -120,16 +119,11 @@ public class GradientNavigationModel extends ODEModel<Pedestrian, AttributesAgen
 	@Override
 	public void preLoop(final double simTimeInSec) {
 		super.preLoop(simTimeInSec);
-
-		// setup thread pool if it is not setup already
-		int WORKERS_COUNT = 16;// pedestrians.keySet().size();
-		ParallelWorkerUtil.setup(WORKERS_COUNT);
 	}
 
 	@Override
 	public void postLoop(final double simTimeInSec) {
 		super.postLoop(simTimeInSec);
-		ParallelWorkerUtil.shutdown();
 	}
 
 	@Override
@@ -104,12 +104,16 @@ public class PotentialFieldPedestrianGNM implements PotentialFieldAgent {
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public double getMaximalInfluenceRadius() {
+		return attributes.getPedestrianRecognitionDistance();
+	}
+
 	@Override
 	public Collection<Pedestrian> getRelevantAgents(VCircle relevantArea,
 			Agent pedestrian, Topography scenario) {
 		List<Pedestrian> closePedestrians = scenario.getSpatialMap(Pedestrian.class)
-				.getObjects(relevantArea.getCenter(),
-						attributes.getPedestrianRecognitionDistance());
+				.getObjects(relevantArea.getCenter(), getMaximalInfluenceRadius());
 
 		return closePedestrians;
 	}
@@ -1,22 +1,35 @@
 package org.vadere.simulator.models.ode;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.math3.ode.FirstOrderDifferentialEquations;
 import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
 import org.vadere.simulator.models.potential.fields.PotentialFieldObstacle;
+import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.DynamicElement;
 import org.vadere.state.scenario.Topography;
 import org.vadere.simulator.models.potential.solver.gradients.GradientProvider;
+import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.parallel.ParallelLoop;
 
 /**
  * Abstract model equations for an ODE based model of pedestrian motion.
  * Implements the apache {@link FirstOrderDifferentialEquations} interface and
  * can thus be used with their integrator methods.
+ *
+ * The derivatives of all elements are evaluated by {@link #computeElementDerivatives(double, double[], double[])}
+ * which splits the elements into contiguous chunks processed on a persistent {@link ParallelLoop}.
+ * Each element writes directly into its part of <tt>yDot</tt> and uses the {@link ScratchBuffers}
+ * of its thread, such that an evaluation allocates neither tasks nor arrays per element.
+ *
+ * If the agent potential has a finite influence radius, {@link #prepareStage(Class, double, double[])}
+ * does not move the elements in the {@link Topography} for each stage of the integrator. The neighbours
+ * are taken from a {@link StageNeighbourIndex} built from the state vector instead, and the
+ * topography is updated only once per accepted step by {@link ODEModel}.
  * 
  */
 public abstract class AbstractModelEquations<T extends DynamicElement> implements
@@ -29,6 +42,23 @@ public abstract class AbstractModelEquations<T extends DynamicElement> implement
 	protected Map<Integer, Integer> IDmapping;
 	protected Topography topography;
 
+	private static final ThreadLocal<ScratchBuffers> scratchBuffers = ThreadLocal.withInitial(ScratchBuffers::new);
+	private ParallelLoop parallelLoop;
+	private StageNeighbourIndex stageNeighbours;
+
+	/**
+	 * Reusable arrays for the evaluation of a single element. There is one instance per thread,
+	 * the content is undefined at the beginning of each {@link #computeSingleElement} call.
+	 */
+	protected static class ScratchBuffers {
+		public final double[] position = new double[2];
+		public final double[] velocity = new double[2];
+		public final double[] positionDot = new double[2];
+		public final double[] velocityDot = new double[2];
+		public final double[] gradField = new double[2];
+		public final double[] viewingDirection = new double[2];
+	}
+
 	/**
 	 * The dimensions for each person, i.e. position (x,y), speed / velocity...
 	 */
@@ -42,10 +72,11 @@ public abstract class AbstractModelEquations<T extends DynamicElement> implement
 		this.obstacleGradientProvider = potentialFieldObstacle;
 		this.pedestrianGradientProvider = potentialFieldPedestrian;
 		this.topography = scenario;
+		this.stageNeighbours = null;
 	}
 
 	public void setElements(Collection<T> elements) {
-		this.elements = new LinkedList<>(elements);
+		this.elements = new ArrayList<>(elements);
 		this.Npersons = elements.size();
 		this.IDmapping = new HashMap<Integer, Integer>();
 
@@ -54,6 +85,7 @@ public abstract class AbstractModelEquations<T extends DynamicElement> implement
 			this.IDmapping.put(element.getId(), pedCounter);
 			pedCounter++;
 		}
+		this.stageNeighbours = null;
 	}
 
 	/**
@@ -104,4 +136,103 @@ public abstract class AbstractModelEquations<T extends DynamicElement> implement
 		return this.IDmapping.get(id);
 	}
 
+	/**
+	 * Returns true if the neighbours of an element are taken from the state vector of the current stage
+	 * instead of the topography. This requires an agent potential with a finite influence radius, and
+	 * it is not possible for topographies with a teleporter since the positions of the stage are not
+	 * teleported.
+	 *
+	 * @return true if the stages do not move the elements in the topography
+	 */
+	public boolean isStageLocal() {
+		return pedestrianGradientProvider != null
+				&& Double.isFinite(pedestrianGradientProvider.getMaximalInfluenceRadius())
+				&& !topography.hasTeleporter();
+	}
+
+	/**
+	 * Prepares the evaluation of the derivatives for the state vector <tt>y</tt> of a stage. If the
+	 * evaluation is {@link #isStageLocal()}, the stage-local neighbour index is updated, otherwise
+	 * the elements are moved to their positions in the topography.
+	 *
+	 * @param type  the type of the elements
+	 * @param t     the current time
+	 * @param y     the state vector of the current stage
+	 */
+	protected void prepareStage(final Class<T> type, final double t, final double[] y) {
+		if (isStageLocal()) {
+			if (stageNeighbours == null) {
+				// a cell size smaller than the query radius would only increase the number of visited cells
+				double cellSize = Math.max(1.0, pedestrianGradientProvider.getMaximalInfluenceRadius());
+				stageNeighbours = new StageNeighbourIndex(this, elements, topography.getBounds(), cellSize);
+			}
+			stageNeighbours.update(y);
+		} else {
+			ODEModel.updateElementPositions(type, t, topography, this, y);
+		}
+	}
+
+	/**
+	 * Returns the agents relevant for the agent potential of <tt>element</tt> at <tt>relevantArea</tt>,
+	 * i.e. the other elements at their positions of the current stage.
+	 *
+	 * @param relevantArea  the area around the position of the element
+	 * @param element       the element
+	 * @return the agents relevant for the agent potential
+	 */
+	protected Collection<? extends Agent> getRelevantAgents(final VCircle relevantArea, final T element) {
+		if (isStageLocal()) {
+			return stageNeighbours.getObjects(relevantArea.getCenter(),
+					pedestrianGradientProvider.getMaximalInfluenceRadius(), element);
+		}
+		return pedestrianGradientProvider.getRelevantAgents(relevantArea, (Agent) element, topography);
+	}
+
+	/**
+	 * Computes the derivatives of a single element and stores them in its part of <tt>yDot</tt>.
+	 * This method is called concurrently for different elements, therefore it must only write
+	 * to the part of <tt>yDot</tt> which belongs to <tt>counter</tt> and it must not modify the
+	 * elements.
+	 *
+	 * @param element   the element
+	 * @param counter   the index of the element in the state vector, not identical to its id
+	 * @param t         the current time
+	 * @param y         the current state vector
+	 * @param yDot      the derivatives of the state vector
+	 * @param scratch   reusable arrays of the current thread
+	 */
+	protected abstract void computeSingleElement(T element, int counter, double t, double[] y, double[] yDot,
+	                                             ScratchBuffers scratch);
+
+	/**
+	 * Calls {@link #computeSingleElement} for all elements in parallel and returns after all
+	 * derivatives are stored in <tt>yDot</tt>.
+	 *
+	 * @param t     the current time
+	 * @param y     the current state vector
+	 * @param yDot  the derivatives of the state vector
+	 */
+	protected void computeElementDerivatives(final double t, final double[] y, final double[] yDot) {
+		getParallelLoop().forEach(Npersons,
+				i -> computeSingleElement(elements.get(i), i, t, y, yDot, scratchBuffers.get()));
+	}
+
+	private ParallelLoop getParallelLoop() {
+		if (parallelLoop == null) {
+			parallelLoop = new ParallelLoop();
+		}
+		return parallelLoop;
+	}
+
+	/**
+	 * Releases the threads used to evaluate the derivatives. They are created again by the
+	 * next evaluation.
+	 */
+	public void shutdown() {
+		if (parallelLoop != null) {
+			parallelLoop.shutdown();
+			parallelLoop = null;
+		}
+	}
+
 }
@@ -67,7 +67,11 @@ public abstract class ODEModel<T extends DynamicElement, TAttributes extends Att
 	}
 
 	@Override
-	public void postLoop(final double state) {}
+	public void postLoop(final double state) {
+		if (equations != null) {
+			equations.shutdown();
+		}
+	}
 
 	@Override
 	public void update(final double simTimeInSec){
@@ -0,0 +1,50 @@
+package org.vadere.simulator.models.ode;
+
+import org.vadere.state.scenario.Agent;
+import org.vadere.state.types.ScenarioElementType;
+
+/**
+ * A lightweight view of an {@link Agent} at an intermediate stage of the integration. The view
+ * has the position and velocity of the stage, all other properties are copied from the agent.
+ * Potential functions can therefore treat it like the agent without moving the agent in the
+ * {@link org.vadere.state.scenario.Topography}.
+ */
+class StageAgent extends Agent {
+
+	private final Agent agent;
+
+	StageAgent(final Agent agent) {
+		super(agent.getAttributes());
+		this.agent = agent;
+		setPosition(agent.getPosition());
+		setVelocity(agent.getVelocity());
+		setFreeFlowSpeed(agent.getFreeFlowSpeed());
+		setTargets(agent.getTargets());
+		setNextTargetListIndex(agent.getNextTargetListIndex());
+		setIsCurrentTargetAnAgent(agent.isCurrentTargetAnAgent());
+	}
+
+	/**
+	 * Returns the agent in the topography this view belongs to.
+	 *
+	 * @return the agent
+	 */
+	Agent getAgent() {
+		return agent;
+	}
+
+	@Override
+	public int getId() {
+		return agent.getId();
+	}
+
+	@Override
+	public ScenarioElementType getType() {
+		return agent.getType();
+	}
+
+	@Override
+	public StageAgent clone() {
+		throw new UnsupportedOperationException("a stage agent is only valid during one derivative evaluation");
+	}
+}
@@ -0,0 +1,90 @@
+package org.vadere.simulator.models.ode;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.state.scenario.Agent;
+import org.vadere.state.scenario.DynamicElement;
+import org.vadere.util.geometry.LinkedCellsGrid;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.Vector2D;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A neighbour index of the elements of {@link AbstractModelEquations} at an intermediate stage of
+ * the integration. The positions and velocities are read from the state vector of the integrator
+ * and stored in {@link StageAgent}s which are contained in a {@link LinkedCellsGrid} owned by this
+ * index. Therefore, a stage does not move any element in the topography.
+ *
+ * The grid is only updated for elements which changed their cell, after {@link #update(double[])}
+ * the radius queries are lock-free and may be called concurrently.
+ */
+class StageNeighbourIndex {
+
+	private final AbstractModelEquations<?> equations;
+	private final StageAgent[] stageAgents;
+	private final LinkedCellsGrid<StageAgent> grid;
+	private final double[] position;
+	private final double[] velocity;
+
+	/**
+	 * Creates the index for the elements of the equations.
+	 *
+	 * @param equations the equations defining the layout of the state vector
+	 * @param elements  the elements of the equations in the order of the state vector, i.e. agents
+	 * @param bounds    the bounds of the topography
+	 * @param cellSize  the side length of a cell, i.e. the typical query radius
+	 */
+	StageNeighbourIndex(@NotNull final AbstractModelEquations<?> equations,
+	                    @NotNull final List<? extends DynamicElement> elements,
+	                    @NotNull final Rectangle2D.Double bounds,
+	                    final double cellSize) {
+		this.equations = equations;
+		this.stageAgents = new StageAgent[elements.size()];
+		this.grid = new LinkedCellsGrid<>(bounds.x, bounds.y, bounds.width, bounds.height, cellSize);
+		this.position = new double[2];
+		this.velocity = new double[2];
+
+		for (int i = 0; i < stageAgents.length; i++) {
+			stageAgents[i] = new StageAgent((Agent) elements.get(i));
+			grid.addObject(stageAgents[i]);
+		}
+	}
+
+	/**
+	 * Sets the positions and velocities of the stage agents to the ones of the state vector and
+	 * moves the agents which changed their cell.
+	 *
+	 * @param y the state vector of the current stage
+	 */
+	void update(@NotNull final double[] y) {
+		for (int i = 0; i < stageAgents.length; i++) {
+			equations.getPosition(i, y, position);
+			equations.getVelocity(i, y, velocity);
+			stageAgents[i].setPosition(new VPoint(position[0], position[1]));
+			stageAgents[i].setVelocity(new Vector2D(velocity[0], velocity[1]));
+		}
+		grid.updateCells();
+		grid.rebuildPackedCells();
+	}
+
+	/**
+	 * Returns the stage agents which are closer than <tt>radius</tt> to <tt>pos</tt> excluding the
+	 * view of <tt>element</tt> itself.
+	 *
+	 * @param pos       the center of the query
+	 * @param radius    the radius of the query
+	 * @param element   the element which is excluded
+	 * @return the stage agents close to the position
+	 */
+	List<Agent> getObjects(@NotNull final VPoint pos, final double radius, @NotNull final DynamicElement element) {
+		List<Agent> result = new ArrayList<>();
+		grid.forEachObject(pos, radius, stageAgent -> {
+			if (stageAgent.getAgent() != element) {
+				result.add(stageAgent);
+			}
+		});
+		return result;
+	}
+}
@@ -130,16 +130,30 @@ public class PotentialEvaluationFunction implements UnivariateRealFunction,
 	 */
 	@Override
 	public double value(double[] pos) {
-		final VPoint pedPos = pedestrian.getPosition();
-		final VPoint newPos = new VPoint(pos[0], pos[1]);
+		counter++;
+		return getPotential(pedestrian, pedestrian.getPosition(), new VPoint(pos[0], pos[1]), stepSize);
+	}
 
+	/**
+	 * Returns the value of the aggregated potential of <tt>pedestrian</tt> at <tt>newPos</tt> if it is reachable
+	 * within one step of length <tt>stepSize</tt>, otherwise a large value is returned. The points are not stored,
+	 * therefore the caller can reuse them for multiple evaluations.
+	 *
+	 * @param pedestrian    the considered pedestrian
+	 * @param pedPos        the current position of the pedestrian
+	 * @param newPos        the relevant position
+	 * @param stepSize      the step size of the pedestrian
+	 * @return the potential value
+	 */
+	static double getPotential(final PedestrianOSM pedestrian, final VPoint pedPos, final VPoint newPos, final double stepSize) {
 		// Large value, do not consider point when minimizing -- why not use Double.MAX_VALUE?
 		double result = 100000;
 		// TODO: this is a dirty hack, fix it!
 		if (pedestrian.getAttributesOSM().isSeeSmallWalls()) {
 			List<Obstacle> obstacles = pedestrian.getTopography().getObstacles();
+			VLine step = obstacles.isEmpty() ? null : new VLine(pedPos, newPos);
 			for (Obstacle obstacle : obstacles) {
-				if (obstacle.getShape().intersects(new VLine(pedPos, newPos)))
+				if (obstacle.getShape().intersects(step))
 					return result;
 			}
 		}
@@ -158,7 +172,6 @@ public class PotentialEvaluationFunction implements UnivariateRealFunction,
 				logger.debugf("#evaluations: " + evaluationCounter);
 			}*/
 		}
-		counter++;
 		return result;
 	}
 
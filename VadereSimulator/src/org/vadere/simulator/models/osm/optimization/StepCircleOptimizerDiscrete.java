@@ -27,6 +27,9 @@ public class StepCircleOptimizerDiscrete extends StepCircleOptimizer {
 	private final Random random;
 	private final static Logger log = Logger.getLogger(StepCircleOptimizerDiscrete.class);
 
+	/** the optimizer is shared by all pedestrians which might be updated in parallel, therefore the buffers are per thread. */
+	private final static ThreadLocal<CandidateBuffer> candidateBuffers = ThreadLocal.withInitial(CandidateBuffer::new);
+
 	public StepCircleOptimizerDiscrete(final double movementThreshold, final Random random) {
 		this.movementThreshold = movementThreshold;
 		this.random = random;
@@ -37,9 +40,49 @@ public class StepCircleOptimizerDiscrete extends StepCircleOptimizer {
 		assert reachableArea instanceof VCircle;
 
 		double stepSize = ((VCircle) reachableArea).getRadius();
-		List<VPoint> positions = getReachablePositions(pedestrian, (VCircle) reachableArea, random);
+		CandidateBuffer buffer = candidateBuffers.get();
+		int numberOfPositions = getReachablePositions(pedestrian, (VCircle) reachableArea, random, buffer);
+
+		return getNextPosition(pedestrian, buffer, numberOfPositions, stepSize);
+	}
+
+	/**
+	 * Evaluates the candidates of the buffer exactly like {@link #getNextPosition(PedestrianOSM, List, double)}
+	 * but without allocating a point for each candidate. Only the returned position is allocated.
+	 */
+	private VPoint getNextPosition(@NotNull final PedestrianOSM pedestrian, @NotNull final CandidateBuffer buffer,
+	                               final int numberOfPositions, final double stepSize) {
+		VPoint curPos = pedestrian.getPosition();
+		VPoint candidate = buffer.candidate;
+		double[] coordinates = buffer.coordinates;
+		double curPosPotential = pedestrian.getPotential(curPos);
+		double potential = curPosPotential;
+		double currentPotential;
+		int next = -1;
+
+		for (int i = 0; i < numberOfPositions; i++) {
+			try {
+				candidate.x = coordinates[2 * i];
+				candidate.y = coordinates[2 * i + 1];
+				currentPotential = PotentialEvaluationFunction.getPotential(pedestrian, curPos, candidate, stepSize);
+
+				if(currentPotential < potential) {
+					potential = currentPotential;
+					next = i;
+				}
+			} catch (Exception e) {
+				Logger.getLogger(StepCircleOptimizerDiscrete.class).error("Potential evaluation threw an error: " + e.getMessage());
+			}
+		}
 
-		return getNextPosition(pedestrian, positions, stepSize);
+		VPoint nextPos = next < 0 ? curPos.clone() : new VPoint(coordinates[2 * next], coordinates[2 * next + 1]);
+
+		// pedestrian.getTargetPotential(nextPos) > 0 => agent is not jet on his target otherwise the agent would wait forever
+		if (curPosPotential - potential <= movementThreshold && pedestrian.getTargetPotential(nextPos) > 0) {
+			nextPos = curPos;
+		}
+
+		return nextPos;
 	}
 
 	public VPoint getNextPosition(@NotNull final PedestrianOSM pedestrian, final List<VPoint> positions,
@@ -105,7 +148,48 @@ public class StepCircleOptimizerDiscrete extends StepCircleOptimizer {
 													 @NotNull VCircle reachableArea, @NotNull final Random random) {
 
 		final AttributesOSM attributesOSM = pedestrian.getAttributesOSM();
-		int numberOfCircles = attributesOSM.getNumberOfCircles();
+
+		return GeometryUtils.getDiscDiscretizationPoints(
+				random,
+				attributesOSM.isVaryStepDirection(),
+				reachableArea,
+				getNumberOfCircles(attributesOSM),
+				attributesOSM.getStepCircleResolution(),
+				getAnchorAngle(pedestrian),
+				getSegmentAngle(pedestrian));
+
+	}
+
+	/**
+	 * Writes the positions of {@link #getReachablePositions(PedestrianOSM, VCircle, Random)} into the buffer.
+	 *
+	 * @return the number of reachable positions
+	 */
+	private static int getReachablePositions(@NotNull final PedestrianOSM pedestrian,
+	                                         @NotNull VCircle reachableArea, @NotNull final Random random,
+	                                         @NotNull final CandidateBuffer buffer) {
+
+		final AttributesOSM attributesOSM = pedestrian.getAttributesOSM();
+		int numberOfCircles = getNumberOfCircles(attributesOSM);
+		double angle = getSegmentAngle(pedestrian);
+		int numberOfPositions = GeometryUtils.getNumberOfDiscDiscretizationPoints(
+				reachableArea,
+				numberOfCircles,
+				attributesOSM.getStepCircleResolution(),
+				angle);
+
+		return GeometryUtils.getDiscDiscretizationPoints(
+				random,
+				attributesOSM.isVaryStepDirection(),
+				reachableArea,
+				numberOfCircles,
+				attributesOSM.getStepCircleResolution(),
+				getAnchorAngle(pedestrian),
+				angle,
+				buffer.ensureCapacity(numberOfPositions));
+	}
+
+	private static int getNumberOfCircles(@NotNull final AttributesOSM attributesOSM) {
 		// if number of circle is negative, choose number of circles according to
 		// StepCircleResolution
 		if (attributesOSM.getNumberOfCircles() < 0) {
@@ -116,39 +200,37 @@ public class StepCircleOptimizerDiscrete extends StepCircleOptimizer {
 			numberOfCircles = (int) Math.ceil(attributesOSM
 					.getStepCircleResolution() / (2 * Math.PI));*/
 		}
+		return attributesOSM.getNumberOfCircles();
+	}
 
-		// maximum possible angle3D of movement relative to ankerAngle
-		double angle;
-
-		// smallest possible angle3D of movement
-		double anchorAngle;
-
-		// compute maximum angle3D and corresponding anchor if appropriate
-		if (attributesOSM.getMovementType() == MovementType.DIRECTIONAL) {
+	/**
+	 * Returns the maximum possible angle3D of movement, i.e. the angle of the segment of the step circle which contains
+	 * the reachable positions.
+	 */
+	private static double getSegmentAngle(@NotNull final PedestrianOSM pedestrian) {
+		if (pedestrian.getAttributesOSM().getMovementType() == MovementType.DIRECTIONAL) {
 		    //TODO: this code snippet has to be understood and maybe reformulate / explained
             /*
              * velocity dependent choice of the walking direction i.e. if pedestrians move fast they can not
              * change their direction much.
              */
             log.warn("use of unexplained code!");
-			angle = getMovementAngle(pedestrian);
-			Vector2D velocity = pedestrian.getVelocity();
-			anchorAngle = velocity.angleToZero() - angle;
-			angle = 2 * angle;
+			return 2 * getMovementAngle(pedestrian);
 		} else {
-			angle = 2 * Math.PI;
-			anchorAngle = 0;
+			return 2 * Math.PI;
 		}
+	}
 
-		return GeometryUtils.getDiscDiscretizationPoints(
-				random,
-				attributesOSM.isVaryStepDirection(),
-				reachableArea,
-				numberOfCircles,
-				attributesOSM.getStepCircleResolution(),
-				anchorAngle,
-				angle);
-
+	/**
+	 * Returns the smallest possible angle3D of movement, i.e. the start angle of the segment of the step circle.
+	 */
+	private static double getAnchorAngle(@NotNull final PedestrianOSM pedestrian) {
+		if (pedestrian.getAttributesOSM().getMovementType() == MovementType.DIRECTIONAL) {
+			Vector2D velocity = pedestrian.getVelocity();
+			return velocity.angleToZero() - getMovementAngle(pedestrian);
+		} else {
+			return 0;
+		}
 	}
 
 	private static List<VPoint> getBruteForcePointsCircles(VCircle reachableArea){
@@ -209,4 +291,20 @@ public class StepCircleOptimizerDiscrete extends StepCircleOptimizer {
 		return result;
 	}
 
+	/**
+	 * Reusable storage of the candidate positions of one step, i.e. the coordinates of the candidates and
+	 * the point which is used to evaluate the potential.
+	 */
+	private static class CandidateBuffer {
+		private double[] coordinates = new double[0];
+		private final VPoint candidate = new VPoint();
+
+		private double[] ensureCapacity(final int numberOfPositions) {
+			if(coordinates.length < 2 * numberOfPositions) {
+				coordinates = new double[2 * numberOfPositions];
+			}
+			return coordinates;
+		}
+	}
+
 }
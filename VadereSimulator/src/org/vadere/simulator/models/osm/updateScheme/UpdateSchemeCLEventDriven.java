@@ -48,7 +48,6 @@ public class UpdateSchemeCLEventDriven extends UpdateSchemeParallel {
 	public void update(double timeStepInSec, double currentTimeInSec) {
 		try {
 			clearStrides(topography);
-			movePedestrians.clear();
 
 			List<PedestrianOSM> pedestrianOSMList = CollectionUtils.select(topography.getElements(Pedestrian.class), PedestrianOSM.class);
 
@@ -119,8 +118,8 @@ public class UpdateSchemeCLEventDriven extends UpdateSchemeParallel {
 	}
 
 	@Override
-	protected void updateParallelConflicts(@NotNull final PedestrianOSM pedestrian) {
-		pedestrian.refreshRelevantPedestrians();
-		super.updateParallelConflicts(pedestrian);
+	protected void updateParallelConflicts(final int index) {
+		pedestrians[index].refreshRelevantPedestrians();
+		super.updateParallelConflicts(index);
 	}
 }
@@ -43,7 +43,6 @@ public class UpdateSchemeCLParallel extends UpdateSchemeParallel {
 	public void update(double timeStepInSec, double currentTimeInSec) {
 		try {
 			clearStrides(topography);
-			movePedestrians.clear();
 
 			List<PedestrianOSM> pedestrianOSMList = CollectionUtils.select(topography.getElements(Pedestrian.class), PedestrianOSM.class);
 
@@ -104,8 +103,8 @@ public class UpdateSchemeCLParallel extends UpdateSchemeParallel {
 	}
 
 	@Override
-	protected void updateParallelConflicts(@NotNull final PedestrianOSM pedestrian) {
-		pedestrian.refreshRelevantPedestrians();
-		super.updateParallelConflicts(pedestrian);
+	protected void updateParallelConflicts(final int index) {
+		pedestrians[index].refreshRelevantPedestrians();
+		super.updateParallelConflicts(index);
 	}
 }
@@ -1,14 +1,9 @@
 package org.vadere.simulator.models.osm.updateScheme;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 
 import org.jetbrains.annotations.NotNull;
 import org.vadere.simulator.models.osm.OSMBehaviorController;
@@ -20,6 +15,7 @@ import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.scenario.Topography;
 import org.vadere.util.io.CollectionUtils;
 import org.vadere.util.logging.Logger;
+import org.vadere.util.parallel.ParallelLoop;
 
 /**
  * The implementation of the parallel update scheme described in 'How update schemes influence crowd simulations' i.e. seitz-2014b.
@@ -28,20 +24,25 @@ import org.vadere.util.logging.Logger;
  * will be performed in parallel on the bases of the situation (i.e. agents position) at <tt>currentTimeInSec</tt> - <tt>timeStepInSec</tt>.
  */
 public class UpdateSchemeParallel implements UpdateSchemeOSM {
-	private static final int NUMBER_OF_THREADS = 8;
 	private static Logger logger = Logger.getLogger(UpdateSchemeParallel.class);
-	protected final ExecutorService executorService;
+	protected final ParallelLoop parallelLoop;
 	protected final Topography topography;
 
+	/**
+	 * the pedestrians of the current update, the position in this array is the index of the pedestrian
+	 * for {@link #movePedestrians} and {@link #acceptedPedestrians}.
+	 */
+	protected PedestrianOSM[] pedestrians;
+
 	/**
 	 * marks an agent that will move in the time span.
 	 */
-	protected final Set<Pedestrian> movePedestrians;
+	protected boolean[] movePedestrians;
 
 	/**
-	 * marks an agent which shall move back because of conflicts.
+	 * marks an agent which moved without any conflict, i.e. which shall not move back.
 	 */
-	protected final Set<Pedestrian> undoPedestrians;
+	protected boolean[] acceptedPedestrians;
 
 	private final OSMBehaviorController osmBehaviorController;
 
@@ -51,34 +52,38 @@ public class UpdateSchemeParallel implements UpdateSchemeOSM {
 
 	public UpdateSchemeParallel(@NotNull final Topography topography) {
 		this.topography = topography;
-		this.executorService = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
-		this.movePedestrians = new HashSet<>();
-		this.undoPedestrians = new HashSet<>();
+		this.parallelLoop = new ParallelLoop();
+		this.pedestrians = new PedestrianOSM[0];
+		this.movePedestrians = new boolean[0];
+		this.acceptedPedestrians = new boolean[0];
 		this.osmBehaviorController = new OSMBehaviorController();
 	}
 
 	@Override
 	public void update(double timeStepInSec, double currentTimeInSec) {
 		clearStrides(topography);
+		pedestrians = CollectionUtils.select(topography.getElements(Pedestrian.class), PedestrianOSM.class).toArray(new PedestrianOSM[0]);
+		movePedestrians = new boolean[pedestrians.length];
+		acceptedPedestrians = new boolean[pedestrians.length];
 
+		boolean anyMove;
 		do {
-			movePedestrians.clear();
-			undoPedestrians.clear();
+			Arrays.fill(movePedestrians, false);
+			Arrays.fill(acceptedPedestrians, false);
 			CallMethod[] callMethods = {CallMethod.SEEK, CallMethod.MOVE, CallMethod.CONFLICTS, CallMethod.STEPS};
-			List<Future<?>> futures;
 
 			for (CallMethod callMethod : callMethods) {
+				// nobody moves during these phases, therefore the neighbour queries can use the lock-free packed cells
+				if(callMethod == CallMethod.SEEK || callMethod == CallMethod.CONFLICTS) {
+					topography.getSpatialMap(Pedestrian.class).rebuildPackedCells(parallelLoop);
+				}
+
 				long ms = 0;
 				if(callMethod == CallMethod.SEEK) {
 					ms = System.currentTimeMillis();
 				}
 
-				futures = new LinkedList<>();
-				for (final PedestrianOSM pedestrian : CollectionUtils.select(topography.getElements(Pedestrian.class), PedestrianOSM.class)) {
-					Runnable worker = () -> update(pedestrian, timeStepInSec, currentTimeInSec, callMethod);
-					futures.add(executorService.submit(worker));
-				}
-				collectFutures(futures);
+				parallelLoop.forEach(pedestrians.length, i -> update(i, timeStepInSec, currentTimeInSec, callMethod));
 
 				if(callMethod == CallMethod.SEEK) {
 					ms = System.currentTimeMillis() - ms;
@@ -86,41 +91,33 @@ public class UpdateSchemeParallel implements UpdateSchemeOSM {
 				}
 
 			}
-		} while (!movePedestrians.isEmpty());
-	}
 
-	protected void collectFutures(final List<Future<?>> futures) {
-		try {
-			for (Future<?> future : futures) {
-				future.get();
+			anyMove = false;
+			for (boolean move : movePedestrians) {
+				anyMove |= move;
 			}
-		} catch (ExecutionException e) {
-			e.printStackTrace();
-		}
-		// restore interruption in order to stop simulation
-		catch (InterruptedException e) {
-			Thread.currentThread().interrupt();
-		}
+		} while (anyMove);
 	}
 
-	protected void update(@NotNull final PedestrianOSM pedestrian, final double timeStepInSec, final double currentTimeInSec, CallMethod callMethod) {
+	protected void update(final int index, final double timeStepInSec, final double currentTimeInSec, CallMethod callMethod) {
+		PedestrianOSM pedestrian = pedestrians[index];
 
 		// At the moment no other events are supported for the parallel update scheme!
 		assert pedestrian.getMostImportantStimulus() instanceof ElapsedTime && pedestrian.getSelfCategory() == SelfCategory.TARGET_ORIENTED;
 		switch (callMethod) {
 			case SEEK:
-				updateParallelSeek(pedestrian, currentTimeInSec, timeStepInSec);
+				updateParallelSeek(index, currentTimeInSec, timeStepInSec);
 				break;
 			case RETRY:
-				updateParallelSeek(pedestrian, currentTimeInSec,0.0);
+				updateParallelSeek(index, currentTimeInSec,0.0);
 			case MOVE:
-				updateParallelMove(pedestrian, timeStepInSec);
+				updateParallelMove(index, timeStepInSec);
 				break;
 			case CONFLICTS:
-				updateParallelConflicts(pedestrian);
+				updateParallelConflicts(index);
 				break;
 			case STEPS:
-				updateParallelSteps(pedestrian);
+				updateParallelSteps(index);
 				break;
 			default:
 				throw new UnsupportedOperationException();
@@ -130,10 +127,11 @@ public class UpdateSchemeParallel implements UpdateSchemeOSM {
 	/**
 	 * Computes the next pedestrian position without update the position.
 	 *
-	 * @param pedestrian    the pedestrian
+	 * @param index         the index of the pedestrian
 	 * @param timeStepInSec the duration of the time step in seconds
 	 */
-	protected void updateParallelSeek(@NotNull final PedestrianOSM pedestrian, final double currentTimeInSec, final double timeStepInSec) {
+	protected void updateParallelSeek(final int index, final double currentTimeInSec, final double timeStepInSec) {
+		PedestrianOSM pedestrian = pedestrians[index];
 		if (pedestrian.getTimeOfNextStep() == Pedestrian.INVALID_NEXT_EVENT_TIME) {
 			pedestrian.setTimeOfNextStep(currentTimeInSec);
 			return;
@@ -141,22 +139,20 @@ public class UpdateSchemeParallel implements UpdateSchemeOSM {
 
 		if (pedestrian.getTimeOfNextStep() < currentTimeInSec) {
 			pedestrian.updateNextPosition();
-			synchronized (movePedestrians) {
-				movePedestrians.add(pedestrian);
-			}
+			movePedestrians[index] = true;
 		}
 	}
 
 	/**
 	 * Sets the last and (current) position of the pedestrian. The velocity and the
 	 * timeCredit will be updated later since the move operation might reverted by
-	 * {@link UpdateSchemeParallel#updateParallelConflicts(PedestrianOSM)}.
+	 * {@link UpdateSchemeParallel#updateParallelConflicts(int)}.
 	 *
-	 * @param pedestrian the pedestrian
+	 * @param index the index of the pedestrian
 	 */
-	private void  updateParallelMove(@NotNull final PedestrianOSM pedestrian, final double timeStepInSec) {
-		if (movePedestrians.contains(pedestrian)) {
-			osmBehaviorController.makeStep(pedestrian, topography, timeStepInSec);
+	private void  updateParallelMove(final int index, final double timeStepInSec) {
+		if (movePedestrians[index]) {
+			osmBehaviorController.makeStep(pedestrians[index], topography, timeStepInSec);
 		}
 	}
 
@@ -164,10 +160,11 @@ public class UpdateSchemeParallel implements UpdateSchemeOSM {
 	 * Resolves conflicts: If there is any overlapping pedestrian with a smaller timeCredit,
 	 * the pedestrians position will be set to his last position i.e. a rollback of the move step.
 	 *
-	 * @param pedestrian the pedestrian for which a rollback might be performed.
+	 * @param index the index of the pedestrian for which a rollback might be performed.
 	 */
-	protected void updateParallelConflicts(@NotNull final PedestrianOSM pedestrian) {
-		if (movePedestrians.contains(pedestrian)) {
+	protected void updateParallelConflicts(final int index) {
+		if (movePedestrians[index]) {
+			PedestrianOSM pedestrian = pedestrians[index];
 			pedestrian.refreshRelevantPedestrians();
 			List<Agent> others = getCollisionPedestrians(pedestrian);
 
@@ -187,16 +184,15 @@ public class UpdateSchemeParallel implements UpdateSchemeOSM {
 			}
 
 			if (!undoStep) {
-				synchronized (undoPedestrians) {
-					undoPedestrians.add(pedestrian);
-				}
+				acceptedPedestrians[index] = true;
 			}
 		}
 	}
 
-	protected void updateParallelSteps(@NotNull final PedestrianOSM pedestrian) {
-		if(movePedestrians.contains(pedestrian)) {
-			if(undoPedestrians.contains(pedestrian)) {
+	protected void updateParallelSteps(final int index) {
+		if(movePedestrians[index]) {
+			PedestrianOSM pedestrian = pedestrians[index];
+			if(acceptedPedestrians[index]) {
 				pedestrian.setTimeOfNextStep(pedestrian.getTimeOfNextStep() + pedestrian.getDurationNextStep());
 			} else {
 				osmBehaviorController.undoStep(pedestrian, topography);
@@ -233,6 +229,6 @@ public class UpdateSchemeParallel implements UpdateSchemeOSM {
 
 	@Override
 	public void shutdown() {
-		executorService.shutdown();
+		parallelLoop.shutdown();
 	}
 }
@@ -5,10 +5,8 @@
  */
 package org.vadere.simulator.models.ovm;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.ExecutionException;
 
 import org.vadere.simulator.models.ode.AbstractModelEquations;
 import org.vadere.simulator.models.ode.ODEModel;
@@ -17,10 +15,7 @@ import org.vadere.state.scenario.Car;
 import org.vadere.state.scenario.Target;
 import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.geometry.shapes.VPoint;
-import org.vadere.util.parallel.AParallelWorker;
-import org.vadere.util.parallel.CountableParallelWorker;
 import org.vadere.util.parallel.IAsyncComputable;
-import org.vadere.util.parallel.AParallelWorker.Work;
 
 public class OVMEquations extends AbstractModelEquations<Car> implements IAsyncComputable {
 
@@ -54,57 +49,19 @@ public class OVMEquations extends AbstractModelEquations<Car> implements IAsyncC
 		// update position of all dynamic elements
 		ODEModel.updateElementPositions(Car.class, t, topography, this, x);
 
-		// create workers for each pedestrian
-		List<AParallelWorker<Double[]>> workers = new ArrayList<AParallelWorker<Double[]>>();
-
-		// loop over all persons and compute the next step
-		int personCounter = 0; // used for arrays, not identical to personID!
-		for (final Car car : elements) {
-			AParallelWorker<Double[]> w = new CountableParallelWorker<Double[]>(
-					personCounter, new Work<Double[]>() {
-						private int ID;
-
-						@Override
-						public Double[] call() throws Exception {
-							computeSingleCarParallel(car, getWorkerID(), t, x, xdot);
-							return null;
-						}
-
-						@Override
-						public void setID(int ID) {
-							this.ID = ID;
-						}
-
-						@Override
-						public int getWorkerID() {
-							return this.ID;
-						}
-					});
-			personCounter++;
-			workers.add(w);
-			w.start();
-		}
-
-		// finish the work
-		for (AParallelWorker<Double[]> worker : workers) {
-			try {
-				worker.finish();
-			} catch (ExecutionException e) {
-				e.printStackTrace();
-			} catch (InterruptedException e) {
-				// Necessary in order to tell Simulation the thread has been
-				// interrupted.
-				// TODO [priority=medium] [task=refactoring] Hack, other solution?
-				Thread.currentThread().interrupt();
-				break;
-			}
-		}
+		// compute xdot for all cars in parallel
+		computeElementDerivatives(t, x, xdot);
 	}
 
+	@Override
+	protected void computeSingleElement(Car currentCar, int carIdInArray, double t, double[] x, double[] xdot,
+	                                    ScratchBuffers scratch) {
+		computeSingleCarParallel(currentCar, carIdInArray, t, x, xdot, scratch);
+	}
 
 	private void computeSingleCarParallel(
 			Car currentCar, int carIdInArray, double t,
-			double[] x, double[] xdot) {
+			double[] x, double[] xdot, ScratchBuffers scratch) {
 
 		int fCI = -1;
 		Car nearestCar = null;
@@ -160,7 +117,7 @@ public class OVMEquations extends AbstractModelEquations<Car> implements IAsyncC
 		 * }
 		 * }
 		 */
-		computeSingleCar(currentCar, nearestCar, t, x, xdot, carIdInArray, fCI);
+		computeSingleCar(currentCar, nearestCar, t, x, xdot, carIdInArray, fCI, scratch);
 
 	}
 
@@ -196,13 +153,16 @@ public class OVMEquations extends AbstractModelEquations<Car> implements IAsyncC
 	 * @param x
 	 * @param xdot
 	 * @param index
+	 * @param scratch
 	 */
 	private void computeSingleCar(Car currentCar, Car frontCar, double t, double[] x, double[] xdot, int index,
-			int fCI) {
+			int fCI, ScratchBuffers scratch) {
 
-		double[] position = new double[2];
-		double[] speed = new double[2];
-		double[] position2 = new double[2];
+		double[] position = scratch.positionDot;
+		double[] speed = scratch.velocity;
+		double[] position2 = scratch.position;
+		position[0] = 0;
+		position[1] = 0;
 
 		getPosition(index, x, position2);
 		getVelocity(index, x, speed);
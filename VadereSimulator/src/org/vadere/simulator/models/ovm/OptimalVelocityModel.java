@@ -18,7 +18,6 @@ import org.vadere.state.scenario.Car;
 import org.vadere.state.scenario.DynamicElement;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VShape;
-import org.vadere.util.parallel.ParallelWorkerUtil;
 import org.w3c.dom.Attr;
 
 import java.util.Collection;
@@ -116,10 +115,6 @@ public class OptimalVelocityModel extends ODEModel<Car, AttributesCar> {
 	@Override
 	public void preLoop(final double simTimeInSec) {
 		super.preLoop(simTimeInSec);
-
-		// setup thread pool if it is not setup already
-		int WORKERS_COUNT = 16;// pedestrians.keySet().size();
-		ParallelWorkerUtil.setup(WORKERS_COUNT);
 	}
 
 	@Override
@@ -8,6 +8,7 @@ import org.vadere.simulator.context.VadereContext;
 import org.vadere.simulator.models.potential.solver.EikonalSolverProvider;
 import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
 import org.vadere.simulator.projects.Domain;
+import org.vadere.simulator.utils.cache.ScenarioCache;
 import org.vadere.state.attributes.models.AttributesFloorField;
 import org.vadere.state.attributes.scenario.AttributesAgent;
 import org.vadere.state.scenario.Agent;
@@ -19,6 +20,7 @@ import org.vadere.util.geometry.shapes.VShape;
 import org.vadere.util.logging.Logger;
 import org.vadere.util.math.InterpolationUtil;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -78,6 +80,32 @@ public interface IPotentialField {
 	}
 
 
+	/**
+	 * Factory method to construct the field of the distances to the nearest obstacle. The method which
+	 * computes the distances is defined by {@link AttributesFloorField#getObstacleDistanceType()}.
+	 *
+	 * @param obstacles             the shapes of the obstacles
+	 * @param bounds                the bounds of the grid of the field
+	 * @param attributesFloorField  floor field configuration, i.e. resolution and obstacle distance type
+	 * @param cache                 the cache of the distances, it is not used by the distance transform
+	 * @return the distance field which is negative inside of obstacles
+	 */
+	static IPotentialField createObstacleDistanceField(
+			@NotNull final Collection<VShape> obstacles,
+			@NotNull final VRectangle bounds,
+			@NotNull final AttributesFloorField attributesFloorField,
+			@NotNull final ScenarioCache cache) {
+		switch (attributesFloorField.getObstacleDistanceType()) {
+			case EIKONAL_EQUATION:
+				return new PotentialFieldDistanceEikonalEq(obstacles, bounds, attributesFloorField, cache);
+			case DISTANCE_TRANSFORM:
+				return new PotentialFieldDistanceTransform(obstacles, bounds, attributesFloorField);
+			case BRUTE_FORCE:
+			default:
+				return new PotentialFieldDistancesBruteForce(obstacles, bounds, attributesFloorField, cache);
+		}
+	}
+
 	static IPotentialField copyAgentField(
 			final @NotNull IPotentialField potentialField,
 			final @NotNull Agent agent,
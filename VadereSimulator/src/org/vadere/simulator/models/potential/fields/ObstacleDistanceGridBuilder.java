@@ -0,0 +1,97 @@
+package org.vadere.simulator.models.potential.fields;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.util.data.aabb.AABBDistanceTree;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.geometry.shapes.IPoint;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.parallel.ParallelLoop;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Computes the distance of each grid point of a {@link CellGrid} to the nearest obstacle, i.e.
+ * the minimum of {@link VShape#distance(IPoint)} over all obstacles, which is negative inside of
+ * an obstacle. Instead of evaluating all obstacles for each grid point, the obstacles are stored
+ * in an {@link AABBDistanceTree} such that only obstacles close to the grid point are evaluated.
+ * The rows of the grid are computed in parallel and the distances are collected in one
+ * <tt>double[]</tt> in row major order before they are written to the grid.
+ *
+ * The result is equal to {@link #bruteForceDistance(Collection, IPoint)} which evaluates all
+ * obstacles and serves as reference.
+ */
+public class ObstacleDistanceGridBuilder {
+
+	private final AABBDistanceTree<VShape> obstacleTree;
+
+	public ObstacleDistanceGridBuilder(@NotNull final Collection<VShape> obstacles) {
+		this.obstacleTree = new AABBDistanceTree<>(new ArrayList<>(obstacles), VShape::getBounds2D, VShape::distance);
+	}
+
+	/**
+	 * Returns the distance of the point to the nearest obstacle.
+	 *
+	 * @param point the point
+	 * @return the distance to the nearest obstacle or {@link Double#MAX_VALUE} if there is no obstacle
+	 */
+	public double distance(@NotNull final IPoint point) {
+		return obstacleTree.distance(point);
+	}
+
+	/**
+	 * Computes the distances of all grid points to the nearest obstacle in row major order.
+	 *
+	 * @param cellGrid      the grid
+	 * @param parallelLoop  the loop which computes the rows
+	 * @return the distances of all grid points, the index of (x, y) is <tt>y * numPointsX + x</tt>
+	 */
+	public double[] computeDistances(@NotNull final CellGrid cellGrid, @NotNull final ParallelLoop parallelLoop) {
+		final int numPointsX = cellGrid.getNumPointsX();
+		final double[] distances = new double[numPointsX * cellGrid.getNumPointsY()];
+
+		parallelLoop.forEach(cellGrid.getNumPointsY(), row -> {
+			for (int col = 0; col < numPointsX; col++) {
+				VPoint point = cellGrid.pointToCoord(col, row);
+				distances[row * numPointsX + col] = obstacleTree.distance(point);
+			}
+		});
+
+		return distances;
+	}
+
+	/**
+	 * Sets the potential of all grid points to their distance to the nearest obstacle and marks them
+	 * as {@link PathFindingTag#Reachable}.
+	 *
+	 * @param cellGrid the grid
+	 */
+	public void fill(@NotNull final CellGrid cellGrid) {
+		ParallelLoop parallelLoop = new ParallelLoop();
+		try {
+			double[] distances = computeDistances(cellGrid, parallelLoop);
+			int numPointsX = cellGrid.getNumPointsX();
+			for (int row = 0; row < cellGrid.getNumPointsY(); row++) {
+				for (int col = 0; col < numPointsX; col++) {
+					cellGrid.setPotential(col, row, distances[row * numPointsX + col]);
+					cellGrid.setTag(col, row, PathFindingTag.Reachable);
+				}
+			}
+		} finally {
+			parallelLoop.shutdown();
+		}
+	}
+
+	/**
+	 * Computes the distance of the point to the nearest obstacle by evaluating all obstacles.
+	 *
+	 * @param obstacles the obstacles
+	 * @param point     the point
+	 * @return the distance to the nearest obstacle or {@link Double#MAX_VALUE} if there is no obstacle
+	 */
+	public static double bruteForceDistance(@NotNull final Collection<VShape> obstacles, @NotNull final IPoint point) {
+		return obstacles.stream().map(shape -> shape.distance(point)).min(Double::compareTo).orElse(Double.MAX_VALUE);
+	}
+}
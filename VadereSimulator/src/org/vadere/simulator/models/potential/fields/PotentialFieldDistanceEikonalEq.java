@@ -16,6 +16,7 @@ import org.vadere.state.attributes.models.AttributesFloorField;
 import org.vadere.state.scenario.Agent;
 import org.vadere.util.data.cellgrid.CellGrid;
 import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.FlatCellGrid;
 import org.vadere.util.data.cellgrid.FloorDiscretizer;
 import org.vadere.util.data.cellgrid.PathFindingTag;
 import org.vadere.util.geometry.shapes.IPoint;
@@ -45,7 +46,7 @@ public class PotentialFieldDistanceEikonalEq implements IPotentialField {
 										   @NotNull final VRectangle bounds,
 										   @NotNull final AttributesFloorField attributesFloorField,
 										   @NotNull final ScenarioCache cache) {
-		cellGrid = new CellGrid(bounds.getWidth(),
+		cellGrid = new FlatCellGrid(bounds.getWidth(),
 				bounds.getHeight(), attributesFloorField.getPotentialFieldResolution(), new CellState(), bounds.getMinX(), bounds.getMinY());
 
 		boolean isInitialized = false;
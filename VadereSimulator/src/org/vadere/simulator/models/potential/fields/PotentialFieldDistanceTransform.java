@@ -0,0 +1,168 @@
+package org.vadere.simulator.models.potential.fields;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.vadere.state.attributes.models.AttributesFloorField;
+import org.vadere.state.scenario.Agent;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.FlatCellGrid;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.geometry.shapes.IPoint;
+import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.logging.Logger;
+import org.vadere.util.math.EuclideanDistanceTransform;
+import org.vadere.util.parallel.ParallelLoop;
+
+import java.awt.Point;
+import java.awt.geom.Rectangle2D;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * PotentialFieldDistanceTransform computes the nearest distance to any obstacle at the points of
+ * a Cartesian grid with the same layout as {@link PotentialFieldDistancesBruteForce}. Values
+ * inbetween are bilinear interpolated.
+ *
+ * The obstacles are rasterized, i.e. a grid point belongs to an obstacle if it is contained in the
+ * obstacle or if it is the nearest grid point of a point on the boundary of the obstacle, such that
+ * thin obstacles are not lost. The distances are computed by two exact Euclidean distance transforms
+ * ({@link EuclideanDistanceTransform}) in linear time: the distance of points outside of all obstacles
+ * to the nearest obstacle point, and the distance of points inside of an obstacle to the nearest point
+ * outside of all obstacles. Since the boundary lies between the points inside and the points outside,
+ * half of the resolution is subtracted from the latter. The result is negative inside of obstacles like
+ * the one of {@link PotentialFieldDistancesBruteForce}. At the grid points it deviates from the exact
+ * distance by at most half of the diagonal of a cell outside of the obstacles and by at most half of
+ * the resolution inside of them.
+ */
+public class PotentialFieldDistanceTransform implements IPotentialField {
+
+	private static Logger logger = Logger.getLogger(PotentialFieldDistanceTransform.class);
+	private final CellGrid cellGrid;
+
+	public PotentialFieldDistanceTransform(@NotNull final Collection<VShape> obstacles,
+	                                       @NotNull final VRectangle bounds,
+	                                       @NotNull final AttributesFloorField attributesFloorField) {
+		this.cellGrid = new FlatCellGrid(bounds.getWidth(), bounds.getHeight(), attributesFloorField.getPotentialFieldResolution(), new CellState(), bounds.getMinX(), bounds.getMinY());
+
+		logger.info("solve floor field (PotentialFieldDistanceTransform)");
+		long ms = System.currentTimeMillis();
+		ParallelLoop parallelLoop = new ParallelLoop();
+		try {
+			compute(obstacles, parallelLoop);
+		} finally {
+			parallelLoop.shutdown();
+		}
+		logger.info("floor field initialization time:" + (System.currentTimeMillis() - ms + "[ms]"));
+	}
+
+	private void compute(@NotNull final Collection<VShape> obstacles, @NotNull final ParallelLoop parallelLoop) {
+		final int numPointsX = cellGrid.getNumPointsX();
+		final int numPointsY = cellGrid.getNumPointsY();
+		final double resolution = cellGrid.getResolution();
+
+		boolean[] inside = new boolean[numPointsX * numPointsY];
+		boolean[] obstaclePoints = new boolean[numPointsX * numPointsY];
+		boolean[] freePoints = new boolean[numPointsX * numPointsY];
+
+		for (VShape shape : obstacles) {
+			rasterizeInterior(shape, inside);
+			rasterizeBoundary(shape, obstaclePoints);
+		}
+
+		boolean anyObstacle = false;
+		boolean anyFree = false;
+		for (int i = 0; i < inside.length; i++) {
+			obstaclePoints[i] |= inside[i];
+			freePoints[i] = !inside[i];
+			anyObstacle |= obstaclePoints[i];
+			anyFree |= freePoints[i];
+		}
+
+		double[] toObstacle = EuclideanDistanceTransform.squaredDistances(obstaclePoints, numPointsX, numPointsY, parallelLoop);
+		double[] toFree = EuclideanDistanceTransform.squaredDistances(freePoints, numPointsX, numPointsY, parallelLoop);
+
+		for (int row = 0; row < numPointsY; row++) {
+			for (int col = 0; col < numPointsX; col++) {
+				int index = row * numPointsX + col;
+				double distance;
+				if (inside[index]) {
+					distance = anyFree ? -Math.max(0, Math.sqrt(toFree[index]) * resolution - resolution / 2) : -Double.MAX_VALUE;
+				} else {
+					// the marked boundary points are at most half of a diagonal away from the boundary on either
+					// side, subtracting half of the resolution would double the error at corners
+					distance = anyObstacle ? Math.sqrt(toObstacle[index]) * resolution : Double.MAX_VALUE;
+				}
+				cellGrid.setPotential(col, row, distance);
+				cellGrid.setTag(col, row, PathFindingTag.Reachable);
+			}
+		}
+	}
+
+	/**
+	 * Marks all grid points contained in the shape.
+	 */
+	private void rasterizeInterior(@NotNull final VShape shape, @NotNull final boolean[] points) {
+		Rectangle2D bounds = shape.getBounds2D();
+		int minX = cellGrid.getNearestPoint(bounds.getMinX(), bounds.getMinY()).x;
+		int minY = cellGrid.getNearestPoint(bounds.getMinX(), bounds.getMinY()).y;
+		int maxX = cellGrid.getNearestPoint(bounds.getMaxX(), bounds.getMaxY()).x;
+		int maxY = cellGrid.getNearestPoint(bounds.getMaxX(), bounds.getMaxY()).y;
+
+		for (int row = Math.max(0, minY - 1); row <= Math.min(cellGrid.getNumPointsY() - 1, maxY + 1); row++) {
+			for (int col = Math.max(0, minX - 1); col <= Math.min(cellGrid.getNumPointsX() - 1, maxX + 1); col++) {
+				if (shape.contains(cellGrid.pointToCoord(col, row))) {
+					points[row * cellGrid.getNumPointsX() + col] = true;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Marks the nearest grid points of points on the boundary of the shape which are sampled with
+	 * half of the resolution.
+	 */
+	private void rasterizeBoundary(@NotNull final VShape shape, @NotNull final boolean[] points) {
+		double step = cellGrid.getResolution() / 2;
+
+		if (shape instanceof VCircle) {
+			VCircle circle = (VCircle) shape;
+			int n = Math.max(8, (int) Math.ceil(2 * Math.PI * circle.getRadius() / step));
+			for (int i = 0; i < n; i++) {
+				double angle = 2 * Math.PI * i / n;
+				markNearestPoint(circle.getCenter().x + circle.getRadius() * Math.cos(angle),
+						circle.getCenter().y + circle.getRadius() * Math.sin(angle), points);
+			}
+		} else {
+			List<VPoint> path = shape.getPath();
+			for (int i = 0; i < path.size(); i++) {
+				VPoint start = path.get(i);
+				VPoint end = path.get((i + 1) % path.size());
+				int n = Math.max(1, (int) Math.ceil(start.distance(end) / step));
+				for (int j = 0; j <= n; j++) {
+					double t = (double) j / n;
+					markNearestPoint(start.x + t * (end.x - start.x), start.y + t * (end.y - start.y), points);
+				}
+			}
+		}
+	}
+
+	private void markNearestPoint(final double x, final double y, @NotNull final boolean[] points) {
+		// boundary points outside of the grid would otherwise be moved to the border of the grid
+		if (x < cellGrid.getMinX() || x > cellGrid.getMaxX() || y < cellGrid.getMinY() || y > cellGrid.getMaxY()) {
+			return;
+		}
+		Point point = cellGrid.getNearestPoint(x, y);
+		if (cellGrid.isValidPoint(point)) {
+			points[point.y * cellGrid.getNumPointsX() + point.x] = true;
+		}
+	}
+
+	@Override
+	public double getPotential(@NotNull IPoint pos, @Nullable Agent agent) {
+		return cellGrid.getInterpolatedValueAt(pos).getLeft();
+	}
+}
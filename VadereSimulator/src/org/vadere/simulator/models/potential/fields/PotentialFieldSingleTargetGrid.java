@@ -69,16 +69,23 @@ public class PotentialFieldSingleTargetGrid extends PotentialFieldTargetGrid {
 		}
 	}
 
+	@Override
+	protected boolean isPotentialFieldOf(final int targetId) {
+		return targetId == this.targetId;
+	}
+
 	@Override
 	protected void addEikonalSolver(final int targetId, final List<VShape> shapes) {
-		if (targetId == this.targetId) {
+		if (isPotentialFieldOf(targetId)) {
 			EikonalSolver eikonalSolver = IPotentialField.create(domain, targetId, shapes, this.attributesPedestrian, this.attributesFloorField);
 			eikonalSolvers.put(targetId, eikonalSolver);
 		}
 	}
 
 	@Override
-	public void postLoop(double simTimeInSec) {}
+	public void postLoop(double simTimeInSec) {
+		super.postLoop(simTimeInSec);
+	}
 
 	@Override
 	public void initialize(List<Attributes> attributesList, Domain topography,
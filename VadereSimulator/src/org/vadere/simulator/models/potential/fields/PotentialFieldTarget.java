@@ -20,12 +20,24 @@ import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.logging.Logger;
 import org.vadere.util.math.MathUtil;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * @author Benedikt Zoennchen
@@ -65,6 +77,12 @@ public class PotentialFieldTarget implements IPotentialFieldTarget {
 	 */
 	protected final Map<Integer, EikonalSolver> eikonalSolvers;
 
+	/**
+	 * solves the potential fields of different targets concurrently if
+	 * {@link AttributesFloorField#isSolveTargetsInParallel()}, created on demand.
+	 */
+	private ExecutorService executorService;
+
 
 	public PotentialFieldTarget(@NotNull final Domain domain,
 	                            @NotNull final AttributesAgent attributesPedestrian,
@@ -219,7 +237,30 @@ public class PotentialFieldTarget implements IPotentialFieldTarget {
 	 * @param shapes    the target area
 	 */
 	protected void addEikonalSolver(final int targetId, final List<VShape> shapes) {
-		EikonalSolver eikonalSolver = IPotentialField.create(domain, targetId, shapes, attributesPedestrian, attributes);
+		putEikonalSolver(targetId, createEikonalSolver(targetId, shapes));
+	}
+
+	/**
+	 * Returns true if this object holds the potential field of the target. The concurrent solving of the
+	 * potential fields only creates and updates solvers of these targets, subclasses holding the potential
+	 * fields of some targets only restrict them by overriding this method.
+	 *
+	 * @param targetId  the targetId of the target
+	 * @return true if this object holds the potential field of the target
+	 */
+	protected boolean isPotentialFieldOf(final int targetId) {
+		return true;
+	}
+
+	/**
+	 * Creates and solves an EikonalSolver for a specific target defined by (targetId, shapes).
+	 * This does not modify this object, i.e. it can be called concurrently.
+	 */
+	private EikonalSolver createEikonalSolver(final int targetId, final List<VShape> shapes) {
+		return IPotentialField.create(domain, targetId, shapes, attributesPedestrian, attributes);
+	}
+
+	private void putEikonalSolver(final int targetId, final EikonalSolver eikonalSolver) {
 		potentialFieldsNeedUpdate = potentialFieldsNeedUpdate || eikonalSolver.needsUpdate();
 		eikonalSolvers.put(targetId, eikonalSolver);
 	}
@@ -229,9 +270,82 @@ public class PotentialFieldTarget implements IPotentialFieldTarget {
 
 	private void addMissingEikonalSolvers() {
 		Map<Integer, List<VShape>> mergeMap = domain.getTopography().getTargetShapes();
-		domain.getTopography().getTargets().stream()
-				.filter(t -> !getSolver(t.getId()).isPresent())
-				.forEach(t -> addEikonalSolver(t.getId(), mergeMap.get(t.getId())));
+
+		if (isSolvingInParallel()) {
+			List<Integer> targetIds = domain.getTopography().getTargets().stream()
+					.map(Target::getId)
+					.distinct()
+					.filter(this::isPotentialFieldOf)
+					.filter(targetId -> !getSolver(targetId).isPresent())
+					.collect(Collectors.toList());
+
+			List<Callable<EikonalSolver>> tasks = targetIds.stream()
+					.map(targetId -> (Callable<EikonalSolver>) () -> createEikonalSolver(targetId, mergeMap.get(targetId)))
+					.collect(Collectors.toList());
+
+			List<EikonalSolver> solvers = invokeAll(tasks);
+			for (int i = 0; i < targetIds.size(); i++) {
+				putEikonalSolver(targetIds.get(i), solvers.get(i));
+			}
+		} else {
+			domain.getTopography().getTargets().stream()
+					.filter(t -> !getSolver(t.getId()).isPresent())
+					.forEach(t -> addEikonalSolver(t.getId(), mergeMap.get(t.getId())));
+		}
+	}
+
+	/**
+	 * Returns true if the potential fields of different targets are solved concurrently. Each solver of
+	 * a cell grid based method owns its grid, time cost function and narrow band, i.e. the solvers do not
+	 * share mutable data. The mesh based solvers share the floor field mesh and are solved sequentially.
+	 */
+	private boolean isSolvingInParallel() {
+		return attributes.isSolveTargetsInParallel() && attributes.getCreateMethod().isUsingCellGrid();
+	}
+
+	private ExecutorService getExecutorService() {
+		if (executorService == null) {
+			int nThreads = Runtime.getRuntime().availableProcessors();
+			AtomicInteger threadCount = new AtomicInteger();
+			ThreadPoolExecutor threadPool = new ThreadPoolExecutor(nThreads, nThreads, 60, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(), runnable -> {
+						Thread thread = new Thread(runnable, "vadere-floor-field-" + threadCount.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					});
+			// idle threads terminate even if postLoop is never called
+			threadPool.allowCoreThreadTimeOut(true);
+			executorService = threadPool;
+		}
+		return executorService;
+	}
+
+	/**
+	 * Runs all tasks by the bounded thread pool and returns their results in the order of the tasks.
+	 */
+	private <T> List<T> invokeAll(@NotNull final List<Callable<T>> tasks) {
+		List<T> results = new ArrayList<>(tasks.size());
+		if (tasks.isEmpty()) {
+			return results;
+		}
+
+		try {
+			for (Future<T> future : getExecutorService().invokeAll(tasks)) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("interrupted while solving the potential fields", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
 	}
 
 	/**
@@ -280,10 +394,65 @@ public class PotentialFieldTarget implements IPotentialFieldTarget {
 			List<Target> targets = domain.getTopography().getTargets();
 			Map<Integer, List<VShape>> mergeMap = domain.getTopography().getTargetShapes();
 			lastUpdateTimestamp = simTimeInSec;
-			targets.stream().forEach(target -> updatePotentialField(simTimeInSec, target, mergeMap.get(target.getId())));
+
+			if (isSolvingInParallel()) {
+				updatePotentialFieldsInParallel(targets, mergeMap);
+			} else {
+				targets.stream().forEach(target -> updatePotentialField(simTimeInSec, target, mergeMap.get(target.getId())));
+			}
+		}
+	}
+
+	/**
+	 * Does the same as {@link #updatePotentialField(double, Target, List)} for all targets but solves the
+	 * potential fields concurrently. Targets sharing an id share the potential field, hence it is updated once.
+	 */
+	private void updatePotentialFieldsInParallel(@NotNull final List<Target> targets, @NotNull final Map<Integer, List<VShape>> mergeMap) {
+		List<Integer> targetIds = new ArrayList<>();
+		Set<Integer> replacedTargetIds = new HashSet<>();
+		List<Callable<EikonalSolver>> tasks = new ArrayList<>();
+
+		for (Target target : targets) {
+			int targetId = target.getId();
+			if (targetIds.contains(targetId) || !isPotentialFieldOf(targetId)) {
+				continue;
+			}
+
+			boolean isMoving = target.isTargetPedestrian() ? !((TargetPedestrian) target).isDeleted() : target.isMovingTarget();
+			if (isMoving) {
+				List<VShape> targetShapes = mergeMap.get(targetId);
+				replacedTargetIds.add(targetId);
+				targetIds.add(targetId);
+				tasks.add(() -> {
+					EikonalSolver eikonalSolver = createEikonalSolver(targetId, targetShapes);
+					eikonalSolver.update();
+					return eikonalSolver;
+				});
+			} else if (eikonalSolvers.containsKey(targetId)) {
+				EikonalSolver eikonalSolver = eikonalSolvers.get(targetId);
+				targetIds.add(targetId);
+				tasks.add(() -> {
+					eikonalSolver.update();
+					return eikonalSolver;
+				});
+			} else {
+				logger.warn("potential field for target " + targetId + " is not contained in " + this);
+			}
+		}
+
+		List<EikonalSolver> solvers = invokeAll(tasks);
+		for (int i = 0; i < targetIds.size(); i++) {
+			if (replacedTargetIds.contains(targetIds.get(i))) {
+				putEikonalSolver(targetIds.get(i), solvers.get(i));
+			}
 		}
 	}
 
 	@Override
-	public void postLoop(final double simTimeInSec) {}
+	public void postLoop(final double simTimeInSec) {
+		if (executorService != null) {
+			executorService.shutdown();
+			executorService = null;
+		}
+	}
 }
@@ -30,6 +30,7 @@ import org.vadere.state.scenario.Topography;
 import org.vadere.state.types.EikonalSolverType;
 import org.vadere.util.data.cellgrid.CellGrid;
 import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.FlatCellGrid;
 import org.vadere.util.data.cellgrid.FloorDiscretizer;
 import org.vadere.util.data.cellgrid.PathFindingTag;
 import org.vadere.util.geometry.shapes.VShape;
@@ -95,7 +96,7 @@ public abstract class EikonalSolverProvider  {
 		 * Use a regular grid based method.
 		 */
 		if(createMethod.isUsingCellGrid()) {
-			CellGrid cellGrid = new CellGrid(bounds.getWidth(), bounds.getHeight(),
+			CellGrid cellGrid = new FlatCellGrid(bounds.getWidth(), bounds.getHeight(),
 					attributesPotential.getPotentialFieldResolution(), new CellState(), bounds.getMinX(), bounds.getMinY());
 
 			if (createMethod != EikonalSolverType.NONE) {
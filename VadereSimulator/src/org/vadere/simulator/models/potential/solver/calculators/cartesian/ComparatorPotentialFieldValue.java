@@ -48,12 +48,12 @@ class ComparatorPotentialFieldValue implements Comparator<Point> {
 	 */
 	@Override
 	public int compare(Point p1, Point p2) {
-		// return (int)Math.signum( grid.getValue( p1 ).potential -
-		// grid.getValue( p2 ).potential );
+		// return (int)Math.signum( grid.getPotential( p1 ) -
+		// grid.getPotential( p2 ) );
 		/* Return -1 if p1.pot < p2.pot. */
-		if (grid.getValue(p1).potential < grid.getValue(p2).potential) {
+		if (grid.getPotential(p1) < grid.getPotential(p2)) {
 			return -1;
-		} else if (grid.getValue(p1).potential > grid.getValue(p2).potential) {
+		} else if (grid.getPotential(p1) > grid.getPotential(p2)) {
 			return 1;
 		}
 
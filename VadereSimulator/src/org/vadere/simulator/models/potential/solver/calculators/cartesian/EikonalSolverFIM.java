@@ -50,7 +50,7 @@ public class EikonalSolverFIM extends AGridEikonalSolver {
 		this.timeCostFunction = timeCostFunction;
 		this.isHighAccuracy = isHighAccuracy;
 		this.distFunc = distFunc;
-		this.targetPoints = cellGrid.pointStream().filter(p -> cellGrid.getValue(p).tag == PathFindingTag.Target).collect(Collectors.toList());
+		this.targetPoints = cellGrid.pointStream().filter(p -> cellGrid.getTag(p) == PathFindingTag.Target).collect(Collectors.toList());
 		this.activeList = new LinkedList<>();
 		this.epsilon = cellGrid.getResolution() / 1000;
 
@@ -62,13 +62,16 @@ public class EikonalSolverFIM extends AGridEikonalSolver {
 	}
 
 	protected void resetDynamicPotentialField() {
-		for (CellState data : cellGrid.getRawBuffer()) {
-			data.potential = Double.MAX_VALUE;
-
-			if (data.tag == PathFindingTag.Reached) {
-				data.tag = PathFindingTag.Undefined;
-			} else if (data.tag == PathFindingTag.Target) {
-				data.potential = 0.0;
+		for (int row = 0; row < cellGrid.getNumPointsY(); row++) {
+			for (int col = 0; col < cellGrid.getNumPointsX(); col++) {
+				PathFindingTag tag = cellGrid.getTag(col, row);
+				cellGrid.setPotential(col, row, Double.MAX_VALUE);
+
+				if (tag == PathFindingTag.Reached) {
+					cellGrid.setTag(col, row, PathFindingTag.Undefined);
+				} else if (tag == PathFindingTag.Target) {
+					cellGrid.setPotential(col, row, 0.0);
+				}
 			}
 		}
 	}
@@ -78,9 +81,9 @@ public class EikonalSolverFIM extends AGridEikonalSolver {
 		resetDynamicPotentialField();
 		targetPoints.stream()
 				.flatMap(p -> cellGrid.getLegitNeumannNeighborhood(p).stream())
-				.filter(neighbor -> cellGrid.getValue(neighbor).tag != PathFindingTag.Obstacle)
+				.filter(neighbor -> cellGrid.getTag(neighbor) != PathFindingTag.Obstacle)
 				.forEach(neighbor -> {
-					if (cellGrid.getValue(neighbor).tag != PathFindingTag.NARROW) {
+					if (cellGrid.getTag(neighbor) != PathFindingTag.NARROW) {
 						activeList.add(neighbor);
 					}
 					cellGrid.setValue(neighbor, new CellState(Math.max(0, -distFunc.apply(cellGrid.pointToCoord(neighbor))), PathFindingTag.NARROW));
@@ -101,18 +104,18 @@ public class EikonalSolverFIM extends AGridEikonalSolver {
 
 			while (activeListIterator.hasNext()) {
 				Point activePoint = activeListIterator.next();
-				double p = cellGrid.getValue(activePoint).potential;
+				double p = cellGrid.getPotential(activePoint);
 				double q = Math.min(computeGodunovDifference(activePoint, cellGrid, Direction.ANY), p);
-				cellGrid.getValue(activePoint).potential = q;
+				cellGrid.setPotential(activePoint, q);
 
 				// converged
 				nUpdates++;
 				if (Math.abs(p - q) <= epsilon) {
 					for (Point neighbour : cellGrid.getLegitNeumannNeighborhood(activePoint)) {
-						if (cellGrid.getValue(neighbour).tag != PathFindingTag.NARROW
-								&& cellGrid.getValue(neighbour).tag != PathFindingTag.Obstacle) {
+						if (cellGrid.getTag(neighbour) != PathFindingTag.NARROW
+								&& cellGrid.getTag(neighbour) != PathFindingTag.Obstacle) {
 
-							double pp = cellGrid.getValue(neighbour).potential;
+							double pp = cellGrid.getPotential(neighbour);
 							double qq = computeGodunovDifference(neighbour, cellGrid, Direction.ANY);
 
 							// converged
@@ -123,14 +126,14 @@ public class EikonalSolverFIM extends AGridEikonalSolver {
 						}
 					}
 					cellGrid.setValue(activePoint,
-							new CellState(cellGrid.getValue(activePoint).potential, PathFindingTag.Reached));
+							new CellState(cellGrid.getPotential(activePoint), PathFindingTag.Reached));
 					activeListIterator.remove();
 				}
 			}
 			activeList.addAll(newActiveList);
 		}
 
-		logger.debug("#update / #vertices: " + nUpdates + " / " + cellGrid.pointStream().filter(p -> cellGrid.getValue(p).tag == PathFindingTag.Reached).count());
+		logger.debug("#update / #vertices: " + nUpdates + " / " + cellGrid.pointStream().filter(p -> cellGrid.getTag(p) == PathFindingTag.Reached).count());
 		nUpdates = 0;
 	}
 
@@ -144,7 +147,7 @@ public class EikonalSolverFIM extends AGridEikonalSolver {
 		 * BufferedWriter bw = new BufferedWriter(new FileWriter(new File("./potential.csv")));
 		 * for(int row = 0; row < cellGrid.getNumPointsY(); row++) {
 		 * for(int col = 0; col < cellGrid.getNumPointsX(); col++) {
-		 * bw.write(cellGrid.getValue(col, row).potential+" ");
+		 * bw.write(cellGrid.getPotential(col, row)+" ");
 		 * }
 		 * bw.write("\n");
 		 * }
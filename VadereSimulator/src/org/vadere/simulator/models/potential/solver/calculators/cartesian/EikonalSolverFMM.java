@@ -1,16 +1,15 @@
 package org.vadere.simulator.models.potential.solver.calculators.cartesian;
 
 import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.util.data.IndexedMinHeap;
 import org.vadere.util.data.cellgrid.CellGrid;
 import org.vadere.util.data.cellgrid.CellState;
 import org.vadere.util.data.cellgrid.PathFindingTag;
 import org.vadere.util.logging.Logger;
 import org.vadere.util.math.IDistanceFunction;
-import org.vadere.util.math.MathUtil;
 
 import java.awt.*;
 import java.util.List;
-import java.util.PriorityQueue;
 import java.util.stream.Collectors;
 
 /**
@@ -18,10 +17,13 @@ import java.util.stream.Collectors;
  * of the fast marching algorithm. The potential field is static and therefor
  * not updated by update() (see PotentialFieldInitializerFastMarchingAdaptive).
  * Hence, the initializer may be used to realize static floor fields.
- * 
+ *
+ * The narrow band is an {@link IndexedMinHeap} of the grid points <tt>(x, y)</tt> indexed by
+ * <tt>x * numPointsY + y</tt> such that points of equal potential are polled in the order of
+ * {@link ComparatorPotentialFieldValue}.
  */
 public class EikonalSolverFMM extends AGridEikonalSolver {
-	protected final PriorityQueue<Point> narrowBand;
+	protected final IndexedMinHeap narrowBand;
 	protected final ITimeCostFunction timeCostFunction;
 
 	protected CellGrid cellGrid;
@@ -35,6 +37,10 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
 	protected long runtime = 0;
 	private int updates = 0;
 
+	/** reused to avoid the allocation of points per polled grid point */
+	private final Point polled = new Point();
+	private final Point neighbor = new Point();
+
     /**
      * Initializes the FM potential calculator with a time cost function F > 0.
      */
@@ -47,10 +53,10 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
             final double weight) {
         super(potentialField, unknownPenalty, weight);
         this.cellGrid = potentialField;
-        this.targetPoints = cellGrid.pointStream().filter(p -> cellGrid.getValue(p).tag == PathFindingTag.Target).collect(Collectors.toList());
+        this.targetPoints = cellGrid.pointStream().filter(p -> cellGrid.getTag(p) == PathFindingTag.Target).collect(Collectors.toList());
         this.distFunc = distFunc;
         this.isHighAccuracy = isHighAccuracy;
-        this.narrowBand = new PriorityQueue<>(50, new ComparatorPotentialFieldValue(potentialField));
+        this.narrowBand = new IndexedMinHeap(cellGrid.getNumPointsX() * cellGrid.getNumPointsY());
         this.timeCostFunction = timeCostFunction;
 
         if (targetPoints.size() == 0) {
@@ -75,9 +81,7 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
 		// it is not possible to work with the cellGrid directly.
 		long ms = System.currentTimeMillis();
 		while (!narrowBand.isEmpty()) {
-			Point tmpPoint = narrowBand.poll();
-			cellGrid.getValue(tmpPoint).tag = PathFindingTag.Reached;
-			setNeighborDistances(tmpPoint);
+			pollNarrowBand();
 		}
 		long runTime = System.currentTimeMillis() - ms;
 		logger.debug("fmm on the gird run time = " + runTime + ", #updates = " + updates);
@@ -89,15 +93,23 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
 	 * @param point
 	 */
 	private void furtherRun(final Point point) {
-		Point tmpPoint;
 		while (!narrowBand.isEmpty()
-				&& cellGrid.getValue(point).tag == PathFindingTag.Undefined) {
-			tmpPoint = narrowBand.poll();
-			cellGrid.getValue(tmpPoint).tag = PathFindingTag.Reached;
-			setNeighborDistances(tmpPoint);
+				&& cellGrid.getTag(point) == PathFindingTag.Undefined) {
+			pollNarrowBand();
 		}
 	}
 
+	private void pollNarrowBand() {
+		int index = narrowBand.poll();
+		polled.setLocation(index / cellGrid.getNumPointsY(), index % cellGrid.getNumPointsY());
+		cellGrid.setTag(polled, PathFindingTag.Reached);
+		setNeighborDistances(polled);
+	}
+
+	private int toIndex(final int x, final int y) {
+		return x * cellGrid.getNumPointsY() + y;
+	}
+
 	@Override
 	public void update() {
 		// logger.info("other-runtime: " + (System.currentTimeMillis() - runtime));
@@ -112,13 +124,16 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
 	}
 
 	protected void resetDynamicPotentialField() {
-		for (CellState data : cellGrid.getRawBuffer()) {
-			data.potential = Double.MAX_VALUE;
-
-			if (data.tag == PathFindingTag.Reached) {
-				data.tag = PathFindingTag.Undefined;
-			} else if (data.tag == PathFindingTag.Target) {
-				data.potential = 0.0;
+		for (int row = 0; row < cellGrid.getNumPointsY(); row++) {
+			for (int col = 0; col < cellGrid.getNumPointsX(); col++) {
+				PathFindingTag tag = cellGrid.getTag(col, row);
+				cellGrid.setPotential(col, row, Double.MAX_VALUE);
+
+				if (tag == PathFindingTag.Reached) {
+					cellGrid.setTag(col, row, PathFindingTag.Undefined);
+				} else if (tag == PathFindingTag.Target) {
+					cellGrid.setPotential(col, row, 0.0);
+				}
 			}
 		}
 	}
@@ -139,25 +154,30 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
 	}
 
 	protected void setNeighborDistances(final Point point) {
-		List<Point> neighbors = MathUtil.getNeumannNeighborhood(point);
-		double distance;
+		// the von Neumann neighborhood in the order of MathUtil.getNeumannNeighborhood
+		setNeighborDistance(point.x - 1, point.y);
+		setNeighborDistance(point.x + 1, point.y);
+		setNeighborDistance(point.x, point.y - 1);
+		setNeighborDistance(point.x, point.y + 1);
+	}
 
-		for (Point neighbor : neighbors) {
-			if (cellGrid.isValidPoint(neighbor)) {
-				if (cellGrid.getValue(neighbor).tag == PathFindingTag.Undefined) {
-					distance = computeGodunovDifference(neighbor, cellGrid);
-					updates++;
-					cellGrid.setValue(neighbor, new CellState(distance,
-							PathFindingTag.Reachable));
-					narrowBand.add(neighbor);
-				} else if (cellGrid.getValue(neighbor).tag == PathFindingTag.Reachable) {
-					distance = computeGodunovDifference(neighbor, cellGrid);
-					updates++;
-					if (distance < cellGrid.getValue(neighbor).potential) {
-						narrowBand.remove(neighbor);
-						cellGrid.getValue(neighbor).potential = distance;
-						narrowBand.add(neighbor);
-					}
+	private void setNeighborDistance(final int x, final int y) {
+		if (cellGrid.isValidPoint(x, y)) {
+			PathFindingTag tag = cellGrid.getTag(x, y);
+			if (tag == PathFindingTag.Undefined) {
+				neighbor.setLocation(x, y);
+				double distance = computeGodunovDifference(neighbor, cellGrid);
+				updates++;
+				cellGrid.setPotential(x, y, distance);
+				cellGrid.setTag(x, y, PathFindingTag.Reachable);
+				narrowBand.insert(toIndex(x, y), distance);
+			} else if (tag == PathFindingTag.Reachable) {
+				neighbor.setLocation(x, y);
+				double distance = computeGodunovDifference(neighbor, cellGrid);
+				updates++;
+				if (distance < cellGrid.getPotential(x, y)) {
+					cellGrid.setPotential(x, y, distance);
+					narrowBand.decreaseKey(toIndex(x, y), distance);
 				}
 			}
 		}
@@ -167,12 +187,12 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
 		List<Point> neighbors = cellGrid.getLegitNeumannNeighborhood(point);
 
 		for (Point neighbor : neighbors) {
-			if (cellGrid.getValue(neighbor).tag == PathFindingTag.Undefined) {
+			if (cellGrid.getTag(neighbor) == PathFindingTag.Undefined) {
 				double distance = Math.max(0, -distFunc.apply(cellGrid.pointToCoord(neighbor)));
 				double timeCost = timeCostFunction.costAt(cellGrid.pointToCoord(neighbor));
 				double potential = distance / timeCost;
 				cellGrid.setValue(neighbor, new CellState(potential, PathFindingTag.Reachable));
-				narrowBand.add(neighbor);
+				narrowBand.insert(toIndex(neighbor.x, neighbor.y), potential);
 			}
 		}
 	}
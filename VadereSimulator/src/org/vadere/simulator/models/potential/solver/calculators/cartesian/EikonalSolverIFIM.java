@@ -48,7 +48,7 @@ public class EikonalSolverIFIM extends AGridEikonalSolver {
 	    this.cellGrid = cellGrid;
 		this.timeCostFunction = timeCostFunction;
 		this.distFunc = distFunc;
-		this.targetPoints = cellGrid.pointStream().filter(p -> cellGrid.getValue(p).tag == PathFindingTag.Target).collect(Collectors.toList());
+		this.targetPoints = cellGrid.pointStream().filter(p -> cellGrid.getTag(p) == PathFindingTag.Target).collect(Collectors.toList());
 		this.activeList = new LinkedList<>();
 		//this.epsilon = cellGrid.getResolution() / 1000;
 		this.epsilon = 0;
@@ -62,13 +62,16 @@ public class EikonalSolverIFIM extends AGridEikonalSolver {
 	}
 
 	protected void resetDynamicPotentialField() {
-		for (CellState data : cellGrid.getRawBuffer()) {
-			data.potential = Double.MAX_VALUE;
-
-			if (data.tag == PathFindingTag.Reached) {
-				data.tag = PathFindingTag.Undefined;
-			} else if (data.tag == PathFindingTag.Target) {
-				data.potential = 0.0;
+		for (int row = 0; row < cellGrid.getNumPointsY(); row++) {
+			for (int col = 0; col < cellGrid.getNumPointsX(); col++) {
+				PathFindingTag tag = cellGrid.getTag(col, row);
+				cellGrid.setPotential(col, row, Double.MAX_VALUE);
+
+				if (tag == PathFindingTag.Reached) {
+					cellGrid.setTag(col, row, PathFindingTag.Undefined);
+				} else if (tag == PathFindingTag.Target) {
+					cellGrid.setPotential(col, row, 0.0);
+				}
 			}
 		}
 	}
@@ -78,11 +81,11 @@ public class EikonalSolverIFIM extends AGridEikonalSolver {
 		resetDynamicPotentialField();
 		targetPoints.stream()
 				.flatMap(p -> cellGrid.getLegitNeumannNeighborhood(p).stream())
-				.filter(neighbor -> cellGrid.getValue(neighbor).tag != PathFindingTag.Obstacle)
-				.filter(neighbor -> cellGrid.getValue(neighbor).tag != PathFindingTag.Target)
+				.filter(neighbor -> cellGrid.getTag(neighbor) != PathFindingTag.Obstacle)
+				.filter(neighbor -> cellGrid.getTag(neighbor) != PathFindingTag.Target)
 				.forEach(neighbor -> {
 					if(isReady(neighbor)) {
-						if (cellGrid.getValue(neighbor).tag != PathFindingTag.NARROW) {
+						if (cellGrid.getTag(neighbor) != PathFindingTag.NARROW) {
 							activeList.add(neighbor);
 						}
 						cellGrid.setValue(neighbor, new CellState(Math.max(0, -distFunc.apply(cellGrid.pointToCoord(neighbor))), PathFindingTag.NARROW));
@@ -104,7 +107,7 @@ public class EikonalSolverIFIM extends AGridEikonalSolver {
 
 			while (activeListIterator.hasNext()) {
 				Point activePoint = activeListIterator.next();
-				double p = cellGrid.getValue(activePoint).potential;
+				double p = cellGrid.getPotential(activePoint);
 
 				Triple<Double, Point, Point> r = computeGodunovDifferenceAndDep(activePoint, cellGrid, Direction.ANY);
 				if(r.getLeft() < p) {
@@ -113,18 +116,18 @@ public class EikonalSolverIFIM extends AGridEikonalSolver {
 				}
 
 				double q = Math.min(r.getLeft(), p);
-				cellGrid.getValue(activePoint).potential = q;
+				cellGrid.setPotential(activePoint, q);
 				nUpdates++;
 				// converged
 				if (Math.abs(p - q) <= epsilon) {
-					cellGrid.setValue(activePoint, new CellState(cellGrid.getValue(activePoint).potential, PathFindingTag.Reached));
+					cellGrid.setValue(activePoint, new CellState(cellGrid.getPotential(activePoint), PathFindingTag.Reached));
 					for (Point neighbour : cellGrid.getLegitNeumannNeighborhood(activePoint)) {
-						if (cellGrid.getValue(neighbour).tag != PathFindingTag.NARROW
-								&& cellGrid.getValue(neighbour).tag != PathFindingTag.Target
-								&& cellGrid.getValue(neighbour).tag != PathFindingTag.Obstacle) {
+						if (cellGrid.getTag(neighbour) != PathFindingTag.NARROW
+								&& cellGrid.getTag(neighbour) != PathFindingTag.Target
+								&& cellGrid.getTag(neighbour) != PathFindingTag.Obstacle) {
 
 							if(isReady(neighbour)) {
-								double pp = cellGrid.getValue(neighbour).potential;
+								double pp = cellGrid.getPotential(neighbour);
 								Triple<Double, Point, Point> r2 = computeGodunovDifferenceAndDep(neighbour, cellGrid, Direction.ANY);
 								double qq = r2.getLeft();
 								//nUpdates++;
@@ -140,9 +143,9 @@ public class EikonalSolverIFIM extends AGridEikonalSolver {
 								}
 							} /*else {
 								System.out.println("not rdy:" + neighbour + " / " + cellGrid.pointToCoord(neighbour) + ", " + testCycle(neighbour));
-								if(cellGrid.getValue(activePoint).tag != PathFindingTag.NARROW) {
+								if(cellGrid.getTag(activePoint) != PathFindingTag.NARROW) {
 									newActiveList.add(activePoint);
-									cellGrid.setValue(activePoint, new CellState(cellGrid.getValue(activePoint).potential, PathFindingTag.NARROW));
+									cellGrid.setValue(activePoint, new CellState(cellGrid.getPotential(activePoint), PathFindingTag.NARROW));
 								}
 							}*/
 						}
@@ -175,7 +178,7 @@ public class EikonalSolverIFIM extends AGridEikonalSolver {
 		//}
 
 
-		//System.out.println(i+"#update / #vertices: " + nUpdates + " / " + cellGrid.pointStream().filter(p -> cellGrid.getValue(p).tag == PathFindingTag.Reached).count());
+		//System.out.println(i+"#update / #vertices: " + nUpdates + " / " + cellGrid.pointStream().filter(p -> cellGrid.getTag(p) == PathFindingTag.Reached).count());
 		nUpdates = 0;
 		i++;
 	}
@@ -225,13 +228,13 @@ public class EikonalSolverIFIM extends AGridEikonalSolver {
 
 	private boolean isValid(Point p) {
 		//return true;
-		return p == null || cellGrid.getValue(p).tag == PathFindingTag.Reached || cellGrid.getValue(p).tag == PathFindingTag.Target;
-		//return p == null || cellGrid.getValue(p).tag != PathFindingTag.Undefined;
+		return p == null || cellGrid.getTag(p) == PathFindingTag.Reached || cellGrid.getTag(p) == PathFindingTag.Target;
+		//return p == null || cellGrid.getTag(p) != PathFindingTag.Undefined;
 				/*
-				cellGrid.getValue(p).tag == PathFindingTag.NARROW ||
-				cellGrid.getValue(p).tag == PathFindingTag.Reached ||
-				cellGrid.getValue(p).tag == PathFindingTag.Target ||
-				cellGrid.getValue(p).tag == PathFindingTag.Obstacle;*/
+				cellGrid.getTag(p) == PathFindingTag.NARROW ||
+				cellGrid.getTag(p) == PathFindingTag.Reached ||
+				cellGrid.getTag(p) == PathFindingTag.Target ||
+				cellGrid.getTag(p) == PathFindingTag.Obstacle;*/
 	}
 
 	@Override
@@ -244,7 +247,7 @@ public class EikonalSolverIFIM extends AGridEikonalSolver {
 		 * BufferedWriter bw = new BufferedWriter(new FileWriter(new File("./potential.csv")));
 		 * for(int row = 0; row < cellGrid.getNumPointsY(); row++) {
 		 * for(int col = 0; col < cellGrid.getNumPointsX(); col++) {
-		 * bw.write(cellGrid.getValue(col, row).potential+" ");
+		 * bw.write(cellGrid.getPotential(col, row)+" ");
 		 * }
 		 * bw.write("\n");
 		 * }
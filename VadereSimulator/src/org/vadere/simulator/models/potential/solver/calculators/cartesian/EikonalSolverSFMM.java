@@ -1,18 +1,15 @@
 package org.vadere.simulator.models.potential.solver.calculators.cartesian;
 
-import org.apache.commons.math3.util.Pair;
 import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.util.data.IndexedMinHeap;
 import org.vadere.util.data.cellgrid.CellGrid;
 import org.vadere.util.data.cellgrid.CellState;
 import org.vadere.util.data.cellgrid.PathFindingTag;
 import org.vadere.util.logging.Logger;
 import org.vadere.util.math.IDistanceFunction;
-import org.vadere.util.math.MathUtil;
 
 import java.awt.*;
-import java.util.Comparator;
 import java.util.List;
-import java.util.PriorityQueue;
 import java.util.stream.Collectors;
 
 /**
@@ -20,12 +17,17 @@ import java.util.stream.Collectors;
  * the update of values inside the priority queue. Instead the queue contains
  * duplicates.
  *
+ * The duplicates avoided the linear update of {@link java.util.PriorityQueue}. The narrow band is now
+ * an {@link IndexedMinHeap} of the grid indices <tt>x * numPointsY + y</tt> and its update is as cheap
+ * as the insertion of a duplicate. Therefore, an update decreases the key instead and each grid point is
+ * polled exactly once.
+ *
  * See: jones-2006 (3D distance fields: a survey of techniques and applications)
  * See: gomez-2015 (Fast Methods for Eikonal Equations: an Experimental Survey)
  *
  */
 public class EikonalSolverSFMM extends AGridEikonalSolver {
-	protected final PriorityQueue<Pair<Point, Double>> narrowBand;
+	protected final IndexedMinHeap narrowBand;
 	protected final ITimeCostFunction timeCostFunction;
 
 	protected CellGrid cellGrid;
@@ -37,6 +39,10 @@ public class EikonalSolverSFMM extends AGridEikonalSolver {
 	protected static Logger logger = Logger.getLogger(EikonalSolverSFMM.class);
 	protected long runtime = 0;
 
+	/** reused to avoid the allocation of points per polled grid point */
+	private final Point polled = new Point();
+	private final Point neighbor = new Point();
+
 	/**
 	 * Initializes the FM potential calculator with a time cost function F > 0.
 	 */
@@ -49,12 +55,10 @@ public class EikonalSolverSFMM extends AGridEikonalSolver {
 							final double weight) {
 		super(potentialField, unknownPenalty, weight);
 		this.cellGrid = potentialField;
-		this.targetPoints = cellGrid.pointStream().filter(p -> cellGrid.getValue(p).tag == PathFindingTag.Target).collect(Collectors.toList());
+		this.targetPoints = cellGrid.pointStream().filter(p -> cellGrid.getTag(p) == PathFindingTag.Target).collect(Collectors.toList());
 		this.distFunc = distFunc;
 		this.isHighAccuracy = isHighAccuracy;
-
-		ComparatorPotentialFieldValueSFMM comparator = new ComparatorPotentialFieldValueSFMM();
-		this.narrowBand = new PriorityQueue<>(50, comparator);
+		this.narrowBand = new IndexedMinHeap(cellGrid.getNumPointsX() * cellGrid.getNumPointsY());
 		this.timeCostFunction = timeCostFunction;
 
 		if (targetPoints.size() == 0) {
@@ -74,15 +78,7 @@ public class EikonalSolverSFMM extends AGridEikonalSolver {
 		 * Create whole Floor Field at the beginning.
 		 */
 		while (!narrowBand.isEmpty()) {
-			Pair<Point, Double> pair = narrowBand.poll();
-
-			Point tmpPoint = pair.getKey();
-			double value = pair.getValue();
-
-			if(value <= cellGrid.getValue(tmpPoint).potential) {
-				cellGrid.getValue(tmpPoint).tag = PathFindingTag.Reached;
-				setNeighborDistances(tmpPoint);
-			}
+			pollNarrowBand();
 		}
 	}
 
@@ -92,19 +88,22 @@ public class EikonalSolverSFMM extends AGridEikonalSolver {
 	 * @param point
 	 */
 	private void furtherRun(final Point point) {
-		while (!narrowBand.isEmpty() && cellGrid.getValue(point).tag == PathFindingTag.Undefined) {
-			Pair<Point, Double> pair = narrowBand.poll();
-			Point tmpPoint = pair.getKey();
-			double value = pair.getValue();
-
-			// this might be an old value
-			if(value <= cellGrid.getValue(tmpPoint).potential) {
-				cellGrid.getValue(tmpPoint).tag = PathFindingTag.Reached;
-				setNeighborDistances(tmpPoint);
-			}
+		while (!narrowBand.isEmpty() && cellGrid.getTag(point) == PathFindingTag.Undefined) {
+			pollNarrowBand();
 		}
 	}
 
+	private void pollNarrowBand() {
+		int index = narrowBand.poll();
+		polled.setLocation(index / cellGrid.getNumPointsY(), index % cellGrid.getNumPointsY());
+		cellGrid.setTag(polled, PathFindingTag.Reached);
+		setNeighborDistances(polled);
+	}
+
+	private int toIndex(final int x, final int y) {
+		return x * cellGrid.getNumPointsY() + y;
+	}
+
 	@Override
 	public void update() {
 		// logger.info("other-runtime: " + (System.currentTimeMillis() - runtime));
@@ -119,13 +118,16 @@ public class EikonalSolverSFMM extends AGridEikonalSolver {
 	}
 
 	protected void resetDynamicPotentialField() {
-		for (CellState data : cellGrid.getRawBuffer()) {
-			data.potential = Double.MAX_VALUE;
-
-			if (data.tag == PathFindingTag.Reached) {
-				data.tag = PathFindingTag.Undefined;
-			} else if (data.tag == PathFindingTag.Target) {
-				data.potential = 0.0;
+		for (int row = 0; row < cellGrid.getNumPointsY(); row++) {
+			for (int col = 0; col < cellGrid.getNumPointsX(); col++) {
+				PathFindingTag tag = cellGrid.getTag(col, row);
+				cellGrid.setPotential(col, row, Double.MAX_VALUE);
+
+				if (tag == PathFindingTag.Reached) {
+					cellGrid.setTag(col, row, PathFindingTag.Undefined);
+				} else if (tag == PathFindingTag.Target) {
+					cellGrid.setPotential(col, row, 0.0);
+				}
 			}
 		}
 	}
@@ -146,25 +148,28 @@ public class EikonalSolverSFMM extends AGridEikonalSolver {
 	}
 
 	protected void setNeighborDistances(final Point point) {
-		List<Point> neighbors = MathUtil.getNeumannNeighborhood(point);
-		double distance;
-
-		for (Point neighbor : neighbors) {
+		setNeighborDistance(point.x - 1, point.y);
+		setNeighborDistance(point.x + 1, point.y);
+		setNeighborDistance(point.x, point.y - 1);
+		setNeighborDistance(point.x, point.y + 1);
+	}
 
-			if (cellGrid.isValidPoint(neighbor)) {
-				if (cellGrid.getValue(neighbor).tag == PathFindingTag.Undefined) {
-					distance = computeGodunovDifference(neighbor, cellGrid);
-					cellGrid.setValue(neighbor, new CellState(distance,
-							PathFindingTag.Reachable));
-					narrowBand.add(Pair.create(new Point(neighbor), cellGrid.getValue(neighbor).potential));
-				} else if (cellGrid.getValue(neighbor).tag == PathFindingTag.Reachable) {
-					distance = computeGodunovDifference(neighbor, cellGrid);
-
-					if (distance < cellGrid.getValue(neighbor).potential) {
-						narrowBand.remove(neighbor);
-						cellGrid.getValue(neighbor).potential = distance;
-						narrowBand.add(Pair.create(new Point(neighbor), cellGrid.getValue(neighbor).potential));
-					}
+	private void setNeighborDistance(final int x, final int y) {
+		if (cellGrid.isValidPoint(x, y)) {
+			PathFindingTag tag = cellGrid.getTag(x, y);
+			if (tag == PathFindingTag.Undefined) {
+				neighbor.setLocation(x, y);
+				double distance = computeGodunovDifference(neighbor, cellGrid);
+				cellGrid.setPotential(x, y, distance);
+				cellGrid.setTag(x, y, PathFindingTag.Reachable);
+				narrowBand.insert(toIndex(x, y), distance);
+			} else if (tag == PathFindingTag.Reachable) {
+				neighbor.setLocation(x, y);
+				double distance = computeGodunovDifference(neighbor, cellGrid);
+
+				if (distance < cellGrid.getPotential(x, y)) {
+					cellGrid.setPotential(x, y, distance);
+					narrowBand.decreaseKey(toIndex(x, y), distance);
 				}
 			}
 		}
@@ -174,20 +179,13 @@ public class EikonalSolverSFMM extends AGridEikonalSolver {
 		List<Point> neighbors = cellGrid.getLegitNeumannNeighborhood(point);
 
 		for (Point neighbor : neighbors) {
-			if (cellGrid.getValue(neighbor).tag == PathFindingTag.Undefined) {
+			if (cellGrid.getTag(neighbor) == PathFindingTag.Undefined) {
 				double distance = Math.max(0, -distFunc.apply(cellGrid.pointToCoord(neighbor)));
 				double timeCost = timeCostFunction.costAt(cellGrid.pointToCoord(neighbor));
 				double potential = distance / timeCost;
 				cellGrid.setValue(neighbor, new CellState(potential, PathFindingTag.Reachable));
-				narrowBand.add(Pair.create(new Point(neighbor.x, neighbor.y), cellGrid.getValue(neighbor.x, neighbor.y).potential));
+				narrowBand.insert(toIndex(neighbor.x, neighbor.y), potential);
 			}
 		}
 	}
-
-	private class ComparatorPotentialFieldValueSFMM implements Comparator<Pair<Point, Double>> {
-		@Override
-		public int compare(final Pair<Point, Double> o1, final Pair<Point, Double> o2) {
-			return Double.compare(o1.getValue(), o2.getValue());
-		}
-	}
 }
@@ -91,15 +91,15 @@ public interface GridEikonalSolver extends EikonalSolver {
 		boolean posY = false;
 		if (isValidPoint(cellGrid, new Point(point.x + 1, point.y)) &&
 				(!isValidPoint(cellGrid, new Point(point.x - 1, point.y))
-						|| (cellGrid.getValue(new Point(point.x + 1, point.y)).potential < cellGrid
-						.getValue(new Point(point.x - 1, point.y)).potential))) {
+						|| (cellGrid.getPotential(new Point(point.x + 1, point.y)) < cellGrid
+						.getPotential(new Point(point.x - 1, point.y))))) {
 			posX = true;
 		}
 
 		if (isValidPoint(cellGrid, new Point(point.x, point.y + 1)) &&
 				(!isValidPoint(cellGrid, new Point(point.x, point.y - 1))
-						|| (cellGrid.getValue(new Point(point.x, point.y + 1)).potential < cellGrid
-						.getValue(new Point(point.x, point.y - 1)).potential))) {
+						|| (cellGrid.getPotential(new Point(point.x, point.y + 1)) < cellGrid
+						.getPotential(new Point(point.x, point.y - 1))))) {
 			posY = true;
 		}
 
@@ -141,12 +141,12 @@ public interface GridEikonalSolver extends EikonalSolver {
 		double yVal = Double.MAX_VALUE;
 		if(isValidPoint(cellGrid, xPoint)) {
 			result[0] = xPoint;
-			xVal = cellGrid.getValue(xPoint).potential;
+			xVal = cellGrid.getPotential(xPoint);
 		}
 
 		if(isValidPoint(cellGrid, yPoint)) {
 			result[1] = yPoint;
-			yVal = cellGrid.getValue(yPoint).potential;
+			yVal = cellGrid.getPotential(yPoint);
 		}
 
 		double cost = getTimeCostFunction().costAt(new VPoint(point.x, point.y));
@@ -209,8 +209,8 @@ public interface GridEikonalSolver extends EikonalSolver {
 			default: {
 				if (isValidPoint(cellGrid, new Point(point.x + 1, point.y)) &&
 						(!isValidPoint(cellGrid, new Point(point.x - 1, point.y))
-								|| (cellGrid.getValue(new Point(point.x + 1, point.y)).potential < cellGrid
-								.getValue(new Point(point.x - 1, point.y)).potential))) {
+								|| (cellGrid.getPotential(new Point(point.x + 1, point.y)) < cellGrid
+								.getPotential(new Point(point.x - 1, point.y))))) {
 					xPoint = new Point(point.x + 1, point.y);
 					xhPoint = new Point(point.x + 2, point.y);
 				} else {
@@ -220,8 +220,8 @@ public interface GridEikonalSolver extends EikonalSolver {
 
 				if (isValidPoint(cellGrid, new Point(point.x, point.y + 1)) &&
 						(!isValidPoint(cellGrid, new Point(point.x, point.y - 1))
-								|| (cellGrid.getValue(new Point(point.x, point.y + 1)).potential < cellGrid
-								.getValue(new Point(point.x, point.y - 1)).potential))) {
+								|| (cellGrid.getPotential(new Point(point.x, point.y + 1)) < cellGrid
+								.getPotential(new Point(point.x, point.y - 1))))) {
 					yPoint = new Point(point.x, point.y + 1);
 					yhPoint = new Point(point.x, point.y + 2);
 				} else {
@@ -233,7 +233,7 @@ public interface GridEikonalSolver extends EikonalSolver {
 
 		double xVal = Double.MAX_VALUE;
 		if (isValidPoint(cellGrid, xPoint)) {
-			xVal = cellGrid.getValue(xPoint).potential;
+			xVal = cellGrid.getPotential(xPoint);
 			if (xVal != Double.MAX_VALUE) {
 				a += 1.0;
 				b -= 2 * xVal;
@@ -243,7 +243,7 @@ public interface GridEikonalSolver extends EikonalSolver {
 
 		double yVal = Double.MAX_VALUE;
 		if (isValidPoint(cellGrid, yPoint)) {
-			yVal = cellGrid.getValue(yPoint).potential;
+			yVal = cellGrid.getPotential(yPoint);
 			if (yVal != Double.MAX_VALUE) {
 				a += 1.0;
 				b -= 2 * yVal;
@@ -257,16 +257,16 @@ public interface GridEikonalSolver extends EikonalSolver {
 			// logger.warn("no solution possible");
 		} else {
 			if (isHighAccuracy()) {
-				if (isValidPoint(cellGrid, xhPoint) && cellGrid.getValue(xhPoint).potential < xVal) {
-					double tp = (1.0 / 3.0) * (4.0 * xVal - cellGrid.getValue(xhPoint).potential);
+				if (isValidPoint(cellGrid, xhPoint) && cellGrid.getPotential(xhPoint) < xVal) {
+					double tp = (1.0 / 3.0) * (4.0 * xVal - cellGrid.getPotential(xhPoint));
 					double factor = 9.0 / 4.0;
 					a += factor;
 					b -= 2.0 * 9.0 / 4.0 * tp;
 					c += factor * Math.pow(tp, 2);
 				}
 
-				if (isValidPoint(cellGrid, yhPoint) && cellGrid.getValue(yhPoint).potential < yVal) {
-					double tp = (1.0 / 3.0) * (4.0 * yVal - cellGrid.getValue(yhPoint).potential);
+				if (isValidPoint(cellGrid, yhPoint) && cellGrid.getPotential(yhPoint) < yVal) {
+					double tp = (1.0 / 3.0) * (4.0 * yVal - cellGrid.getPotential(yhPoint));
 					double factor = 9.0 / 4.0;
 					a += factor;
 					b -= 2.0 * factor * tp;
@@ -332,8 +332,8 @@ public interface GridEikonalSolver extends EikonalSolver {
 			default: {
 				if (isValidPoint(cellGrid, new Point(point.x + 1, point.y)) &&
 						(!isValidPoint(cellGrid, new Point(point.x - 1, point.y))
-								|| (cellGrid.getValue(new Point(point.x + 1, point.y)).potential < cellGrid
-								.getValue(new Point(point.x - 1, point.y)).potential))) {
+								|| (cellGrid.getPotential(new Point(point.x + 1, point.y)) < cellGrid
+								.getPotential(new Point(point.x - 1, point.y))))) {
 					xPoint = new Point(point.x + 1, point.y);
 					xhPoint = new Point(point.x + 2, point.y);
 				} else {
@@ -343,8 +343,8 @@ public interface GridEikonalSolver extends EikonalSolver {
 
 				if (isValidPoint(cellGrid, new Point(point.x, point.y + 1)) &&
 						(!isValidPoint(cellGrid, new Point(point.x, point.y - 1))
-								|| (cellGrid.getValue(new Point(point.x, point.y + 1)).potential < cellGrid
-								.getValue(new Point(point.x, point.y - 1)).potential))) {
+								|| (cellGrid.getPotential(new Point(point.x, point.y + 1)) < cellGrid
+								.getPotential(new Point(point.x, point.y - 1))))) {
 					yPoint = new Point(point.x, point.y + 1);
 					yhPoint = new Point(point.x, point.y + 2);
 				} else {
@@ -356,7 +356,7 @@ public interface GridEikonalSolver extends EikonalSolver {
 
 		double xVal = Double.MAX_VALUE;
 		if (isValidPoint(cellGrid, xPoint)) {
-			xVal = cellGrid.getValue(xPoint).potential;
+			xVal = cellGrid.getPotential(xPoint);
 			if (xVal != Double.MAX_VALUE) {
 				a += 1.0;
 				b -= 2 * xVal;
@@ -370,7 +370,7 @@ public interface GridEikonalSolver extends EikonalSolver {
 
 		double yVal = Double.MAX_VALUE;
 		if (isValidPoint(cellGrid, yPoint)) {
-			yVal = cellGrid.getValue(yPoint).potential;
+			yVal = cellGrid.getPotential(yPoint);
 			if (yVal != Double.MAX_VALUE) {
 				a += 1.0;
 				b -= 2 * yVal;
@@ -394,16 +394,16 @@ public interface GridEikonalSolver extends EikonalSolver {
 			return Triple.of(result, null, null);
 		} else {
 			if (isHighAccuracy()) {
-				if (isValidPoint(cellGrid, xhPoint) && cellGrid.getValue(xhPoint).potential < xVal) {
-					double tp = (1.0 / 3.0) * (4.0 * xVal - cellGrid.getValue(xhPoint).potential);
+				if (isValidPoint(cellGrid, xhPoint) && cellGrid.getPotential(xhPoint) < xVal) {
+					double tp = (1.0 / 3.0) * (4.0 * xVal - cellGrid.getPotential(xhPoint));
 					double factor = 9.0 / 4.0;
 					a += factor;
 					b -= 2.0 * 9.0 / 4.0 * tp;
 					c += factor * Math.pow(tp, 2);
 				}
 
-				if (isValidPoint(cellGrid, yhPoint) && cellGrid.getValue(yhPoint).potential < yVal) {
-					double tp = (1.0 / 3.0) * (4.0 * yVal - cellGrid.getValue(yhPoint).potential);
+				if (isValidPoint(cellGrid, yhPoint) && cellGrid.getPotential(yhPoint) < yVal) {
+					double tp = (1.0 / 3.0) * (4.0 * yVal - cellGrid.getPotential(yhPoint));
 					double factor = 9.0 / 4.0;
 					a += factor;
 					b -= 2.0 * factor * tp;
@@ -461,15 +461,15 @@ public interface GridEikonalSolver extends EikonalSolver {
 						point.x + neighbors.get(2 * j + i).x * 2, point.y
 						+ neighbors.get(2 * j + i).y * 2);
 
-				if (isValidPoint(cellGrid, pni) && cellGrid.getValue(pni).tag.frozen) {
-					double val1n = cellGrid.getValue(pni).potential;
+				if (isValidPoint(cellGrid, pni) && cellGrid.getTag(pni).frozen) {
+					double val1n = cellGrid.getPotential(pni);
 
 					if (val1n < val1) {
 						val1 = val1n;
 
 						if (isValidPoint(cellGrid, pni2)) {
-							double val2n = cellGrid.getValue(pni2).potential;
-							if (cellGrid.getValue(pni2).tag.frozen
+							double val2n = cellGrid.getPotential(pni2);
+							if (cellGrid.getTag(pni2).frozen
 									&& val2n <= val1n) {
 								val2 = val2n;
 							} else {
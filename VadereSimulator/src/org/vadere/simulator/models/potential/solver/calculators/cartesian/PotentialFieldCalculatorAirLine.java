@@ -25,7 +25,7 @@ public class PotentialFieldCalculatorAirLine extends AGridEikonalSolver {
 
 		for (int x = 0; x < potentialField.getWidth(); ++x) {
 			for (int y = 0; y < potentialField.getHeight(); ++y) {
-				if (potentialField.getValue(x, y).tag.accessible) {
+				if (potentialField.getTag(x, y).accessible) {
 					double minTargetDistance = Double.MAX_VALUE;
 
 					for (Point p : targetPoints) {
@@ -34,7 +34,7 @@ public class PotentialFieldCalculatorAirLine extends AGridEikonalSolver {
 							minTargetDistance = targetDistance;
 						}
 					}
-					potentialField.getValue(x, y).potential = minTargetDistance;
+					potentialField.setPotential(x, y, minTargetDistance);
 				}
 			}
 		}
@@ -42,27 +42,27 @@ public class PotentialFieldCalculatorDijkstra extends AGridEikonalSolver {
 		while (!priorityQueue.isEmpty()) {
 			currentPoint = priorityQueue.remove();
 
-			if (potentialField.getValue(currentPoint).tag != PathFindingTag.Target) {
-				potentialField.getValue(currentPoint).tag = PathFindingTag.Reachable;
+			if (potentialField.getTag(currentPoint) != PathFindingTag.Target) {
+				potentialField.setTag(currentPoint, PathFindingTag.Reachable);
 			}
 
 			neighbors = MathUtil.getMooreNeighborhood(currentPoint);
 
 			for (Point neighbor : neighbors) {
-				PathFindingTag neighborTag = potentialField.getValue(neighbor).tag;
+				PathFindingTag neighborTag = potentialField.getTag(neighbor);
 
 				if (neighborTag == PathFindingTag.Reachable) {
-					value = potentialField.getValue(currentPoint).potential
+					value = potentialField.getPotential(currentPoint)
 							+ potentialField.pointDistance(currentPoint,
 									neighbor);
 
-					if (value < potentialField.getValue(neighbor).potential) {
+					if (value < potentialField.getPotential(neighbor)) {
 						priorityQueue.remove(neighbor);
-						potentialField.getValue(neighbor).potential = value;
+						potentialField.setPotential(neighbor, value);
 						priorityQueue.add(neighbor);
 					}
 				} else if (neighborTag == PathFindingTag.Undefined) {
-					value = potentialField.getValue(currentPoint).potential
+					value = potentialField.getPotential(currentPoint)
 							+ potentialField.pointDistance(currentPoint,
 									neighbor);
 					priorityQueue.add(neighbor);
@@ -19,6 +19,9 @@ import org.vadere.meshing.mesh.inter.IVertexContainerBoolean;
 import org.vadere.meshing.mesh.inter.IVertexContainerDouble;
 import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
 import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunctionMesh;
+import org.vadere.simulator.utils.cache.CacheException;
+import org.vadere.simulator.utils.cache.ICacheObject;
+import org.vadere.simulator.utils.cache.IMeshCacheObject;
 import org.vadere.util.geometry.GeometryUtils;
 import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VPoint;
@@ -206,6 +209,47 @@ public abstract class AMeshEikonalSolver<V extends IVertex, E extends IHalfEdge,
 		solve();
 	}
 
+	/**
+	 * Loads the potentials of all vertices from the cache. The mesh dependent measures are computed
+	 * as if the equation was solved such that later updates (of a dynamic floor field) start from the
+	 * cached solution.
+	 *
+	 * @param cacheObject the cache which has to be an {@link IMeshCacheObject}
+	 * @return true if the floor field was loaded, false otherwise
+	 */
+	@Override
+	public boolean loadCachedFloorField(ICacheObject cacheObject) {
+		try {
+			IMeshCacheObject meshCache = (IMeshCacheObject) cacheObject;
+			meshCache.initializeObjectFromCache(getMesh());
+			IVertexContainerDouble<V, E, F> cachedPotential = getMesh().getDoubleVertexContainer(IMeshCacheObject.namePotential);
+			prepareMesh();
+			for(V v : getMesh().getVertices()) {
+				setPotential(v, cachedPotential.getValue(v));
+				setBurned(v);
+			}
+			solved = true;
+			return true;
+		} catch (CacheException | ClassCastException e) {
+			logger.errorf("Error loading cache. Initialize manually. " + e);
+			return false;
+		}
+	}
+
+	@Override
+	public void saveFloorFieldToCache(ICacheObject cacheObject) {
+		try {
+			IMeshCacheObject meshCache = (IMeshCacheObject) cacheObject;
+			IVertexContainerDouble<V, E, F> cachedPotential = getMesh().getDoubleVertexContainer(IMeshCacheObject.namePotential);
+			for(V v : getMesh().getVertices()) {
+				cachedPotential.setValue(v, getPotential(v));
+			}
+			meshCache.persistObject(getMesh());
+		} catch (CacheException | ClassCastException e) {
+			logger.errorf("Error saving cache.", e);
+		}
+	}
+
 	protected boolean isLazy() {
 		return false;
 	}
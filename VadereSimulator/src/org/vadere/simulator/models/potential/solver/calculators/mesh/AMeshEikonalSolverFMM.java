@@ -5,56 +5,56 @@ import org.vadere.meshing.mesh.inter.IFace;
 import org.vadere.meshing.mesh.inter.IHalfEdge;
 import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
 import org.vadere.meshing.mesh.inter.IVertex;
+import org.vadere.meshing.mesh.inter.IVertexContainerDouble;
 import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.util.data.IndexedMinHeap;
 
-import java.util.Comparator;
-import java.util.PriorityQueue;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
+ * The narrow band is an {@link IndexedMinHeap} ordered by the potential. Each vertex which enters
+ * the narrow band gets a handle, i.e. an index of the heap, which is stored in a vertex container
+ * such that the update of the potential of a burning vertex is a decrease-key operation.
+ *
  * @author Benedikt Zoennchen
  *
  */
 public abstract class AMeshEikonalSolverFMM<V extends IVertex, E extends IHalfEdge, F extends IFace> extends AMeshEikonalSolver<V, E, F> {
 
-	protected PriorityQueue<V> narrowBand;
+	public static final String nameNarrowBandHandle = "narrowBandHandle";
+
+	protected IndexedMinHeap narrowBand;
+
+	/** the handle + 1 of a vertex, 0 if the vertex has no handle yet */
+	private final IVertexContainerDouble<V, E, F> handles;
+	private final List<V> handleToVertex;
 
 	public AMeshEikonalSolverFMM(
 			@NotNull final String identifier,
 			@NotNull final IIncrementalTriangulation<V, E, F> triangulation,
 			@NotNull final ITimeCostFunction timeCostFunction) {
 		super(identifier, triangulation, timeCostFunction);
-
-		Comparator<V> pointComparator = (v1, v2) -> {
-			double alpha = 0.3;
-
-			double key1 = alpha * getPotential(v1);
-			double key2 = alpha * getPotential(v2);
-
-			if (key1 < key2) {
-				return -1;
-			} else if(key1 > key2) {
-				return 1;
-			}
-			else {
-				return 0;
-			}
-		};
-
-		this.narrowBand = new PriorityQueue<>(pointComparator);
+		this.handles = getMesh().getDoubleVertexContainer(identifier + "_" + nameNarrowBandHandle);
+		this.handleToVertex = new ArrayList<>(getMesh().getNumberOfVertices());
+		this.narrowBand = new IndexedMinHeap(getMesh().getNumberOfVertices());
 	}
 
-	public AMeshEikonalSolverFMM(
-			@NotNull final String identifier,
-			@NotNull final IIncrementalTriangulation<V, E, F> triangulation,
-			@NotNull final ITimeCostFunction timeCostFunction,
-			@NotNull final Comparator<V> comparator) {
-		super(identifier, triangulation, timeCostFunction);
-		this.narrowBand = new PriorityQueue<>(comparator);
+	private int getHandle(@NotNull final V vertex) {
+		int handle = (int) handles.getValue(vertex) - 1;
+		if(handle < 0 || handle >= handleToVertex.size() || handleToVertex.get(handle) != vertex) {
+			handle = handleToVertex.size();
+			handleToVertex.add(vertex);
+			handles.setValue(vertex, handle + 1);
+			narrowBand.ensureCapacity(handleToVertex.size());
+		}
+		return handle;
 	}
 
 	protected void initializeNarrowBand() {
+		narrowBand.clear();
 		for(V vertex : getInitialVertices()) {
-			narrowBand.add(vertex);
+			push(vertex);
 			/*for(V v : getMesh().getAdjacentVertexIt(vertex)) {
 				if(isUndefined(v)) {
 					updatePotential(v);
@@ -78,16 +78,18 @@ public abstract class AMeshEikonalSolverFMM<V extends IVertex, E extends IHalfEd
 	}
 
 	protected V pop() {
-		return narrowBand.poll();
+		return handleToVertex.get(narrowBand.poll());
 	}
 
 	protected void push(@NotNull final V v) {
-		narrowBand.add(v);
+		int handle = getHandle(v);
+		narrowBand.remove(handle);
+		narrowBand.insert(handle, getPotential(v));
 	}
 
 	protected void march() {
 		while (!isEmpty()) {
-			V vertex = narrowBand.poll();
+			V vertex = pop();
 			setBurned(vertex);
 			updatePotentialOfNeighbours(vertex);
 		}
@@ -95,7 +97,7 @@ public abstract class AMeshEikonalSolverFMM<V extends IVertex, E extends IHalfEd
 
 	protected void march(@NotNull final V v) {
 		while (!isEmpty() && !isBurned(v)) {
-			V vertex = narrowBand.poll();
+			V vertex = pop();
 			setBurned(vertex);
 			updatePotentialOfNeighbours(vertex);
 		}
@@ -124,12 +126,14 @@ public abstract class AMeshEikonalSolverFMM<V extends IVertex, E extends IHalfEd
 	protected void updatePotential(@NotNull final V vertex) {
 		double potential = recomputePotential(vertex);
 		if(potential < getPotential(vertex)) {
-			if(isBurining(vertex)) {
-				narrowBand.remove(vertex);
-			}
+			int handle = getHandle(vertex);
 			setPotential(vertex, potential);
 			setBurning(vertex);
-			narrowBand.add(vertex);
+			if(narrowBand.contains(handle)) {
+				narrowBand.decreaseKey(handle, potential);
+			} else {
+				narrowBand.insert(handle, potential);
+			}
 		}
 
 		if(isUndefined(vertex)) {
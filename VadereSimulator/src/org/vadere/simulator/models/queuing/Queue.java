@@ -76,8 +76,8 @@ public class Queue implements DynamicElementRemoveListener<Pedestrian>, DynamicE
 
 	/*public double getValue(double x, double y) {
 		return detector.get
-				getPotentialField().getValue(new Point((int) Math.round(x / detector.getResolution()),
-				(int) Math.round(y / detector.getResolution()))).potential;
+				getPotentialField().getPotential(new Point((int) Math.round(x / detector.getResolution()),
+				(int) Math.round(y / detector.getResolution())));
 	}*/
 
 	public void update() {
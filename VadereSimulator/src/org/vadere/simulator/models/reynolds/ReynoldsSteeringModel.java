@@ -96,6 +96,7 @@ public class ReynoldsSteeringModel implements MainModel {
 
 			ped.move(simTimeInSec, mov);
 		}
+		domain.getTopography().setRecomputeCells(true);
 	}
 
 	public Topography getScenario() {
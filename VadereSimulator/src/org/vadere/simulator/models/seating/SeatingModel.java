@@ -21,6 +21,7 @@ import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.scenario.Target;
 import org.vadere.state.scenario.TargetListener;
+import org.vadere.state.scenario.Topography;
 import org.vadere.state.scenario.TrainGeometry;
 import org.vadere.util.geometry.shapes.VShape;
 import org.vadere.util.logging.Logger;
@@ -53,6 +54,7 @@ public class SeatingModel implements Model {
 	private Random random;
 	/** Used for distributions from Apache Commons Math. */
 	private RandomGenerator rng;
+	private Topography topography;
 
 	@Override
 	public void initialize(List<Attributes> attributesList, Domain domain,
@@ -70,6 +72,7 @@ public class SeatingModel implements Model {
 
 		this.random = random;
 		this.rng = new JDKRandomGenerator(random.nextInt());
+		this.topography = domain.getTopography();
 		
 		for (final Target target : trainModel.getCompartmentTargets()) {
 			target.addListener(compartmentTargetListener);
@@ -273,6 +276,7 @@ public class SeatingModel implements Model {
 			seat.setSittingPerson(pedestrian);
 			final VShape seatGeometry = seat.getAssociatedTarget().getShape();
 			pedestrian.setPosition(seatGeometry.getCentroid());
+			topography.setRecomputeCells(true);
 
 		} else {
 			lookForAlternativeSeat(pedestrian, seat);
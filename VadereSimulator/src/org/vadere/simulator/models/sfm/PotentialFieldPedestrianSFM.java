@@ -126,12 +126,16 @@ public class PotentialFieldPedestrianSFM implements PotentialFieldAgent {
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public double getMaximalInfluenceRadius() {
+		return attributes.getPedestrianRecognitionDistance() + 3;
+	}
+
 	@Override
 	public Collection<Agent> getRelevantAgents(VCircle relevantArea,
 			Agent center, Topography scenario) {
 		List<Agent> closePedestrians = scenario.getSpatialMap(Agent.class)
-				.getObjects(relevantArea.getCenter(),
-						attributes.getPedestrianRecognitionDistance() + 3);
+				.getObjects(relevantArea.getCenter(), getMaximalInfluenceRadius());
 		// add five meters accounting for the fact that a negative exponential is used, not a
 		// function on compact support.
 		// => exp(-x) > 0 outside of the "recognition distance" parameter.
@@ -48,6 +48,7 @@ public class DataProcessingJsonManager {
 	private static final String ATTRIBUTESTYPE_KEY = "attributesType";
 	private static final String TIMESTAMP_KEY = "isTimestamped";
 	private static final String WRITEMETA_KEY = "isWriteMetaData";
+	private static final String STREAM_KEY = "isStreamOutput";
 	public static ObjectWriter writer;
 	private static ObjectMapper mapper;
 
@@ -62,12 +63,14 @@ public class DataProcessingJsonManager {
 	private List<DataProcessor<?, ?>> dataProcessors;
 	private boolean isTimestamped;
 	private boolean isWriteMetaData;
+	private boolean isStreamOutput;
 
 	public DataProcessingJsonManager() {
 		this.outputFiles = new ArrayList<>();
 		this.dataProcessors = new ArrayList<>();
 		this.isTimestamped = true;
 		this.isWriteMetaData = false;
+		this.isStreamOutput = false;
 		this.outputFileFactory = OutputFileFactory.instance();
 		this.processorFactory = DataProcessorFactory.instance();
 	}
@@ -153,6 +156,11 @@ public class DataProcessingJsonManager {
 			manager.setWriteMetaData(writeMetaData.asBoolean());
 		}
 
+		JsonNode streamOutput = node.get(STREAM_KEY);
+		if (streamOutput != null) {
+			manager.setStreamOutput(streamOutput.asBoolean());
+		}
+
 		return manager;
 	}
 
@@ -253,6 +261,18 @@ public class DataProcessingJsonManager {
 		this.isWriteMetaData = isWriteMetaData;
 	}
 
+	/**
+	 * Returns true if the output files keyed by the time step or the simulation time are written while
+	 * the simulation is running instead of at its end. This bounds the memory of the data processors.
+	 */
+	public boolean isStreamOutput() {
+		return this.isStreamOutput;
+	}
+
+	public void setStreamOutput(boolean isStreamOutput) {
+		this.isStreamOutput = isStreamOutput;
+	}
+
 	public String serialize() throws JsonProcessingException {
 		return writer.writeValueAsString(serializeToNode());
 	}
@@ -278,6 +298,11 @@ public class DataProcessingJsonManager {
 		main.put(TIMESTAMP_KEY, this.isTimestamped);
 		main.put(WRITEMETA_KEY, this.isWriteMetaData);
 
+		// only written if enabled such that existing scenario files do not change
+		if (this.isStreamOutput) {
+			main.put(STREAM_KEY, true);
+		}
+
 		return main;
 	}
 
@@ -286,6 +311,7 @@ public class DataProcessingJsonManager {
 
 		for (OutputFile f : outputFiles) {
 			f.setWriteMetaData(isWriteMetaData()); // allow to write meta data
+			f.setStreamOutput(isStreamOutput());
 		}
 
 		return new ProcessorManager(dataProcessors, outputFiles, mainModel, topography);
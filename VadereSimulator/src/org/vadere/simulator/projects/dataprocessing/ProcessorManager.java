@@ -10,9 +10,12 @@ import org.vadere.state.scenario.Topography;
 
 import java.io.File;
 import java.nio.file.Paths;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * @author Mario Teixeira Parente
@@ -27,6 +30,11 @@ public class ProcessorManager {
 	private List<OutputFile<?>> outputFiles;
 	private SimulationResult simulationResult;
 
+	// processors which are used by other processors, i.e. which have to keep their data
+	private Set<Integer> referencedProcessorIds;
+	// processors which release the data already written by streaming output files
+	private Set<DataProcessor<?, ?>> evictableProcessors;
+
 	public ProcessorManager(List<DataProcessor<?, ?>> dataProcessors,
 							List<OutputFile<?>> outputFiles, MainModel mainModel,
 							final Topography topography) {
@@ -34,6 +42,8 @@ public class ProcessorManager {
 		this.topography = topography;
 
 		this.outputFiles = outputFiles;
+		this.referencedProcessorIds = new HashSet<>();
+		this.evictableProcessors = new HashSet<>();
 
 		this.processorMap = new LinkedHashMap<>();
 		for (DataProcessor<?, ?> proc : dataProcessors)
@@ -48,9 +58,19 @@ public class ProcessorManager {
 
 	public void initOutputFiles() {
 		outputFiles.forEach(file -> file.init(processorMap));
+
+		// the data of a processor can only be removed if it is not used by another processor and
+		// if all files which contain the processor have written it
+		evictableProcessors = processorMap.values().stream()
+				.filter(proc -> proc.isStreamable() && !referencedProcessorIds.contains(proc.getId()))
+				.filter(proc -> outputFiles.stream()
+						.filter(file -> file.getProcessorIds().contains(proc.getId()))
+						.allMatch(OutputFile::isStreaming))
+				.collect(Collectors.toSet());
 	}
 
 	public DataProcessor<?, ?> getProcessor(int id) {
+		referencedProcessorIds.add(id);
 		return this.processorMap.getOrDefault(id, null);
 	}
 
@@ -79,6 +99,13 @@ public class ProcessorManager {
 
 	public void update(final SimulationState state) {
 		this.processorMap.values().forEach(proc -> proc.update(state));
+
+		for (OutputFile<?> file : outputFiles) {
+			if (file.isStreaming()) {
+				file.writeStream(state);
+				file.removeWrittenKeys(evictableProcessors);
+			}
+		}
 	}
 
 	public void postLoop(final SimulationState state) {
@@ -0,0 +1,112 @@
+package org.vadere.simulator.projects.dataprocessing.outputfile;
+
+import org.vadere.annotation.factories.outputfiles.OutputFileClass;
+import org.vadere.simulator.projects.dataprocessing.datakey.EventtimePedestrianIdKey;
+import org.vadere.simulator.projects.dataprocessing.processor.DataProcessor;
+import org.vadere.simulator.projects.dataprocessing.processor.NumericDataProcessor;
+import org.vadere.util.io.ColumnarTableReader;
+import org.vadere.util.io.ColumnarTableWriter;
+import org.vadere.util.io.ColumnarTableWriter.ColumnType;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes the same table as the {@link EventtimePedestrianIdOutputFile}, e.g. the trajectories of the
+ * {@link org.vadere.simulator.projects.dataprocessing.processor.FootStepProcessor}, in the columnar binary
+ * layout of the {@link ColumnarTableWriter} instead of text. Values of processors which provide numbers
+ * (see {@link NumericDataProcessor}) are written without formatting them, the values of other
+ * processors are written as (dictionary encoded) strings. The header contains the names of the data key
+ * and the processor columns. Use the {@link ColumnarTableReader} or the
+ * {@link org.vadere.simulator.projects.io.TrajectoryReader} to read the file.
+ *
+ * The separator and the meta data of text files are ignored.
+ */
+@OutputFileClass(dataKeyMapping = EventtimePedestrianIdKey.class)
+public class EventtimePedestrianIdBinaryOutputFile extends EventtimePedestrianIdOutputFile {
+
+	private static final int PED_ID_COL = 0;
+	private static final int SIM_TIME_COL = 1;
+
+	private ColumnarTableWriter out;
+	private double[] values;
+
+	@Override
+	protected void openOutput(final boolean isStreaming) {
+		List<String> header = getEntireHeader();
+		ColumnType[] columnTypes = new ColumnType[header.size()];
+		columnTypes[PED_ID_COL] = ColumnType.INT;
+		columnTypes[SIM_TIME_COL] = ColumnType.DOUBLE;
+		int col = EventtimePedestrianIdKey.getHeaders().length;
+		for (DataProcessor<EventtimePedestrianIdKey, ?> p : getDataProcessors()) {
+			for (int i = 0; i < p.getHeaders().length; i++) {
+				columnTypes[col++] = p instanceof NumericDataProcessor ? ColumnType.DOUBLE : ColumnType.STRING;
+			}
+		}
+		values = new double[columnTypes.length];
+
+		try {
+			out = new ColumnarTableWriter(new BufferedOutputStream(new FileOutputStream(getAbsoluteFileName())),
+					header.toArray(new String[0]), columnTypes, EventtimePedestrianIdKey.getHeaders().length);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void printRow(final EventtimePedestrianIdKey key) {
+		out.setInt(PED_ID_COL, key.getPedestrianId());
+		out.setDouble(SIM_TIME_COL, key.getSimtime());
+		int col = EventtimePedestrianIdKey.getHeaders().length;
+		for (DataProcessor<EventtimePedestrianIdKey, ?> p : getDataProcessors()) {
+			int n = p.getHeaders().length;
+			if (p instanceof NumericDataProcessor) {
+				if (p.hasValue(key)) {
+					((NumericDataProcessor<EventtimePedestrianIdKey>) p).toDoubles(key, values, col);
+				} else {
+					Arrays.fill(values, col, col + n, Double.NaN);
+				}
+				for (int i = col; i < col + n; i++) {
+					out.setDouble(i, values[i]);
+				}
+			} else {
+				String[] fields = p.toStrings(key);
+				for (int i = 0; i < n; i++) {
+					out.setString(col + i, fields[i]);
+				}
+			}
+			col += n;
+		}
+
+		try {
+			out.endRow();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	protected void flushOutput() {
+		try {
+			out.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	protected void closeOutput() {
+		try {
+			out.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			out = null;
+		}
+	}
+}
@@ -1,13 +1,14 @@
 package org.vadere.simulator.projects.dataprocessing.outputfile;
 
 import org.vadere.annotation.factories.outputfiles.OutputFileClass;
+import org.vadere.simulator.control.simulation.SimulationState;
 import org.vadere.simulator.projects.dataprocessing.datakey.EventtimePedestrianIdKey;
 
 /**
  *
  */
 @OutputFileClass(dataKeyMapping = EventtimePedestrianIdKey.class)
-public class EventtimePedestrianIdOutputFile extends OutputFile<EventtimePedestrianIdKey> {
+public class EventtimePedestrianIdOutputFile extends OutputFile<EventtimePedestrianIdKey> implements StreamableOutputFile<EventtimePedestrianIdKey> {
 
 	public EventtimePedestrianIdOutputFile() {
 		super(EventtimePedestrianIdKey.getHeaders());
@@ -17,4 +18,15 @@ public class EventtimePedestrianIdOutputFile extends OutputFile<EventtimePedestr
 	public String[] toStrings(final EventtimePedestrianIdKey key) {
 		return new String[] {Integer.toString(key.getPedestrianId()), Double.toString(key.getSimtime())};
 	}
+
+	/**
+	 * Events of a time step may start at the end of the previous time step, e.g. the foot steps of
+	 * the event driven {@link org.vadere.simulator.models.osm.OptimalStepsModel}, therefore, the rows
+	 * are written one time step later.
+	 */
+	@Override
+	public EventtimePedestrianIdKey getStreamBound(final SimulationState state) {
+		double simTimeStepLength = state.getScenarioStore().getAttributesSimulation().getSimTimeStepLength();
+		return new EventtimePedestrianIdKey(state.getSimTimeInSec() - simTimeStepLength, Integer.MIN_VALUE);
+	}
 }
@@ -2,9 +2,11 @@
 
 package org.vadere.simulator.projects.dataprocessing.outputfile;
 
+import org.vadere.simulator.control.simulation.SimulationState;
 import org.vadere.simulator.projects.dataprocessing.DataProcessingJsonManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.DataKey;
 import org.vadere.simulator.projects.dataprocessing.processor.DataProcessor;
+import org.vadere.simulator.projects.dataprocessing.writer.VadereAsyncWriter;
 import org.vadere.simulator.projects.dataprocessing.writer.VadereWriter;
 import org.vadere.simulator.projects.dataprocessing.writer.VadereWriterFactory;
 
@@ -17,6 +19,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -53,6 +57,7 @@ public abstract class OutputFile<K extends DataKey<K>> {
 	private List<DataProcessor<K, ?>> dataProcessors;
 	private boolean isAddedProcessors;
 	private boolean isWriteMetaData;
+	private boolean isStreamOutput;
 
 	private String separator;
 
@@ -63,10 +68,15 @@ public abstract class OutputFile<K extends DataKey<K>> {
 	private VadereWriterFactory writerFactory;
 	private VadereWriter writer;
 
+	// state of the streaming output: whether the output is open and the (exclusive) upper bound of the written keys
+	private boolean isStreamOpen;
+	private K streamBound;
+
 	protected OutputFile(final String... dataIndices) {
 		this.dataIndices = dataIndices;
 		this.isAddedProcessors = false;  // init method has to be called
         this.isWriteMetaData = false;
+		this.isStreamOutput = false;
 		this.dataProcessors = new ArrayList<>();
 		this.writerFactory = VadereWriterFactory.getFileWriterFactory();
 	}
@@ -79,6 +89,10 @@ public abstract class OutputFile<K extends DataKey<K>> {
 	    this.isWriteMetaData = isWriteMetaData;
     }
 
+	public void setStreamOutput(boolean isStreamOutput) {
+		this.isStreamOutput = isStreamOutput;
+	}
+
 	public void setRelativeFileName(final String fileName) {
 		this.fileName = fileName;
 	}
@@ -100,35 +114,122 @@ public abstract class OutputFile<K extends DataKey<K>> {
 		});
 
 		this.isAddedProcessors = true;
+		this.isStreamOpen = false;
+		this.streamBound = null;
 	}
 
-	public void write() {
-		if (!isEmpty()) {
-			try (VadereWriter out = writerFactory.create(absoluteFileName)) {
+	/**
+	 * Returns true if the rows of this file are written while the simulation is running, i.e. if
+	 * the streaming output is enabled, this type of output file supports it and all data processors
+	 * of this file are streamable.
+	 */
+	public boolean isStreaming() {
+		return isStreamOutput && this instanceof StreamableOutputFile && isAddedProcessors && !isEmpty()
+				&& dataProcessors.stream().allMatch(DataProcessor::isStreamable);
+	}
+
+	/**
+	 * Writes all rows which are complete after the data processors were updated by <tt>state</tt>
+	 * and which were not written before. The rows are written by a background thread, the first call
+	 * opens the file and writes the meta data and the header. This method must only be called if
+	 * {@link #isStreaming()} is true.
+	 */
+	@SuppressWarnings("unchecked")
+	public void writeStream(final SimulationState state) {
+		if (!isStreaming()) {
+			throw new IllegalStateException(getClass().getSimpleName() + " is not streamed");
+		}
 
-			    this.writer = out;
+		K bound = ((StreamableOutputFile<K>) this).getStreamBound(state);
+		if (!isStreamOpen) {
+			openOutput(true);
+			isStreamOpen = true;
+		}
 
-				if(this.isWriteMetaData){
-					printMetaData();
-				}
+		if (streamBound == null || streamBound.compareTo(bound) < 0) {
+			TreeSet<K> keys = new TreeSet<>();
+			for (DataProcessor<K, ?> p : dataProcessors) {
+				keys.addAll(p.getKeys(streamBound, bound));
+			}
+			keys.forEach(key -> printRow(key));
+			flushOutput();
+			streamBound = bound;
+		}
+	}
 
-				printHeader();
+	/**
+	 * Removes the keys which were already written by {@link #writeStream} from those data processors
+	 * of this file which are contained in <tt>processors</tt>.
+	 */
+	public void removeWrittenKeys(final Set<DataProcessor<?, ?>> processors) {
+		if (streamBound != null) {
+			dataProcessors.stream()
+					.filter(processors::contains)
+					.forEach(p -> p.removeKeysBefore(streamBound));
+		}
+	}
 
+	public void write() {
+		if (isStreamOpen) {
+			// append the remaining rows to the streamed file
+			try {
+				this.dataProcessors.stream().flatMap(p -> p.getKeys().stream())
+						.filter(key -> streamBound == null || streamBound.compareTo(key) <= 0)
+						.distinct().sorted()
+						.forEach(key -> printRow(key));
+			} finally {
+				isStreamOpen = false;
+				streamBound = null;
+				closeOutput();
+			}
+		} else if (!isEmpty()) {
+			openOutput(false);
+			try {
 				this.dataProcessors.stream().flatMap(p -> p.getKeys().stream())
 						.distinct().sorted()
 						.forEach(key -> printRow(key));
 
-				out.flush();
-			} catch (IOException e) {
-				throw new UncheckedIOException(e);
+				flushOutput();
+			} finally {
+				closeOutput();
 			}
 		}
 	}
 
+	/**
+	 * Opens the output file and writes the preamble. If <tt>isStreaming</tt> is true the rows are
+	 * written by {@link #writeStream} while the simulation is running.
+	 */
+	protected void openOutput(final boolean isStreaming) {
+		VadereWriter out = writerFactory.create(absoluteFileName);
+		this.writer = isStreaming ? new VadereAsyncWriter(out, getFileName()) : out;
+		printPreamble();
+	}
+
+	protected void flushOutput() {
+		writer.flush();
+	}
+
+	protected void closeOutput() {
+		try {
+			writer.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	public boolean isEmpty() {
 		return this.dataProcessors.isEmpty();
 	}
 
+	private void printPreamble() {
+		if(this.isWriteMetaData){
+			printMetaData();
+		}
+
+		printHeader();
+	}
+
 	private void printMetaData(){
 		// use '#' symbol for comment -- the Java-style comment '//' is not appropriate because it requires two
 		// characters
@@ -147,7 +248,7 @@ public abstract class OutputFile<K extends DataKey<K>> {
 		writeLine(this.writer, this.getEntireHeader());
 	}
 
-	private void printRow(final K key) {
+	protected void printRow(final K key) {
 		// Info: 'key' are the indices values (such as timeStep=3), can be more than one
 		@SuppressWarnings("unchecked")
 		final List<String> fields = composeLine(toStrings(key), p ->
@@ -277,6 +378,14 @@ public abstract class OutputFile<K extends DataKey<K>> {
 		return fileName;
 	}
 
+	protected String getAbsoluteFileName() {
+		return absoluteFileName;
+	}
+
+	protected List<DataProcessor<K, ?>> getDataProcessors() {
+		return dataProcessors;
+	}
+
 	public List<Integer> getProcessorIds() {
 		return processorIds;
 	}
@@ -0,0 +1,19 @@
+package org.vadere.simulator.projects.dataprocessing.outputfile;
+
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.projects.dataprocessing.datakey.DataKey;
+
+/**
+ * An {@link OutputFile} whose keys are ordered by the simulation time, such that its rows can be
+ * written while the simulation is running (see {@link OutputFile#isStreaming()}).
+ *
+ * @param <K> key type
+ */
+public interface StreamableOutputFile<K extends DataKey<K>> {
+
+	/**
+	 * Returns the (exclusive) upper bound of the keys which are complete after the data processors
+	 * were updated by <tt>state</tt>, i.e. which no data processor will change anymore.
+	 */
+	K getStreamBound(final SimulationState state);
+}
@@ -1,6 +1,7 @@
 package org.vadere.simulator.projects.dataprocessing.outputfile;
 
 import org.vadere.annotation.factories.outputfiles.OutputFileClass;
+import org.vadere.simulator.control.simulation.SimulationState;
 import org.vadere.simulator.projects.dataprocessing.datakey.TimestepKey;
 
 /**
@@ -8,9 +9,18 @@ import org.vadere.simulator.projects.dataprocessing.datakey.TimestepKey;
  *
  */
 @OutputFileClass(dataKeyMapping = TimestepKey.class)
-public class TimestepOutputFile extends OutputFile<TimestepKey> {
+public class TimestepOutputFile extends OutputFile<TimestepKey> implements StreamableOutputFile<TimestepKey> {
 
     public TimestepOutputFile() {
         super("timeStep");
     }
+
+    /**
+     * The rows of a time step are written one time step later since some data processors
+     * change the data of the previous time step.
+     */
+    @Override
+    public TimestepKey getStreamBound(final SimulationState state) {
+        return new TimestepKey(state.getStep());
+    }
 }
@@ -1,6 +1,7 @@
 package org.vadere.simulator.projects.dataprocessing.outputfile;
 
 import org.vadere.annotation.factories.outputfiles.OutputFileClass;
+import org.vadere.simulator.control.simulation.SimulationState;
 import org.vadere.simulator.projects.dataprocessing.datakey.TimestepPedestrianIdKey;
 
 /**
@@ -8,7 +9,7 @@ import org.vadere.simulator.projects.dataprocessing.datakey.TimestepPedestrianId
  *
  */
 @OutputFileClass(dataKeyMapping = TimestepPedestrianIdKey.class)
-public class TimestepPedestrianIdOutputFile extends OutputFile<TimestepPedestrianIdKey> {
+public class TimestepPedestrianIdOutputFile extends OutputFile<TimestepPedestrianIdKey> implements StreamableOutputFile<TimestepPedestrianIdKey> {
 
 	public TimestepPedestrianIdOutputFile() {
 		super(TimestepPedestrianIdKey.getHeaders());
@@ -18,4 +19,10 @@ public class TimestepPedestrianIdOutputFile extends OutputFile<TimestepPedestria
 	public String[] toStrings(final TimestepPedestrianIdKey key) {
 		return new String[] { Integer.toString(key.getTimestep()), Integer.toString(key.getPedestrianId()) };
 	}
+
+	@Override
+	public TimestepPedestrianIdKey getStreamBound(final SimulationState state) {
+		// like TimestepOutputFile the rows of the current time step are written one step later
+		return new TimestepPedestrianIdKey(state.getStep(), Integer.MIN_VALUE);
+	}
 }
@@ -10,6 +10,7 @@ import org.vadere.state.attributes.processor.AttributesProcessor;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
@@ -41,7 +42,7 @@ public abstract class DataProcessor<K extends DataKey<K>, V> {
 	private AttributesProcessor attributes;
 
 	private String[] headers;
-	private Map<K, V> data;
+	private NavigableMap<K, V> data;
 
 	private int lastStep;
 	private K lastKey;
@@ -93,6 +94,16 @@ public abstract class DataProcessor<K extends DataKey<K>, V> {
 		return this.getData().keySet();
 	}
 
+	/**
+	 * Returns the keys <tt>from</tt> (inclusive) to <tt>to</tt> (exclusive) in ascending order.
+	 *
+	 * @param from the lower bound or <tt>null</tt> if the keys are not bounded from below
+	 * @param to   the upper bound
+	 */
+	public Set<K> getKeys(final K from, final K to) {
+		return from == null ? data.headMap(to, false).keySet() : data.subMap(from, true, to, false).keySet();
+	}
+
 	public Collection<V> getValues() {
 		return this.getData().values();
 	}
@@ -123,6 +134,24 @@ public abstract class DataProcessor<K extends DataKey<K>, V> {
 		this.data.remove(key);
 	}
 
+	/**
+	 * Removes all keys smaller than <tt>key</tt>. This is used to release the memory of data which
+	 * was already written by a streaming {@link org.vadere.simulator.projects.dataprocessing.outputfile.OutputFile}.
+	 */
+	public void removeKeysBefore(final K key) {
+		this.data.headMap(key, false).clear();
+	}
+
+	/**
+	 * Returns true if the data of a key no longer changes once the simulation advanced by a time step,
+	 * i.e. the data can be written and removed while the simulation is running. Processors which
+	 * compute or change their data of previous time steps (e.g. in <tt>postLoop</tt>) have to
+	 * return false.
+	 */
+	public boolean isStreamable() {
+		return true;
+	}
+
 	public void preLoop(final SimulationState state) { data.clear(); }
 
 	protected abstract void doUpdate(final SimulationState state);
@@ -23,7 +23,7 @@ public class FootStepGroupIDProcessor extends DataProcessor<EventtimePedestrianI
 			CentroidGroupModel model = (CentroidGroupModel)m;
 			model.getGroupsById().forEach((gId, group) -> {	// for each group
 				group.getMembers().forEach(ped -> {			// for each member in group
-					ped.getTrajectory().getFootSteps().forEach(fs -> {
+					ped.getTrajectory().forEach(fs -> {
 						this.putValue(new EventtimePedestrianIdKey(fs.getStartTime(), ped.getId()), gId);
 					});
 				});
@@ -34,7 +34,7 @@ public class FootStepGroupIDProcessor extends DataProcessor<EventtimePedestrianI
 			SIRGroupModel model = (SIRGroupModel)m;
 			model.getGroupsById().forEach((gId, group) -> {	// for each group
 				group.getMembers().forEach(ped -> {			// for each member in group
-					ped.getTrajectory().getFootSteps().forEach(fs -> {
+					ped.getTrajectory().forEach(fs -> {
 						this.putValue(new EventtimePedestrianIdKey(Math.round(fs.getStartTime()*10.0)/10.0, ped.getId()), gId);
 					});
 				});
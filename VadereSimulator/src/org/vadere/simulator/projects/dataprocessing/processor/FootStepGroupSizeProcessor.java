@@ -22,7 +22,7 @@ public class FootStepGroupSizeProcessor extends DataProcessor<EventtimePedestria
 			CentroidGroupModel model = (CentroidGroupModel)m;
 			model.getGroupsById().forEach((gId, group) -> {	// for each group
 				group.getMembers().forEach(ped -> {			// for each member in group
-					ped.getTrajectory().getFootSteps().forEach(fs -> {
+					ped.getTrajectory().forEach(fs -> {
 						this.putValue(new EventtimePedestrianIdKey(fs.getStartTime(), ped.getId()), group.getSize());
 					});
 				});
@@ -28,7 +28,7 @@ public class FootStepMostImportantStimulusProcessor extends DataProcessor<Eventt
 		for(Pedestrian p : pedestrians){
 			VTrajectory traj = p.getTrajectory();
 			String mostImportantStimulus = p.getMostImportantStimulus().toStringForOutputProcessor();
-			for(FootStep fs : traj.getFootSteps()){
+			for(FootStep fs : traj){
 				this.putValue(new EventtimePedestrianIdKey(fs.getStartTime(), p.getId()), mostImportantStimulus);
 			}
 		}
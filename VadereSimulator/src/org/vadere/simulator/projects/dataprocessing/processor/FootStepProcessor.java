@@ -9,7 +9,6 @@ import org.vadere.state.simulation.FootStep;
 import org.vadere.state.simulation.VTrajectory;
 
 import java.util.Arrays;
-import java.util.LinkedList;
 
 /**
  * <p>During one time step a pedestrian my move multiple times which is saved by {@link Pedestrian#getTrajectory()}, i.e.
@@ -27,7 +26,8 @@ import java.util.LinkedList;
  * @author Benedikt Zoennchen
  */
 @DataProcessorClass()
-public class FootStepProcessor extends DataProcessor<EventtimePedestrianIdKey, FootStep> {
+public class FootStepProcessor extends DataProcessor<EventtimePedestrianIdKey, FootStep>
+		implements NumericDataProcessor<EventtimePedestrianIdKey> {
 
 	public FootStepProcessor() {
 		super("endTime", "startX", "startY", "endX", "endY");
@@ -36,9 +36,7 @@ public class FootStepProcessor extends DataProcessor<EventtimePedestrianIdKey, F
 	@Override
 	protected void doUpdate(final SimulationState state) {
 		for (Pedestrian pedestrian : state.getTopography().getElements(Pedestrian.class)) {
-			LinkedList<FootStep> footSteps = pedestrian.getTrajectory().clone().getFootSteps();
-
-			for (FootStep fs : footSteps) {
+			for (FootStep fs : pedestrian.getTrajectory()) {
 				putValue(new EventtimePedestrianIdKey(fs.getStartTime(), pedestrian.getId()), fs);
 			}
 		}
@@ -57,4 +55,14 @@ public class FootStepProcessor extends DataProcessor<EventtimePedestrianIdKey, F
 		// EventtimePedestrianIdKey
 		return Arrays.copyOfRange(footStepLine, 1, footStepLine.length);
 	}
+
+	@Override
+	public void toDoubles(final EventtimePedestrianIdKey key, final double[] values, final int offset) {
+		FootStep footStep = this.getValue(key);
+		values[offset] = footStep.getEndTime();
+		values[offset + 1] = footStep.getStart().x;
+		values[offset + 2] = footStep.getStart().y;
+		values[offset + 3] = footStep.getEnd().x;
+		values[offset + 4] = footStep.getEnd().y;
+	}
 }
\ No newline at end of file
@@ -9,7 +9,6 @@ import org.vadere.state.psychology.perception.ThreatMemory;
 import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.simulation.FootStep;
 
-import java.util.LinkedList;
 
 /**
  * Log {@link Pedestrian}'s current {@link PsychologyStatus} except its {@link ThreatMemory}.
@@ -26,11 +25,9 @@ public class FootStepPsychologyStatusProcessor extends DataProcessor<EventtimePe
 	@Override
 	protected void doUpdate(final SimulationState state) {
 		for (Pedestrian pedestrian : state.getTopography().getElements(Pedestrian.class)) {
-			LinkedList<FootStep> footSteps = pedestrian.getTrajectory().clone().getFootSteps();
-
 			String psychologyStatus = psychologyStatusToString(pedestrian);
 
-			for (FootStep footStep : footSteps) {
+			for (FootStep footStep : pedestrian.getTrajectory()) {
 				putValue(new EventtimePedestrianIdKey(footStep.getStartTime(), pedestrian.getId()), psychologyStatus);
 			}
 		}
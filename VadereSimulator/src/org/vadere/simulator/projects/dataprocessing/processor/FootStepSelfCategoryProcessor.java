@@ -28,7 +28,7 @@ public class FootStepSelfCategoryProcessor extends DataProcessor<EventtimePedest
 		for(Pedestrian p : pedestrians){
 			VTrajectory traj = p.getTrajectory();
 			String selfCategoryString = p.getSelfCategory().toString();
-			for(FootStep fs : traj.getFootSteps()){
+			for(FootStep fs : traj){
 				this.putValue(new EventtimePedestrianIdKey(fs.getStartTime(), p.getId()), selfCategoryString);
 			}
 		}
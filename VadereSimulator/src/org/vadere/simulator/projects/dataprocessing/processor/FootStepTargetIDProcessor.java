@@ -20,7 +20,7 @@ public class FootStepTargetIDProcessor extends DataProcessor<EventtimePedestrian
 	@Override
 	protected void doUpdate(SimulationState state) {
 		Collection<Pedestrian> peds = state.getTopography().getElements(Pedestrian.class);
-		peds.forEach(p -> p.getTrajectory().getFootSteps().forEach(fs -> {
+		peds.forEach(p -> p.getTrajectory().forEach(fs -> {
 					this.putValue(new EventtimePedestrianIdKey(fs.getStartTime(), p.getId()), !p.hasNextTarget() ? -1 : p.getNextTargetId());
 		}));
 	}
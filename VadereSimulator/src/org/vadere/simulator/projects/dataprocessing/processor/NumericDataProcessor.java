@@ -0,0 +1,17 @@
+package org.vadere.simulator.projects.dataprocessing.processor;
+
+import org.vadere.simulator.projects.dataprocessing.datakey.DataKey;
+
+/**
+ * A {@link DataProcessor} which provides its values (one per header) as numbers, such that binary
+ * output files do not have to format them, see {@link DataProcessor#toStrings}.
+ *
+ * @param <K> key type
+ */
+public interface NumericDataProcessor<K extends DataKey<K>> {
+
+	/**
+	 * Copies the values of <tt>key</tt> into <tt>values</tt> starting at <tt>offset</tt>, missing values are NaN.
+	 */
+	void toDoubles(final K key, final double[] values, final int offset);
+}
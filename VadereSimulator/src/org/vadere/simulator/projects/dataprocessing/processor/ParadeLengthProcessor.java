@@ -99,6 +99,12 @@ public class ParadeLengthProcessor extends DataProcessor<TimestepKey, Double> {
 		return super.getAttributes();
 	}
 
+	@Override
+	public boolean isStreamable() {
+		// all values are computed in postLoop
+		return false;
+	}
+
 	private void calculateParadeLengthPerTimestep(List<TimestepPedestrianIdKey> timestepKeyi, int timestep ) {
 
 		// collect all potential values
@@ -65,4 +65,10 @@ public class PedestrianStateProcessor extends DataProcessor<TimestepPedestrianId
 		deletedPeds.stream()
 			.forEach(id -> this.putValue(new TimestepPedestrianIdKey(previousStep, id), "d"));
 	}
+
+	@Override
+	public boolean isStreamable() {
+		// the states "c" and "m" depend on all previous time steps
+		return false;
+	}
 }
@@ -0,0 +1,132 @@
+package org.vadere.simulator.projects.dataprocessing.writer;
+
+import org.vadere.util.logging.Logger;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorates a {@link VadereWriter} such that the lines are written by a background thread. The lines
+ * are collected into batches which are handed over to the writer thread on {@link #flush()} or if a
+ * batch is full, i.e. the simulation thread only blocks if the writer thread falls behind by more than
+ * {@link #CAPACITY} batches. {@link #close()} waits until all lines are written and closes the
+ * decorated writer. An error of the writer thread is rethrown by the next call of the simulation thread.
+ *
+ * The decorated writer is only accessed by the writer thread.
+ */
+public class VadereAsyncWriter implements VadereWriter {
+
+	private static Logger logger = Logger.getLogger(VadereAsyncWriter.class);
+
+	private static final int BATCH_SIZE = 4096;
+	private static final int CAPACITY = 16;
+	private static final List<String> END = Collections.emptyList();
+
+	private final VadereWriter writer;
+	private final BlockingQueue<List<String>> batches;
+	private final Thread thread;
+
+	private List<String> batch;
+	private volatile Throwable failure;
+	private boolean closed;
+
+	public VadereAsyncWriter(final VadereWriter writer, final String name) {
+		this.writer = writer;
+		this.batches = new ArrayBlockingQueue<>(CAPACITY);
+		this.batch = new ArrayList<>(BATCH_SIZE);
+		this.closed = false;
+		this.thread = new Thread(this::run, "vadere-writer-" + name);
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	private void run() {
+		try {
+			List<String> lines;
+			while ((lines = batches.take()) != END) {
+				for (String line : lines) {
+					writer.println(line);
+				}
+				writer.flush();
+			}
+		} catch (Throwable e) {
+			logger.errorf("writing the output failed: %s", e.getMessage());
+			failure = e;
+			// unblock the simulation thread which might wait for space in the queue
+			batches.clear();
+		}
+	}
+
+	@Override
+	public void println(final String s) {
+		batch.add(s);
+		if (batch.size() >= BATCH_SIZE) {
+			handOver();
+		}
+	}
+
+	@Override
+	public void flush() {
+		if (!batch.isEmpty()) {
+			handOver();
+		}
+	}
+
+	private void handOver() {
+		checkFailure();
+		put(batch);
+		batch = new ArrayList<>(BATCH_SIZE);
+	}
+
+	private void put(final List<String> lines) {
+		try {
+			// the writer thread terminates on failure, i.e. do not wait for it forever
+			while (failure == null && thread.isAlive()) {
+				if (batches.offer(lines, 100, TimeUnit.MILLISECONDS)) {
+					return;
+				}
+			}
+			checkFailure();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new UncheckedIOException(new InterruptedIOException("interrupted while writing the output"));
+		}
+	}
+
+	private void checkFailure() {
+		Throwable e = failure;
+		if (e instanceof IOException) {
+			throw new UncheckedIOException((IOException) e);
+		} else if (e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		} else if (e != null) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			flush();
+			put(END);
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted while closing the output");
+		} finally {
+			writer.close();
+		}
+		checkFailure();
+	}
+}
@@ -1,7 +1,9 @@
 package org.vadere.simulator.projects.io;
 
+import org.vadere.simulator.projects.dataprocessing.outputfile.EventtimePedestrianIdBinaryOutputFile;
 import org.vadere.simulator.projects.dataprocessing.outputfile.OutputFile;
 import org.vadere.simulator.projects.dataprocessing.processor.FootStepProcessor;
+import org.vadere.util.io.ColumnarTableReader;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -26,6 +28,7 @@ import tech.tablesaw.io.csv.CsvReadOptions;
  *      groupId [optional].
  * The order of the rows (expect for the first row / header) can be arbitrary.
  * Columns has to be separated by {@link TrajectoryReader#SPLITTER} and {@link OutputFile#headerProcSep}.
+ * Files written by the {@link EventtimePedestrianIdBinaryOutputFile} are read by the {@link ColumnarTableReader}.
  */
 public class TrajectoryReader {
 
@@ -38,8 +41,14 @@ public class TrajectoryReader {
 	}
 
 	public Table readFile() throws IOException {
-		CsvReadOptions options = CsvReadOptions.builder(trajectoryFilePath.toFile()).separator(SPLITTER).header(true).build();
-		dataFrame = Table.read().usingOptions(options);
+		if (ColumnarTableReader.isColumnarTable(trajectoryFilePath)) {
+			try (ColumnarTableReader reader = ColumnarTableReader.open(trajectoryFilePath)) {
+				dataFrame = reader.readDataFrame(trajectoryFilePath.getFileName().toString());
+			}
+		} else {
+			CsvReadOptions options = CsvReadOptions.builder(trajectoryFilePath.toFile()).separator(SPLITTER).header(true).build();
+			dataFrame = Table.read().usingOptions(options);
+		}
 		ColumnNames columnNames = ColumnNames.getInstance();
 		if(columnNames.hasDuplicates(dataFrame)) {
 			throw new IOException("The header of table " + dataFrame + " is contains duplicates which can lead to unwanted side effects");
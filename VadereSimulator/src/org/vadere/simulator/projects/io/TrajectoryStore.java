@@ -0,0 +1,340 @@
+package org.vadere.simulator.projects.io;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.util.logging.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+
+/**
+ * A {@link TrajectoryStore} is a memory-mapped, columnar copy of a trajectory file (see {@link TrajectoryReader})
+ * which allows to read the footsteps of a time window without loading the whole file into memory.
+ * The copy, i.e. the index file, is written next to the trajectory file on first open and is rebuilt
+ * if the trajectory file changes.
+ *
+ * Index file layout: The footsteps (rows) are sorted by their start time. Each column is stored
+ * contiguously with a fixed width (int, double or the dictionary index of a string), the rows are
+ * grouped into chunks of {@link #CHUNK_SIZE} rows for which the largest end time is known.
+ * Additionally, the footsteps of each agent are stored sorted by their start time. The header
+ * contains the column names and types, the string dictionaries, the chunks and the birth and
+ * death times of all agents. Only the header is held in memory, the columns are memory-mapped
+ * and paged in by the operating system when a time window is read.
+ */
+public class TrajectoryStore implements Closeable {
+
+	private static Logger logger = Logger.getLogger(TrajectoryStore.class);
+
+	public static final String FILE_EXTENSION = ".idx";
+
+	static final int MAGIC = 0x56545253;
+	static final int VERSION = 1;
+	static final int CHUNK_SIZE = 4096;
+
+	/** magic, version, source size, source last modified and header length */
+	static final int PREFIX_LENGTH = 4 + 4 + 8 + 8 + 4;
+
+	static final byte INT = 0;
+	static final byte DOUBLE = 1;
+	static final byte STRING = 2;
+
+	private final FileChannel channel;
+	private final String name;
+	private final int rowCount;
+	private final String[] columnNames;
+	private final byte[] columnTypes;
+	private final String[][] dictionaries;
+	private final int pedIdCol;
+	private final int startTimeCol;
+	private final int endTimeCol;
+	private final double[] chunkMaxEndTimes;
+	private final int[] pedIds;
+	private final double[] birthTimes;
+	private final double[] deathTimes;
+	private final int[] offsets;
+
+	private final IntBuffer[] intColumns;
+	private final DoubleBuffer[] doubleColumns;
+	private final IntBuffer agentRows;
+
+	private TrajectoryStore(@NotNull final Path indexFilePath, @NotNull final String name) throws IOException {
+		this.name = name;
+		long dataOffset;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFilePath)))) {
+			in.skipBytes(PREFIX_LENGTH - 4);
+			byte[] header = new byte[in.readInt()];
+			in.readFully(header);
+			dataOffset = align(PREFIX_LENGTH + header.length);
+
+			DataInputStream headerIn = new DataInputStream(new ByteArrayInputStream(header));
+			rowCount = headerIn.readInt();
+			int columnCount = headerIn.readInt();
+			columnNames = new String[columnCount];
+			columnTypes = new byte[columnCount];
+			dictionaries = new String[columnCount][];
+			for(int col = 0; col < columnCount; col++) {
+				columnNames[col] = headerIn.readUTF();
+				columnTypes[col] = headerIn.readByte();
+				if(columnTypes[col] == STRING) {
+					dictionaries[col] = new String[headerIn.readInt()];
+					for(int i = 0; i < dictionaries[col].length; i++) {
+						dictionaries[col][i] = headerIn.readUTF();
+					}
+				}
+			}
+			pedIdCol = headerIn.readInt();
+			startTimeCol = headerIn.readInt();
+			endTimeCol = headerIn.readInt();
+
+			chunkMaxEndTimes = new double[headerIn.readInt()];
+			for(int chunk = 0; chunk < chunkMaxEndTimes.length; chunk++) {
+				chunkMaxEndTimes[chunk] = headerIn.readDouble();
+			}
+
+			int agentCount = headerIn.readInt();
+			pedIds = new int[agentCount];
+			birthTimes = new double[agentCount];
+			deathTimes = new double[agentCount];
+			offsets = new int[agentCount + 1];
+			for(int agent = 0; agent < agentCount; agent++) {
+				pedIds[agent] = headerIn.readInt();
+				birthTimes[agent] = headerIn.readDouble();
+				deathTimes[agent] = headerIn.readDouble();
+				offsets[agent] = headerIn.readInt();
+			}
+			offsets[agentCount] = rowCount;
+		}
+
+		channel = FileChannel.open(indexFilePath, StandardOpenOption.READ);
+		intColumns = new IntBuffer[columnNames.length];
+		doubleColumns = new DoubleBuffer[columnNames.length];
+		for(int col = 0; col < columnNames.length; col++) {
+			long size = (long)rowCount * getWidth(columnTypes[col]);
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset, size);
+			if(columnTypes[col] == DOUBLE) {
+				doubleColumns[col] = buffer.asDoubleBuffer();
+			} else {
+				intColumns[col] = buffer.asIntBuffer();
+			}
+			dataOffset += align(size);
+		}
+		agentRows = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset, (long)rowCount * 4).asIntBuffer();
+	}
+
+	/**
+	 * Opens the index of a trajectory file, the index is built if it does not exist or if it is outdated.
+	 *
+	 * @param trajectoryFilePath the trajectory file
+	 * @return the store of the trajectory file
+	 * @throws IOException if the trajectory file can not be read or the index can not be written
+	 */
+	public static TrajectoryStore open(@NotNull final Path trajectoryFilePath) throws IOException {
+		Path indexFilePath = getIndexFilePath(trajectoryFilePath);
+		if(!isUpToDate(indexFilePath, trajectoryFilePath)) {
+			logger.info("build the index " + indexFilePath + " of the trajectory file " + trajectoryFilePath);
+			try {
+				TrajectoryStoreWriter.write(trajectoryFilePath, indexFilePath);
+			} catch (IOException e) {
+				// e.g. a read-only output directory
+				indexFilePath = Files.createTempFile(trajectoryFilePath.getFileName().toString(), FILE_EXTENSION);
+				indexFilePath.toFile().deleteOnExit();
+				logger.warn("could not write the index next to the trajectory file (" + e.getMessage() + "), use " + indexFilePath + " instead.");
+				TrajectoryStoreWriter.write(trajectoryFilePath, indexFilePath);
+			}
+		}
+		return new TrajectoryStore(indexFilePath, trajectoryFilePath.getFileName().toString());
+	}
+
+	public static Path getIndexFilePath(@NotNull final Path trajectoryFilePath) {
+		return trajectoryFilePath.resolveSibling(trajectoryFilePath.getFileName() + FILE_EXTENSION);
+	}
+
+	private static boolean isUpToDate(@NotNull final Path indexFilePath, @NotNull final Path trajectoryFilePath) throws IOException {
+		if(!Files.isRegularFile(indexFilePath) || Files.size(indexFilePath) < PREFIX_LENGTH) {
+			return false;
+		}
+		try (DataInputStream in = new DataInputStream(Files.newInputStream(indexFilePath))) {
+			return in.readInt() == MAGIC
+					&& in.readInt() == VERSION
+					&& in.readLong() == Files.size(trajectoryFilePath)
+					&& in.readLong() == Files.getLastModifiedTime(trajectoryFilePath).toMillis();
+		}
+	}
+
+	static long align(final long position) {
+		return (position + 7) & ~7L;
+	}
+
+	static int getWidth(final byte type) {
+		return type == DOUBLE ? 8 : 4;
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	public boolean isEmpty() {
+		return rowCount == 0;
+	}
+
+	public int getColumnCount() {
+		return columnNames.length;
+	}
+
+	public String getColumnName(final int col) {
+		return columnNames[col];
+	}
+
+	public int getInt(final int row, final int col) {
+		return intColumns[col].get(row);
+	}
+
+	public double getDouble(final int row, final int col) {
+		return doubleColumns[col].get(row);
+	}
+
+	public String getString(final int row, final int col) {
+		return dictionaries[col][intColumns[col].get(row)];
+	}
+
+	public int getPedId(final int row) {
+		return getInt(row, pedIdCol);
+	}
+
+	public double getStartTime(final int row) {
+		return getDouble(row, startTimeCol);
+	}
+
+	public double getEndTime(final int row) {
+		return getDouble(row, endTimeCol);
+	}
+
+	/**
+	 * Returns an empty table with the columns of the trajectory file.
+	 */
+	public Table emptyTable() {
+		Column<?>[] columns = new Column<?>[columnNames.length];
+		for(int col = 0; col < columns.length; col++) {
+			switch (columnTypes[col]) {
+				case INT: columns[col] = IntColumn.create(columnNames[col]); break;
+				case DOUBLE: columns[col] = DoubleColumn.create(columnNames[col]); break;
+				default: columns[col] = StringColumn.create(columnNames[col]);
+			}
+		}
+		return Table.create(name, columns);
+	}
+
+	/**
+	 * Appends a footstep to a table created by {@link #emptyTable()}.
+	 */
+	public void appendRow(final int row, @NotNull final Table table) {
+		for(int col = 0; col < columnNames.length; col++) {
+			switch (columnTypes[col]) {
+				case INT: table.intColumn(col).append(getInt(row, col)); break;
+				case DOUBLE: table.doubleColumn(col).append(getDouble(row, col)); break;
+				default: table.stringColumn(col).append(getString(row, col));
+			}
+		}
+	}
+
+	/**
+	 * Reads the footsteps in the given order.
+	 */
+	public Table getRows(@NotNull final int[] rows) {
+		Table table = emptyTable();
+		for(int row : rows) {
+			appendRow(row, table);
+		}
+		return table;
+	}
+
+	/**
+	 * Returns the rows of all footsteps <tt>fs</tt> for which <tt>fs.startTime &lt;= maxStartTime</tt>
+	 * and <tt>fs.endTime &gt;= minEndTime</tt>, ordered by their start time. Only the chunks which
+	 * contain such footsteps are touched.
+	 */
+	public int[] getRows(final double minEndTime, final double maxStartTime) {
+		// the first footstep which starts after maxStartTime
+		int lo = 0;
+		int hi = rowCount;
+		while(lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if(getStartTime(mid) <= maxStartTime) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+
+		IntArrayList rows = new IntArrayList();
+		for(int chunk = 0; chunk * CHUNK_SIZE < lo; chunk++) {
+			if(chunkMaxEndTimes[chunk] >= minEndTime) {
+				int end = Math.min(lo, (chunk + 1) * CHUNK_SIZE);
+				for(int row = chunk * CHUNK_SIZE; row < end; row++) {
+					if(getEndTime(row) >= minEndTime) {
+						rows.add(row);
+					}
+				}
+			}
+		}
+		return rows.toIntArray();
+	}
+
+	/**
+	 * Returns the number of agents, where agents are ordered by their identifier.
+	 */
+	public int getNumberOfAgents() {
+		return pedIds.length;
+	}
+
+	public int getAgentPedId(final int agent) {
+		return pedIds[agent];
+	}
+
+	public double getAgentBirthTime(final int agent) {
+		return birthTimes[agent];
+	}
+
+	public double getAgentDeathTime(final int agent) {
+		return deathTimes[agent];
+	}
+
+	/**
+	 * Returns the row of the last footstep of an agent with <tt>fs.startTime &lt;= simTimeInSec</tt>
+	 * or -1 if there is no such footstep.
+	 */
+	public int getLastRow(final int agent, final double simTimeInSec) {
+		int lo = offsets[agent];
+		int hi = offsets[agent + 1];
+		while(lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if(getStartTime(agentRows.get(mid)) <= simTimeInSec) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo > offsets[agent] ? agentRows.get(lo - 1) : -1;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
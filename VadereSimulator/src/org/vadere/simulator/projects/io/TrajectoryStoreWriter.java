@@ -0,0 +1,420 @@
+package org.vadere.simulator.projects.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+
+import static org.vadere.simulator.projects.io.TrajectoryStore.*;
+
+/**
+ * Builds the index file of a {@link TrajectoryStore} by streaming the trajectory file line by line,
+ * i.e. the trajectory file is never loaded into memory. The columns are first written in the order
+ * of the trajectory file into temporary files. If the footsteps are not already sorted by their
+ * start time, which is the case for files written by the {@link org.vadere.simulator.projects.dataprocessing.processor.FootStepProcessor},
+ * they are sorted by an index permutation, i.e. 4 bytes per footstep are held in memory.
+ */
+class TrajectoryStoreWriter {
+
+	private static final char SPLITTER = ' ';
+
+	/** number of lines used to determine the type of a column */
+	private static final int SAMPLE_SIZE = 1000;
+
+	private final Path trajectoryFilePath;
+	private final Path directory;
+
+	private String[] columnNames;
+	private byte[] columnTypes;
+	private List<Object2IntOpenHashMap<String>> dictionaries;
+	private int pedIdCol;
+	private int startTimeCol;
+	private int endTimeCol;
+
+	private Path[] columnFiles;
+	private DataOutputStream[] columnOutputs;
+	private int rowCount;
+	private boolean sorted;
+	private double lastStartTime;
+
+	// agents in the order of their first appearance
+	private final Int2IntOpenHashMap pedIdToAgent;
+	private int[] pedIds;
+	private int[] footStepCounts;
+	private double[] birthTimes;
+	private double[] deathTimes;
+
+	private TrajectoryStoreWriter(@NotNull final Path trajectoryFilePath, @NotNull final Path directory) {
+		this.trajectoryFilePath = trajectoryFilePath;
+		this.directory = directory;
+		this.pedIdToAgent = new Int2IntOpenHashMap();
+		this.pedIds = new int[16];
+		this.footStepCounts = new int[16];
+		this.birthTimes = new double[16];
+		this.deathTimes = new double[16];
+		this.sorted = true;
+		this.lastStartTime = Double.NEGATIVE_INFINITY;
+	}
+
+	static void write(@NotNull final Path trajectoryFilePath, @NotNull final Path indexFilePath) throws IOException {
+		Path directory = indexFilePath.toAbsolutePath().getParent();
+		TrajectoryStoreWriter writer = new TrajectoryStoreWriter(trajectoryFilePath, directory);
+		Path tmpFilePath = Files.createTempFile(directory, indexFilePath.getFileName().toString(), ".tmp");
+		try {
+			writer.readTrajectoryFile();
+			writer.writeIndexFile(tmpFilePath);
+			Files.move(tmpFilePath, indexFilePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tmpFilePath);
+			writer.deleteColumnFiles();
+		}
+	}
+
+	private void readTrajectoryFile() throws IOException {
+		try (BufferedReader reader = Files.newBufferedReader(trajectoryFilePath, StandardCharsets.UTF_8)) {
+			String header = reader.readLine();
+			if(header == null) {
+				throw new IOException("The trajectory file " + trajectoryFilePath + " is empty.");
+			}
+			columnNames = split(header);
+
+			List<String[]> sample = new ArrayList<>(SAMPLE_SIZE);
+			String line;
+			while (sample.size() < SAMPLE_SIZE && (line = reader.readLine()) != null) {
+				if(!line.isEmpty()) {
+					sample.add(split(line));
+				}
+			}
+			initColumns(sample);
+
+			int lineNumber = 1;
+			for(String[] values : sample) {
+				writeRow(values, ++lineNumber);
+			}
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if(!line.isEmpty()) {
+					writeRow(split(line), lineNumber);
+				}
+			}
+		} finally {
+			if(columnOutputs != null) {
+				for(DataOutputStream out : columnOutputs) {
+					if(out != null) {
+						out.close();
+					}
+				}
+			}
+		}
+	}
+
+	private void initColumns(@NotNull final List<String[]> sample) throws IOException {
+		Table table = Table.create();
+		for(String columnName : columnNames) {
+			table.addColumns(StringColumn.create(columnName));
+		}
+		ColumnNames names = ColumnNames.getInstance();
+		if(names.hasDuplicates(table)) {
+			throw new IOException("The header of table " + trajectoryFilePath + " is contains duplicates which can lead to unwanted side effects");
+		}
+		pedIdCol = names.getPedestrianIdCol(table);
+		startTimeCol = names.getStartTimeCol(table);
+		endTimeCol = names.getEndTimeCol(table);
+		if(pedIdCol < 0 || startTimeCol < 0 || endTimeCol < 0) {
+			throw new IOException("The trajectory file " + trajectoryFilePath + " contains no footsteps, i.e. no pedestrian id, start or end time.");
+		}
+
+		columnTypes = new byte[columnNames.length];
+		dictionaries = new ArrayList<>(columnNames.length);
+		for(int col = 0; col < columnNames.length; col++) {
+			columnTypes[col] = getColumnType(col, sample);
+			dictionaries.add(columnTypes[col] == STRING ? new Object2IntOpenHashMap<>() : null);
+		}
+		// these columns are accessed by their type
+		for(int col : new int[]{pedIdCol, names.getTargetIdCol(table), names.getGroupIdCol(table), names.getGroupSizeCol(table)}) {
+			if(col >= 0) {
+				columnTypes[col] = INT;
+			}
+		}
+		for(int col : new int[]{startTimeCol, endTimeCol, names.getStartXCol(table), names.getStartYCol(table), names.getEndXCol(table), names.getEndYCol(table)}) {
+			if(col >= 0) {
+				columnTypes[col] = DOUBLE;
+			}
+		}
+
+		columnFiles = new Path[columnNames.length];
+		columnOutputs = new DataOutputStream[columnNames.length];
+		for(int col = 0; col < columnNames.length; col++) {
+			columnFiles[col] = Files.createTempFile(directory, "column", ".tmp");
+			columnOutputs[col] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(columnFiles[col])));
+		}
+	}
+
+	/**
+	 * Returns the most specific type (int, double or string) of all sampled values of a column.
+	 */
+	private byte getColumnType(final int col, @NotNull final List<String[]> sample) {
+		byte type = INT;
+		for(String[] values : sample) {
+			if(col >= values.length || isMissing(values[col])) {
+				continue;
+			}
+			try {
+				if(type == INT) {
+					Integer.parseInt(values[col]);
+				} else {
+					Double.parseDouble(values[col]);
+				}
+			} catch (NumberFormatException e) {
+				if(type == INT) {
+					type = DOUBLE;
+					try {
+						Double.parseDouble(values[col]);
+					} catch (NumberFormatException e2) {
+						return STRING;
+					}
+				} else {
+					return STRING;
+				}
+			}
+		}
+		return type;
+	}
+
+	private static boolean isMissing(@NotNull final String value) {
+		return value.isEmpty() || value.equals("NA") || value.equals("NaN");
+	}
+
+	private static String[] split(@NotNull final String line) {
+		List<String> values = new ArrayList<>();
+		int start = 0;
+		int end;
+		while ((end = line.indexOf(SPLITTER, start)) >= 0) {
+			values.add(line.substring(start, end));
+			start = end + 1;
+		}
+		values.add(line.substring(start));
+		return values.toArray(new String[0]);
+	}
+
+	private void writeRow(@NotNull final String[] values, final int lineNumber) throws IOException {
+		if(values.length != columnNames.length) {
+			throw new IOException("line " + lineNumber + " of " + trajectoryFilePath + " contains " + values.length + " instead of " + columnNames.length + " values.");
+		}
+
+		int pedId = 0;
+		double startTime = Double.NaN;
+		double endTime = Double.NaN;
+		for(int col = 0; col < values.length; col++) {
+			String value = values[col];
+			try {
+				switch (columnTypes[col]) {
+					case INT:
+						int intValue = isMissing(value) ? Integer.MIN_VALUE : Integer.parseInt(value);
+						columnOutputs[col].writeInt(intValue);
+						if(col == pedIdCol) {
+							pedId = intValue;
+						}
+						break;
+					case DOUBLE:
+						double doubleValue = isMissing(value) ? Double.NaN : Double.parseDouble(value);
+						columnOutputs[col].writeDouble(doubleValue);
+						if(col == startTimeCol) {
+							startTime = doubleValue;
+						} else if(col == endTimeCol) {
+							endTime = doubleValue;
+						}
+						break;
+					default:
+						Object2IntOpenHashMap<String> dictionary = dictionaries.get(col);
+						dictionary.putIfAbsent(value, dictionary.size());
+						columnOutputs[col].writeInt(dictionary.getInt(value));
+				}
+			} catch (NumberFormatException e) {
+				throw new IOException("line " + lineNumber + " of " + trajectoryFilePath + ": the value " + value + " of column " + columnNames[col] + " is not a number.");
+			}
+		}
+
+		// NaN is larger than any start time, see Double.compare
+		sorted &= Double.compare(startTime, lastStartTime) >= 0;
+		lastStartTime = startTime;
+		rowCount++;
+		if(rowCount > Integer.MAX_VALUE / 8) {
+			throw new IOException("The trajectory file " + trajectoryFilePath + " contains too many footsteps.");
+		}
+
+		int agent = pedIdToAgent.getOrDefault(pedId, -1);
+		if(agent < 0) {
+			agent = pedIdToAgent.size();
+			pedIdToAgent.put(pedId, agent);
+			if(agent == pedIds.length) {
+				pedIds = Arrays.copyOf(pedIds, 2 * agent);
+				footStepCounts = Arrays.copyOf(footStepCounts, 2 * agent);
+				birthTimes = Arrays.copyOf(birthTimes, 2 * agent);
+				deathTimes = Arrays.copyOf(deathTimes, 2 * agent);
+			}
+			pedIds[agent] = pedId;
+			birthTimes[agent] = Double.NaN;
+			deathTimes[agent] = Double.NaN;
+		}
+		footStepCounts[agent]++;
+		// missing values are ignored like tablesaw aggregations do
+		if(!Double.isNaN(startTime) && !(startTime >= birthTimes[agent])) {
+			birthTimes[agent] = startTime;
+		}
+		if(!Double.isNaN(endTime) && !(endTime <= deathTimes[agent])) {
+			deathTimes[agent] = endTime;
+		}
+	}
+
+	private void writeIndexFile(@NotNull final Path indexFilePath) throws IOException {
+		try (FileChannel out = FileChannel.open(indexFilePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer[] columns = new ByteBuffer[columnNames.length];
+			for(int col = 0; col < columnNames.length; col++) {
+				try (FileChannel in = FileChannel.open(columnFiles[col], StandardOpenOption.READ)) {
+					columns[col] = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+				}
+			}
+
+			// 1. sort the footsteps by their start time, the sort is stable i.e. the order of the file is kept for equal start times
+			int[] permutation = null;
+			if(!sorted) {
+				ByteBuffer startTimes = columns[startTimeCol];
+				permutation = new int[rowCount];
+				for(int row = 0; row < rowCount; row++) {
+					permutation[row] = row;
+				}
+				IntArrays.mergeSort(permutation, (row1, row2) -> Double.compare(startTimes.getDouble(row1 * 8), startTimes.getDouble(row2 * 8)));
+			}
+
+			// 2. agents sorted by their identifier
+			int agentCount = pedIdToAgent.size();
+			int[] agents = new int[agentCount];
+			for(int agent = 0; agent < agentCount; agent++) {
+				agents[agent] = agent;
+			}
+			IntArrays.mergeSort(agents, (agent1, agent2) -> Integer.compare(pedIds[agent1], pedIds[agent2]));
+			int[] offsets = new int[agentCount];
+			int offset = 0;
+			for(int agent : agents) {
+				offsets[agent] = offset;
+				offset += footStepCounts[agent];
+			}
+
+			// 3. chunks
+			int chunkCount = (rowCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+			double[] chunkMaxEndTimes = new double[chunkCount];
+			Arrays.fill(chunkMaxEndTimes, Double.NEGATIVE_INFINITY);
+			for(int row = 0; row < rowCount; row++) {
+				double endTime = columns[endTimeCol].getDouble(8 * (permutation == null ? row : permutation[row]));
+				if(endTime > chunkMaxEndTimes[row / CHUNK_SIZE]) {
+					chunkMaxEndTimes[row / CHUNK_SIZE] = endTime;
+				}
+			}
+
+			// 4. header
+			ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+			DataOutputStream header = new DataOutputStream(headerBytes);
+			header.writeInt(rowCount);
+			header.writeInt(columnNames.length);
+			for(int col = 0; col < columnNames.length; col++) {
+				header.writeUTF(columnNames[col]);
+				header.writeByte(columnTypes[col]);
+				if(columnTypes[col] == STRING) {
+					String[] values = new String[dictionaries.get(col).size()];
+					dictionaries.get(col).forEach((value, index) -> values[index] = value);
+					header.writeInt(values.length);
+					for(String value : values) {
+						header.writeUTF(value);
+					}
+				}
+			}
+			header.writeInt(pedIdCol);
+			header.writeInt(startTimeCol);
+			header.writeInt(endTimeCol);
+			header.writeInt(chunkCount);
+			for(double maxEndTime : chunkMaxEndTimes) {
+				header.writeDouble(maxEndTime);
+			}
+			header.writeInt(agentCount);
+			for(int agent : agents) {
+				header.writeInt(pedIds[agent]);
+				header.writeDouble(birthTimes[agent]);
+				header.writeDouble(deathTimes[agent]);
+				header.writeInt(offsets[agent]);
+			}
+			header.flush();
+
+			ByteBuffer prefix = ByteBuffer.allocate(PREFIX_LENGTH);
+			prefix.putInt(MAGIC);
+			prefix.putInt(VERSION);
+			prefix.putLong(Files.size(trajectoryFilePath));
+			prefix.putLong(Files.getLastModifiedTime(trajectoryFilePath).toMillis());
+			prefix.putInt(headerBytes.size());
+			prefix.flip();
+			out.write(prefix, 0);
+			out.write(ByteBuffer.wrap(headerBytes.toByteArray()), PREFIX_LENGTH);
+
+			// 5. columns
+			long position = align(PREFIX_LENGTH + headerBytes.size());
+			for(int col = 0; col < columnNames.length; col++) {
+				int width = getWidth(columnTypes[col]);
+				long size = (long)rowCount * width;
+				MappedByteBuffer column = out.map(FileChannel.MapMode.READ_WRITE, position, size);
+				if(permutation == null) {
+					column.put(columns[col]);
+				} else if(width == 8) {
+					for(int row = 0; row < rowCount; row++) {
+						column.putLong(columns[col].getLong(8 * permutation[row]));
+					}
+				} else {
+					for(int row = 0; row < rowCount; row++) {
+						column.putInt(columns[col].getInt(4 * permutation[row]));
+					}
+				}
+				column.force();
+				position += align(size);
+			}
+
+			// 6. the footsteps of each agent sorted by their start time
+			MappedByteBuffer agentRows = out.map(FileChannel.MapMode.READ_WRITE, position, (long)rowCount * 4);
+			ByteBuffer pedIdColumn = columns[pedIdCol];
+			for(int row = 0; row < rowCount; row++) {
+				int agent = pedIdToAgent.get(pedIdColumn.getInt(4 * (permutation == null ? row : permutation[row])));
+				agentRows.putInt(4 * offsets[agent]++, row);
+			}
+			agentRows.force();
+		}
+	}
+
+	private void deleteColumnFiles() {
+		if(columnFiles != null) {
+			for(Path columnFile : columnFiles) {
+				if(columnFile != null) {
+					columnFile.toFile().delete();
+					columnFile.toFile().deleteOnExit();
+				}
+			}
+		}
+	}
+}
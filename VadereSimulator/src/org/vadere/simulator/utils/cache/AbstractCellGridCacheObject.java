@@ -0,0 +1,104 @@
+package org.vadere.simulator.utils.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.FlatCellGrid;
+import org.vadere.util.logging.Logger;
+
+import java.io.File;
+import java.io.InputStream;
+
+/**
+ * Base class of the {@link ICellGridCacheObject}s which are backed by a file or stream. If a
+ * {@link FloorFieldMemoryCache} is attached via {@link #useMemoryCache(FloorFieldMemoryCache, String)}
+ * the floor field is looked up in memory before it is read from the file. Floor fields which are read
+ * from the file or persisted are added to the memory cache such that following runs of the same
+ * topography share them.
+ */
+public abstract class AbstractCellGridCacheObject extends AbstractCacheObject implements ICellGridCacheObject {
+
+	private static Logger logger = Logger.getLogger(AbstractCellGridCacheObject.class);
+
+	private FloorFieldMemoryCache memoryCache;
+	private String memoryCacheKey;
+
+	public AbstractCellGridCacheObject(String cacheIdentifier, File cacheLocation) {
+		super(cacheIdentifier, cacheLocation);
+	}
+
+	public AbstractCellGridCacheObject(String cacheIdentifier, File cacheLocation, InputStream inputStream) {
+		super(cacheIdentifier, cacheLocation, inputStream);
+	}
+
+	/**
+	 * Attaches the memory cache to this cache object.
+	 *
+	 * @param memoryCache   the memory cache
+	 * @param hash          the floor field hash of the scenario
+	 * @return this cache object
+	 */
+	public AbstractCellGridCacheObject useMemoryCache(@NotNull final FloorFieldMemoryCache memoryCache, @NotNull final String hash) {
+		this.memoryCache = memoryCache;
+		this.memoryCacheKey = FloorFieldMemoryCache.toKey(hash, cacheIdentifier);
+		return this;
+	}
+
+	public boolean isUsingMemoryCache() {
+		return memoryCache != null;
+	}
+
+	/**
+	 * Reads the floor field from the file or stream of this cache object.
+	 */
+	protected abstract void readObject(CellGrid object) throws CacheException;
+
+	/**
+	 * Writes the floor field to the file of this cache object.
+	 */
+	protected abstract void writeObject(CellGrid object) throws CacheException;
+
+	@Override
+	public void initializeObjectFromCache(CellGrid object) throws CacheException {
+		FlatCellGrid cached = memoryCache != null ? memoryCache.get(memoryCacheKey) : null;
+		if(cached != null) {
+			logger.infof("read cache from memory: %s", memoryCacheKey);
+			if(object instanceof FlatCellGrid && ((FlatCellGrid) object).hasSameGeometry(cached)) {
+				((FlatCellGrid) object).shareValues(cached);
+			} else {
+				copyValues(cached, object);
+			}
+		} else {
+			readObject(object);
+			if(memoryCache != null) {
+				memoryCache.put(memoryCacheKey, object);
+			}
+		}
+	}
+
+	@Override
+	public void persistObject(CellGrid object) throws CacheException {
+		if(memoryCache != null) {
+			memoryCache.put(memoryCacheKey, object);
+		}
+		if(writable()) {
+			writeObject(object);
+		}
+	}
+
+	@Override
+	public boolean readable() {
+		return super.readable() || (memoryCache != null && memoryCache.contains(memoryCacheKey));
+	}
+
+	private static void copyValues(@NotNull final CellGrid source, @NotNull final CellGrid target) throws CacheException {
+		if(source.getNumPointsX() != target.getNumPointsX() || source.getNumPointsY() != target.getNumPointsY()) {
+			throw new CacheException("Cached floor field does not match the size of the floor field.");
+		}
+		for (int row = 0; row < target.getNumPointsY(); row++) {
+			for (int col = 0; col < target.getNumPointsX(); col++) {
+				target.setPotential(col, row, source.getPotential(col, row));
+				target.setTag(col, row, source.getTag(col, row));
+			}
+		}
+	}
+}
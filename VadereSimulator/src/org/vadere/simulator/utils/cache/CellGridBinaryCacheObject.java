@@ -10,7 +10,7 @@ import java.io.DataInputStream;
 import java.io.File;
 import java.io.InputStream;
 
-public class CellGridBinaryCacheObject extends AbstractCacheObject implements ICellGridCacheObject {
+public class CellGridBinaryCacheObject extends AbstractCellGridCacheObject {
 
 	private  static Logger logger = Logger.getLogger(CellGridBinaryCacheObject.class);
 
@@ -23,7 +23,7 @@ public class CellGridBinaryCacheObject extends AbstractCacheObject implements IC
 	}
 
 	@Override
-	public void initializeObjectFromCache(CellGrid object) throws CacheException {
+	protected void readObject(CellGrid object) throws CacheException {
 		try {
 			logger.infof("read cache: %s", getCacheLocation());
 			CellGridReadWriter.read(object).fromBinary(new DataInputStream(new FastBufferedInputStream(inputStream)));
@@ -33,7 +33,7 @@ public class CellGridBinaryCacheObject extends AbstractCacheObject implements IC
 	}
 
 	@Override
-	public void persistObject(CellGrid object) throws CacheException {
+	protected void writeObject(CellGrid object) throws CacheException {
 		try {
 			CellGridReadWriter.write(object).toBinary(cacheLocation);
 		} catch (Exception e) {
@@ -0,0 +1,293 @@
+package org.vadere.simulator.utils.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.FlatCellGrid;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A cell grid cache in a versioned binary format which can be memory mapped. The values are used
+ * directly as the backing store of a {@link FlatCellGrid} (see {@link FlatCellGrid#shareValues(DoubleBuffer, ByteBuffer)}),
+ * i.e. the operating system loads the pages of the file lazily when they are accessed and nothing
+ * is parsed at startup. The header contains the floor field hash and the geometry of the grid such
+ * that stale caches are rejected without reading the payload.
+ *
+ * The format (little endian):
+ * <pre>
+ * int      magic number 0x56464643 ("VFFC")
+ * int      version
+ * int      numPointsX
+ * int      numPointsY
+ * double   width, height, resolution, xMin, yMin
+ * int      length of the floor field hash in bytes
+ * byte[]   floor field hash (UTF-8), padded by zeros to a multiple of 8 bytes
+ * double[] potentials of all grid points in row major order
+ * byte[]   ordinals of the tags of all grid points in row major order
+ * </pre>
+ */
+public class CellGridMappedCacheObject extends AbstractCellGridCacheObject {
+
+	private static Logger logger = Logger.getLogger(CellGridMappedCacheObject.class);
+
+	public static final int MAGIC_NUMBER = 0x56464643;
+	public static final int VERSION = 1;
+
+	private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+	private static final int FIXED_HEADER_SIZE = 4 * Integer.BYTES + 5 * Double.BYTES + Integer.BYTES;
+	private static final int MAX_HEADER_SIZE = 4096;
+	private static final int WRITE_CHUNK_SIZE = 1 << 16;
+
+	private final String hash;
+
+	public CellGridMappedCacheObject(String cacheIdentifier, File cacheLocation, @NotNull final String hash) {
+		super(cacheIdentifier, cacheLocation, null);
+		this.hash = hash;
+	}
+
+	/**
+	 * A read only cache object whose content is provided by a stream (e.g. via TraCI). The stream is
+	 * read completely into memory since it cannot be mapped.
+	 */
+	public CellGridMappedCacheObject(String cacheIdentifier, File cacheLocation, InputStream inputStream, @NotNull final String hash) {
+		super(cacheIdentifier, cacheLocation, inputStream);
+		this.hash = hash;
+	}
+
+	/**
+	 * Returns true if the cache is provided by a stream or if the cache file exists and its header
+	 * matches the version and floor field hash. The payload is not read.
+	 */
+	@Override
+	public boolean readable() {
+		if(super.readable()) {
+			return true;
+		}
+		if(cacheLocation == null || !cacheLocation.isFile()) {
+			return false;
+		}
+		try (FileChannel channel = FileChannel.open(cacheLocation.toPath(), StandardOpenOption.READ)) {
+			readHeader(mapHeader(channel), channel.size());
+			return true;
+		} catch (IOException | CacheException e) {
+			logger.infof("reject cache %s: %s", getCacheLocation(), e.getMessage());
+			return false;
+		}
+	}
+
+	@Override
+	protected void readObject(CellGrid object) throws CacheException {
+		try {
+			DoubleBuffer potentials;
+			ByteBuffer tags;
+			Header header;
+			if(inputStream != null) {
+				ByteBuffer buffer = ByteBuffer.wrap(inputStream.readAllBytes()).order(BYTE_ORDER);
+				header = readHeader(buffer, buffer.capacity());
+				int size = header.size();
+				potentials = slice(buffer, header.payloadOffset, size * Double.BYTES).asDoubleBuffer();
+				tags = slice(buffer, header.payloadOffset + size * Double.BYTES, size);
+			} else {
+				logger.infof("map cache: %s", getCacheLocation());
+				try (FileChannel channel = FileChannel.open(cacheLocation.toPath(), StandardOpenOption.READ)) {
+					header = readHeader(mapHeader(channel), channel.size());
+					long size = header.size();
+					potentials = channel.map(FileChannel.MapMode.READ_ONLY, header.payloadOffset, size * Double.BYTES)
+							.order(BYTE_ORDER).asDoubleBuffer();
+					tags = channel.map(FileChannel.MapMode.READ_ONLY, header.payloadOffset + size * Double.BYTES, size);
+				}
+			}
+			header.checkGeometry(object);
+
+			if(object instanceof FlatCellGrid) {
+				((FlatCellGrid) object).shareValues(potentials, tags);
+			} else {
+				PathFindingTag[] pathFindingTags = PathFindingTag.values();
+				for (int row = 0; row < object.getNumPointsY(); row++) {
+					for (int col = 0; col < object.getNumPointsX(); col++) {
+						int index = row * object.getNumPointsX() + col;
+						object.setPotential(col, row, potentials.get(index));
+						object.setTag(col, row, pathFindingTags[tags.get(index)]);
+					}
+				}
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			throw new CacheException("Cannot load mapped cache " + getCacheLocation(), e);
+		}
+	}
+
+	@Override
+	protected void writeObject(CellGrid object) throws CacheException {
+		try {
+			logger.infof("write cache: %s", getCacheLocation());
+			write(object, hash, cacheLocation.toPath());
+		} catch (IOException e) {
+			logger.errorf("cannot save cache %s", getCacheLocation());
+		}
+	}
+
+	@Override
+	public String getCacheLocation() {
+		if (cacheLocation != null ){
+			return cacheLocation.getAbsolutePath();
+		} else {
+			return "provided via TraCI";
+		}
+	}
+
+	/**
+	 * Writes the grid in the mapped cache format. The file is written to a temporary file first and
+	 * moved afterwards such that concurrent runs never map an incomplete file.
+	 *
+	 * @param cellGrid  the floor field
+	 * @param hash      the floor field hash
+	 * @param path      the path of the cache file
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(@NotNull final CellGrid cellGrid, @NotNull final String hash, @NotNull final Path path) throws IOException {
+		Path parent = path.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+
+		int numPointsX = cellGrid.getNumPointsX();
+		int numPointsY = cellGrid.getNumPointsY();
+		byte[] hashBytes = hash.getBytes(StandardCharsets.UTF_8);
+
+		try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer header = ByteBuffer.allocate(payloadOffset(hashBytes.length)).order(BYTE_ORDER);
+			header.putInt(MAGIC_NUMBER).putInt(VERSION).putInt(numPointsX).putInt(numPointsY);
+			header.putDouble(cellGrid.getWidth()).putDouble(cellGrid.getHeight()).putDouble(cellGrid.getResolution());
+			header.putDouble(cellGrid.getMinX()).putDouble(cellGrid.getMinY());
+			header.putInt(hashBytes.length).put(hashBytes);
+			writeFully(channel, header.rewind());
+
+			ByteBuffer chunk = ByteBuffer.allocate(WRITE_CHUNK_SIZE * Double.BYTES).order(BYTE_ORDER);
+			for (int row = 0; row < numPointsY; row++) {
+				for (int col = 0; col < numPointsX; col++) {
+					if(!chunk.hasRemaining()) {
+						writeFully(channel, chunk.flip());
+						chunk.clear();
+					}
+					chunk.putDouble(cellGrid.getPotential(col, row));
+				}
+			}
+			writeFully(channel, chunk.flip());
+
+			chunk.clear();
+			for (int row = 0; row < numPointsY; row++) {
+				for (int col = 0; col < numPointsX; col++) {
+					if(!chunk.hasRemaining()) {
+						writeFully(channel, chunk.flip());
+						chunk.clear();
+					}
+					chunk.put((byte) cellGrid.getTag(col, row).ordinal());
+				}
+			}
+			writeFully(channel, chunk.flip());
+		} catch (IOException e) {
+			Files.deleteIfExists(tmp);
+			throw e;
+		}
+		Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static void writeFully(@NotNull final FileChannel channel, @NotNull final ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private static ByteBuffer mapHeader(@NotNull final FileChannel channel) throws IOException {
+		return channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), MAX_HEADER_SIZE)).order(BYTE_ORDER);
+	}
+
+	private static ByteBuffer slice(@NotNull final ByteBuffer buffer, final int offset, final int length) {
+		ByteBuffer duplicate = buffer.duplicate();
+		duplicate.position(offset).limit(offset + length);
+		return duplicate.slice().order(BYTE_ORDER);
+	}
+
+	private static int payloadOffset(final int hashLength) {
+		int headerSize = FIXED_HEADER_SIZE + hashLength;
+		return (headerSize + Double.BYTES - 1) / Double.BYTES * Double.BYTES;
+	}
+
+	private Header readHeader(@NotNull final ByteBuffer buffer, final long fileSize) throws CacheException {
+		if(buffer.limit() < FIXED_HEADER_SIZE) {
+			throw new CacheException("cache header is incomplete.");
+		}
+		if(buffer.getInt(0) != MAGIC_NUMBER) {
+			throw new CacheException("not a mapped floor field cache.");
+		}
+		int version = buffer.getInt(4);
+		if(version != VERSION) {
+			throw new CacheException(String.format("version %d of the cache is not supported (expected %d).", version, VERSION));
+		}
+
+		Header header = new Header();
+		header.numPointsX = buffer.getInt(8);
+		header.numPointsY = buffer.getInt(12);
+		header.width = buffer.getDouble(16);
+		header.height = buffer.getDouble(24);
+		header.resolution = buffer.getDouble(32);
+		header.xMin = buffer.getDouble(40);
+		header.yMin = buffer.getDouble(48);
+
+		int hashLength = buffer.getInt(56);
+		if(hashLength < 0 || FIXED_HEADER_SIZE + hashLength > buffer.limit()) {
+			throw new CacheException("cache header is incomplete.");
+		}
+		byte[] hashBytes = new byte[hashLength];
+		buffer.duplicate().position(FIXED_HEADER_SIZE).get(hashBytes);
+		String cachedHash = new String(hashBytes, StandardCharsets.UTF_8);
+		if(!cachedHash.equals(hash)) {
+			throw new CacheException(String.format("the floor field hash of the cache %s differs from %s.", cachedHash, hash));
+		}
+
+		header.payloadOffset = payloadOffset(hashLength);
+		long size = (long)header.numPointsX * header.numPointsY;
+		if(size * Double.BYTES > Integer.MAX_VALUE) {
+			throw new CacheException("the floor field is too large to be mapped.");
+		}
+		if(fileSize < header.payloadOffset + size * (Double.BYTES + Byte.BYTES)) {
+			throw new CacheException("the cache is incomplete.");
+		}
+		return header;
+	}
+
+	private static class Header {
+		private int numPointsX;
+		private int numPointsY;
+		private double width;
+		private double height;
+		private double resolution;
+		private double xMin;
+		private double yMin;
+		private int payloadOffset;
+
+		private int size() {
+			return numPointsX * numPointsY;
+		}
+
+		private void checkGeometry(@NotNull final CellGrid cellGrid) throws CacheException {
+			if(numPointsX != cellGrid.getNumPointsX() || numPointsY != cellGrid.getNumPointsY()
+					|| width != cellGrid.getWidth() || height != cellGrid.getHeight()
+					|| resolution != cellGrid.getResolution() || xMin != cellGrid.getMinX() || yMin != cellGrid.getMinY()) {
+				throw new CacheException("the geometry of the cache differs from the geometry of the floor field.");
+			}
+		}
+	}
+}
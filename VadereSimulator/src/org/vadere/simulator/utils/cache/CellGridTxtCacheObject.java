@@ -9,7 +9,7 @@ import org.vadere.util.logging.Logger;
 import java.io.File;
 import java.io.InputStream;
 
-public class CellGridTxtCacheObject extends AbstractCacheObject implements ICellGridCacheObject{
+public class CellGridTxtCacheObject extends AbstractCellGridCacheObject {
 	private  static Logger logger = Logger.getLogger(CellGridTxtCacheObject.class);
 
 	public CellGridTxtCacheObject(String cacheIdentifier, File cacheLocation){
@@ -21,7 +21,7 @@ public class CellGridTxtCacheObject extends AbstractCacheObject implements ICell
 	}
 
 	@Override
-	public void initializeObjectFromCache(CellGrid object) throws CacheException {
+	protected void readObject(CellGrid object) throws CacheException {
 		try {
 			CellGridReadWriter.read(object).fromTextFile(new FastBufferedInputStream(inputStream));
 		} catch (Exception e) {
@@ -30,7 +30,7 @@ public class CellGridTxtCacheObject extends AbstractCacheObject implements ICell
 	}
 
 	@Override
-	public void persistObject(CellGrid object) throws CacheException {
+	protected void writeObject(CellGrid object) throws CacheException {
 		try {
 			logger.infof("write cache: %s", getCacheLocation());
 			CellGridReadWriter.write(object).toTextFile(cacheLocation);
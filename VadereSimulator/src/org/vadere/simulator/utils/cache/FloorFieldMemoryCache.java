@@ -0,0 +1,132 @@
+package org.vadere.simulator.utils.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.vadere.util.config.VadereConfig;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.FlatCellGrid;
+import org.vadere.util.logging.Logger;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A process wide in-memory cache of floor fields which is used in front of the cache files of
+ * {@link ScenarioCache}. The floor fields are identified by the floor field hash
+ * ({@link org.vadere.state.util.StateJsonConverter#getFloorFieldHash}) and the cache identifier,
+ * i.e. the same key which is used for the cache files. Therefore runs of the same topography
+ * within one process load or compute each floor field only once.
+ *
+ * The cached floor fields are read only, they are handed out via {@link FlatCellGrid#shareValues(FlatCellGrid)}
+ * such that concurrent runs share the memory of one floor field. The size of the cache is bounded by
+ * <tt>Vadere.cache.memoryCacheSizeInMB</tt> of the {@link VadereConfig}, if the bound is exceeded the
+ * least recently used floor fields are removed. A size of 0 deactivates the cache.
+ */
+public class FloorFieldMemoryCache {
+
+	private static Logger logger = Logger.getLogger(FloorFieldMemoryCache.class);
+
+	private static final long BYTES_PER_MB = 1024L * 1024L;
+
+	/** the memory of one grid point: one double potential and one byte tag. */
+	private static final long BYTES_PER_GRID_POINT = Double.BYTES + Byte.BYTES;
+
+	private static FloorFieldMemoryCache instance;
+
+	private final long maxSizeInBytes;
+	private final LinkedHashMap<String, FlatCellGrid> cellGrids;
+	private long sizeInBytes;
+
+	public static synchronized FloorFieldMemoryCache getInstance() {
+		if(instance == null) {
+			long sizeInMB = VadereConfig.getConfig().getLong("Vadere.cache.memoryCacheSizeInMB", 512);
+			instance = new FloorFieldMemoryCache(Math.max(0, sizeInMB) * BYTES_PER_MB);
+		}
+		return instance;
+	}
+
+	FloorFieldMemoryCache(final long maxSizeInBytes) {
+		this.maxSizeInBytes = maxSizeInBytes;
+		this.cellGrids = new LinkedHashMap<>(16, 0.75f, true);
+		this.sizeInBytes = 0;
+	}
+
+	public static String toKey(@NotNull final String hash, @NotNull final String cacheIdentifier) {
+		return hash + cacheIdentifier;
+	}
+
+	public boolean isEnabled() {
+		return maxSizeInBytes > 0;
+	}
+
+	public synchronized boolean contains(@NotNull final String key) {
+		return cellGrids.containsKey(key);
+	}
+
+	/**
+	 * Returns the cached floor field of <tt>key</tt> and marks it as recently used. The returned grid must not be
+	 * modified, use {@link FlatCellGrid#shareValues(FlatCellGrid)} or a copy to work with its values.
+	 *
+	 * @param key the key of the floor field
+	 * @return the cached floor field or <tt>null</tt> if there is none
+	 */
+	@Nullable
+	public synchronized FlatCellGrid get(@NotNull final String key) {
+		return cellGrids.get(key);
+	}
+
+	/**
+	 * Adds a copy of <tt>cellGrid</tt> to the cache and removes the least recently used floor fields
+	 * if the cache is too large. Floor fields larger than the cache are not added.
+	 *
+	 * @param key       the key of the floor field
+	 * @param cellGrid  the floor field
+	 */
+	public synchronized void put(@NotNull final String key, @NotNull final CellGrid cellGrid) {
+		long bytes = sizeOf(cellGrid);
+		if(bytes > maxSizeInBytes) {
+			logger.infof("floor field %s (%d bytes) is larger than the memory cache.", key, bytes);
+			return;
+		}
+
+		FlatCellGrid cached;
+		if(cellGrid instanceof FlatCellGrid && ((FlatCellGrid) cellGrid).isShared()) {
+			// shared values are never modified (e.g. values mapped from a cache file), therefore no copy is required
+			cached = ((FlatCellGrid) cellGrid).shallowCopy();
+		} else {
+			cached = new FlatCellGrid(cellGrid);
+		}
+
+		FlatCellGrid old = cellGrids.put(key, cached);
+		if(old != null) {
+			sizeInBytes -= sizeOf(old);
+		}
+		sizeInBytes += bytes;
+
+		Iterator<Map.Entry<String, FlatCellGrid>> iterator = cellGrids.entrySet().iterator();
+		while (sizeInBytes > maxSizeInBytes && iterator.hasNext()) {
+			Map.Entry<String, FlatCellGrid> eldest = iterator.next();
+			sizeInBytes -= sizeOf(eldest.getValue());
+			iterator.remove();
+			logger.infof("remove floor field %s from memory cache.", eldest.getKey());
+		}
+	}
+
+	public synchronized long getSizeInBytes() {
+		return sizeInBytes;
+	}
+
+	public long getMaxSizeInBytes() {
+		return maxSizeInBytes;
+	}
+
+	public synchronized void clear() {
+		cellGrids.clear();
+		sizeInBytes = 0;
+	}
+
+	private static long sizeOf(@NotNull final CellGrid cellGrid) {
+		return (long)cellGrid.getNumPointsX() * cellGrid.getNumPointsY() * BYTES_PER_GRID_POINT;
+	}
+}
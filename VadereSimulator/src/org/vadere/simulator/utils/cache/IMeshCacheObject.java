@@ -1,6 +1,12 @@
 package org.vadere.simulator.utils.cache;
 
-import org.vadere.meshing.mesh.gen.PMesh;
+import org.vadere.meshing.mesh.inter.IMesh;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.AMeshEikonalSolver;
 
-public interface IMeshCacheObject extends ICacheObject<PMesh> {
+/**
+ * A cache of a mesh based floor field. The potential of each vertex is read from and written to the
+ * vertex data {@link #namePotential} of the mesh.
+ */
+public interface IMeshCacheObject extends ICacheObject<IMesh<?, ?, ?>> {
+	String namePotential = AMeshEikonalSolver.namePotential;
 }
@@ -0,0 +1,287 @@
+package org.vadere.simulator.utils.cache;
+
+import it.unimi.dsi.fastutil.io.FastBufferedInputStream;
+import it.unimi.dsi.fastutil.io.FastBufferedOutputStream;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.meshing.mesh.inter.IFace;
+import org.vadere.meshing.mesh.inter.IHalfEdge;
+import org.vadere.meshing.mesh.inter.IMesh;
+import org.vadere.meshing.mesh.inter.IVertex;
+import org.vadere.meshing.mesh.inter.IVertexContainerDouble;
+import org.vadere.util.logging.Logger;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A binary cache of a mesh based floor field. The cache contains the vertex coordinates, the
+ * half-edge connectivity and the potential of each vertex such that the mesh and the floor field
+ * can be restored without parsing a .poly file or solving the eikonal equation.
+ *
+ * If the mesh passed to {@link #initializeObjectFromCache(IMesh)} is empty, the mesh is constructed
+ * from the cache. Otherwise the cache is only accepted if the mesh has the same vertices and
+ * connectivity (in the same order) and only the potentials are copied into the vertex data
+ * {@link #namePotential}.
+ *
+ * The format (big endian, see {@link DataOutputStream}):
+ * <pre>
+ * int      magic number 0x564D4643 ("VMFC")
+ * int      version
+ * UTF      floor field hash
+ * int      number of vertices, faces, holes and half-edges
+ * vertex:  double x, double y, int half-edge
+ * face:    int half-edge (faces first, holes second)
+ * int      half-edge of the border
+ * edge:    int end vertex, int next, int twin, int face (-1 for the border)
+ * double   potential of each vertex
+ * </pre>
+ */
+public class MeshBinaryCacheObject extends AbstractCacheObject implements IMeshCacheObject {
+
+	private static Logger logger = Logger.getLogger(MeshBinaryCacheObject.class);
+
+	public static final int MAGIC_NUMBER = 0x564D4643;
+	public static final int VERSION = 1;
+
+	private static final int BORDER = -1;
+
+	private final String hash;
+
+	public MeshBinaryCacheObject(@NotNull final String cacheIdentifier, @NotNull final File cacheLocation, @NotNull final String hash) {
+		super(cacheIdentifier, cacheLocation);
+		this.hash = hash;
+	}
+
+	public MeshBinaryCacheObject(@NotNull final String cacheIdentifier, final File cacheLocation, @NotNull final InputStream inputStream, @NotNull final String hash) {
+		super(cacheIdentifier, cacheLocation, inputStream);
+		this.hash = hash;
+	}
+
+	@Override
+	public void initializeObjectFromCache(@NotNull final IMesh<?, ?, ?> mesh) throws CacheException {
+		try {
+			logger.infof("read cache: %s", getCacheLocation());
+			DataInputStream stream = new DataInputStream(new FastBufferedInputStream(inputStream));
+			read(mesh, stream);
+		} catch (IOException e) {
+			throw new CacheException("Cannot load cache from BIN InputStream", e);
+		}
+	}
+
+	@Override
+	public void persistObject(@NotNull final IMesh<?, ?, ?> mesh) throws CacheException {
+		cacheLocation.getAbsoluteFile().getParentFile().mkdirs();
+		try (DataOutputStream stream = new DataOutputStream(new FastBufferedOutputStream(new FileOutputStream(cacheLocation)))) {
+			logger.infof("write cache: %s", getCacheLocation());
+			write(mesh, stream);
+		} catch (IOException e) {
+			logger.errorf("cannot save cache %s", getCacheLocation());
+		}
+	}
+
+	@Override
+	public String getCacheLocation() {
+		if (cacheLocation != null ){
+			return cacheLocation.getAbsolutePath();
+		} else {
+			return "provided via TraCI";
+		}
+	}
+
+	private <V extends IVertex, E extends IHalfEdge, F extends IFace> void write(
+			@NotNull final IMesh<V, E, F> mesh, @NotNull final DataOutputStream stream) throws IOException {
+		List<V> vertices = mesh.getVertices();
+		List<F> holes = mesh.getHoles();
+		List<F> faces = mesh.getFaces();
+		faces.addAll(holes);
+		List<E> edges = mesh.getEdges();
+
+		Map<V, Integer> vertexIds = new HashMap<>();
+		for (int i = 0; i < vertices.size(); i++) {
+			vertexIds.put(vertices.get(i), i);
+		}
+		Map<F, Integer> faceIds = new HashMap<>();
+		for (int i = 0; i < faces.size(); i++) {
+			faceIds.put(faces.get(i), i);
+		}
+		faceIds.put(mesh.getBorder(), BORDER);
+		Map<E, Integer> edgeIds = new HashMap<>();
+		for (int i = 0; i < edges.size(); i++) {
+			edgeIds.put(edges.get(i), i);
+		}
+
+		stream.writeInt(MAGIC_NUMBER);
+		stream.writeInt(VERSION);
+		stream.writeUTF(hash);
+		stream.writeInt(vertices.size());
+		stream.writeInt(faces.size() - holes.size());
+		stream.writeInt(holes.size());
+		stream.writeInt(edges.size());
+
+		for (V vertex : vertices) {
+			stream.writeDouble(mesh.getX(vertex));
+			stream.writeDouble(mesh.getY(vertex));
+			stream.writeInt(id(edgeIds, mesh.getEdge(vertex)));
+		}
+		for (F face : faces) {
+			stream.writeInt(id(edgeIds, mesh.getEdge(face)));
+		}
+		stream.writeInt(id(edgeIds, mesh.getEdge(mesh.getBorder())));
+		for (E edge : edges) {
+			stream.writeInt(id(vertexIds, mesh.getVertex(edge)));
+			stream.writeInt(id(edgeIds, mesh.getNext(edge)));
+			stream.writeInt(id(edgeIds, mesh.getTwin(edge)));
+			stream.writeInt(id(faceIds, mesh.getFace(edge)));
+		}
+
+		IVertexContainerDouble<V, E, F> potentials = mesh.getDoubleVertexContainer(namePotential);
+		for (V vertex : vertices) {
+			stream.writeDouble(potentials.getValue(vertex));
+		}
+	}
+
+	/**
+	 * Returns the index of the element or -1 if the element is <tt>null</tt> or unknown.
+	 */
+	private static <T> int id(@NotNull final Map<T, Integer> ids, final T element) {
+		Integer id = element == null ? null : ids.get(element);
+		return id == null ? -1 : id;
+	}
+
+	private <V extends IVertex, E extends IHalfEdge, F extends IFace> void read(
+			@NotNull final IMesh<V, E, F> mesh, @NotNull final DataInputStream stream) throws IOException {
+		if(stream.readInt() != MAGIC_NUMBER) {
+			throw new CacheException("not a binary mesh cache.");
+		}
+		int version = stream.readInt();
+		if(version != VERSION) {
+			throw new CacheException(String.format("version %d of the cache is not supported (expected %d).", version, VERSION));
+		}
+		String cachedHash = stream.readUTF();
+		if(!cachedHash.equals(hash)) {
+			throw new CacheException(String.format("the floor field hash of the cache %s differs from %s.", cachedHash, hash));
+		}
+
+		int nVertices = stream.readInt();
+		int nFaces = stream.readInt();
+		int nHoles = stream.readInt();
+		int nEdges = stream.readInt();
+
+		double[] coordinates = new double[2 * nVertices];
+		int[] vertexEdges = new int[nVertices];
+		for (int i = 0; i < nVertices; i++) {
+			coordinates[2 * i] = stream.readDouble();
+			coordinates[2 * i + 1] = stream.readDouble();
+			vertexEdges[i] = stream.readInt();
+		}
+		int[] faceEdges = new int[nFaces + nHoles];
+		for (int i = 0; i < faceEdges.length; i++) {
+			faceEdges[i] = stream.readInt();
+		}
+		int borderEdge = stream.readInt();
+		int[] edgeData = new int[4 * nEdges];
+		for (int i = 0; i < edgeData.length; i++) {
+			edgeData[i] = stream.readInt();
+		}
+		double[] potentialValues = new double[nVertices];
+		for (int i = 0; i < nVertices; i++) {
+			potentialValues[i] = stream.readDouble();
+		}
+
+		List<V> vertices;
+		if(mesh.getNumberOfVertices() == 0) {
+			vertices = build(mesh, coordinates, vertexEdges, faceEdges, nFaces, borderEdge, edgeData);
+		} else {
+			vertices = mesh.getVertices();
+			checkStructure(mesh, vertices, coordinates, nFaces, nHoles, edgeData);
+		}
+
+		IVertexContainerDouble<V, E, F> potentials = mesh.getDoubleVertexContainer(namePotential);
+		for (int i = 0; i < nVertices; i++) {
+			potentials.setValue(vertices.get(i), potentialValues[i]);
+		}
+	}
+
+	private <V extends IVertex, E extends IHalfEdge, F extends IFace> void checkStructure(
+			@NotNull final IMesh<V, E, F> mesh,
+			@NotNull final List<V> vertices,
+			@NotNull final double[] coordinates,
+			final int nFaces,
+			final int nHoles,
+			@NotNull final int[] edgeData) throws CacheException {
+		List<E> edges = mesh.getEdges();
+		if(vertices.size() * 2 != coordinates.length || edges.size() * 4 != edgeData.length
+				|| mesh.getFaces().size() != nFaces || mesh.getHoles().size() != nHoles) {
+			throw new CacheException("the mesh of the cache differs from the floor field mesh.");
+		}
+
+		Map<V, Integer> vertexIds = new HashMap<>();
+		for (int i = 0; i < vertices.size(); i++) {
+			V vertex = vertices.get(i);
+			if(mesh.getX(vertex) != coordinates[2 * i] || mesh.getY(vertex) != coordinates[2 * i + 1]) {
+				throw new CacheException("the vertices of the cache differ from the vertices of the floor field mesh.");
+			}
+			vertexIds.put(vertex, i);
+		}
+		for (int i = 0; i < edges.size(); i++) {
+			if(vertexIds.get(mesh.getVertex(edges.get(i))) != edgeData[4 * i]) {
+				throw new CacheException("the connectivity of the cache differs from the connectivity of the floor field mesh.");
+			}
+		}
+	}
+
+	private <V extends IVertex, E extends IHalfEdge, F extends IFace> List<V> build(
+			@NotNull final IMesh<V, E, F> mesh,
+			@NotNull final double[] coordinates,
+			@NotNull final int[] vertexEdges,
+			@NotNull final int[] faceEdges,
+			final int nFaces,
+			final int borderEdge,
+			@NotNull final int[] edgeData) {
+		int nVertices = vertexEdges.length;
+		int nEdges = edgeData.length / 4;
+
+		List<V> vertices = new ArrayList<>(nVertices);
+		for (int i = 0; i < nVertices; i++) {
+			vertices.add(mesh.insertVertex(coordinates[2 * i], coordinates[2 * i + 1]));
+		}
+		List<F> faces = new ArrayList<>(faceEdges.length);
+		for (int i = 0; i < faceEdges.length; i++) {
+			faces.add(mesh.createFace(i >= nFaces));
+		}
+		List<E> edges = new ArrayList<>(nEdges);
+		for (int i = 0; i < nEdges; i++) {
+			int face = edgeData[4 * i + 3];
+			edges.add(mesh.createEdge(vertices.get(edgeData[4 * i]), face == BORDER ? mesh.getBorder() : faces.get(face)));
+		}
+		for (int i = 0; i < nEdges; i++) {
+			E edge = edges.get(i);
+			mesh.setNext(edge, edges.get(edgeData[4 * i + 1]));
+			int twin = edgeData[4 * i + 2];
+			if(twin >= 0) {
+				mesh.setTwin(edge, edges.get(twin));
+			}
+		}
+		for (int i = 0; i < nVertices; i++) {
+			if(vertexEdges[i] >= 0) {
+				mesh.setEdge(vertices.get(i), edges.get(vertexEdges[i]));
+			}
+		}
+		for (int i = 0; i < faces.size(); i++) {
+			mesh.setEdge(faces.get(i), edges.get(faceEdges[i]));
+		}
+		if(borderEdge >= 0) {
+			mesh.setEdge(mesh.getBorder(), edges.get(borderEdge));
+		}
+		return vertices;
+	}
+}
@@ -4,13 +4,12 @@ import it.unimi.dsi.fastutil.io.FastBufferedInputStream;
 import it.unimi.dsi.fastutil.io.FastBufferedOutputStream;
 
 import org.jetbrains.annotations.NotNull;
-import org.vadere.meshing.mesh.gen.PFace;
-import org.vadere.meshing.mesh.gen.PHalfEdge;
-import org.vadere.meshing.mesh.gen.PMesh;
-import org.vadere.meshing.mesh.gen.PVertex;
+import org.vadere.meshing.mesh.inter.IFace;
+import org.vadere.meshing.mesh.inter.IHalfEdge;
+import org.vadere.meshing.mesh.inter.IMesh;
+import org.vadere.meshing.mesh.inter.IVertex;
 import org.vadere.meshing.utils.io.poly.MeshPolyReader;
 import org.vadere.meshing.utils.io.poly.MeshPolyWriter;
-import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFMM;
 import org.vadere.util.logging.Logger;
 
 import java.io.File;
@@ -19,10 +18,14 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.util.List;
 
 public class MeshTxtCacheObject extends AbstractCacheObject implements IMeshCacheObject {
 	private  static Logger logger = Logger.getLogger(MeshTxtCacheObject.class);
 
+	/** the .poly format stores the coordinates with 6 decimal places */
+	private static final double COORDINATE_TOLERANCE = 1.0E-6;
+
 	public MeshTxtCacheObject(@NotNull final String cacheIdentifier, @NotNull final File cacheLocation){
 		super(cacheIdentifier, cacheLocation);
 	}
@@ -32,22 +35,18 @@ public class MeshTxtCacheObject extends AbstractCacheObject implements IMeshCach
 	}
 
 	@Override
-	public void initializeObjectFromCache(@NotNull final PMesh mesh) throws CacheException {
+	public void initializeObjectFromCache(@NotNull final IMesh<?, ?, ?> mesh) throws CacheException {
 		try {
-			MeshPolyReader<PVertex, PHalfEdge, PFace> meshPolyReader = new MeshPolyReader<>(() -> new PMesh());
-			InputStream fastInputStream = new FastBufferedInputStream(inputStream);
-			meshPolyReader.readMesh(fastInputStream, i -> MeshEikonalSolverFMM.namePotential);
+			read(mesh);
 		} catch (IOException e) {
 			throw new CacheException("Cannot load cache from TXT InputStream", e);
 		}
 	}
 
 	@Override
-	public void persistObject(@NotNull final PMesh mesh) throws CacheException {
-		try {
-			PrintWriter writer = new PrintWriter(new FastBufferedOutputStream(new FileOutputStream(cacheLocation)));
-			MeshPolyWriter<PVertex, PHalfEdge, PFace> meshPolyWriter = new MeshPolyWriter<>();
-			meshPolyWriter.to2DPoly(mesh, 1, i -> MeshEikonalSolverFMM.namePotential, v -> false, writer);
+	public void persistObject(@NotNull final IMesh<?, ?, ?> mesh) throws CacheException {
+		try (PrintWriter writer = new PrintWriter(new FastBufferedOutputStream(new FileOutputStream(cacheLocation)))) {
+			write(mesh, writer);
 		} catch (FileNotFoundException e) {
 			logger.errorf("cannot save cache %s", cacheLocation.getAbsolutePath());
 		}
@@ -55,8 +54,34 @@ public class MeshTxtCacheObject extends AbstractCacheObject implements IMeshCach
 
 	@Override
 	public String getCacheLocation() {
-		return null;
+		return cacheLocation == null ? null : cacheLocation.getAbsolutePath();
 	}
-}
 
+	private <V extends IVertex, E extends IHalfEdge, F extends IFace> void read(@NotNull final IMesh<V, E, F> mesh) throws IOException {
+		MeshPolyReader<V, E, F> meshPolyReader = new MeshPolyReader<>(mesh::construct);
+		InputStream fastInputStream = new FastBufferedInputStream(inputStream);
+		IMesh<V, E, F> cachedMesh = meshPolyReader.readMesh(fastInputStream, i -> namePotential);
+
+		List<V> vertices = mesh.getVertices();
+		List<V> cachedVertices = cachedMesh.getVertices();
+		if(vertices.size() != cachedVertices.size()) {
+			throw new CacheException("the mesh of the cache differs from the floor field mesh.");
+		}
+		for (int i = 0; i < vertices.size(); i++) {
+			V vertex = vertices.get(i);
+			V cachedVertex = cachedVertices.get(i);
+			if(Math.abs(mesh.getX(vertex) - cachedMesh.getX(cachedVertex)) > COORDINATE_TOLERANCE
+					|| Math.abs(mesh.getY(vertex) - cachedMesh.getY(cachedVertex)) > COORDINATE_TOLERANCE) {
+				throw new CacheException("the vertices of the cache differ from the vertices of the floor field mesh.");
+			}
+		}
+		for (int i = 0; i < vertices.size(); i++) {
+			mesh.setDoubleData(vertices.get(i), namePotential, cachedMesh.getDoubleData(cachedVertices.get(i), namePotential));
+		}
+	}
 
+	private <V extends IVertex, E extends IHalfEdge, F extends IFace> void write(@NotNull final IMesh<V, E, F> mesh, @NotNull final PrintWriter writer) {
+		MeshPolyWriter<V, E, F> meshPolyWriter = new MeshPolyWriter<>();
+		meshPolyWriter.to2DPoly(mesh, 1, i -> namePotential, v -> false, writer);
+	}
+}
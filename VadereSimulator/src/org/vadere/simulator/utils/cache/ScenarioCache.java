@@ -27,6 +27,8 @@ public class ScenarioCache {
 	private static final String Distance_FF = "_distanceFF_";
 	private static final String txt_sufix = ".txt";
 	private static final String bin_sufix = ".ffcache";
+	private static final String mapped_sufix = ".mffcache";
+	private static final String mesh_sufix = ".meshcache";
 
 	private boolean empty;
 	final private Scenario scenario;
@@ -129,19 +131,36 @@ public class ScenarioCache {
 		if (eikType.isUsingCellGrid()){
 			if(cacheType == CacheType.TXT_CACHE){
 				file = buildCsvCachePath(cacheIdentifier).toFile();
-				cacheMap.put(cacheIdentifier, new CellGridTxtCacheObject(cacheIdentifier, file));
+				cacheMap.put(cacheIdentifier, withMemoryCache(new CellGridTxtCacheObject(cacheIdentifier, file)));
+			} else if(cacheType == CacheType.MAPPED_CACHE){
+				file = buildMappedCachePath(cacheIdentifier).toFile();
+				cacheMap.put(cacheIdentifier, withMemoryCache(new CellGridMappedCacheObject(cacheIdentifier, file, hash)));
 			} else {
 				file = buildBinCachePath(cacheIdentifier).toFile();
-				cacheMap.put(cacheIdentifier, new CellGridBinaryCacheObject(cacheIdentifier, file));
+				cacheMap.put(cacheIdentifier, withMemoryCache(new CellGridBinaryCacheObject(cacheIdentifier, file)));
 			}
 		} else {
 			if(cacheType == CacheType.TXT_CACHE){
 				file = buildCsvCachePath(cacheIdentifier).toFile();
 				cacheMap.put(cacheIdentifier, new MeshTxtCacheObject(cacheIdentifier, file));
+			} else {
+				file = buildMeshCachePath(cacheIdentifier).toFile();
+				cacheMap.put(cacheIdentifier, new MeshBinaryCacheObject(cacheIdentifier, file, hash));
 			}
 		}
 	}
 
+	/**
+	 * Attaches the process wide {@link FloorFieldMemoryCache} to the cache object if it is enabled.
+	 */
+	private AbstractCellGridCacheObject withMemoryCache(AbstractCellGridCacheObject cacheObject){
+		FloorFieldMemoryCache memoryCache = FloorFieldMemoryCache.getInstance();
+		if (memoryCache.isEnabled()){
+			cacheObject.useMemoryCache(memoryCache, hash);
+		}
+		return cacheObject;
+	}
+
 	private Path buildCsvCachePath(String floorFieldIdentifier){
 		return cachePath.resolve(hash +  floorFieldIdentifier + txt_sufix);
 	}
@@ -150,6 +169,14 @@ public class ScenarioCache {
 		return cachePath.resolve(hash +  floorFieldIdentifier + bin_sufix);
 	}
 
+	private Path buildMappedCachePath(String floorFieldIdentifier){
+		return cachePath.resolve(hash +  floorFieldIdentifier + mapped_sufix);
+	}
+
+	private Path buildMeshCachePath(String floorFieldIdentifier){
+		return cachePath.resolve(hash +  floorFieldIdentifier + mesh_sufix);
+	}
+
 	public String targetToIdentifier(int targetId){
 		return TARGET_FF + targetId;
 	}
@@ -162,17 +189,41 @@ public class ScenarioCache {
 	public ScenarioCache addReadOnlyCache(String cacheIdentifier, ByteArrayInputStream stream){
 		if(empty)
 			throw new IllegalStateException("Empty cache object.");
+		if (!attFF.getCreateMethod().isUsingCellGrid()){
+			return addReadOnlyMeshCache(cacheIdentifier, stream);
+		}
 		switch (attFF.getCacheType()) {
 			case BIN_CACHE:
-				cacheMap.put(cacheIdentifier, new CellGridBinaryCacheObject(cacheIdentifier, null, new DataInputStream(new FastBufferedInputStream(stream))));
+				cacheMap.put(cacheIdentifier, withMemoryCache(new CellGridBinaryCacheObject(cacheIdentifier, null, new DataInputStream(new FastBufferedInputStream(stream)))));
 				logger.infof("binary cache loaded for identifier: %s", cacheIdentifier);
 				break;
+			case MAPPED_CACHE:
+				cacheMap.put(cacheIdentifier, withMemoryCache(new CellGridMappedCacheObject(cacheIdentifier, null, stream, hash)));
+				logger.infof("mapped cache loaded for identifier: %s", cacheIdentifier);
+				break;
 			case TXT_CACHE:
-				cacheMap.put(cacheIdentifier, new CellGridTxtCacheObject(cacheIdentifier, null, stream));
+				cacheMap.put(cacheIdentifier, withMemoryCache(new CellGridTxtCacheObject(cacheIdentifier, null, stream)));
 				logger.infof("csv cache loaded for identifier: %s", cacheIdentifier);
 				break;
 			default:
-				throw new IllegalStateException("Must be either CSV or BIN cache");
+				throw new IllegalStateException("Must be either CSV, BIN or MAPPED cache");
+		}
+		return this;
+	}
+
+	private ScenarioCache addReadOnlyMeshCache(String cacheIdentifier, ByteArrayInputStream stream){
+		switch (attFF.getCacheType()) {
+			case BIN_CACHE:
+			case MAPPED_CACHE:
+				cacheMap.put(cacheIdentifier, new MeshBinaryCacheObject(cacheIdentifier, null, stream, hash));
+				logger.infof("binary mesh cache loaded for identifier: %s", cacheIdentifier);
+				break;
+			case TXT_CACHE:
+				cacheMap.put(cacheIdentifier, new MeshTxtCacheObject(cacheIdentifier, null, stream));
+				logger.infof("csv mesh cache loaded for identifier: %s", cacheIdentifier);
+				break;
+			default:
+				throw new IllegalStateException("Must be either CSV, BIN or MAPPED cache");
 		}
 		return this;
 	}
@@ -0,0 +1,59 @@
+package org.vadere.simulator.entrypoints.cmd.commands;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+public class BatchRunSubCommandTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testCollectScenarioFiles() throws IOException {
+		Path dir = folder.newFolder("sweep").toPath();
+		Path b = Files.createFile(dir.resolve("b.scenario"));
+		Path a = Files.createFile(dir.resolve("a.scenario"));
+		Files.createFile(dir.resolve("notes.txt"));
+		Path single = folder.newFile("single.scenario").toPath();
+		Path manifest = folder.newFile("manifest.txt").toPath();
+		Files.write(manifest, Arrays.asList("# comment", "", "single.scenario", "sweep/b.scenario"));
+
+		List<Path> files = BatchRunSubCommand.collectScenarioFiles(
+				Arrays.asList(dir.toString(), manifest.toString()));
+
+		assertEquals(Arrays.asList(a, b, single, b), files);
+	}
+
+	@Test(expected = IOException.class)
+	public void testCollectMissingScenarioFile() throws IOException {
+		BatchRunSubCommand.collectScenarioFiles(Arrays.asList(folder.getRoot().toPath().resolve("missing.scenario").toString()));
+	}
+
+	@Test
+	public void testSeedsAreReproducible() {
+		List<Path> files = Arrays.asList(Paths.get("a.scenario"), Paths.get("b.scenario"));
+		Path output = Paths.get("output");
+
+		List<BatchRunSubCommand.BatchJob> jobs1 = BatchRunSubCommand.createJobs(files, output, 42L);
+		List<BatchRunSubCommand.BatchJob> jobs2 = BatchRunSubCommand.createJobs(files, output, 42L);
+
+		assertEquals(jobs1.get(0).getSeed(), jobs2.get(0).getSeed());
+		assertEquals(jobs1.get(1).getSeed(), jobs2.get(1).getSeed());
+		assertNotEquals(jobs1.get(0).getSeed(), jobs1.get(1).getSeed());
+		assertEquals("1", jobs1.get(0).getIndex());
+
+		assertNull(BatchRunSubCommand.createJobs(files, output, null).get(0).getSeed());
+	}
+}
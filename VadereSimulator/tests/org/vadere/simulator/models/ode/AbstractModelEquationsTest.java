@@ -0,0 +1,100 @@
+package org.vadere.simulator.models.ode;
+
+import org.junit.Test;
+import org.vadere.simulator.models.sfm.PotentialFieldObstacleSFM;
+import org.vadere.simulator.models.sfm.PotentialFieldPedestrianSFM;
+import org.vadere.simulator.models.sfm.SFMEquations;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.state.attributes.Attributes;
+import org.vadere.state.attributes.models.AttributesPotentialSFM;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.Vector2D;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Compares the derivatives computed in chunks on the {@link org.vadere.util.parallel.ParallelLoop}
+ * of the equations to the ones computed element by element in one thread.
+ */
+public class AbstractModelEquationsTest {
+
+	private static final int SEED = 0;
+
+	@Test
+	public void testParallelDerivativesEqualSequentialDerivatives() {
+		assertParallelEqualsSequential(200);
+	}
+
+	@Test
+	public void testFewerElementsThanChunks() {
+		// the loop uses at least four chunks per thread
+		assertParallelEqualsSequential(0);
+		assertParallelEqualsSequential(1);
+		assertParallelEqualsSequential(3);
+	}
+
+	private void assertParallelEqualsSequential(final int numberOfPedestrians) {
+		Topography topography = createTopography(numberOfPedestrians);
+		List<Attributes> attributesList = new ArrayList<>();
+		attributesList.add(new AttributesPotentialSFM());
+		Domain domain = new Domain(topography);
+
+		PotentialFieldObstacleSFM obstacleField = new PotentialFieldObstacleSFM();
+		obstacleField.initialize(attributesList, domain, new AttributesAgent(), new Random(SEED));
+		PotentialFieldPedestrianSFM pedestrianField = new PotentialFieldPedestrianSFM();
+		pedestrianField.initialize(attributesList, domain, new AttributesAgent(), new Random(SEED));
+
+		AbstractModelEquations<Pedestrian> equations = new SFMEquations();
+		equations.setGradients((t, targetId, x, grad) -> {
+			grad[0] = -1;
+			grad[1] = 0;
+		}, obstacleField, pedestrianField, topography);
+		equations.setElements(topography.getElements(Pedestrian.class));
+
+		try {
+			double[] y = new double[equations.getDimension()];
+			for (Pedestrian pedestrian : topography.getElements(Pedestrian.class)) {
+				int counter = equations.ID2Counter(pedestrian.getId());
+				equations.setPosition(counter, y, new double[]{pedestrian.getPosition().x, pedestrian.getPosition().y});
+				equations.setVelocity(counter, y, new double[]{pedestrian.getVelocity().x, pedestrian.getVelocity().y});
+			}
+
+			double[] parallelDot = new double[y.length];
+			equations.computeDerivatives(0, y, parallelDot);
+
+			double[] sequentialDot = new double[y.length];
+			AbstractModelEquations.ScratchBuffers scratch = new AbstractModelEquations.ScratchBuffers();
+			equations.prepareStage(Pedestrian.class, 0, y);
+			for (int i = 0; i < equations.elements.size(); i++) {
+				equations.computeSingleElement(equations.elements.get(i), i, 0, y, sequentialDot, scratch);
+			}
+
+			assertArrayEquals(sequentialDot, parallelDot, 0.0);
+		} finally {
+			equations.shutdown();
+		}
+	}
+
+	private Topography createTopography(final int numberOfPedestrians) {
+		Topography topography = new Topography();
+		Random random = new Random(SEED);
+		for (int i = 0; i < numberOfPedestrians; i++) {
+			Pedestrian pedestrian = new Pedestrian(new AttributesAgent(i + 1), random);
+			pedestrian.setPosition(new VPoint(0.5 + 9 * random.nextDouble(), 0.5 + 9 * random.nextDouble()));
+			pedestrian.setVelocity(new Vector2D(random.nextDouble() - 0.5, random.nextDouble() - 0.5));
+			LinkedList<Integer> targets = new LinkedList<>();
+			targets.add(100);
+			pedestrian.setTargets(targets);
+			topography.addElement(pedestrian);
+		}
+		return topography;
+	}
+}
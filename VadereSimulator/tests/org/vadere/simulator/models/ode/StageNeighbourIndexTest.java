@@ -0,0 +1,184 @@
+package org.vadere.simulator.models.ode;
+
+import org.apache.commons.math3.ode.nonstiff.ClassicalRungeKuttaIntegrator;
+import org.junit.Test;
+import org.vadere.simulator.models.gnm.GNMEquations;
+import org.vadere.simulator.models.gnm.PotentialFieldObstacleGNM;
+import org.vadere.simulator.models.gnm.PotentialFieldPedestrianGNM;
+import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
+import org.vadere.simulator.models.potential.fields.PotentialFieldObstacle;
+import org.vadere.simulator.models.potential.solver.gradients.GradientProvider;
+import org.vadere.simulator.models.sfm.PotentialFieldObstacleSFM;
+import org.vadere.simulator.models.sfm.PotentialFieldPedestrianSFM;
+import org.vadere.simulator.models.sfm.SFMEquations;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.state.attributes.Attributes;
+import org.vadere.state.attributes.models.AttributesPotentialGNM;
+import org.vadere.state.attributes.models.AttributesPotentialSFM;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.attributes.scenario.AttributesObstacle;
+import org.vadere.state.scenario.Obstacle;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.Vector2D;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the derivatives of the SFM and GNM equations evaluated with the stage-local
+ * {@link StageNeighbourIndex} to the ones evaluated by moving the pedestrians in the topography.
+ */
+public class StageNeighbourIndexTest {
+
+	private static final int SEED = 0;
+	private static final int NUMBER_OF_PEDESTRIANS = 60;
+	private static final double STEP_SIZE = 0.1;
+	// the neighbours are visited in a different order, therefore the sums may differ in the last bits
+	private static final double TOLERANCE = 1e-10;
+
+	/** the gradient of the distance to the point (9, 5) */
+	private static final GradientProvider targetGradient = (t, targetId, x, grad) -> {
+		double dx = x[0] - 9;
+		double dy = x[1] - 5;
+		double norm = Math.sqrt(dx * dx + dy * dy);
+		grad[0] = norm > 0 ? dx / norm : 0;
+		grad[1] = norm > 0 ? dy / norm : 0;
+	};
+
+	@Test
+	public void testSFMStageEqualsTopographyLookup() {
+		List<Attributes> attributesList = new ArrayList<>();
+		attributesList.add(new AttributesPotentialSFM());
+
+		assertSameDerivatives(new SFMEquations(), new SFMEquations() {
+			@Override
+			public boolean isStageLocal() {
+				return false;
+			}
+		}, attributesList, new PotentialFieldObstacleSFM(), new PotentialFieldObstacleSFM(),
+				new PotentialFieldPedestrianSFM(), new PotentialFieldPedestrianSFM());
+	}
+
+	@Test
+	public void testGNMStageEqualsTopographyLookup() {
+		List<Attributes> attributesList = new ArrayList<>();
+		attributesList.add(new AttributesPotentialGNM());
+
+		assertSameDerivatives(new GNMEquations(), new GNMEquations() {
+			@Override
+			public boolean isStageLocal() {
+				return false;
+			}
+		}, attributesList, new PotentialFieldObstacleGNM(), new PotentialFieldObstacleGNM(),
+				new PotentialFieldPedestrianGNM(), new PotentialFieldPedestrianGNM());
+	}
+
+	private void assertSameDerivatives(final AbstractModelEquations<Pedestrian> stageEquations,
+	                                   final AbstractModelEquations<Pedestrian> topographyEquations,
+	                                   final List<Attributes> attributesList,
+	                                   final PotentialFieldObstacle stageObstacleField,
+	                                   final PotentialFieldObstacle topographyObstacleField,
+	                                   final PotentialFieldAgent stagePedestrianField,
+	                                   final PotentialFieldAgent topographyPedestrianField) {
+		Topography stageTopography = createTopography();
+		Topography topography = createTopography();
+		initialize(stageEquations, stageTopography, attributesList, stageObstacleField, stagePedestrianField);
+		initialize(topographyEquations, topography, attributesList, topographyObstacleField, topographyPedestrianField);
+
+		assertTrue(stageEquations.isStageLocal());
+		assertFalse(topographyEquations.isStageLocal());
+
+		try {
+			double[] y = createState(stageEquations, stageTopography);
+			List<VPoint> positions = new ArrayList<>();
+			List<Vector2D> velocities = new ArrayList<>();
+			for (Pedestrian pedestrian : stageTopography.getElements(Pedestrian.class)) {
+				positions.add(pedestrian.getPosition());
+				velocities.add(pedestrian.getVelocity());
+			}
+
+			// a single stage which differs from the positions in the topography
+			double[] stageDot = new double[y.length];
+			double[] topographyDot = new double[y.length];
+			stageEquations.computeDerivatives(0, y, stageDot);
+			topographyEquations.computeDerivatives(0, y, topographyDot);
+			assertArrayEquals(topographyDot, stageDot, TOLERANCE);
+
+			// all stages of one step of the integrator
+			double[] stageY = new double[y.length];
+			double[] topographyY = new double[y.length];
+			new ClassicalRungeKuttaIntegrator(STEP_SIZE).integrate(stageEquations, 0, y, STEP_SIZE, stageY);
+			new ClassicalRungeKuttaIntegrator(STEP_SIZE).integrate(topographyEquations, 0, y, STEP_SIZE, topographyY);
+			assertArrayEquals(topographyY, stageY, TOLERANCE);
+
+			// the stages neither move the pedestrians nor set their velocity, which is done once per step by the ODEModel
+			int i = 0;
+			for (Pedestrian pedestrian : stageTopography.getElements(Pedestrian.class)) {
+				assertEquals(positions.get(i), pedestrian.getPosition());
+				assertEquals(velocities.get(i), pedestrian.getVelocity());
+				i++;
+			}
+		} finally {
+			stageEquations.shutdown();
+			topographyEquations.shutdown();
+		}
+	}
+
+	private Topography createTopography() {
+		Topography topography = new Topography();
+		topography.addObstacle(new Obstacle(new AttributesObstacle(1, new VRectangle(4, 4, 1, 2))));
+
+		Random random = new Random(SEED);
+		for (int i = 0; i < NUMBER_OF_PEDESTRIANS; i++) {
+			Pedestrian pedestrian = new Pedestrian(new AttributesAgent(i + 2), random);
+			pedestrian.setPosition(new VPoint(0.5 + 3 * random.nextDouble(), 0.5 + 9 * random.nextDouble()));
+			pedestrian.setVelocity(new Vector2D(random.nextDouble(), random.nextDouble() - 0.5));
+			LinkedList<Integer> targets = new LinkedList<>();
+			targets.add(100);
+			pedestrian.setTargets(targets);
+			topography.addElement(pedestrian);
+		}
+		return topography;
+	}
+
+	private void initialize(final AbstractModelEquations<Pedestrian> equations, final Topography topography,
+	                        final List<Attributes> attributesList, final PotentialFieldObstacle obstacleField,
+	                        final PotentialFieldAgent pedestrianField) {
+		Domain domain = new Domain(topography);
+		obstacleField.initialize(attributesList, domain, new AttributesAgent(), new Random(SEED));
+		pedestrianField.initialize(attributesList, domain, new AttributesAgent(), new Random(SEED));
+		equations.setGradients(targetGradient, obstacleField, pedestrianField, topography);
+		equations.setElements(topography.getElements(Pedestrian.class));
+	}
+
+	/**
+	 * Returns the state vector of the pedestrians in which each pedestrian is moved a bit such that it
+	 * differs from the positions in the topography.
+	 */
+	private double[] createState(final AbstractModelEquations<Pedestrian> equations, final Topography topography) {
+		Random random = new Random(SEED + 1);
+		double[] y = new double[equations.getDimension()];
+		double[] position = new double[2];
+		double[] velocity = new double[2];
+		for (Pedestrian pedestrian : topography.getElements(Pedestrian.class)) {
+			int counter = equations.ID2Counter(pedestrian.getId());
+			position[0] = pedestrian.getPosition().x + 0.2 * (random.nextDouble() - 0.5);
+			position[1] = pedestrian.getPosition().y + 0.2 * (random.nextDouble() - 0.5);
+			velocity[0] = pedestrian.getVelocity().x;
+			velocity[1] = pedestrian.getVelocity().y;
+			equations.setPosition(counter, y, position);
+			equations.setVelocity(counter, y, velocity);
+		}
+		return y;
+	}
+}
@@ -0,0 +1,118 @@
+package org.vadere.simulator.models.osm.optimization;
+
+import org.junit.Test;
+import org.vadere.simulator.models.SpeedAdjuster;
+import org.vadere.simulator.models.osm.PedestrianOSM;
+import org.vadere.simulator.models.potential.PotentialFieldObstacleCompactSoftshell;
+import org.vadere.simulator.models.potential.PotentialFieldPedestrianCompactSoftshell;
+import org.vadere.simulator.models.potential.fields.IPotentialFieldTargetGrid;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.state.attributes.Attributes;
+import org.vadere.state.attributes.models.AttributesFloorField;
+import org.vadere.state.attributes.models.AttributesOSM;
+import org.vadere.state.attributes.models.AttributesPotentialCompactSoftshell;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.attributes.scenario.AttributesObstacle;
+import org.vadere.state.attributes.scenario.AttributesTarget;
+import org.vadere.state.scenario.Obstacle;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.Topography;
+import org.vadere.state.util.StateJsonConverter;
+import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class StepCircleOptimizerDiscreteTest {
+
+	private static final int SEED = 1;
+	private static final int NUMBER_OF_STEPS = 20;
+	private static final double STEP_SIZE = 0.6;
+
+	@Test
+	public void testBufferedSearchEqualsListBasedSearch() throws IOException {
+		assertSameTrajectory(StateJsonConverter.deserializeObjectFromJson(
+				"{ \"stepCircleResolution\" : 18, \"numberOfCircles\" : 2 }", AttributesOSM.class));
+	}
+
+	@Test
+	public void testBufferedSearchEqualsListBasedSearchWithSmallWalls() throws IOException {
+		assertSameTrajectory(StateJsonConverter.deserializeObjectFromJson(
+				"{ \"stepCircleResolution\" : 18, \"numberOfCircles\" : 2, \"seeSmallWalls\" : true }", AttributesOSM.class));
+	}
+
+	/**
+	 * Walks a pedestrian past a thin wall towards its target. In each step the position chosen from the
+	 * per-thread candidate buffer has to be the one chosen from the list of candidates drawn with the same seed.
+	 */
+	private void assertSameTrajectory(final AttributesOSM attributesOSM) {
+		Topography topography = createTopography();
+		PedestrianOSM pedestrian = createPedestrian(attributesOSM, topography, new VPoint(1.5, 5));
+
+		StepCircleOptimizerDiscrete optimizer = new StepCircleOptimizerDiscrete(attributesOSM.getMovementThreshold(), new Random(SEED));
+		Random listRandom = new Random(SEED);
+		VPoint startPosition = pedestrian.getPosition();
+
+		for (int i = 0; i < NUMBER_OF_STEPS; i++) {
+			VCircle reachableArea = new VCircle(pedestrian.getPosition(), STEP_SIZE);
+			List<VPoint> positions = StepCircleOptimizerDiscrete.getReachablePositions(pedestrian, reachableArea, listRandom);
+
+			VPoint expected = optimizer.getNextPosition(pedestrian, positions, STEP_SIZE);
+			VPoint actual = optimizer.getNextPosition(pedestrian, reachableArea);
+
+			assertEquals(expected, actual);
+			pedestrian.setPosition(actual);
+		}
+
+		assertNotEquals(startPosition, pedestrian.getPosition());
+	}
+
+	private Topography createTopography() {
+		Topography topography = new Topography();
+
+		Target target = new Target(new AttributesTarget());
+		target.setShape(new VCircle(new VPoint(8.5, 5), 0.5));
+		target.getAttributes().setId(1);
+		topography.addTarget(target);
+
+		// thin enough to be stepped over without the small wall check
+		topography.addObstacle(new Obstacle(new AttributesObstacle(2, new VRectangle(4, 4.6, 0.05, 0.8))));
+		return topography;
+	}
+
+	private PedestrianOSM createPedestrian(final AttributesOSM attributesOSM, final Topography topography, final VPoint position) {
+		List<Attributes> attributesList = new ArrayList<>();
+		attributesList.add(new AttributesFloorField());
+		attributesList.add(new AttributesPotentialCompactSoftshell());
+		Domain domain = new Domain(topography);
+		AttributesAgent attributesAgent = new AttributesAgent();
+
+		IPotentialFieldTargetGrid potentialFieldTarget = IPotentialFieldTargetGrid.createPotentialField(attributesList,
+				domain, attributesAgent, attributesOSM.getTargetPotentialModel());
+		potentialFieldTarget.preLoop(0);
+
+		PotentialFieldObstacleCompactSoftshell potentialFieldObstacle = new PotentialFieldObstacleCompactSoftshell();
+		potentialFieldObstacle.initialize(attributesList, domain, attributesAgent, new Random(SEED));
+		PotentialFieldPedestrianCompactSoftshell potentialFieldPedestrian = new PotentialFieldPedestrianCompactSoftshell();
+		potentialFieldPedestrian.initialize(attributesList, domain, attributesAgent, new Random(SEED));
+
+		List<SpeedAdjuster> noSpeedAdjusters = new ArrayList<>();
+		PedestrianOSM pedestrian = new PedestrianOSM(attributesOSM, new AttributesAgent(1), topography, new Random(SEED),
+				potentialFieldTarget, potentialFieldObstacle, potentialFieldPedestrian, noSpeedAdjusters, null);
+
+		pedestrian.setPosition(position);
+		LinkedList<Integer> targets = new LinkedList<>();
+		targets.add(1);
+		pedestrian.setTargets(targets);
+		topography.addElement(pedestrian);
+		return pedestrian;
+	}
+}
@@ -0,0 +1,60 @@
+package org.vadere.simulator.models.potential.fields;
+
+import org.junit.Test;
+import org.vadere.state.attributes.models.AttributesFloorField;
+import org.vadere.util.geometry.GeometryUtils;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PotentialFieldDistanceTransformTest {
+
+	private static final double EPSILON = 1e-9;
+
+	/**
+	 * Compares the distances at the grid points to the brute force distance of {@link ObstacleDistanceGridBuilder}.
+	 * The obstacles are rasterized, therefore the distances deviate by at most half of the diagonal of a cell
+	 * outside and half of the resolution inside of the obstacles.
+	 */
+	@Test
+	public void testDistancesEqualBruteForceWithinResolution() {
+		List<VShape> obstacles = new ArrayList<>();
+		obstacles.add(new VRectangle(1.23, 2.07, 2.5, 1.3));
+		// thinner than a cell
+		obstacles.add(new VRectangle(6.05, 6.55, 0.04, 2.0));
+		obstacles.add(GeometryUtils.toPolygon(new VPoint(5.0, 1.0), new VPoint(8.7, 1.6), new VPoint(6.2, 4.3)));
+
+		VRectangle bounds = new VRectangle(0, 0, 10, 10);
+		AttributesFloorField attributesFloorField = new AttributesFloorField();
+		double resolution = attributesFloorField.getPotentialFieldResolution();
+		PotentialFieldDistanceTransform distanceTransform = new PotentialFieldDistanceTransform(obstacles, bounds, attributesFloorField);
+
+		int numberOfInsidePoints = 0;
+		int numberOfOutsidePoints = 0;
+		int numPoints = (int) Math.floor(bounds.getWidth() / resolution + 0.001) + 1;
+		for (int row = 0; row < numPoints; row++) {
+			for (int col = 0; col < numPoints; col++) {
+				VPoint point = new VPoint(bounds.getMinX() + col * resolution, bounds.getMinY() + row * resolution);
+				double expected = ObstacleDistanceGridBuilder.bruteForceDistance(obstacles, point);
+				double actual = distanceTransform.getPotential(point, null);
+
+				if (expected < 0) {
+					numberOfInsidePoints++;
+					assertEquals(point.toString(), expected, actual, resolution / 2 + EPSILON);
+				} else {
+					numberOfOutsidePoints++;
+					assertEquals(point.toString(), expected, actual, resolution * Math.sqrt(2) / 2 + EPSILON);
+				}
+			}
+		}
+
+		assertTrue(numberOfInsidePoints > 0);
+		assertTrue(numberOfOutsidePoints > 0);
+	}
+}
@@ -0,0 +1,83 @@
+package org.vadere.simulator.models.potential.fields;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.state.attributes.models.AttributesFloorField;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.attributes.scenario.AttributesObstacle;
+import org.vadere.state.attributes.scenario.AttributesTarget;
+import org.vadere.state.scenario.Obstacle;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class PotentialFieldTargetGridTest {
+
+	private Topography topography;
+
+	@Before
+	public void setUp() {
+		topography = new Topography();
+		topography.addObstacle(new Obstacle(new AttributesObstacle(10, new VRectangle(4, 2, 1, 6))));
+		topography.addTarget(new Target(new AttributesTarget(new VRectangle(0.5, 0.5, 1, 1), 1, true)));
+		topography.addTarget(new Target(new AttributesTarget(new VRectangle(8.5, 0.5, 1, 1), 2, true)));
+		topography.addTarget(new Target(new AttributesTarget(new VRectangle(8.5, 8.5, 1, 1), 3, true)));
+		// a second target with the same id shares the potential field
+		topography.addTarget(new Target(new AttributesTarget(new VRectangle(0.5, 8.5, 1, 1), 3, true)));
+	}
+
+	private Map<Integer, CellGrid> solve(final boolean solveTargetsInParallel) {
+		AttributesFloorField attributesFloorField = new AttributesFloorField();
+		attributesFloorField.setSolveTargetsInParallel(solveTargetsInParallel);
+		PotentialFieldTargetGrid potentialField = new PotentialFieldTargetGrid(new Domain(topography), new AttributesAgent(), attributesFloorField);
+		potentialField.preLoop(0.0);
+		potentialField.postLoop(0.0);
+		return potentialField.getCellGrids();
+	}
+
+	@Test
+	public void testParallelSolutionEqualsSequentialSolution() {
+		Map<Integer, CellGrid> expected = solve(false);
+		Map<Integer, CellGrid> actual = solve(true);
+
+		assertThat(actual.keySet(), equalTo(expected.keySet()));
+		assertThat(expected.size(), equalTo(3));
+		for (Integer targetId : expected.keySet()) {
+			CellGrid expectedGrid = expected.get(targetId);
+			CellGrid actualGrid = actual.get(targetId);
+			for (int x = 0; x < expectedGrid.getNumPointsX(); x++) {
+				for (int y = 0; y < expectedGrid.getNumPointsY(); y++) {
+					assertThat(actualGrid.getPotential(x, y), equalTo(expectedGrid.getPotential(x, y)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testParallelUpdateOfSingleTargetGridOnlySolvesItsTarget() {
+		// a moving target is replaced by a new solver in each update
+		topography.addTarget(new Target(new AttributesTarget(new VRectangle(6.5, 4.5, 1, 1), 4, true)) {
+			@Override
+			public boolean isMovingTarget() {
+				return true;
+			}
+		});
+
+		AttributesFloorField attributesFloorField = new AttributesFloorField();
+		attributesFloorField.setSolveTargetsInParallel(true);
+		PotentialFieldSingleTargetGrid potentialField = new PotentialFieldSingleTargetGrid(new Domain(topography), new AttributesAgent(), attributesFloorField, 2);
+		potentialField.preLoop(0.0);
+		potentialField.update(1.0);
+		potentialField.postLoop(1.0);
+
+		assertThat(potentialField.getCellGrids().keySet(), equalTo(Collections.singleton(2)));
+	}
+}
@@ -0,0 +1,161 @@
+package org.vadere.simulator.projects.dataprocessing.outputfile;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
+import org.vadere.simulator.projects.dataprocessing.processor.DataProcessor;
+import org.vadere.simulator.projects.dataprocessing.processor.FootStepProcessor;
+import org.vadere.simulator.projects.dataprocessing.processor.FootStepTargetIDProcessor;
+import org.vadere.simulator.projects.dataprocessing.writer.VadereStringWriter;
+import org.vadere.simulator.projects.dataprocessing.writer.VadereWriter;
+import org.vadere.simulator.projects.dataprocessing.writer.VadereWriterFactory;
+import org.vadere.simulator.projects.io.IOOutput;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.simulation.FootStep;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.io.ColumnarTableReader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import tech.tablesaw.api.Row;
+import tech.tablesaw.api.Table;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EventtimePedestrianIdBinaryOutputFileTest {
+
+	private static final int NUMBER_OF_STEPS = 10;
+	private static final int NUMBER_OF_PEDESTRIANS = 3;
+	private static final double STEP_LENGTH = 0.4;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private List<SimulationState> states;
+
+	private static class RecordingWriterFactory extends VadereWriterFactory {
+		private VadereStringWriter writer;
+
+		@Override
+		public VadereWriter create(String path) {
+			writer = new VadereStringWriter();
+			return writer;
+		}
+	}
+
+	@Before
+	public void setUp() {
+		states = new ArrayList<>();
+		for (int step = 1; step <= NUMBER_OF_STEPS; step++) {
+			List<Pedestrian> pedestrians = new ArrayList<>();
+			for (int id = NUMBER_OF_PEDESTRIANS; id > 0 && step <= 3 * id; id--) {
+				Pedestrian pedestrian = new Pedestrian(new AttributesAgent(id), new Random(0));
+				double startTime = (step - 1) * STEP_LENGTH + 0.1;
+				pedestrian.getTrajectory().add(new FootStep(new VPoint(step + 0.25, id + 0.5),
+						new VPoint(step + 1.25, id + 0.5), startTime, startTime + STEP_LENGTH));
+				pedestrians.add(pedestrian);
+			}
+			SimulationState state = mock(SimulationState.class, Mockito.RETURNS_DEEP_STUBS);
+			when(state.getStep()).thenReturn(step);
+			when(state.getSimTimeInSec()).thenReturn(step * STEP_LENGTH);
+			when(state.getScenarioStore().getAttributesSimulation().getSimTimeStepLength()).thenReturn(STEP_LENGTH);
+			when(state.getTopography().getElements(Pedestrian.class)).thenReturn(pedestrians);
+			states.add(state);
+		}
+	}
+
+	private static List<DataProcessor<?, ?>> createProcessors() {
+		DataProcessor<?, ?> footStepProcessor = new FootStepProcessor();
+		footStepProcessor.setId(1);
+		DataProcessor<?, ?> targetIdProcessor = new FootStepTargetIDProcessor();
+		targetIdProcessor.setId(2);
+		return Arrays.asList(footStepProcessor, targetIdProcessor);
+	}
+
+	private void run(final OutputFile<?> outputFile) {
+		outputFile.setRelativeFileName("postvis.traj");
+		outputFile.setSeparator(" ");
+		outputFile.setProcessorIds(Arrays.asList(1, 2));
+
+		ProcessorManager manager = new ProcessorManager(createProcessors(), List.of(outputFile), null, null);
+		manager.initOutputFiles();
+		manager.preLoop(states.get(0));
+		for (SimulationState state : states) {
+			manager.update(state);
+		}
+		manager.postLoop(states.get(states.size() - 1));
+		manager.writeOutput();
+	}
+
+	private Path writeTextFile() throws IOException {
+		RecordingWriterFactory writerFactory = new RecordingWriterFactory();
+		OutputFile<?> textFile = new EventtimePedestrianIdOutputFile();
+		textFile.setVadereWriterFactory(writerFactory);
+		run(textFile);
+		Path textFilePath = folder.getRoot().toPath().resolve("text.traj");
+		Files.write(textFilePath, writerFactory.writer.getOutput());
+		return textFilePath;
+	}
+
+	private Path writeBinaryFile(final boolean isStreamOutput) {
+		Path binaryFilePath = folder.getRoot().toPath().resolve("binary" + isStreamOutput + ".traj");
+		OutputFile<?> binaryFile = new EventtimePedestrianIdBinaryOutputFile();
+		binaryFile.setAbsoluteFileName(binaryFilePath.toString());
+		binaryFile.setStreamOutput(isStreamOutput);
+		run(binaryFile);
+		return binaryFilePath;
+	}
+
+	private static List<List<Object>> toLists(final Table table) {
+		List<List<Object>> rows = new ArrayList<>();
+		for (Row row : table) {
+			List<Object> values = new ArrayList<>();
+			for (int col = 0; col < table.columnCount(); col++) {
+				values.add(row.getObject(col));
+			}
+			rows.add(values);
+		}
+		return rows;
+	}
+
+	@Test
+	public void testBinaryFileEqualsTextFile() throws IOException {
+		Table expected = IOOutput.readTrajectories(writeTextFile());
+		assertThat(expected.rowCount(), equalTo(18));
+		for (boolean isStreamOutput : new boolean[]{false, true}) {
+			Path binaryFilePath = writeBinaryFile(isStreamOutput);
+			assertTrue(ColumnarTableReader.isColumnarTable(binaryFilePath));
+
+			Table actual = IOOutput.readTrajectories(binaryFilePath);
+			assertThat(actual.columnNames(), equalTo(expected.columnNames()));
+			for (int col = 0; col < expected.columnCount(); col++) {
+				assertThat(actual.column(col).type(), equalTo(expected.column(col).type()));
+			}
+			assertThat(toLists(actual), equalTo(toLists(expected)));
+		}
+	}
+
+	@Test
+	public void testHeaderContainsDataKeysAndProcessorColumns() throws IOException {
+		try (ColumnarTableReader reader = ColumnarTableReader.open(writeBinaryFile(false))) {
+			assertThat(reader.getIndexColumnCount(), equalTo(2));
+			assertThat(reader.getColumnNames(), equalTo(new String[]{"pedestrianId", "simTime",
+					"endTime-PID1", "startX-PID1", "startY-PID1", "endX-PID1", "endY-PID1", "targetId-PID2"}));
+		}
+	}
+}
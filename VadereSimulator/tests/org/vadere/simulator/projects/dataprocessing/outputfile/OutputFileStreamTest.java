@@ -0,0 +1,151 @@
+package org.vadere.simulator.projects.dataprocessing.outputfile;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
+import org.vadere.simulator.projects.dataprocessing.processor.DataProcessor;
+import org.vadere.simulator.projects.dataprocessing.processor.PedestrianPositionProcessor;
+import org.vadere.simulator.projects.dataprocessing.processor.PedestrianStateProcessor;
+import org.vadere.simulator.projects.dataprocessing.writer.VadereStringWriter;
+import org.vadere.simulator.projects.dataprocessing.writer.VadereWriter;
+import org.vadere.simulator.projects.dataprocessing.writer.VadereWriterFactory;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OutputFileStreamTest {
+
+	private static final int NUMBER_OF_STEPS = 10;
+	private static final int NUMBER_OF_PEDESTRIANS = 3;
+
+	private List<SimulationState> states;
+
+	private static class RecordingWriterFactory extends VadereWriterFactory {
+		private VadereStringWriter writer;
+
+		@Override
+		public VadereWriter create(String path) {
+			writer = new VadereStringWriter();
+			return writer;
+		}
+	}
+
+	@Before
+	public void setUp() {
+		states = new ArrayList<>();
+		for (int step = 1; step <= NUMBER_OF_STEPS; step++) {
+			List<Pedestrian> pedestrians = new ArrayList<>();
+			// pedestrians leave the simulation such that some rows are missing
+			for (int id = NUMBER_OF_PEDESTRIANS; id > 0 && step <= 3 * id; id--) {
+				Pedestrian pedestrian = new Pedestrian(new AttributesAgent(id), new Random(0));
+				pedestrian.setPosition(new VPoint(step * 0.4, id));
+				pedestrians.add(pedestrian);
+			}
+			SimulationState state = mock(SimulationState.class, Mockito.RETURNS_DEEP_STUBS);
+			when(state.getStep()).thenReturn(step);
+			when(state.getSimTimeInSec()).thenReturn(step * 0.4);
+			when(state.getTopography().getElements(Pedestrian.class)).thenReturn(pedestrians);
+			states.add(state);
+		}
+	}
+
+	private static OutputFile<?> createOutputFile(final RecordingWriterFactory writerFactory, final boolean isStreamOutput, final Integer... processorIds) {
+		OutputFile<?> outputFile = new TimestepPedestrianIdOutputFile();
+		outputFile.setRelativeFileName("out.txt");
+		outputFile.setAbsoluteFileName("out.txt");
+		outputFile.setSeparator(" ");
+		outputFile.setProcessorIds(Arrays.asList(processorIds));
+		outputFile.setWriteMetaData(true);
+		outputFile.setStreamOutput(isStreamOutput);
+		outputFile.setVadereWriterFactory(writerFactory);
+		return outputFile;
+	}
+
+	private static DataProcessor<?, ?> createPositionProcessor() {
+		DataProcessor<?, ?> processor = new PedestrianPositionProcessor();
+		processor.setId(1);
+		return processor;
+	}
+
+	private List<String> run(final ProcessorManager manager, final RecordingWriterFactory writerFactory) {
+		manager.initOutputFiles();
+		manager.preLoop(states.get(0));
+		for (SimulationState state : states) {
+			manager.update(state);
+		}
+		manager.postLoop(states.get(states.size() - 1));
+		manager.writeOutput();
+		return writerFactory.writer.getOutput();
+	}
+
+	@Test
+	public void testStreamedOutputEqualsBufferedOutput() {
+		RecordingWriterFactory bufferedWriterFactory = new RecordingWriterFactory();
+		ProcessorManager buffered = new ProcessorManager(Collections.singletonList(createPositionProcessor()),
+				Collections.singletonList(createOutputFile(bufferedWriterFactory, false, 1)), null, null);
+
+		RecordingWriterFactory streamedWriterFactory = new RecordingWriterFactory();
+		ProcessorManager streamed = new ProcessorManager(Collections.singletonList(createPositionProcessor()),
+				Collections.singletonList(createOutputFile(streamedWriterFactory, true, 1)), null, null);
+
+		List<String> expected = run(buffered, bufferedWriterFactory);
+		assertThat(expected.size(), equalTo(2 + 18));
+		assertThat(run(streamed, streamedWriterFactory), equalTo(expected));
+	}
+
+	@Test
+	public void testStreamedKeysAreRemoved() {
+		DataProcessor<?, ?> processor = createPositionProcessor();
+		OutputFile<?> outputFile = createOutputFile(new RecordingWriterFactory(), true, 1);
+		ProcessorManager manager = new ProcessorManager(Collections.singletonList(processor), Collections.singletonList(outputFile), null, null);
+		manager.initOutputFiles();
+		assertTrue(outputFile.isStreaming());
+
+		manager.preLoop(states.get(0));
+		for (SimulationState state : states) {
+			manager.update(state);
+			// only the rows of the current time step are not written yet
+			assertThat(processor.getKeys().size(), equalTo(state.getTopography().getElements(Pedestrian.class).size()));
+		}
+		manager.writeOutput();
+	}
+
+	@Test
+	public void testReferencedProcessorsKeepTheirData() {
+		DataProcessor<?, ?> processor = createPositionProcessor();
+		RecordingWriterFactory writerFactory = new RecordingWriterFactory();
+		ProcessorManager manager = new ProcessorManager(Collections.singletonList(processor),
+				Collections.singletonList(createOutputFile(writerFactory, true, 1)), null, null);
+		manager.getProcessor(1);
+
+		run(manager, writerFactory);
+		assertThat(processor.getKeys().size(), equalTo(18));
+	}
+
+	@Test
+	public void testFilesWithNonStreamableProcessorsAreWrittenAtTheEnd() {
+		DataProcessor<?, ?> stateProcessor = new PedestrianStateProcessor();
+		stateProcessor.setId(2);
+		OutputFile<?> outputFile = createOutputFile(new RecordingWriterFactory(), true, 1, 2);
+		ProcessorManager manager = new ProcessorManager(Arrays.asList(createPositionProcessor(), stateProcessor),
+				Collections.singletonList(outputFile), null, null);
+		manager.initOutputFiles();
+
+		assertFalse(outputFile.isStreaming());
+	}
+}
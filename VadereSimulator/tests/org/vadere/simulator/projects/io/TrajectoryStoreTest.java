@@ -0,0 +1,152 @@
+package org.vadere.simulator.projects.io;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import tech.tablesaw.api.Row;
+import tech.tablesaw.api.Table;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TrajectoryStoreTest {
+
+	private static final String HEADER = "pedestrianId simTime endTime-PID1 startX-PID1 startY-PID1 endX-PID1 endY-PID1 selfCategory-PID2";
+	private static final int NUMBER_OF_AGENTS = 20;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path trajectoryFilePath;
+
+	@Before
+	public void setUp() throws IOException {
+		Random random = new Random(0);
+		List<String> lines = new ArrayList<>();
+		for(int pedId = 1; pedId <= NUMBER_OF_AGENTS; pedId++) {
+			double time = random.nextInt(10) * 0.4;
+			int numberOfSteps = 1 + random.nextInt(30);
+			for(int step = 0; step < numberOfSteps; step++) {
+				double duration = random.nextDouble();
+				String selfCategory = random.nextBoolean() ? "TARGET_ORIENTED" : "COOPERATIVE";
+				lines.add(pedId + " " + time + " " + (time + duration) + " " + (lines.size() + 0.5) + " 0.5 " + (lines.size() + 0.5) + " " + random.nextDouble() + " " + selfCategory);
+				time += duration;
+			}
+		}
+		// footsteps which are not sorted by their start time have to be sorted by the store
+		Collections.shuffle(lines, random);
+		lines.add(0, HEADER);
+		trajectoryFilePath = folder.getRoot().toPath().resolve("postvis.traj");
+		Files.write(trajectoryFilePath, lines);
+	}
+
+	private static List<String> toStrings(final Table table) {
+		List<String> rows = new ArrayList<>();
+		for(Row row : table) {
+			StringBuilder builder = new StringBuilder();
+			for(int col = 0; col < table.columnCount(); col++) {
+				builder.append(row.getObject(col)).append(' ');
+			}
+			rows.add(builder.toString());
+		}
+		return rows;
+	}
+
+	@Test
+	public void testStoreContainsAllFootStepsSortedByStartTime() throws IOException {
+		Table expected = IOOutput.readTrajectories(trajectoryFilePath);
+		try (TrajectoryStore store = TrajectoryStore.open(trajectoryFilePath)) {
+			assertThat(store.getRowCount(), equalTo(expected.rowCount()));
+			int[] rows = new int[store.getRowCount()];
+			for(int row = 0; row < rows.length; row++) {
+				rows[row] = row;
+				if(row > 0) {
+					assertTrue(store.getStartTime(row - 1) <= store.getStartTime(row));
+				}
+			}
+			Table actual = store.getRows(rows);
+			assertThat(actual.columnNames(), equalTo(expected.columnNames()));
+			List<String> expectedRows = toStrings(expected);
+			List<String> actualRows = toStrings(actual);
+			Collections.sort(expectedRows);
+			Collections.sort(actualRows);
+			assertThat(actualRows, equalTo(expectedRows));
+		}
+	}
+
+	@Test
+	public void testGetRowsOfTimeWindow() throws IOException {
+		Table table = IOOutput.readTrajectories(trajectoryFilePath);
+		try (TrajectoryStore store = TrajectoryStore.open(trajectoryFilePath)) {
+			for(double startTime = -1.0; startTime < 30.0; startTime += 0.7) {
+				double endTime = startTime + 1.3;
+				Table expected = table.where(table.doubleColumn(1).isLessThanOrEqualTo(endTime).and(table.doubleColumn(2).isGreaterThanOrEqualTo(startTime)));
+				Table actual = store.getRows(store.getRows(startTime, endTime));
+				List<String> expectedRows = toStrings(expected);
+				List<String> actualRows = toStrings(actual);
+				Collections.sort(expectedRows);
+				Collections.sort(actualRows);
+				assertThat(actualRows, equalTo(expectedRows));
+			}
+		}
+	}
+
+	@Test
+	public void testAgents() throws IOException {
+		Table table = IOOutput.readTrajectories(trajectoryFilePath);
+		try (TrajectoryStore store = TrajectoryStore.open(trajectoryFilePath)) {
+			assertThat(store.getNumberOfAgents(), equalTo(NUMBER_OF_AGENTS));
+			for(int agent = 0; agent < store.getNumberOfAgents(); agent++) {
+				int pedId = store.getAgentPedId(agent);
+				assertThat(pedId, equalTo(agent + 1));
+				Table footSteps = table.where(table.intColumn(0).isEqualTo(pedId));
+				assertThat(store.getAgentBirthTime(agent), equalTo(footSteps.doubleColumn(1).min()));
+				assertThat(store.getAgentDeathTime(agent), equalTo(footSteps.doubleColumn(2).max()));
+
+				double birthTime = store.getAgentBirthTime(agent);
+				assertThat(store.getLastRow(agent, birthTime - 0.1), equalTo(-1));
+				int lastRow = store.getLastRow(agent, birthTime + 1.0);
+				IntArrayList candidates = new IntArrayList();
+				for(int row = 0; row < store.getRowCount(); row++) {
+					if(store.getPedId(row) == pedId && store.getStartTime(row) <= birthTime + 1.0) {
+						candidates.add(row);
+					}
+				}
+				assertThat(lastRow, equalTo(candidates.getInt(candidates.size() - 1)));
+			}
+		}
+	}
+
+	@Test
+	public void testIndexIsReusedUntilTheTrajectoryFileChanges() throws IOException {
+		TrajectoryStore.open(trajectoryFilePath).close();
+		Path indexFilePath = TrajectoryStore.getIndexFilePath(trajectoryFilePath);
+		assertTrue(Files.exists(indexFilePath));
+
+		FileTime indexModified = FileTime.fromMillis(0);
+		Files.setLastModifiedTime(indexFilePath, indexModified);
+		TrajectoryStore.open(trajectoryFilePath).close();
+		assertThat(Files.getLastModifiedTime(indexFilePath), equalTo(indexModified));
+
+		List<String> lines = Files.readAllLines(trajectoryFilePath);
+		Files.write(trajectoryFilePath, lines.subList(0, 11));
+		try (TrajectoryStore store = TrajectoryStore.open(trajectoryFilePath)) {
+			assertFalse(Files.getLastModifiedTime(indexFilePath).equals(indexModified));
+			assertThat(store.getRowCount(), equalTo(10));
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package org.vadere.simulator.utils.cache;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.FlatCellGrid;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class CellGridMappedCacheObjectTest {
+
+	private static final String HASH = "0123456789abcdef";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private FlatCellGrid cellGrid;
+	private File file;
+
+	@Before
+	public void setUp() throws IOException {
+		Random rnd = new Random(0);
+		cellGrid = new FlatCellGrid(5.0, 3.0, 0.1, new CellState(), 1.0, 2.0);
+		for (int row = 0; row < cellGrid.getNumPointsY(); row++) {
+			for (int col = 0; col < cellGrid.getNumPointsX(); col++) {
+				cellGrid.setPotential(col, row, rnd.nextDouble());
+				cellGrid.setTag(col, row, PathFindingTag.values()[rnd.nextInt(PathFindingTag.values().length)]);
+			}
+		}
+		file = new File(temporaryFolder.getRoot(), "cache/" + HASH + "_targetFF_1.mffcache");
+		new CellGridMappedCacheObject("_targetFF_1", file, HASH).persistObject(cellGrid);
+	}
+
+	private static FlatCellGrid emptyGrid() {
+		return new FlatCellGrid(5.0, 3.0, 0.1, new CellState(), 1.0, 2.0);
+	}
+
+	private void assertSameValues(CellGrid expected, CellGrid actual) {
+		for (int row = 0; row < expected.getNumPointsY(); row++) {
+			for (int col = 0; col < expected.getNumPointsX(); col++) {
+				assertThat(actual.getPotential(col, row), equalTo(expected.getPotential(col, row)));
+				assertThat(actual.getTag(col, row), equalTo(expected.getTag(col, row)));
+			}
+		}
+	}
+
+	@Test
+	public void testMappedValues() {
+		CellGridMappedCacheObject cacheObject = new CellGridMappedCacheObject("_targetFF_1", file, HASH);
+		assertThat(cacheObject.readable(), equalTo(true));
+
+		FlatCellGrid mapped = emptyGrid();
+		cacheObject.initializeObjectFromCache(mapped);
+		assertThat(mapped.isShared(), equalTo(true));
+		assertSameValues(cellGrid, mapped);
+
+		// modifications are not written to the file
+		mapped.setPotential(3, 4, -1.0);
+		assertThat(mapped.isShared(), equalTo(false));
+		FlatCellGrid mappedAgain = emptyGrid();
+		cacheObject.initializeObjectFromCache(mappedAgain);
+		assertSameValues(cellGrid, mappedAgain);
+
+		CellGrid objectGrid = new CellGrid(5.0, 3.0, 0.1, new CellState(), 1.0, 2.0);
+		cacheObject.initializeObjectFromCache(objectGrid);
+		assertSameValues(cellGrid, objectGrid);
+	}
+
+	@Test
+	public void testStaleCacheIsRejected() throws IOException {
+		assertThat(new CellGridMappedCacheObject("_targetFF_1", file, "otherHash").readable(), equalTo(false));
+
+		byte[] content = Files.readAllBytes(file.toPath());
+		File truncated = temporaryFolder.newFile("truncated.mffcache");
+		Files.write(truncated.toPath(), Arrays.copyOf(content, content.length - 1));
+		assertThat(new CellGridMappedCacheObject("_targetFF_1", truncated, HASH).readable(), equalTo(false));
+
+		File noCache = temporaryFolder.newFile("noCache.mffcache");
+		Files.write(noCache.toPath(), new byte[100]);
+		assertThat(new CellGridMappedCacheObject("_targetFF_1", noCache, HASH).readable(), equalTo(false));
+	}
+
+	@Test(expected = CacheException.class)
+	public void testOtherGeometryIsRejected() {
+		new CellGridMappedCacheObject("_targetFF_1", file, HASH)
+				.initializeObjectFromCache(new FlatCellGrid(5.0, 3.0, 0.2, new CellState(), 1.0, 2.0));
+	}
+
+	@Test
+	public void testCacheFromStream() throws IOException {
+		ByteArrayInputStream stream = new ByteArrayInputStream(Files.readAllBytes(file.toPath()));
+		CellGridMappedCacheObject cacheObject = new CellGridMappedCacheObject("_targetFF_1", null, stream, HASH);
+		assertThat(cacheObject.readable(), equalTo(true));
+		assertThat(cacheObject.writable(), equalTo(false));
+
+		FlatCellGrid grid = emptyGrid();
+		cacheObject.initializeObjectFromCache(grid);
+		assertSameValues(cellGrid, grid);
+	}
+}
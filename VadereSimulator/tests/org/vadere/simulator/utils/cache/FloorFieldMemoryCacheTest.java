@@ -0,0 +1,107 @@
+package org.vadere.simulator.utils.cache;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.FlatCellGrid;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class FloorFieldMemoryCacheTest {
+
+	/** 11 x 11 grid points with 9 bytes each */
+	private static final long GRID_SIZE = 11 * 11 * 9;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private FloorFieldMemoryCache memoryCache;
+
+	@Before
+	public void setUp() {
+		memoryCache = new FloorFieldMemoryCache(2 * GRID_SIZE);
+	}
+
+	private static FlatCellGrid createGrid(double potential) {
+		return new FlatCellGrid(10.0, 10.0, 1.0, new CellState(potential, PathFindingTag.Reachable));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsRemoved() {
+		memoryCache.put("a", createGrid(1.0));
+		memoryCache.put("b", createGrid(2.0));
+		assertThat(memoryCache.getSizeInBytes(), equalTo(2 * GRID_SIZE));
+
+		// a is used more recently than b
+		assertThat(memoryCache.get("a"), notNullValue());
+		memoryCache.put("c", createGrid(3.0));
+
+		assertThat(memoryCache.getSizeInBytes(), equalTo(2 * GRID_SIZE));
+		assertThat(memoryCache.get("b"), nullValue());
+		assertThat(memoryCache.get("a").getPotential(0, 0), equalTo(1.0));
+		assertThat(memoryCache.get("c").getPotential(0, 0), equalTo(3.0));
+	}
+
+	@Test
+	public void testTooLargeGridIsNotCached() {
+		memoryCache.put("large", new FlatCellGrid(100.0, 100.0, 1.0, new CellState()));
+		assertThat(memoryCache.contains("large"), equalTo(false));
+		assertThat(memoryCache.getSizeInBytes(), equalTo(0L));
+	}
+
+	@Test
+	public void testCachedGridIsShared() {
+		FlatCellGrid original = createGrid(5.0);
+		memoryCache.put(FloorFieldMemoryCache.toKey("hash", "_targetFF_1"), original);
+		original.setPotential(0, 0, -1.0);
+
+		AbstractCellGridCacheObject cacheObject = new CellGridBinaryCacheObject("_targetFF_1", null, null)
+				.useMemoryCache(memoryCache, "hash");
+		assertThat(cacheObject.readable(), equalTo(true));
+		assertThat(cacheObject.writable(), equalTo(false));
+
+		FlatCellGrid first = createGrid(0.0);
+		FlatCellGrid second = createGrid(0.0);
+		cacheObject.initializeObjectFromCache(first);
+		cacheObject.initializeObjectFromCache(second);
+		assertThat(first.isShared(), equalTo(true));
+		assertThat(first.getPotential(0, 0), equalTo(5.0));
+
+		// copy on write
+		first.setPotential(0, 0, 42.0);
+		assertThat(first.isShared(), equalTo(false));
+		assertThat(second.getPotential(0, 0), equalTo(5.0));
+		assertThat(memoryCache.get(FloorFieldMemoryCache.toKey("hash", "_targetFF_1")).getPotential(0, 0), equalTo(5.0));
+
+		// grids with another structure get a copy
+		CellGrid cellGrid = new CellGrid(10.0, 10.0, 1.0, new CellState());
+		cacheObject.initializeObjectFromCache(cellGrid);
+		assertThat(cellGrid.getPotential(3, 3), equalTo(5.0));
+	}
+
+	@Test
+	public void testReadAndPersistedGridsAreCached() throws IOException {
+		File file = temporaryFolder.newFile("hash_targetFF_2.ffcache");
+		AbstractCellGridCacheObject cacheObject = new CellGridBinaryCacheObject("_targetFF_2", file)
+				.useMemoryCache(memoryCache, "hash");
+		cacheObject.persistObject(createGrid(7.0));
+		assertThat(memoryCache.get(FloorFieldMemoryCache.toKey("hash", "_targetFF_2")).getPotential(1, 1), equalTo(7.0));
+
+		memoryCache.clear();
+		cacheObject = new CellGridBinaryCacheObject("_targetFF_2", file).useMemoryCache(memoryCache, "hash");
+		FlatCellGrid grid = createGrid(0.0);
+		cacheObject.initializeObjectFromCache(grid);
+		assertThat(grid.getPotential(1, 1), equalTo(7.0));
+		assertThat(memoryCache.get(FloorFieldMemoryCache.toKey("hash", "_targetFF_2")).getPotential(1, 1), equalTo(7.0));
+	}
+}
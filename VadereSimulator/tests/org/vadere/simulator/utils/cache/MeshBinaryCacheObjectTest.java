@@ -0,0 +1,118 @@
+package org.vadere.simulator.utils.cache;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vadere.meshing.mesh.gen.AFace;
+import org.vadere.meshing.mesh.gen.AHalfEdge;
+import org.vadere.meshing.mesh.gen.AMesh;
+import org.vadere.meshing.mesh.gen.AVertex;
+import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
+import org.vadere.meshing.mesh.inter.IMesh;
+import org.vadere.meshing.mesh.inter.IPointLocator;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFMM;
+import org.vadere.simulator.models.potential.solver.timecost.UnitTimeCostFunction;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class MeshBinaryCacheObjectTest {
+
+	private static final String HASH = "0123456789abcdef";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private IIncrementalTriangulation<AVertex, AHalfEdge, AFace> triangulation;
+	private MeshEikonalSolverFMM<AVertex, AHalfEdge, AFace> solver;
+	private File file;
+
+	@Before
+	public void setUp() {
+		triangulation = createTriangulation(0);
+		solver = new MeshEikonalSolverFMM<>("1", new UnitTimeCostFunction(), Collections.singleton(new VPoint(0.5, 0.5)), triangulation);
+		solver.solve();
+		file = new File(temporaryFolder.getRoot(), "cache/" + HASH + "_targetFF_1.meshcache");
+		solver.saveFloorFieldToCache(new MeshBinaryCacheObject("_targetFF_1", file, HASH));
+	}
+
+	private static IIncrementalTriangulation<AVertex, AHalfEdge, AFace> createTriangulation(final long seed) {
+		Random rnd = new Random(seed);
+		List<VPoint> points = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			for (int j = 0; j < 10; j++) {
+				points.add(new VPoint(i + 0.3 * rnd.nextDouble(), j + 0.3 * rnd.nextDouble()));
+			}
+		}
+		IIncrementalTriangulation<AVertex, AHalfEdge, AFace> triangulation = IIncrementalTriangulation.createATriangulation(IPointLocator.Type.JUMP_AND_WALK, points);
+		triangulation.finish();
+		return triangulation;
+	}
+
+	@Test
+	public void testBuildMeshFromCache() {
+		AMesh mesh = new AMesh();
+		new MeshBinaryCacheObject("_targetFF_1", file, HASH).initializeObjectFromCache(mesh);
+
+		IMesh<AVertex, AHalfEdge, AFace> expected = triangulation.getMesh();
+		assertThat(mesh.getNumberOfVertices(), equalTo(expected.getNumberOfVertices()));
+		assertThat(mesh.getNumberOfFaces(), equalTo(expected.getNumberOfFaces()));
+		assertThat(mesh.getNumberOfEdges(), equalTo(expected.getNumberOfEdges()));
+		assertTrue(mesh.isValid());
+
+		List<AVertex> vertices = mesh.getVertices();
+		List<AVertex> expectedVertices = expected.getVertices();
+		for (int i = 0; i < vertices.size(); i++) {
+			assertThat(mesh.toPoint(vertices.get(i)), equalTo(expected.toPoint(expectedVertices.get(i))));
+			assertThat(mesh.getDoubleData(vertices.get(i), IMeshCacheObject.namePotential), equalTo(solver.getPotential(expectedVertices.get(i))));
+		}
+	}
+
+	@Test
+	public void testSolverLoadsCachedFloorField() {
+		IIncrementalTriangulation<AVertex, AHalfEdge, AFace> other = createTriangulation(0);
+		MeshEikonalSolverFMM<AVertex, AHalfEdge, AFace> cachedSolver =
+				new MeshEikonalSolverFMM<>("1", new UnitTimeCostFunction(), Collections.singleton(new VPoint(0.5, 0.5)), other);
+
+		assertTrue(cachedSolver.loadCachedFloorField(new MeshBinaryCacheObject("_targetFF_1", file, HASH)));
+
+		List<AVertex> vertices = other.getMesh().getVertices();
+		List<AVertex> expectedVertices = triangulation.getMesh().getVertices();
+		for (int i = 0; i < vertices.size(); i++) {
+			assertThat(cachedSolver.getPotential(vertices.get(i)), equalTo(solver.getPotential(expectedVertices.get(i))));
+		}
+		VPoint p = new VPoint(4.2, 6.7);
+		assertThat(cachedSolver.getPotential(p.getX(), p.getY()), equalTo(solver.getPotential(p.getX(), p.getY())));
+	}
+
+	@Test
+	public void testRejectOtherHash() {
+		MeshEikonalSolverFMM<AVertex, AHalfEdge, AFace> cachedSolver = new MeshEikonalSolverFMM<>(
+				"1", new UnitTimeCostFunction(), Collections.singleton(new VPoint(0.5, 0.5)), createTriangulation(0));
+
+		assertFalse(cachedSolver.loadCachedFloorField(new MeshBinaryCacheObject("_targetFF_1", file, "fedcba9876543210")));
+	}
+
+	@Test(expected = CacheException.class)
+	public void testRejectOtherMesh() {
+		IIncrementalTriangulation<AVertex, AHalfEdge, AFace> other = createTriangulation(1);
+		new MeshBinaryCacheObject("_targetFF_1", file, HASH).initializeObjectFromCache(other.getMesh());
+	}
+
+	@Test
+	public void testReadableAfterPersist() {
+		MeshBinaryCacheObject cacheObject = new MeshBinaryCacheObject("_targetFF_1", file, HASH);
+		assertTrue(cacheObject.readable());
+		assertTrue(cacheObject.writable());
+	}
+}
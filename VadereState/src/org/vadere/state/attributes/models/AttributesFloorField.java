@@ -6,6 +6,7 @@ import org.vadere.annotation.factories.attributes.ModelAttributeClass;
 import org.vadere.state.attributes.Attributes;
 import org.vadere.state.types.CacheType;
 import org.vadere.state.types.EikonalSolverType;
+import org.vadere.state.types.ObstacleDistanceType;
 import org.vadere.state.util.Views;
 
 @ModelAttributeClass
@@ -28,6 +29,12 @@ public class AttributesFloorField extends Attributes {
 	private double obstacleGridPenalty = 0.1;
 	private double targetAttractionStrength = 1.0;
 
+	/**
+	 * The method which computes the distance to the nearest obstacle at the grid points of the
+	 * obstacle distance field, which has the resolution {@link #potentialFieldResolution}.
+	 */
+	private ObstacleDistanceType obstacleDistanceType = ObstacleDistanceType.BRUTE_FORCE;
+
 	/**
 	 * If true, the floor field will be initialized based on a previously cached version. The
 	 * cached floor field will be search at {@link #cacheDir}. The file name of the cached floor
@@ -51,6 +58,15 @@ public class AttributesFloorField extends Attributes {
 	@JsonView(Views.CacheViewExclude.class)
 	private String cacheDir = "";
 
+	/**
+	 * If true, the floor fields of different targets are solved concurrently by a bounded thread pool,
+	 * at the start of the simulation and whenever dynamic floor fields are recomputed. This is only
+	 * supported if createMethod.isUsingCellGrid() == true since the mesh based solvers share the
+	 * floor field mesh. It does not change the floor fields, thus it does not invalidate caches.
+	 */
+	@JsonView(Views.CacheViewExclude.class)
+	private boolean solveTargetsInParallel = false;
+
 	private AttributesTimeCost timeCostAttributes;
 
 	public AttributesFloorField() {
@@ -74,6 +90,10 @@ public class AttributesFloorField extends Attributes {
 		return targetAttractionStrength;
 	}
 
+	public ObstacleDistanceType getObstacleDistanceType() {
+		return obstacleDistanceType;
+	}
+
 	public AttributesTimeCost getTimeCostAttributes() {
 		return timeCostAttributes;
 	}
@@ -86,6 +106,10 @@ public class AttributesFloorField extends Attributes {
 		return cacheDir;
 	}
 
+	public boolean isSolveTargetsInParallel() {
+		return solveTargetsInParallel;
+	}
+
 	public void setCreateMethod(EikonalSolverType createMethod) {
 		checkSealed();
 		this.createMethod = createMethod;
@@ -115,6 +139,11 @@ public class AttributesFloorField extends Attributes {
 	}
 
 
+	public void setObstacleDistanceType(ObstacleDistanceType obstacleDistanceType) {
+		checkSealed();
+		this.obstacleDistanceType = obstacleDistanceType;
+	}
+
 	public void setTimeCostAttributes(AttributesTimeCost timeCostAttributes) {
 		checkSealed();
 		this.timeCostAttributes = timeCostAttributes;
@@ -124,4 +153,9 @@ public class AttributesFloorField extends Attributes {
 		checkSealed();
 		this.cacheDir = cacheDir;
 	}
+
+	public void setSolveTargetsInParallel(boolean solveTargetsInParallel) {
+		checkSealed();
+		this.solveTargetsInParallel = solveTargetsInParallel;
+	}
 }
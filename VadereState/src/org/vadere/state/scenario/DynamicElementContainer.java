@@ -37,7 +37,7 @@ public class DynamicElementContainer<T extends DynamicElement> {
 		this.moveListener = new LinkedList<>();
 	}
 
-	public synchronized LinkedCellsGrid<T> getCellsElements() {
+	public LinkedCellsGrid<T> getCellsElements() {
 		return cellsElements;
 	}
 
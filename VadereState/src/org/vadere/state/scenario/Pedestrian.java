@@ -136,16 +136,19 @@ public class Pedestrian extends Agent {
                     "for storing foot steps (see 'scenario.attributesPedestrian.footStepsToStore' field)");
         }
 
-        FootStep currentFootStep = this.footstepHistory.getYoungestFootStep();
+        int youngest = this.footstepHistory.size() - 1;
 
-        if(currentFootStep == null){
+        if(youngest < 0){
             return getPosition();
         }else{
-            if(time > currentFootStep.getEndTime()){
+            if(time > this.footstepHistory.getEndTime(youngest)){
                 // This happens for example if a pedestrian is waiting (see Events)
-                return currentFootStep.getEnd();
+                return new VPoint(this.footstepHistory.getEndX(youngest), this.footstepHistory.getEndY(youngest));
             }else{
-                return FootStep.interpolateFootStep(currentFootStep, time);
+                return FootStep.interpolateFootStep(
+                        this.footstepHistory.getStartX(youngest), this.footstepHistory.getStartY(youngest),
+                        this.footstepHistory.getEndX(youngest), this.footstepHistory.getEndY(youngest),
+                        this.footstepHistory.getStartTime(youngest), this.footstepHistory.getEndTime(youngest), time);
             }
         }
     }
@@ -1,6 +1,7 @@
 package org.vadere.state.simulation;
 
 import org.jetbrains.annotations.Nullable;
+import org.vadere.util.geometry.GeometryUtils;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.Vector2D;
 
@@ -9,12 +10,30 @@ import java.util.stream.Collectors;
 
 /**
  * Store the last foot steps of an agent to calculate the agent's average speed during simulation.
+ *
+ * The foot steps are stored in a ring buffer of primitive arrays, i.e. adding a foot step does not
+ * allocate any objects and evicts the oldest foot step in O(1). The sum of the foot step lengths is
+ * maintained such that the average speed is computed in O(1). {@link FootStep} objects are only
+ * created if they are requested.
  */
 public class FootstepHistory {
 
     // Variables
     private int capacity;
-    private ArrayList<FootStep> footSteps;
+
+    // the i-th oldest foot step is stored at (head + i) % capacity
+    private final double[] startTimes;
+    private final double[] endTimes;
+    private final double[] startXs;
+    private final double[] startYs;
+    private final double[] endXs;
+    private final double[] endYs;
+    private final double[] lengths;
+    private int head;
+    private int size;
+
+    /** the sum of the lengths of all stored foot steps */
+    private double totalLength;
 
     // Constructors
     public FootstepHistory() {
@@ -22,50 +41,143 @@ public class FootstepHistory {
     }
     public FootstepHistory(int capacity) {
         this.capacity = capacity;
-        this.footSteps = new ArrayList<>(capacity);
+        int arrayLength = Math.max(capacity, 0);
+        this.startTimes = new double[arrayLength];
+        this.endTimes = new double[arrayLength];
+        this.startXs = new double[arrayLength];
+        this.startYs = new double[arrayLength];
+        this.endXs = new double[arrayLength];
+        this.endYs = new double[arrayLength];
+        this.lengths = new double[arrayLength];
+        this.head = 0;
+        this.size = 0;
+        this.totalLength = 0.0;
     }
 
     // Getters
     public int getCapacity() { return capacity; }
-    public ArrayList<FootStep> getFootSteps() { return footSteps; }
-    public int size() { return footSteps.size(); }
+    public int size() { return size; }
+
+    /**
+     * Returns a copy of the stored foot steps ordered from the oldest to the youngest foot step.
+     */
+    public ArrayList<FootStep> getFootSteps() {
+        ArrayList<FootStep> footSteps = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            footSteps.add(getFootStep(i));
+        }
+        return footSteps;
+    }
+
+    /**
+     * Returns the i-th oldest foot step, i.e. 0 is the oldest and <tt>size() - 1</tt> the youngest foot step.
+     */
+    public FootStep getFootStep(int i) {
+        int index = index(i);
+        return new FootStep(toPoint(startXs[index], startYs[index]), toPoint(endXs[index], endYs[index]),
+                startTimes[index], endTimes[index]);
+    }
+
+    @Nullable
+    private static VPoint toPoint(double x, double y) {
+        // NaN marks a foot step without positions, see add(FootStep)
+        return Double.isNaN(x) ? null : new VPoint(x, y);
+    }
+
+    public double getStartTime(int i) { return startTimes[index(i)]; }
+    public double getEndTime(int i) { return endTimes[index(i)]; }
+    public double getStartX(int i) { return startXs[index(i)]; }
+    public double getStartY(int i) { return startYs[index(i)]; }
+    public double getEndX(int i) { return endXs[index(i)]; }
+    public double getEndY(int i) { return endYs[index(i)]; }
+
+    private int index(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        }
+        int index = head + i;
+        return index < capacity ? index : index - capacity;
+    }
 
     // Methods
     public boolean add(FootStep footStep) {
-        if (footSteps.size() >= capacity) {
-            footSteps.remove(0);
+        // the foot step created by Jackson has no positions
+        VPoint start = footStep.getStart();
+        VPoint end = footStep.getEnd();
+        return add(start == null ? Double.NaN : start.x, start == null ? Double.NaN : start.y,
+                end == null ? Double.NaN : end.x, end == null ? Double.NaN : end.y,
+                footStep.getStartTime(), footStep.getEndTime());
+    }
+
+    public boolean add(double startX, double startY, double endX, double endY, double startTime, double endTime) {
+        if (capacity <= 0) {
+            return false;
         }
 
-        boolean successful = footSteps.add(footStep);
+        if (size == capacity) {
+            // evict the oldest foot step
+            totalLength -= lengths[head];
+            head = head + 1 < capacity ? head + 1 : 0;
+            size--;
+            if (head == 0) {
+                // avoid the accumulation of rounding errors
+                recomputeTotalLength();
+            }
+        }
 
-        return successful;
+        int index = head + size < capacity ? head + size : head + size - capacity;
+        startTimes[index] = startTime;
+        endTimes[index] = endTime;
+        startXs[index] = startX;
+        startYs[index] = startY;
+        endXs[index] = endX;
+        endYs[index] = endY;
+        lengths[index] = GeometryUtils.distance(startX, startY, endX, endY);
+        totalLength += lengths[index];
+        size++;
+
+        return true;
     }
 
 	public void removeLast() {
-		assert !footSteps.isEmpty();
-		footSteps.remove(footSteps.size()-1);
+		assert size > 0;
+		size--;
+		recomputeTotalLength();
+	}
+
+	public void clear() {
+		head = 0;
+		size = 0;
+		totalLength = 0.0;
+	}
+
+	private void recomputeTotalLength() {
+		totalLength = 0.0;
+		for (int i = 0; i < size; i++) {
+			totalLength += lengths[index(i)];
+		}
 	}
 
     public double getAverageSpeedInMeterPerSecond() {
         double speed = Double.NaN;
 
-        if (footSteps.size() > 0) {
+        if (size > 0) {
             // Speed is length divided by time.
-            double distance =  footSteps.stream().mapToDouble(footStep -> footStep.length()).sum();
-            // This approach works also if "footSteps.size() == 1"
-            double time = getYoungestFootStep().getEndTime() - getOldestFootStep().getStartTime();
+            // This approach works also if "size == 1"
+            double time = getEndTime(size - 1) - getStartTime(0);
 
-            speed = distance / time;
+            speed = totalLength / time;
         }
 
         return speed;
     }
 
+    @Nullable
     public FootStep getOldestFootStep() {
         FootStep oldestFootStep = null;
 
-        if (footSteps.size() > 0) {
-            oldestFootStep = footSteps.get(0);
+        if (size > 0) {
+            oldestFootStep = getFootStep(0);
         }
 
         return oldestFootStep;
@@ -89,12 +201,11 @@ public class FootstepHistory {
     }
 
     public double getNorthBoundHeadingAngle(int histLength, boolean degree){
-        if (footSteps.size() < histLength)
+        if (size < histLength)
             return 0.0; // not enough data. Return North heading.
 
-        VPoint currentLocation = footSteps.get(footSteps.size() -1).getEnd();
-        VPoint pastLocation = footSteps.get(footSteps.size() - histLength).getStart();
-        Vector2D heading = new Vector2D(currentLocation.x - pastLocation.x, currentLocation.y - pastLocation.y);
+        Vector2D heading = new Vector2D(getEndX(size - 1) - getStartX(size - histLength),
+                getEndY(size - 1) - getStartY(size - histLength));
         if (Math.abs(heading.getLength() -0.0) < 0.0001){
             //Footstep to small
             return 0.0; // assume North heading
@@ -115,8 +226,8 @@ public class FootstepHistory {
     public FootStep getYoungestFootStep() {
         FootStep youngestFootStep = null;
 
-        if (footSteps.size() > 0) {
-            youngestFootStep = footSteps.get(footSteps.size() - 1);
+        if (size > 0) {
+            youngestFootStep = getFootStep(size - 1);
         }
 
         return youngestFootStep;
@@ -124,9 +235,9 @@ public class FootstepHistory {
 
     @Override
     public String toString() {
-        String footStepPrefix = String.format("Last Footseps (%d): ", footSteps.size());
+        String footStepPrefix = String.format("Last Footseps (%d): ", size);
 
-        String footStepString = footSteps.stream().map(footStep -> footStep.toString()).collect(Collectors.joining(" -> "));
+        String footStepString = getFootSteps().stream().map(footStep -> footStep.toString()).collect(Collectors.joining(" -> "));
 
         return footStepPrefix + footStepString;
     }
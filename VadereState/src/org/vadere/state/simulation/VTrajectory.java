@@ -5,6 +5,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.vadere.util.geometry.shapes.VRectangle;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Optional;
@@ -13,11 +15,11 @@ import java.util.stream.Stream;
 public class VTrajectory implements Iterable<FootStep> {
 
 	// Variables
-	private LinkedList<FootStep> footSteps;
+	private ArrayDeque<FootStep> footSteps;
 
 	// Constructors
 	public VTrajectory() {
-		footSteps = new LinkedList<>();
+		footSteps = new ArrayDeque<>();
 	}
 
 	// Getters
@@ -113,6 +115,71 @@ public class VTrajectory implements Iterable<FootStep> {
 		}
 	}
 
+	/**
+	 * Returns the speed of the part of the trajectory between <tt>startTime</tt> and <tt>endTime</tt>,
+	 * i.e. the same as <tt>cut(startTime, endTime).speed()</tt>. The trajectory is traversed from its
+	 * end and only the foot steps at the boundaries are cut, i.e. no copy of the trajectory is made.
+	 *
+	 * @param startTime the start of the time interval
+	 * @param endTime   the end of the time interval
+	 * @return the speed or empty if there is no foot step in the interval
+	 */
+	public Optional<Double> speed(final double startTime, final double endTime) {
+		double[] lengths = new double[8];
+		int n = 0;
+		double youngestEndTime = Double.NaN;
+		FootStep oldest = null;
+
+		Iterator<FootStep> iterator = footSteps.descendingIterator();
+		while (iterator.hasNext()) {
+			FootStep footStep = iterator.next();
+			if(oldest == null) {
+				// see cutHead
+				if(footStep.getStartTime() >= endTime) {
+					continue;
+				}
+				if(footStep.getEndTime() > endTime) {
+					footStep = footStep.cut(endTime).getLeft();
+				}
+			}
+
+			// see cutTail
+			if(footStep.getEndTime() <= startTime) {
+				break;
+			}
+
+			if(oldest == null) {
+				youngestEndTime = footStep.getEndTime();
+			} else {
+				if(n == lengths.length) {
+					lengths = Arrays.copyOf(lengths, 2 * n);
+				}
+				lengths[n++] = oldest.length();
+			}
+			oldest = footStep;
+		}
+
+		if(oldest == null) {
+			return Optional.empty();
+		}
+
+		if(oldest.getStartTime() < startTime) {
+			oldest = oldest.cut(startTime).getRight();
+		}
+		if(n == lengths.length) {
+			lengths = Arrays.copyOf(lengths, n + 1);
+		}
+		lengths[n++] = oldest.length();
+
+		// sum up in the order of length()
+		for(int i = 0, j = n - 1; i < j; i++, j--) {
+			double tmp = lengths[i];
+			lengths[i] = lengths[j];
+			lengths[j] = tmp;
+		}
+		return Optional.of(Arrays.stream(lengths, 0, n).sum() / (youngestEndTime - oldest.getStartTime()));
+	}
+
 	public VTrajectory add(@NotNull final FootStep footStep) {
 
 		assert footSteps.isEmpty() ||
@@ -129,7 +196,7 @@ public class VTrajectory implements Iterable<FootStep> {
 	}
 
 	public VTrajectory cut(@NotNull final VRectangle rectangle) {
-		LinkedList<FootStep> newFootSteps = new LinkedList<>();
+		ArrayDeque<FootStep> newFootSteps = new ArrayDeque<>();
 		boolean inside = !footSteps.isEmpty() ? rectangle.contains(footSteps.peekFirst().getStart()) : false;
 
 		for(FootStep footStep : footSteps) {
@@ -199,14 +266,14 @@ public class VTrajectory implements Iterable<FootStep> {
 	public VTrajectory clone() {
 		VTrajectory newTrajectory = new VTrajectory();
 
-		LinkedList<FootStep> footStepCopy = new LinkedList<>(footSteps);
+		ArrayDeque<FootStep> footStepCopy = footSteps.clone();
 		newTrajectory.footSteps = footStepCopy;
 
 		return newTrajectory;
 	}
 
 	public VTrajectory cut(final double startTime, final double endTime) {
-		LinkedList<FootStep> copy = new LinkedList<>(footSteps);
+		ArrayDeque<FootStep> copy = footSteps.clone();
 		VTrajectory subTrajectory = new VTrajectory();
 		subTrajectory.footSteps = copy;
 		subTrajectory.cutHead(endTime);
@@ -0,0 +1,14 @@
+package org.vadere.state.types;
+
+/**
+ * The method which computes the distance of the grid points of the obstacle distance field to the
+ * nearest obstacle.
+ */
+public enum ObstacleDistanceType {
+	/** the exact distance to all obstacles, the minimum is searched in a bounding volume hierarchy. */
+	BRUTE_FORCE,
+	/** the arrival time of a wave front starting at the obstacles computed by the eikonal solver of the floor field. */
+	EIKONAL_EQUATION,
+	/** the exact Euclidean distance transform of the rasterized obstacles, computed in linear time. */
+	DISTANCE_TRANSFORM;
+}
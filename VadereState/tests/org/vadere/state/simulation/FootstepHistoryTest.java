@@ -19,7 +19,7 @@ public class FootstepHistoryTest {
 
     // Helper method
     private void addFootStepsToLastFootSteps(int totalFootSteps, double stepLength, Direction direction) {
-        footstepHistory.getFootSteps().clear();
+        footstepHistory.clear();
 
         for (int i = 0; i < totalFootSteps; i++) {
             FootStep currentFootStep;
@@ -68,7 +68,7 @@ public class FootstepHistoryTest {
     @Test
     public void getFootStepsReturnsListOfSizeOneIfOneElementWasAdded() {
         FootStep footStep = new FootStep();
-        footstepHistory.getFootSteps().add(footStep);
+        footstepHistory.add(footStep);
 
         int expectedListSize = 1;
         assertEquals(expectedListSize, footstepHistory.getFootSteps().size());
@@ -322,4 +322,52 @@ public class FootstepHistoryTest {
         ret = footstepHistory.getNorthBoundHeadingAngleDeg();
         assertEquals(0.0, ret, 0.01);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getAverageSpeedInMeterPerSecondEqualsSpeedOfStoredFootStepsAfterWrapAround() {
+        // steps of different lengths such that the running sum has to drop the evicted steps
+        for (int i = 0; i < expectedFootStepCapacity * 3 + 3; i++) {
+            double stepLength = 0.1 + (i % 7) * 0.13;
+            footstepHistory.add(new FootStep(new VPoint(i, 0), new VPoint(i + stepLength, 0), i * 0.4, i * 0.4 + 0.4));
+
+            ArrayList<FootStep> footSteps = footstepHistory.getFootSteps();
+            double expectedLength = footSteps.stream().mapToDouble(FootStep::length).sum();
+            double expectedTime = footSteps.get(footSteps.size() - 1).getEndTime() - footSteps.get(0).getStartTime();
+
+            assertEquals(expectedLength / expectedTime, footstepHistory.getAverageSpeedInMeterPerSecond(), 1e-12);
+        }
+    }
+
+    @Test
+    public void primitiveGettersReturnFootStepsFromOldestToYoungest() {
+        int totalFootSteps = expectedFootStepCapacity + 4;
+        for (int i = 0; i < totalFootSteps; i++) {
+            footstepHistory.add(i, 2 * i, i + 1, 2 * i + 1, i, i + 1);
+        }
+
+        assertEquals(expectedFootStepCapacity, footstepHistory.size());
+        for (int i = 0; i < expectedFootStepCapacity; i++) {
+            double expectedStartTime = totalFootSteps - expectedFootStepCapacity + i;
+            assertEquals(expectedStartTime, footstepHistory.getStartTime(i), ALLOWED_DOUBLE_ERROR);
+            assertEquals(expectedStartTime + 1, footstepHistory.getEndTime(i), ALLOWED_DOUBLE_ERROR);
+            assertEquals(expectedStartTime, footstepHistory.getStartX(i), ALLOWED_DOUBLE_ERROR);
+            assertEquals(2 * expectedStartTime + 1, footstepHistory.getEndY(i), ALLOWED_DOUBLE_ERROR);
+        }
+        assertEquals(totalFootSteps - 1, footstepHistory.getYoungestFootStep().getStartTime(), ALLOWED_DOUBLE_ERROR);
+        assertEquals(totalFootSteps - expectedFootStepCapacity, footstepHistory.getOldestFootStep().getStartTime(), ALLOWED_DOUBLE_ERROR);
+    }
+
+    @Test
+    public void removeLastAndClearUpdateTheAverageSpeed() {
+        footstepHistory.add(new FootStep(new VPoint(0, 0), new VPoint(1, 0), 0, 1));
+        footstepHistory.add(new FootStep(new VPoint(1, 0), new VPoint(4, 0), 1, 2));
+        assertEquals(2.0, footstepHistory.getAverageSpeedInMeterPerSecond(), ALLOWED_DOUBLE_ERROR);
+
+        footstepHistory.removeLast();
+        assertEquals(1.0, footstepHistory.getAverageSpeedInMeterPerSecond(), ALLOWED_DOUBLE_ERROR);
+
+        footstepHistory.clear();
+        assertEquals(0, footstepHistory.size());
+        assertTrue(Double.isNaN(footstepHistory.getAverageSpeedInMeterPerSecond()));
+    }
+}
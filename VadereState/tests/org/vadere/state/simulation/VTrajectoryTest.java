@@ -0,0 +1,69 @@
+package org.vadere.state.simulation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class VTrajectoryTest {
+
+    private VTrajectory trajectory;
+
+    @Before
+    public void setUp() {
+        trajectory = new VTrajectory();
+        Random random = new Random(1);
+        VPoint position = new VPoint(0, 0);
+        double time = 0.0;
+
+        for (int i = 0; i < 50; i++) {
+            VPoint next = position.add(new VPoint(random.nextDouble() - 0.3, random.nextDouble() - 0.3));
+            double duration = 0.1 + random.nextDouble() * 0.5;
+            trajectory.add(new FootStep(position, next, time, time + duration));
+            position = next;
+            time += duration;
+            // pedestrians might wait between two foot steps
+            if (i % 10 == 0) {
+                time += 0.3;
+            }
+        }
+    }
+
+    @Test
+    public void speedOfTimeIntervalEqualsSpeedOfCutTrajectory() {
+        double endTime = trajectory.getEndTime().get();
+
+        for (double startTime = -0.5; startTime < endTime + 0.5; startTime += 0.37) {
+            for (double duration : new double[]{0.05, 0.4, 1.0, 3.3, 100.0}) {
+                Optional<Double> expected = trajectory.cut(startTime, startTime + duration).speed();
+                Optional<Double> actual = trajectory.speed(startTime, startTime + duration);
+
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void speedOfTimeIntervalIsEmptyOutsideOfTheTrajectory() {
+        double endTime = trajectory.getEndTime().get();
+
+        assertFalse(trajectory.speed(-2.0, -1.0).isPresent());
+        assertFalse(trajectory.speed(endTime, endTime + 1.0).isPresent());
+        assertFalse(new VTrajectory().speed(0.0, 1.0).isPresent());
+    }
+
+    @Test
+    public void speedOfTimeIntervalDoesNotChangeTheTrajectory() {
+        int size = trajectory.size();
+        double length = trajectory.length();
+
+        trajectory.speed(1.0, 2.0);
+
+        assertEquals(size, trajectory.size());
+        assertEquals(length, trajectory.length(), 0.0);
+    }
+}
@@ -276,6 +276,9 @@ public class VadereConfig {
 		defaultConfig.put("TopographyCreator.dotRadius", "0.5");
 		defaultConfig.put("Vadere.cache.useGlobalCacheBaseDir", "false");
 		defaultConfig.put("Vadere.cache.globalCacheBaseDir", defaultSearchDirectory + "/.cache/vadere");
+		defaultConfig.put("Vadere.cache.memoryCacheSizeInMB", "512");
+		defaultConfig.put("Vadere.parallel.numberOfThreads", "0");
+		defaultConfig.put("Vadere.traci.sendChangedSubscriptionValuesOnly", "false");
 
 		return defaultConfig;
 	}
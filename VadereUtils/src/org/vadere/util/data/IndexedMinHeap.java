@@ -0,0 +1,204 @@
+package org.vadere.util.data;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap of primitive indices <tt>0, 1, ..., capacity - 1</tt> ordered by a <tt>double</tt> key.
+ * In contrast to {@link java.util.PriorityQueue} the position of each index inside the heap is known
+ * such that {@link #contains(int)} is O(1) and {@link #decreaseKey(int, double)} and {@link #remove(int)}
+ * are O(log n). Indices of equal keys are ordered by the index itself, i.e. the order in which the
+ * indices are polled is deterministic. No object is allocated per index.
+ *
+ * This is the narrow band of the fast marching method where the indices are the grid points or
+ * the vertices of a mesh.
+ */
+public class IndexedMinHeap {
+
+	private static final int NONE = -1;
+
+	/** the heap, i.e. heap[0] is the index with the smallest key */
+	private int[] heap;
+
+	/** position of an index inside the heap or NONE */
+	private int[] positions;
+
+	/** key of an index, only valid if the index is contained */
+	private double[] keys;
+
+	private int size;
+
+	public IndexedMinHeap(final int capacity) {
+		this.heap = new int[capacity];
+		this.positions = new int[capacity];
+		this.keys = new double[capacity];
+		this.size = 0;
+		Arrays.fill(positions, NONE);
+	}
+
+	/**
+	 * Enlarges the range of valid indices to <tt>0, 1, ..., capacity - 1</tt>.
+	 */
+	public void ensureCapacity(final int capacity) {
+		if(capacity > positions.length) {
+			int newCapacity = Math.max(capacity, 2 * positions.length);
+			int oldCapacity = positions.length;
+			heap = Arrays.copyOf(heap, newCapacity);
+			keys = Arrays.copyOf(keys, newCapacity);
+			positions = Arrays.copyOf(positions, newCapacity);
+			Arrays.fill(positions, oldCapacity, newCapacity, NONE);
+		}
+	}
+
+	public int capacity() {
+		return positions.length;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean contains(final int index) {
+		return positions[index] != NONE;
+	}
+
+	/**
+	 * Returns the key of a contained index.
+	 */
+	public double getKey(final int index) {
+		assert contains(index);
+		return keys[index];
+	}
+
+	/**
+	 * Inserts an index which is not contained in O(log n).
+	 */
+	public void insert(final int index, final double key) {
+		if(contains(index)) {
+			throw new IllegalArgumentException("index " + index + " is already contained");
+		}
+		keys[index] = key;
+		heap[size] = index;
+		positions[index] = size;
+		size++;
+		siftUp(size - 1);
+	}
+
+	/**
+	 * Decreases the key of a contained index in O(log n).
+	 */
+	public void decreaseKey(final int index, final double key) {
+		if(!contains(index)) {
+			throw new IllegalArgumentException("index " + index + " is not contained");
+		}
+		if(key > keys[index]) {
+			throw new IllegalArgumentException("the key of " + index + " would increase");
+		}
+		keys[index] = key;
+		siftUp(positions[index]);
+	}
+
+	/**
+	 * Returns the index with the smallest key without removing it.
+	 */
+	public int peek() {
+		if(isEmpty()) {
+			throw new NoSuchElementException();
+		}
+		return heap[0];
+	}
+
+	/**
+	 * Removes and returns the index with the smallest key in O(log n).
+	 */
+	public int poll() {
+		int index = peek();
+		removeAt(0);
+		return index;
+	}
+
+	/**
+	 * Removes an index in O(log n), returns false if it was not contained.
+	 */
+	public boolean remove(final int index) {
+		if(!contains(index)) {
+			return false;
+		}
+		removeAt(positions[index]);
+		return true;
+	}
+
+	/**
+	 * Removes all indices in O(n).
+	 */
+	public void clear() {
+		for(int i = 0; i < size; i++) {
+			positions[heap[i]] = NONE;
+		}
+		size = 0;
+	}
+
+	private void removeAt(final int position) {
+		int index = heap[position];
+		size--;
+		positions[index] = NONE;
+		if(position < size) {
+			int last = heap[size];
+			heap[position] = last;
+			positions[last] = position;
+			if(!siftUp(position)) {
+				siftDown(position);
+			}
+		}
+	}
+
+	private boolean less(final int index1, final int index2) {
+		double key1 = keys[index1];
+		double key2 = keys[index2];
+		return key1 < key2 || (key1 == key2 && index1 < index2);
+	}
+
+	private boolean siftUp(int position) {
+		int index = heap[position];
+		int start = position;
+		while(position > 0) {
+			int parentPosition = (position - 1) >>> 1;
+			int parent = heap[parentPosition];
+			if(!less(index, parent)) {
+				break;
+			}
+			heap[position] = parent;
+			positions[parent] = position;
+			position = parentPosition;
+		}
+		heap[position] = index;
+		positions[index] = position;
+		return position != start;
+	}
+
+	private void siftDown(int position) {
+		int index = heap[position];
+		int half = size >>> 1;
+		while(position < half) {
+			int childPosition = 2 * position + 1;
+			int child = heap[childPosition];
+			int rightPosition = childPosition + 1;
+			if(rightPosition < size && less(heap[rightPosition], child)) {
+				childPosition = rightPosition;
+				child = heap[childPosition];
+			}
+			if(!less(child, index)) {
+				break;
+			}
+			heap[position] = child;
+			positions[child] = position;
+			position = childPosition;
+		}
+		heap[position] = index;
+		positions[index] = position;
+	}
+}
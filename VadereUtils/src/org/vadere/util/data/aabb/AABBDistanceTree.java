@@ -0,0 +1,236 @@
+package org.vadere.util.data.aabb;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.util.geometry.shapes.IPoint;
+
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * A static bounding volume hierarchy of axis aligned bounding boxes which computes the minimum of
+ * a (signed) distance function over all its elements, e.g. the distance of a point to the nearest
+ * obstacle. In contrast to {@link AABBTree} the tree is built once top-down by splitting the
+ * elements at the median of their centers along the longer side of the bounding box. The nodes
+ * are stored in primitive arrays.
+ *
+ * A query visits the nodes depth first, the closer child first, and skips all nodes whose box
+ * can not contain an element closer than the current minimum. For this the distance of an element
+ * to a point outside of its bounding box has to be at least the distance of the point to the box.
+ * For a point inside of the box the (negative) distance has to be at least the negative distance of
+ * the point to the boundary of the box. This holds for the signed distance of shapes which is
+ * negative inside of the shape, and for unsigned distances.
+ *
+ * The tree is immutable, therefore queries can be executed concurrently.
+ *
+ * @param <D> the type of the elements
+ */
+public class AABBDistanceTree<D> {
+
+	/** the maximal number of elements of a leaf. */
+	private static final int LEAF_SIZE = 4;
+
+	/** slack of the lower bounds of the boxes such that rounding errors never skip the nearest element. */
+	private static final double BOUND_TOLERANCE = 1.0E-9;
+
+	private final Object[] elements;
+	private final ToDoubleBiFunction<? super D, IPoint> distanceFunction;
+
+	// the boxes of the nodes, the root is node 0
+	private final double[] minX;
+	private final double[] minY;
+	private final double[] maxX;
+	private final double[] maxY;
+
+	/** the first element of a leaf or the left child of an inner node, whose right child is <tt>left + 1</tt>. */
+	private final int[] start;
+
+	/** the number of elements of a leaf or 0 for an inner node. */
+	private final int[] count;
+
+	private int numberOfNodes;
+	private int depth;
+
+	/**
+	 * Builds the tree.
+	 *
+	 * @param elements          the elements
+	 * @param bounds            the bounding box of an element
+	 * @param distanceFunction  the distance of an element to a point
+	 */
+	public AABBDistanceTree(@NotNull final List<? extends D> elements,
+	                        @NotNull final Function<? super D, Rectangle2D> bounds,
+	                        @NotNull final ToDoubleBiFunction<? super D, IPoint> distanceFunction) {
+		int n = elements.size();
+		int maxNodes = Math.max(1, 2 * n);
+
+		this.distanceFunction = distanceFunction;
+		this.elements = new Object[n];
+		this.minX = new double[maxNodes];
+		this.minY = new double[maxNodes];
+		this.maxX = new double[maxNodes];
+		this.maxY = new double[maxNodes];
+		this.start = new int[maxNodes];
+		this.count = new int[maxNodes];
+
+		double[][] boxes = new double[n][];
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			Rectangle2D box = bounds.apply(elements.get(i));
+			boxes[i] = new double[]{box.getMinX(), box.getMinY(), box.getMaxX(), box.getMaxY()};
+			order[i] = i;
+		}
+
+		numberOfNodes = 1;
+		if (n > 0) {
+			build(0, 0, n, order, boxes, 1);
+		} else {
+			minX[0] = Double.POSITIVE_INFINITY;
+			minY[0] = Double.POSITIVE_INFINITY;
+			maxX[0] = Double.NEGATIVE_INFINITY;
+			maxY[0] = Double.NEGATIVE_INFINITY;
+		}
+
+		for (int i = 0; i < n; i++) {
+			this.elements[i] = elements.get(order[i]);
+		}
+	}
+
+	private void build(final int node, final int from, final int to, final int[] order, final double[][] boxes, final int level) {
+		depth = Math.max(depth, level);
+
+		double x1 = Double.POSITIVE_INFINITY, y1 = Double.POSITIVE_INFINITY;
+		double x2 = Double.NEGATIVE_INFINITY, y2 = Double.NEGATIVE_INFINITY;
+		for (int i = from; i < to; i++) {
+			double[] box = boxes[order[i]];
+			x1 = Math.min(x1, box[0]);
+			y1 = Math.min(y1, box[1]);
+			x2 = Math.max(x2, box[2]);
+			y2 = Math.max(y2, box[3]);
+		}
+		minX[node] = x1;
+		minY[node] = y1;
+		maxX[node] = x2;
+		maxY[node] = y2;
+
+		if (to - from <= LEAF_SIZE) {
+			start[node] = from;
+			count[node] = to - from;
+			return;
+		}
+
+		// split at the median of the centers along the longer side
+		int axis = (x2 - x1) >= (y2 - y1) ? 0 : 1;
+		int mid = (from + to) >>> 1;
+		select(order, boxes, from, to - 1, mid, axis);
+
+		int left = numberOfNodes;
+		numberOfNodes += 2;
+		start[node] = left;
+		count[node] = 0;
+		build(left, from, mid, order, boxes, level + 1);
+		build(left + 1, mid, to, order, boxes, level + 1);
+	}
+
+	private static double center(final double[] box, final int axis) {
+		return box[axis] + box[axis + 2];
+	}
+
+	/**
+	 * Partially sorts <tt>order[from..to]</tt> such that the element at <tt>k</tt> is the one
+	 * of a sorted order with respect to the center of the boxes (quick select).
+	 */
+	private static void select(final int[] order, final double[][] boxes, int from, int to, final int k, final int axis) {
+		while (from < to) {
+			double pivot = center(boxes[order[(from + to) >>> 1]], axis);
+			int i = from;
+			int j = to;
+			while (i <= j) {
+				while (center(boxes[order[i]], axis) < pivot) i++;
+				while (center(boxes[order[j]], axis) > pivot) j--;
+				if (i <= j) {
+					int tmp = order[i];
+					order[i] = order[j];
+					order[j] = tmp;
+					i++;
+					j--;
+				}
+			}
+			if (k <= j) {
+				to = j;
+			} else if (k >= i) {
+				from = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the minimum of the distance function over all elements or {@link Double#MAX_VALUE}
+	 * if the tree is empty.
+	 *
+	 * @param point the point
+	 * @return the minimal distance of any element to the point
+	 */
+	@SuppressWarnings("unchecked")
+	public double distance(@NotNull final IPoint point) {
+		if (elements.length == 0) {
+			return Double.MAX_VALUE;
+		}
+
+		double x = point.getX();
+		double y = point.getY();
+		double best = Double.MAX_VALUE;
+		int[] stack = new int[depth + 1];
+		int top = 0;
+		stack[top++] = 0;
+
+		while (top > 0) {
+			int node = stack[--top];
+			if (lowerBound(node, x, y) > best) {
+				continue;
+			}
+
+			if (count[node] > 0) {
+				for (int i = start[node]; i < start[node] + count[node]; i++) {
+					best = Math.min(best, distanceFunction.applyAsDouble((D) elements[i], point));
+				}
+			} else {
+				// push the closer child last such that it is visited first
+				int left = start[node];
+				int right = left + 1;
+				if (lowerBound(left, x, y) <= lowerBound(right, x, y)) {
+					stack[top++] = right;
+					stack[top++] = left;
+				} else {
+					stack[top++] = left;
+					stack[top++] = right;
+				}
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Returns a lower bound of the distance of any element of the node to the point (x, y).
+	 */
+	private double lowerBound(final int node, final double x, final double y) {
+		double dx = Math.max(0, Math.max(minX[node] - x, x - maxX[node]));
+		double dy = Math.max(0, Math.max(minY[node] - y, y - maxY[node]));
+
+		if (dx > 0 || dy > 0) {
+			return Math.sqrt(dx * dx + dy * dy) - BOUND_TOLERANCE;
+		}
+
+		// inside of the box
+		double toBoundary = Math.min(Math.min(x - minX[node], maxX[node] - x), Math.min(y - minY[node], maxY[node] - y));
+		return -toBoundary - BOUND_TOLERANCE;
+	}
+
+	public int size() {
+		return elements.length;
+	}
+}
@@ -27,7 +27,8 @@ import tech.tablesaw.api.Table;
  * represents the distance of two grid points along the x- or y-axis. The values
  * of the grid points can be regarded as elements of a matrix. Each element in
  * the matrix refers to a certain point in the grid. Internally the values are
- * stored as array of values in column major order.
+ * stored as array of values in column major order. See {@link FlatCellGrid} for
+ * a storage which avoids one {@link CellState} object per grid point.
  */
 public class CellGrid {
 
@@ -54,6 +55,18 @@ public class CellGrid {
 	 */
 	public CellGrid(double width, double height, double resolution,
 	                CellState value, double xMin, double yMin) {
+		this(width, height, resolution, xMin, yMin);
+
+		values = new CellState[numPointsX][numPointsY];
+
+		reset(value);
+	}
+
+	/**
+	 * Initializes only the geometry of the grid. Subclasses which use a different
+	 * storage than {@link #values} are responsible to allocate and reset it.
+	 */
+	protected CellGrid(double width, double height, double resolution, double xMin, double yMin) {
 		this.width = width;
 		this.height = height;
 		this.resolution = resolution;
@@ -63,10 +76,6 @@ public class CellGrid {
 		/* 0.001 avoids that numPointsX/Y are too small due to numerical errors. */
 		numPointsX = (int) Math.floor(width / resolution + 0.001) + 1;
 		numPointsY = (int) Math.floor(height / resolution + 0.001) + 1;
-
-		values = new CellState[numPointsX][numPointsY];
-
-		reset(value);
 	}
 
 	/**
@@ -81,18 +90,12 @@ public class CellGrid {
 	 * Creates a deep copy of the given grid.
 	 */
 	public CellGrid(CellGrid grid) {
-		width = grid.width;
-		height = grid.height;
-		resolution = grid.resolution;
-		numPointsX = grid.numPointsX;
-		numPointsY = grid.numPointsY;
+		this(grid.width, grid.height, grid.resolution, grid.xMin, grid.yMin);
 		values = new CellState[numPointsX][numPointsY];
-		xMin = grid.xMin;
-		yMin = grid.yMin;
 
 		for (int row = 0; row < numPointsY; row++) {
 			for (int col = 0; col < numPointsX; col++) {
-				values[col][row] = grid.values[col][row].clone();
+				values[col][row] = new CellState(grid.getPotential(col, row), grid.getTag(col, row));
 			}
 		}
 	}
@@ -139,9 +142,8 @@ public class CellGrid {
 	 */
 	public void loadFromTable(Table table){
 		for (Row r : table){
-			values[r.getInt("x")][r.getInt("y")].potential = r.getDouble("value");
-			values[r.getInt("x")][r.getInt("y")].tag =
-					PathFindingTag.valueOf(r.getString("tag"));
+			setPotential(r.getInt("x"), r.getInt("y"), r.getDouble("value"));
+			setTag(r.getInt("x"), r.getInt("y"), PathFindingTag.valueOf(r.getString("tag")));
 		}
 	}
 
@@ -161,8 +163,8 @@ public class CellGrid {
 			for (int col = 0; col < numPointsX; col++) {
 				colX.set(tblRow, col);
 				colY.set(tblRow, row);
-				colVal.set(tblRow, values[col][row].potential);
-				colTag.set(tblRow, values[col][row].tag.name());
+				colVal.set(tblRow, getPotential(col, row));
+				colTag.set(tblRow, getTag(col, row).name());
 				tblRow++;
 			}
 		}
@@ -213,6 +215,9 @@ public class CellGrid {
 
 	/**
 	 * Returns the value of the grid point specified by matrix element indices.
+	 * Depending on the storage of the grid the returned state might be a detached
+	 * copy, therefore modifications should be done via {@link #setValue(int, int, CellState)},
+	 * {@link #setPotential(int, int, double)} or {@link #setTag(int, int, PathFindingTag)}.
 	 */
 	public CellState getValue(int pointX, int pointY) {
 		return values[pointX][pointY];
@@ -242,24 +247,93 @@ public class CellGrid {
 		setValue(p.x, p.y, value);
 	}
 
+	/**
+	 * Returns the potential of the grid point specified by matrix element indices.
+	 */
+	public double getPotential(int pointX, int pointY) {
+		return values[pointX][pointY].potential;
+	}
+
+	/**
+	 * Returns the potential of the grid point specified by the matrix element index 'p'.
+	 */
+	public double getPotential(Point p) {
+		return getPotential(p.x, p.y);
+	}
+
+	/**
+	 * Sets the potential of the grid point specified by matrix element indices.
+	 */
+	public void setPotential(int pointX, int pointY, double potential) {
+		values[pointX][pointY].potential = potential;
+	}
+
+	/**
+	 * Sets the potential of the grid point specified by the matrix element index 'p'.
+	 */
+	public void setPotential(Point p, double potential) {
+		setPotential(p.x, p.y, potential);
+	}
+
+	/**
+	 * Returns the tag of the grid point specified by matrix element indices.
+	 */
+	public PathFindingTag getTag(int pointX, int pointY) {
+		return values[pointX][pointY].tag;
+	}
+
+	/**
+	 * Returns the tag of the grid point specified by the matrix element index 'p'.
+	 */
+	public PathFindingTag getTag(Point p) {
+		return getTag(p.x, p.y);
+	}
+
+	/**
+	 * Sets the tag of the grid point specified by matrix element indices.
+	 */
+	public void setTag(int pointX, int pointY, PathFindingTag tag) {
+		values[pointX][pointY].tag = tag;
+	}
+
+	/**
+	 * Sets the tag of the grid point specified by the matrix element index 'p'.
+	 */
+	public void setTag(Point p, PathFindingTag tag) {
+		setTag(p.x, p.y, tag);
+	}
+
 	/**
 	 * Returns the closest grid point (matrix index) to the given coordinates.
 	 */
 	public Point getNearestPoint(double x, double y) {
+		return new Point(getNearestPointX(x), getNearestPointY(y));
+	}
+
+	/**
+	 * Returns the x-index of the closest grid point to the given x-coordinate.
+	 */
+	protected int getNearestPointX(double x) {
 		if (x < xMin) {
 			x = xMin;
 		}
+		if (x > getWidth() + xMin) {
+			x = getWidth() + xMin;
+		}
+		return (int) ((x - xMin) / resolution + 0.5);
+	}
+
+	/**
+	 * Returns the y-index of the closest grid point to the given y-coordinate.
+	 */
+	protected int getNearestPointY(double y) {
 		if (y < yMin) {
 			y = yMin;
 		}
 		if (y > getHeight() + yMin) {
 			y = getHeight() + yMin;
 		}
-		if (x > getWidth() + xMin) {
-			x = getWidth() + xMin;
-		}
-		return new Point((int) ((x - xMin) / resolution + 0.5),
-				(int) ((y - yMin) / resolution + 0.5));
+		return (int) ((y - yMin) / resolution + 0.5);
 	}
 
 	/**
@@ -371,10 +445,10 @@ public class CellGrid {
 
 			VPoint gridPointCoord = pointToCoord(gridPoint);
 
-			double z1 = getValue(gridPoint).potential;
-			double z2 = getValue(gridPoint.x + incX, gridPoint.y).potential;
-			double z3 = getValue(gridPoint.x + incX, gridPoint.y + incY).potential;
-			double z4 = getValue(gridPoint.x, gridPoint.y + incY).potential;
+			double z1 = getPotential(gridPoint);
+			double z2 = getPotential(gridPoint.x + incX, gridPoint.y);
+			double z3 = getPotential(gridPoint.x + incX, gridPoint.y + incY);
+			double z4 = getPotential(gridPoint.x, gridPoint.y + incY);
 
 			double t = (pos.getX() - gridPointCoord.x) / getResolution();
 			double u = (pos.getY() - gridPointCoord.y) / getResolution();
@@ -384,31 +458,33 @@ public class CellGrid {
 	}
 
 	public Pair<Double, Double> getInterpolatedValueAt(final double x, final double y) {
-		Point gridPoint = getNearestPoint(x, y);
-		VPoint gridPointCoord = pointToCoord(gridPoint);
+		int gridPointX = getNearestPointX(x);
+		int gridPointY = getNearestPointY(y);
+		double gridPointCoordX = xMin + gridPointX * resolution;
+		double gridPointCoordY = yMin + gridPointY * resolution;
 		int incX = 1, incY = 1;
 		double gridPotentials[] = new double[4];
 
-		if (gridPoint.x + 1 >= getNumPointsX()) {
+		if (gridPointX + 1 >= getNumPointsX()) {
 			incX = 0;
 		}
 
-		if (gridPoint.y + 1 >= getNumPointsY()) {
+		if (gridPointY + 1 >= getNumPointsY()) {
 			incY = 0;
 		}
 
 
-		gridPotentials[0] = getValue(gridPoint).potential;
-		gridPotentials[1] = getValue(gridPoint.x + incX, gridPoint.y).potential;
-		gridPotentials[2] = getValue(gridPoint.x + incX, gridPoint.y + incY).potential;
-		gridPotentials[3] = getValue(gridPoint.x, gridPoint.y + incY).potential;
+		gridPotentials[0] = getPotential(gridPointX, gridPointY);
+		gridPotentials[1] = getPotential(gridPointX + incX, gridPointY);
+		gridPotentials[2] = getPotential(gridPointX + incX, gridPointY + incY);
+		gridPotentials[3] = getPotential(gridPointX, gridPointY + incY);
 
 
 		/* Interpolate the known (potential < Double.MAX_VALUE) values. */
 		Pair<Double, Double> result = InterpolationUtil.bilinearInterpolationWithUnkown(
 				gridPotentials,
-				(x - gridPointCoord.x) / getResolution(),
-				(y - gridPointCoord.y) / getResolution());
+				(x - gridPointCoordX) / getResolution(),
+				(y - gridPointCoordY) / getResolution());
 
 		return result;
 	}
@@ -0,0 +1,273 @@
+package org.vadere.util.data.cellgrid;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link CellGrid} which stores the potentials in one contiguous <tt>double[]</tt> and the
+ * {@link PathFindingTag}s in one contiguous <tt>byte[]</tt> instead of using one {@link CellState}
+ * object per grid point. Both arrays are stored in row major order, i.e. the index of the grid
+ * point (x, y) is <tt>y * numPointsX + x</tt>, which is the order of {@link #getRawBuffer()} and of
+ * the persisted floor field caches.
+ *
+ * The {@link CellState} API of {@link CellGrid} is preserved, however, {@link #getValue(int, int)}
+ * returns a detached copy of the state of the grid point. Therefore the grid point has to be
+ * modified by {@link #setValue(int, int, CellState)}, {@link #setPotential(int, int, double)} or
+ * {@link #setTag(int, int, PathFindingTag)}.
+ *
+ * The arrays of a grid can be shared with other grids of the same geometry via
+ * {@link #shareValues(FlatCellGrid)}, e.g. to use one cached floor field in many simulation runs.
+ * A grid copies the shared arrays before the first modification (copy on write), therefore the
+ * source of the arrays is never modified through a sharing grid. In the same way the values can be
+ * read from buffers via {@link #shareValues(DoubleBuffer, ByteBuffer)}, e.g. from a memory mapped
+ * cache file, such that only the accessed pages of the file are loaded.
+ */
+public class FlatCellGrid extends CellGrid {
+
+	private static final PathFindingTag[] TAGS = PathFindingTag.values();
+
+	/** the potentials of all grid points in row major order. */
+	protected double[] potentials;
+
+	/** the ordinals of the tags of all grid points in row major order. */
+	protected byte[] tags;
+
+	/** the potentials if the values are read from a buffer, otherwise <tt>null</tt>. */
+	private DoubleBuffer potentialBuffer;
+
+	/** the tags if the values are read from a buffer, otherwise <tt>null</tt>. */
+	private ByteBuffer tagBuffer;
+
+	/** true if the values are shared with other grids and have to be copied before they are modified. */
+	private boolean shared;
+
+	/**
+	 * Creates an grid with the given width, height and resolution. All grid
+	 * point values are initialized with 'value'.
+	 */
+	public FlatCellGrid(double width, double height, double resolution,
+	                    CellState value, double xMin, double yMin) {
+		super(width, height, resolution, xMin, yMin);
+		potentials = new double[numPointsX * numPointsY];
+		tags = new byte[numPointsX * numPointsY];
+		reset(value);
+	}
+
+	/**
+	 * Creates an grid with the given width, height and resolution. All grid
+	 * point values are initialized with 'value'.
+	 */
+	public FlatCellGrid(double width, double height, double resolution, CellState value) {
+		this(width, height, resolution, value, 0, 0);
+	}
+
+	/**
+	 * Creates a deep copy of the given grid.
+	 */
+	public FlatCellGrid(CellGrid grid) {
+		super(grid.width, grid.height, grid.resolution, grid.xMin, grid.yMin);
+		potentials = new double[numPointsX * numPointsY];
+		tags = new byte[numPointsX * numPointsY];
+
+		if(grid instanceof FlatCellGrid) {
+			((FlatCellGrid) grid).copyValuesTo(potentials, tags);
+		} else {
+			for (int row = 0; row < numPointsY; row++) {
+				for (int col = 0; col < numPointsX; col++) {
+					setPotential(col, row, grid.getPotential(col, row));
+					setTag(col, row, grid.getTag(col, row));
+				}
+			}
+		}
+	}
+
+	private FlatCellGrid(double width, double height, double resolution, double xMin, double yMin) {
+		super(width, height, resolution, xMin, yMin);
+	}
+
+	/**
+	 * Returns a grid which shares the values of this grid, see {@link #shareValues(FlatCellGrid)}.
+	 */
+	public FlatCellGrid shallowCopy() {
+		FlatCellGrid copy = new FlatCellGrid(width, height, resolution, xMin, yMin);
+		copy.shareValues(this);
+		return copy;
+	}
+
+	/**
+	 * Replaces the values of this grid by the values of <tt>source</tt> without copying them. The
+	 * arrays are copied by this grid as soon as it is modified, the arrays of <tt>source</tt> must
+	 * not be modified after this call.
+	 *
+	 * @param source a grid of the same geometry
+	 * @throws IllegalArgumentException if the geometry of <tt>source</tt> differs from this grid
+	 */
+	public void shareValues(FlatCellGrid source) {
+		if(!hasSameGeometry(source)) {
+			throw new IllegalArgumentException("the geometry of the grids differs.");
+		}
+		potentials = source.potentials;
+		tags = source.tags;
+		potentialBuffer = source.potentialBuffer;
+		tagBuffer = source.tagBuffer;
+		shared = true;
+	}
+
+	/**
+	 * Replaces the values of this grid by the values of the buffers without copying them. The
+	 * values are copied into arrays as soon as the grid is modified, the buffers must not be
+	 * modified after this call. The values are accessed by absolute indices, i.e. independent of
+	 * the position of the buffers.
+	 *
+	 * @param potentials    the potentials of all grid points in row major order
+	 * @param tags          the ordinals of the tags of all grid points in row major order
+	 * @throws IllegalArgumentException if the capacity of a buffer differs from the number of grid points
+	 */
+	public void shareValues(DoubleBuffer potentials, ByteBuffer tags) {
+		int size = numPointsX * numPointsY;
+		if(potentials.capacity() != size || tags.capacity() != size) {
+			throw new IllegalArgumentException("the size of the buffers differs from the number of grid points.");
+		}
+		this.potentials = null;
+		this.tags = null;
+		potentialBuffer = potentials;
+		tagBuffer = tags;
+		shared = true;
+	}
+
+	/**
+	 * Returns true if the values of this grid are shared with other grids, see {@link #shareValues(FlatCellGrid)}.
+	 */
+	public boolean isShared() {
+		return shared;
+	}
+
+	/**
+	 * Returns true if the grid points of <tt>grid</tt> have the same positions as the grid points of this grid.
+	 */
+	public boolean hasSameGeometry(CellGrid grid) {
+		return numPointsX == grid.numPointsX && numPointsY == grid.numPointsY
+				&& resolution == grid.resolution && xMin == grid.xMin && yMin == grid.yMin;
+	}
+
+	private void unshare() {
+		if(shared) {
+			double[] newPotentials = new double[numPointsX * numPointsY];
+			byte[] newTags = new byte[numPointsX * numPointsY];
+			copyValuesTo(newPotentials, newTags);
+			potentials = newPotentials;
+			tags = newTags;
+			potentialBuffer = null;
+			tagBuffer = null;
+			shared = false;
+		}
+	}
+
+	private void copyValuesTo(double[] potentials, byte[] tags) {
+		if(potentialBuffer != null) {
+			// duplicates, since the relative bulk get changes the position of the (shared) buffers
+			potentialBuffer.duplicate().rewind().get(potentials);
+			tagBuffer.duplicate().rewind().get(tags);
+		} else {
+			System.arraycopy(this.potentials, 0, potentials, 0, potentials.length);
+			System.arraycopy(this.tags, 0, tags, 0, tags.length);
+		}
+	}
+
+	/**
+	 * Returns the index of the grid point (pointX, pointY) in the backing arrays.
+	 */
+	public int index(int pointX, int pointY) {
+		return pointY * numPointsX + pointX;
+	}
+
+	/**
+	 * Returns detached copies of the values of all data points.
+	 */
+	@Override
+	public Iterable<CellState> getRawBuffer() {
+		return () -> new Iterator<>() {
+			private int index = 0;
+
+			@Override
+			public boolean hasNext() {
+				return index < numPointsX * numPointsY;
+			}
+
+			@Override
+			public CellState next() {
+				if(!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				CellState result = new CellState(potentialAt(index), TAGS[tagAt(index)]);
+				index++;
+				return result;
+			}
+		};
+	}
+
+	private double potentialAt(int index) {
+		return potentialBuffer == null ? potentials[index] : potentialBuffer.get(index);
+	}
+
+	private byte tagAt(int index) {
+		return tagBuffer == null ? tags[index] : tagBuffer.get(index);
+	}
+
+	@Override
+	public CellState getValue(int pointX, int pointY) {
+		int index = index(pointX, pointY);
+		return new CellState(potentialAt(index), TAGS[tagAt(index)]);
+	}
+
+	@Override
+	public void setValue(int pointX, int pointY, CellState value) {
+		unshare();
+		int index = index(pointX, pointY);
+		potentials[index] = value.potential;
+		tags[index] = (byte) value.tag.ordinal();
+	}
+
+	@Override
+	public double getPotential(int pointX, int pointY) {
+		return potentialAt(index(pointX, pointY));
+	}
+
+	@Override
+	public void setPotential(int pointX, int pointY, double potential) {
+		unshare();
+		potentials[index(pointX, pointY)] = potential;
+	}
+
+	@Override
+	public PathFindingTag getTag(int pointX, int pointY) {
+		return TAGS[tagAt(index(pointX, pointY))];
+	}
+
+	@Override
+	public void setTag(int pointX, int pointY, PathFindingTag tag) {
+		unshare();
+		tags[index(pointX, pointY)] = (byte) tag.ordinal();
+	}
+
+	@Override
+	public void reset(CellState value) {
+		if(shared) {
+			potentials = new double[numPointsX * numPointsY];
+			tags = new byte[numPointsX * numPointsY];
+			potentialBuffer = null;
+			tagBuffer = null;
+			shared = false;
+		}
+		Arrays.fill(potentials, value.potential);
+		Arrays.fill(tags, (byte) value.tag.ordinal());
+	}
+
+	@Override
+	public FlatCellGrid clone() {
+		return new FlatCellGrid(this);
+	}
+}
@@ -16,9 +16,17 @@ public class OutputFileBaseFactory<T> extends BaseFactory<T, OutputFileFactoryOb
 		supplierMap.put(clazz.getCanonicalName(), new OutputFileFactoryObject<T>(clazz, supplier, label, desc, keyName));
 	}
 
+	/**
+	 * Returns the output file type of each data key. If there are multiple output file types for the
+	 * same data key, i.e. an output file type and its specializations (such as a binary format), the
+	 * most general type is returned.
+	 */
 	public HashMap<String, String> getDataKeyOutputFileMap() {
+		HashMap<String, Class<?>> types = new HashMap<>();
+		supplierMap.forEach((s, factoryObject) -> types.merge(factoryObject.getKeyName(), factoryObject.getClazz(),
+				(type1, type2) -> type2.isAssignableFrom(type1) ? type2 : type1));
 		HashMap<String, String> out = new HashMap<>();
-		supplierMap.forEach((s, factoryObject) -> out.put(factoryObject.getKeyName(), s));
+		types.forEach((keyName, type) -> out.put(keyName, type.getCanonicalName()));
 		return out;
 	}
 }
@@ -311,35 +311,97 @@ public class GeometryUtils {
 			final double anchorAngle,
 			final double angle) {
 
+		int numberOfPoints = getNumberOfDiscDiscretizationPoints(circle, numberOfCircles, numberOfPointsOfLargestCircle, angle);
+		double[] coordinates = new double[2 * numberOfPoints];
+		getDiscDiscretizationPoints(random, varyDirection, circle, numberOfCircles, numberOfPointsOfLargestCircle, anchorAngle, angle, coordinates);
+
+		List<VPoint> reachablePositions = new ArrayList<>(numberOfPoints);
+		for (int i = 0; i < numberOfPoints; i++) {
+			reachablePositions.add(new VPoint(coordinates[2 * i], coordinates[2 * i + 1]));
+		}
+		return reachablePositions;
+	}
+
+	/**
+	 * Generates the same points as {@link #getDiscDiscretizationPoints(Random, boolean, VCircle, int, int, double, double)}
+	 * but writes their coordinates into <tt>coordinates</tt> such that no objects are allocated, i.e. the x-coordinate of
+	 * the i-th point is <tt>coordinates[2*i]</tt> and its y-coordinate is <tt>coordinates[2*i+1]</tt>. The array has to be
+	 * large enough, see {@link #getNumberOfDiscDiscretizationPoints(VCircle, int, int, double)}.
+	 *
+	 * @param random                            a random number generator which will only be used if varyDirection is true.
+	 * @param varyDirection                     if true the generated points will be rotated by a random offset
+	 * @param circle                            the circle defining the disc (containing the points)
+	 * @param numberOfCircles                   the number of circles
+	 * @param numberOfPointsOfLargestCircle     the number of points of the most outer circle
+	 * @param anchorAngle                       start angle3D of the segment
+	 * @param angle                             anchorAngle + angle3D = end angle3D of the segment
+	 * @param coordinates                       the array the coordinates are written to
+	 *
+	 * @return the number of generated points
+	 */
+	public static int getDiscDiscretizationPoints(
+			@Nullable final Random random,
+			final boolean varyDirection,
+			@NotNull final VCircle circle,
+			final int numberOfCircles,
+			final int numberOfPointsOfLargestCircle,
+			final double anchorAngle,
+			final double angle,
+			@NotNull final double[] coordinates) {
+
 		assert random != null || !varyDirection;
 		double randOffset = varyDirection ? random.nextDouble() : 0;
-
-		List<VPoint> reachablePositions = new ArrayList<>();
+		double centerX = circle.getCenter().getX();
+		double centerY = circle.getCenter().getY();
+		int index = 0;
 
 		// iterate through all circles
 		for (int j = 1; j <= numberOfCircles; j++) {
 
 			double circleOfGrid = circle.getRadius() * j / numberOfCircles;
-
-			int numberOfGridPoints = (int) Math.ceil(circleOfGrid / circle.getRadius() * numberOfPointsOfLargestCircle);
-
-			// reduce number of grid points proportional to the constraint of direction
-			if (angle < 2.0 * Math.PI) {
-				numberOfGridPoints = (int) Math.ceil(numberOfGridPoints * angle / (2.0 * Math.PI));
-			}
-
+			int numberOfGridPoints = getNumberOfGridPoints(circle, j, numberOfCircles, numberOfPointsOfLargestCircle, angle);
 			double angleDelta = angle / numberOfGridPoints;
 
 			// iterate through all angles and compute absolute positions of grid points
 			for (int i = 0; i < numberOfGridPoints; i++) {
-
-				double x = circleOfGrid * Math.cos(anchorAngle + angleDelta * (randOffset + i)) + circle.getCenter().getX();
-				double y = circleOfGrid * Math.sin(anchorAngle + angleDelta * (randOffset + i)) + circle.getCenter().getY();
-				reachablePositions.add(new VPoint(x, y));
+				coordinates[index++] = circleOfGrid * Math.cos(anchorAngle + angleDelta * (randOffset + i)) + centerX;
+				coordinates[index++] = circleOfGrid * Math.sin(anchorAngle + angleDelta * (randOffset + i)) + centerY;
 			}
 		}
 
-		return reachablePositions;
+		return index / 2;
+	}
+
+	/**
+	 * Returns the number of points generated by {@link #getDiscDiscretizationPoints(Random, boolean, VCircle, int, int, double, double)}.
+	 */
+	public static int getNumberOfDiscDiscretizationPoints(
+			@NotNull final VCircle circle,
+			final int numberOfCircles,
+			final int numberOfPointsOfLargestCircle,
+			final double angle) {
+		int numberOfPoints = 0;
+		for (int j = 1; j <= numberOfCircles; j++) {
+			numberOfPoints += getNumberOfGridPoints(circle, j, numberOfCircles, numberOfPointsOfLargestCircle, angle);
+		}
+		return numberOfPoints;
+	}
+
+	private static int getNumberOfGridPoints(
+			@NotNull final VCircle circle,
+			final int j,
+			final int numberOfCircles,
+			final int numberOfPointsOfLargestCircle,
+			final double angle) {
+		double circleOfGrid = circle.getRadius() * j / numberOfCircles;
+
+		int numberOfGridPoints = (int) Math.ceil(circleOfGrid / circle.getRadius() * numberOfPointsOfLargestCircle);
+
+		// reduce number of grid points proportional to the constraint of direction
+		if (angle < 2.0 * Math.PI) {
+			numberOfGridPoints = (int) Math.ceil(numberOfGridPoints * angle / (2.0 * Math.PI));
+		}
+		return numberOfGridPoints;
 	}
 
 
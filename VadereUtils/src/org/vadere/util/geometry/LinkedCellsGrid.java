@@ -4,18 +4,26 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 import org.jetbrains.annotations.NotNull;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.parallel.ParallelLoop;
 
 /**
  * A grid augmenting the position of generic objects, for faster access. O(1)
  * instead of O(n) for one fixed radius check. See
  * {@link LinkedCellsGrid#getObjects(VPoint, double)}.
- * 
+ *
+ * Modifications are applied to the linked cells and are synchronized. For phases in which
+ * the objects do not move, e.g. the parallel computation of the next steps of all agents,
+ * {@link #rebuildPackedCells(ParallelLoop)} stores the content of all cells in one packed array.
+ * As long as the grid is not modified, radius queries use this array and do not acquire the
+ * monitor of the grid, i.e. concurrent queries do not block each other. The first modification
+ * invalidates the packed cells.
  * 
  */
 public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
@@ -28,6 +36,11 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 	private double[] cellSize = new double[2];
 	private int size;
 
+	/**
+	 * the packed cells of the last rebuild or <tt>null</tt> if the grid was modified since.
+	 */
+	private volatile PackedCells packedCells;
+
 	/**
 	 * One cell in the grid. It triangleContains a mapping from points to lists of
 	 * objects. This means that one can store multiple objects in one cell.
@@ -76,6 +89,39 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 		}
 	}
 
+	/**
+	 * An immutable counting sort layout of all cells: the objects of cell (row, col) are stored
+	 * in <tt>elements[cellStarts[row * numberOfCols + col], cellStarts[row * numberOfCols + col + 1])</tt>
+	 * in the same order as in the linked cell. Therefore, the objects of a range of cells of
+	 * one row are stored contiguously.
+	 */
+	private static class PackedCells {
+		private final int[] cellStarts;
+		private final Object[] elements;
+		private final int numberOfCols;
+
+		private PackedCells(final int[] cellStarts, final Object[] elements, final int numberOfCols) {
+			this.cellStarts = cellStarts;
+			this.elements = elements;
+			this.numberOfCols = numberOfCols;
+		}
+
+		@SuppressWarnings("unchecked")
+		private <E extends PointPositioned> void forEachObject(
+				final int minRow, final int maxRow, final int minCol, final int maxCol,
+				final VPoint pos, final double radius, final Consumer<? super E> visitor) {
+			for (int row = minRow; row <= maxRow; row++) {
+				int to = cellStarts[row * numberOfCols + maxCol + 1];
+				for (int i = cellStarts[row * numberOfCols + minCol]; i < to; i++) {
+					E object = (E) elements[i];
+					if (object.getPosition().distance(pos) < radius) {
+						visitor.accept(object);
+					}
+				}
+			}
+		}
+	}
+
 	private class ContainerisedElement {
 		final private int[] cell;
 		final private T object;
@@ -189,17 +235,21 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 	 *         coordinates.
 	 */
 	public int[] gridPos(VPoint pos) {
-		// compute position in the grid
-		int iX = (int) Math.max(
+		return new int[] {gridPosX(pos.x), gridPosY(pos.y)};
+	}
+
+	private int gridPosX(final double x) {
+		return (int) Math.max(
 				0,
 				Math.min(this.gridSize[0] - 1,
-						Math.floor((pos.x - left) / width * this.gridSize[0])));
-		int iY = (int) Math.max(
+						Math.floor((x - left) / width * this.gridSize[0])));
+	}
+
+	private int gridPosY(final double y) {
+		return (int) Math.max(
 				0,
 				Math.min(this.gridSize[1] - 1,
-						Math.floor((pos.y - top) / height * this.gridSize[1])));
-
-		return new int[] {iX, iY};
+						Math.floor((y - top) / height * this.gridSize[1])));
 	}
 
 	public int[][] getCellObjectCount(){
@@ -222,11 +272,57 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 		int[] gridPos = gridPos(object.getPosition());
 		grid[gridPos[0]][gridPos[1]].objects.add(object);
 		size++;
+		packedCells = null;
 	}
 
-	public void moveObject(final T object, final VPoint oldPosition) {
-		removeObject(object, oldPosition);
-		addObject(object);
+	/**
+	 * Updates the cell of an object which moved from <tt>oldPosition</tt> to its current position.
+	 * If both positions are in the same cell the grid remains unchanged, i.e. the packed cells stay valid.
+	 *
+	 * @param object        the object which moved
+	 * @param oldPosition   the position of the object before the move
+	 */
+	public synchronized void moveObject(final T object, final VPoint oldPosition) {
+		VPoint position = object.getPosition();
+		if (gridPosX(oldPosition.x) != gridPosX(position.x) || gridPosY(oldPosition.y) != gridPosY(position.y)) {
+			removeObject(object, oldPosition);
+			addObject(object);
+		}
+	}
+
+	/**
+	 * Moves all objects whose position is no longer inside of the cell they are stored in to
+	 * the cell containing their current position. This is required if the positions of the
+	 * objects were changed without calling {@link #moveObject(PointPositioned, VPoint)}. In
+	 * contrast to {@link #clear()} and adding all objects again, only objects which changed
+	 * their cell are touched.
+	 *
+	 * @return the number of objects which changed their cell
+	 */
+	public synchronized int updateCells() {
+		List<T> movedObjects = new ArrayList<>();
+		for (int row = 0; row < gridSize[0]; row++) {
+			for (int col = 0; col < gridSize[1]; col++) {
+				List<T> objects = grid[row][col].objects;
+				for (int i = objects.size() - 1; i >= 0; i--) {
+					VPoint position = objects.get(i).getPosition();
+					if (gridPosX(position.x) != row || gridPosY(position.y) != col) {
+						movedObjects.add(objects.remove(i));
+					}
+				}
+			}
+		}
+
+		// insert in reverse order of removal such that objects of the same cell keep their relative order
+		for (int i = movedObjects.size() - 1; i >= 0; i--) {
+			T object = movedObjects.get(i);
+			grid[gridPosX(object.getPosition().x)][gridPosY(object.getPosition().y)].objects.add(object);
+		}
+
+		if (!movedObjects.isEmpty()) {
+			packedCells = null;
+		}
+		return movedObjects.size();
 	}
 
 	/**
@@ -238,29 +334,102 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 	 *        radius of the ball
 	 * @return set of objects, or an empty set if no objects are present.
 	 */
-	public synchronized List<T> getObjects(final VPoint pos, final double radius) {
-		final List<T> result = new LinkedList<T>();
+	public List<T> getObjects(final VPoint pos, final double radius) {
+		final List<T> result = new ArrayList<>();
+		forEachObject(pos, radius, result::add);
+		return result;
+	}
 
-		int[] gridPos = gridPos(pos);
-		int[] discreteRad = new int[2];
-		discreteRad[0] = (int) Math.ceil(radius / cellSize[0]);
-		discreteRad[1] = (int) Math.ceil(radius / cellSize[1]);
+	/**
+	 * Calls the visitor for each object in the ball around pos with given radius. The objects
+	 * are visited in the same order as they are contained in the list of
+	 * {@link #getObjects(VPoint, double)}, but no list is constructed. The visitor must not modify
+	 * the grid.
+	 *
+	 * @param pos
+	 *        position of the center of the ball
+	 * @param radius
+	 *        radius of the ball
+	 * @param visitor
+	 *        the consumer of all objects inside the ball
+	 */
+	public void forEachObject(final VPoint pos, final double radius, final Consumer<? super T> visitor) {
+		final int iX = gridPosX(pos.x);
+		final int iY = gridPosY(pos.y);
+		final int discreteRadX = (int) Math.ceil(radius / cellSize[0]);
+		final int discreteRadY = (int) Math.ceil(radius / cellSize[1]);
+
+		final int minRow = Math.max(0, iX - discreteRadX);
+		final int maxRow = Math.min(gridSize[0] - 1, iX + discreteRadX);
+		final int minCol = Math.max(0, iY - discreteRadY);
+		final int maxCol = Math.min(gridSize[1] - 1, iY + discreteRadY);
+
+		final PackedCells packed = packedCells;
+		if (packed != null) {
+			packed.forEachObject(minRow, maxRow, minCol, maxCol, pos, radius, visitor);
+		} else {
+			synchronized (this) {
+				for (int row = minRow; row <= maxRow; row++) {
+					for (int col = minCol; col <= maxCol; col++) {
+						for (T object : grid[row][col].objects) {
+							// if the given position is closer than the radius, add all objects stored there
+							if (object.getPosition().distance(pos) < radius) {
+								visitor.accept(object);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
 
-		final int maxRow = Math.min(gridSize[0] - 1, gridPos[0] + discreteRad[0]);
-		final int maxCol = Math.min(gridSize[1] - 1, gridPos[1] + discreteRad[1]);
+	/**
+	 * Stores the content of all cells in one packed array (counting sort by cell) such that the
+	 * following radius queries are lock-free until the grid is modified again. The cells are copied
+	 * sequentially.
+	 */
+	public void rebuildPackedCells() {
+		rebuildPackedCells(null);
+	}
 
-		for (int row = Math.max(0, gridPos[0] - discreteRad[0]); row <= maxRow; row++) {
-			for (int col = Math.max(0, gridPos[1] - discreteRad[1]); col <= maxCol; col++) {
+	/**
+	 * Stores the content of all cells in one packed array (counting sort by cell) such that the
+	 * following radius queries are lock-free until the grid is modified again. The rows of the grid
+	 * are copied in parallel by the parallel loop.
+	 *
+	 * @param parallelLoop the loop used to copy the rows of cells or <tt>null</tt> for a sequential copy
+	 */
+	public synchronized void rebuildPackedCells(final ParallelLoop parallelLoop) {
+		final int numberOfCols = gridSize[1];
+		final int[] cellStarts = new int[gridSize[0] * numberOfCols + 1];
+
+		for (int row = 0; row < gridSize[0]; row++) {
+			for (int col = 0; col < numberOfCols; col++) {
+				int cell = row * numberOfCols + col;
+				cellStarts[cell + 1] = cellStarts[cell] + grid[row][col].objects.size();
+			}
+		}
 
-				for (T object : grid[row][col].objects) {
-					// if the given position is closer than the radius, add all objects stored there
-					if (object.getPosition().distance(pos) < radius) {
-						result.add(object);
-					}
+		final Object[] elements = new Object[cellStarts[cellStarts.length - 1]];
+		IntConsumer copyRow = row -> {
+			for (int col = 0; col < numberOfCols; col++) {
+				List<T> objects = grid[row][col].objects;
+				int offset = cellStarts[row * numberOfCols + col];
+				for (int i = 0; i < objects.size(); i++) {
+					elements[offset + i] = objects.get(i);
 				}
 			}
+		};
+
+		if (parallelLoop == null) {
+			for (int row = 0; row < gridSize[0]; row++) {
+				copyRow.accept(row);
+			}
+		} else {
+			parallelLoop.forEach(gridSize[0], copyRow);
 		}
-		return result;
+
+		packedCells = new PackedCells(cellStarts, elements, numberOfCols);
 	}
 
 	/**
@@ -274,6 +443,7 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 		int[] gridPos = gridPos(object.getPosition());
 		if(grid[gridPos[0]][gridPos[1]].objects.removeIf(element -> element.equals(object))){
 			size--;
+			packedCells = null;
 		}
 	}
 
@@ -281,15 +451,17 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 		int[] gridPos = gridPos(oldPosition);
 		if(grid[gridPos[0]][gridPos[1]].objects.removeIf(element -> element.equals(object))){
 			size--;
+			packedCells = null;
 		}
 	}
 
 	/**
 	 * Removes all objects.
 	 */
-	public void clear() {
+	public synchronized void clear() {
 		grid = generateGrid(gridSize[0], gridSize[1]);
 		size = 0;
+		packedCells = null;
 	}
 
 	public List<T> getElements() {
@@ -0,0 +1,334 @@
+package org.vadere.util.io;
+
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.util.data.Table;
+import org.vadere.util.io.ColumnarTableWriter.ColumnType;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.columns.Column;
+
+/**
+ * Reads a table written by a {@link ColumnarTableWriter}, either into a tablesaw table, e.g. for the
+ * post-visualization, or into a {@link Table} like the {@link TableReader} does. The values are
+ * copied column by column, i.e. nothing is parsed except the dictionaries of string columns.
+ *
+ * String columns of processors which do not provide their values as numbers are converted into
+ * int or double columns if all their (non missing) values are numbers, which corresponds to the
+ * type detection of tablesaw for text files.
+ */
+public class ColumnarTableReader implements Closeable {
+
+	private final DataInputStream in;
+	private final int indexColumnCount;
+	private final String[] columnNames;
+	private final ColumnType[] columnTypes;
+
+	public ColumnarTableReader(@NotNull final InputStream in) throws IOException {
+		this.in = new DataInputStream(in);
+		if(this.in.readInt() != ColumnarTableWriter.MAGIC) {
+			throw new IOException("the stream does not contain a columnar table.");
+		}
+		int version = this.in.readInt();
+		if(version != ColumnarTableWriter.VERSION) {
+			throw new IOException("unsupported version " + version + " of the columnar table.");
+		}
+		indexColumnCount = this.in.readInt();
+		int columnCount = this.in.readInt();
+		columnNames = new String[columnCount];
+		columnTypes = new ColumnType[columnCount];
+		for(int col = 0; col < columnCount; col++) {
+			columnNames[col] = this.in.readUTF();
+			columnTypes[col] = ColumnType.values()[this.in.readByte()];
+		}
+	}
+
+	public static ColumnarTableReader open(@NotNull final Path path) throws IOException {
+		InputStream in = new BufferedInputStream(Files.newInputStream(path));
+		try {
+			return new ColumnarTableReader(in);
+		} catch (IOException e) {
+			in.close();
+			throw new IOException("cannot read " + path + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Returns true if the file starts like a table written by a {@link ColumnarTableWriter}, i.e. if it
+	 * is no text file.
+	 */
+	public static boolean isColumnarTable(@NotNull final Path path) throws IOException {
+		if(!Files.isRegularFile(path) || Files.size(path) < Integer.BYTES) {
+			return false;
+		}
+		try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+			return in.readInt() == ColumnarTableWriter.MAGIC;
+		}
+	}
+
+	/**
+	 * Returns the number of leading columns which contain the data key.
+	 */
+	public int getIndexColumnCount() {
+		return indexColumnCount;
+	}
+
+	public String[] getColumnNames() {
+		return columnNames.clone();
+	}
+
+	public ColumnType getColumnType(final int col) {
+		return columnTypes[col];
+	}
+
+	/**
+	 * Reads all rows into a tablesaw table.
+	 *
+	 * @param name the name of the table
+	 * @return the table
+	 * @throws IOException if a chunk is corrupted
+	 */
+	public tech.tablesaw.api.Table readDataFrame(@NotNull final String name) throws IOException {
+		Columns columns = readColumns();
+		Column<?>[] dataFrameColumns = new Column<?>[columnNames.length];
+		for(int col = 0; col < columnNames.length; col++) {
+			switch (columnTypes[col]) {
+				case INT:
+					dataFrameColumns[col] = IntColumn.create(columnNames[col], columns.ints[col].toIntArray());
+					break;
+				case DOUBLE:
+					dataFrameColumns[col] = DoubleColumn.create(columnNames[col], columns.doubles[col].toDoubleArray());
+					break;
+				default:
+					dataFrameColumns[col] = toDataFrameColumn(columnNames[col], columns.dictionaries.get(col), columns.ints[col]);
+			}
+		}
+		return tech.tablesaw.api.Table.create(name, dataFrameColumns);
+	}
+
+	private static Column<?> toDataFrameColumn(@NotNull final String name, @NotNull final List<String> dictionary, @NotNull final IntArrayList indices) {
+		ColumnType type = getNumberType(dictionary);
+		int n = indices.size();
+		if(type == ColumnType.INT) {
+			int[] entries = new int[dictionary.size()];
+			for(int i = 0; i < entries.length; i++) {
+				entries[i] = isMissing(dictionary.get(i)) ? Integer.MIN_VALUE : Integer.parseInt(dictionary.get(i));
+			}
+			int[] values = new int[n];
+			for(int row = 0; row < n; row++) {
+				values[row] = entries[indices.getInt(row)];
+			}
+			return IntColumn.create(name, values);
+		} else if(type == ColumnType.DOUBLE) {
+			double[] entries = new double[dictionary.size()];
+			for(int i = 0; i < entries.length; i++) {
+				entries[i] = isMissing(dictionary.get(i)) ? Double.NaN : Double.parseDouble(dictionary.get(i));
+			}
+			double[] values = new double[n];
+			for(int row = 0; row < n; row++) {
+				values[row] = entries[indices.getInt(row)];
+			}
+			return DoubleColumn.create(name, values);
+		} else {
+			String[] values = new String[n];
+			for(int row = 0; row < n; row++) {
+				values[row] = dictionary.get(indices.getInt(row));
+			}
+			return StringColumn.create(name, values);
+		}
+	}
+
+	/**
+	 * Returns the most specific type (int, double or string) of all values of a dictionary.
+	 */
+	private static ColumnType getNumberType(@NotNull final List<String> dictionary) {
+		ColumnType type = ColumnType.INT;
+		for(String value : dictionary) {
+			if(isMissing(value)) {
+				continue;
+			}
+			try {
+				if(type == ColumnType.INT) {
+					Integer.parseInt(value);
+				} else {
+					Double.parseDouble(value);
+				}
+			} catch (NumberFormatException e) {
+				if(type == ColumnType.INT) {
+					type = ColumnType.DOUBLE;
+					try {
+						Double.parseDouble(value);
+					} catch (NumberFormatException e2) {
+						return ColumnType.STRING;
+					}
+				} else {
+					return ColumnType.STRING;
+				}
+			}
+		}
+		return type;
+	}
+
+	private static boolean isMissing(@NotNull final String value) {
+		return value.isEmpty() || value.equals("NA") || value.equals("NaN");
+	}
+
+	/**
+	 * Reads all rows into a {@link Table}. Ints, doubles and strings are inserted as {@link Integer},
+	 * {@link Double} and {@link String}, see {@link TableReader}.
+	 *
+	 * @param variables the columns to read, all columns are read if no column is given
+	 * @return the table
+	 * @throws IOException if a chunk is corrupted or a column does not exist
+	 */
+	public Table readTable(final String... variables) throws IOException {
+		String[] names = variables.length == 0 ? columnNames : variables;
+		int[] cols = new int[names.length];
+		List<String> allNames = Arrays.asList(columnNames);
+		for(int i = 0; i < names.length; i++) {
+			cols[i] = allNames.indexOf(names[i]);
+			if(cols[i] < 0) {
+				throw new IOException("column " + names[i] + " does not exist.");
+			}
+		}
+
+		Columns columns = readColumns();
+		Table table = new Table(names);
+		for(int row = 0; row < columns.rowCount; row++) {
+			table.addRow();
+			for(int i = 0; i < cols.length; i++) {
+				int col = cols[i];
+				Object value;
+				switch (columnTypes[col]) {
+					case INT: value = columns.ints[col].getInt(row); break;
+					case DOUBLE: value = columns.doubles[col].getDouble(row); break;
+					default: value = columns.dictionaries.get(col).get(columns.ints[col].getInt(row));
+				}
+				table.addColumnEntry(names[i], value);
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * The values of all chunks, string columns contain the indices into their dictionary.
+	 */
+	private static class Columns {
+		private int rowCount;
+		private IntArrayList[] ints;
+		private DoubleArrayList[] doubles;
+		private List<List<String>> dictionaries;
+	}
+
+	private Columns readColumns() throws IOException {
+		Columns columns = new Columns();
+		columns.ints = new IntArrayList[columnNames.length];
+		columns.doubles = new DoubleArrayList[columnNames.length];
+		columns.dictionaries = new ArrayList<>(columnNames.length);
+		for(int col = 0; col < columnNames.length; col++) {
+			if(columnTypes[col] == ColumnType.DOUBLE) {
+				columns.doubles[col] = new DoubleArrayList();
+			} else {
+				columns.ints[col] = new IntArrayList();
+			}
+			columns.dictionaries.add(columnTypes[col] == ColumnType.STRING ? new ArrayList<>() : null);
+		}
+
+		byte[] bytes = new byte[0];
+		int rowCount;
+		while ((rowCount = readRowCount()) > 0) {
+			int[] dictionarySizes = new int[columnNames.length];
+			try {
+				for(int col = 0; col < columnNames.length; col++) {
+					if(columnTypes[col] == ColumnType.STRING) {
+						List<String> dictionary = columns.dictionaries.get(col);
+						dictionarySizes[col] = dictionary.size();
+						int newEntries = in.readInt();
+						for(int i = 0; i < newEntries; i++) {
+							dictionary.add(in.readUTF());
+						}
+					}
+				}
+				for(int col = 0; col < columnNames.length; col++) {
+					int size = rowCount * columnTypes[col].getWidth();
+					if(bytes.length < size) {
+						bytes = new byte[size];
+					}
+					in.readFully(bytes, 0, size);
+					ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, size);
+					if(columnTypes[col] == ColumnType.DOUBLE) {
+						double[] values = new double[rowCount];
+						buffer.asDoubleBuffer().get(values);
+						columns.doubles[col].addElements(columns.doubles[col].size(), values);
+					} else {
+						int[] values = new int[rowCount];
+						buffer.asIntBuffer().get(values);
+						if(columnTypes[col] == ColumnType.STRING) {
+							int dictionarySize = columns.dictionaries.get(col).size();
+							for(int value : values) {
+								if(value < 0 || value >= dictionarySize) {
+									throw new IOException("column " + columnNames[col] + " refers to the undefined string " + value + ".");
+								}
+							}
+						}
+						columns.ints[col].addElements(columns.ints[col].size(), values);
+					}
+				}
+			} catch (EOFException e) {
+				// the last chunk is incomplete, i.e. the file is still written or the writer was aborted
+				for(int col = 0; col < columnNames.length; col++) {
+					if(columnTypes[col] == ColumnType.DOUBLE) {
+						columns.doubles[col].size(columns.rowCount);
+					} else {
+						columns.ints[col].size(columns.rowCount);
+					}
+					if(columnTypes[col] == ColumnType.STRING) {
+						List<String> dictionary = columns.dictionaries.get(col);
+						dictionary.subList(dictionarySizes[col], dictionary.size()).clear();
+					}
+				}
+				break;
+			}
+			columns.rowCount += rowCount;
+		}
+		return columns;
+	}
+
+	/**
+	 * Returns the number of rows of the next chunk or 0 if there is none, i.e. the end of the table
+	 * is reached or the table was not closed.
+	 */
+	private int readRowCount() throws IOException {
+		try {
+			int rowCount = in.readInt();
+			if(rowCount < 0) {
+				throw new IOException("corrupted chunk of " + rowCount + " rows.");
+			}
+			return rowCount;
+		} catch (EOFException e) {
+			return 0;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
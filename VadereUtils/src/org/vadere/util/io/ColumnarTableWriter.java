@@ -0,0 +1,192 @@
+package org.vadere.util.io;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link ColumnarTableWriter} writes a table in a compact, columnar binary layout instead of
+ * formatting each value as text. The rows are collected into chunks, each chunk stores its columns
+ * contiguously with a fixed width: int, double or the dictionary index of a string. Use the
+ * {@link ColumnarTableReader} to read the table.
+ *
+ * Layout (big endian, see {@link java.io.DataOutput}):
+ * <pre>
+ * header: magic, version, number of index (data key) columns, number of columns, (name, type) of each column
+ * chunk:  number of rows n &gt; 0,
+ *         for each string column: number of new dictionary entries followed by the entries,
+ *         for each column: n values
+ * end:    0
+ * </pre>
+ * A file without end, e.g. of an aborted simulation, is readable up to its last complete chunk.
+ *
+ * Usage: set all values of a row by {@link #setInt}, {@link #setDouble} or {@link #setString}
+ * and complete the row by {@link #endRow()}.
+ */
+public class ColumnarTableWriter implements Closeable {
+
+	public static final int MAGIC = 0x56435442;
+	public static final int VERSION = 1;
+	public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+	public enum ColumnType {
+		INT(4), DOUBLE(8), STRING(4);
+
+		private final int width;
+
+		ColumnType(final int width) {
+			this.width = width;
+		}
+
+		/**
+		 * Returns the number of bytes of a value of this type.
+		 */
+		public int getWidth() {
+			return width;
+		}
+	}
+
+	private final DataOutputStream out;
+	private final ColumnType[] columnTypes;
+	private final int chunkSize;
+
+	// the values of the current chunk, by column
+	private final int[][] intValues;
+	private final double[][] doubleValues;
+	private final List<Object2IntOpenHashMap<String>> dictionaries;
+	private final List<List<String>> newEntries;
+	private final ByteBuffer buffer;
+	private int rowCount;
+	private boolean closed;
+
+	public ColumnarTableWriter(@NotNull final OutputStream out, @NotNull final String[] columnNames,
+	                           @NotNull final ColumnType[] columnTypes, final int indexColumnCount) throws IOException {
+		this(out, columnNames, columnTypes, indexColumnCount, DEFAULT_CHUNK_SIZE);
+	}
+
+	public ColumnarTableWriter(@NotNull final OutputStream out, @NotNull final String[] columnNames,
+	                           @NotNull final ColumnType[] columnTypes, final int indexColumnCount, final int chunkSize) throws IOException {
+		if(columnNames.length != columnTypes.length) {
+			throw new IllegalArgumentException("columnNames and columnTypes array has not the same length: "
+					+ columnNames.length + " != " + columnTypes.length);
+		}
+		if(chunkSize <= 0) {
+			throw new IllegalArgumentException("the chunk size has to be positive: " + chunkSize);
+		}
+
+		this.out = new DataOutputStream(out);
+		this.columnTypes = columnTypes.clone();
+		this.chunkSize = chunkSize;
+		this.intValues = new int[columnTypes.length][];
+		this.doubleValues = new double[columnTypes.length][];
+		this.dictionaries = new ArrayList<>(columnTypes.length);
+		this.newEntries = new ArrayList<>(columnTypes.length);
+		for(int col = 0; col < columnTypes.length; col++) {
+			if(columnTypes[col] == ColumnType.DOUBLE) {
+				doubleValues[col] = new double[chunkSize];
+			} else {
+				intValues[col] = new int[chunkSize];
+			}
+			dictionaries.add(columnTypes[col] == ColumnType.STRING ? new Object2IntOpenHashMap<>() : null);
+			newEntries.add(columnTypes[col] == ColumnType.STRING ? new ArrayList<>() : null);
+		}
+		this.buffer = ByteBuffer.allocate(chunkSize * Double.BYTES);
+		this.rowCount = 0;
+		this.closed = false;
+
+		this.out.writeInt(MAGIC);
+		this.out.writeInt(VERSION);
+		this.out.writeInt(indexColumnCount);
+		this.out.writeInt(columnNames.length);
+		for(int col = 0; col < columnNames.length; col++) {
+			this.out.writeUTF(columnNames[col]);
+			this.out.writeByte(columnTypes[col].ordinal());
+		}
+	}
+
+	public void setInt(final int col, final int value) {
+		intValues[col][rowCount] = value;
+	}
+
+	public void setDouble(final int col, final double value) {
+		doubleValues[col][rowCount] = value;
+	}
+
+	public void setString(final int col, @NotNull final String value) {
+		Object2IntOpenHashMap<String> dictionary = dictionaries.get(col);
+		int index = dictionary.getOrDefault(value, -1);
+		if(index < 0) {
+			index = dictionary.size();
+			dictionary.put(value, index);
+			newEntries.get(col).add(value);
+		}
+		intValues[col][rowCount] = index;
+	}
+
+	/**
+	 * Completes the current row, the chunk is written if it is full.
+	 */
+	public void endRow() throws IOException {
+		rowCount++;
+		if(rowCount == chunkSize) {
+			writeChunk();
+		}
+	}
+
+	/**
+	 * Writes all complete rows, i.e. the current chunk, and flushes the underlying stream.
+	 */
+	public void flush() throws IOException {
+		if(rowCount > 0) {
+			writeChunk();
+		}
+		out.flush();
+	}
+
+	private void writeChunk() throws IOException {
+		out.writeInt(rowCount);
+		for(int col = 0; col < columnTypes.length; col++) {
+			if(columnTypes[col] == ColumnType.STRING) {
+				List<String> entries = newEntries.get(col);
+				out.writeInt(entries.size());
+				for(String entry : entries) {
+					out.writeUTF(entry);
+				}
+				entries.clear();
+			}
+		}
+
+		for(int col = 0; col < columnTypes.length; col++) {
+			buffer.clear();
+			if(columnTypes[col] == ColumnType.DOUBLE) {
+				buffer.asDoubleBuffer().put(doubleValues[col], 0, rowCount);
+			} else {
+				buffer.asIntBuffer().put(intValues[col], 0, rowCount);
+			}
+			out.write(buffer.array(), 0, rowCount * columnTypes[col].getWidth());
+		}
+		rowCount = 0;
+	}
+
+	/**
+	 * Writes the remaining rows and the end of the table and closes the underlying stream.
+	 */
+	@Override
+	public void close() throws IOException {
+		if(!closed) {
+			closed = true;
+			try (DataOutputStream out = this.out) {
+				flush();
+				out.writeInt(0);
+			}
+		}
+	}
+}
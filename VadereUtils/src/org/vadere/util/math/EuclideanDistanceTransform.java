@@ -0,0 +1,112 @@
+package org.vadere.util.math;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.vadere.util.parallel.ParallelLoop;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Exact Euclidean distance transform of a binary image in linear time (Felzenszwalb and
+ * Huttenlocher, 'Distance Transforms of Sampled Functions', 2012). For each pixel the squared
+ * distance (in pixels) to the nearest feature pixel is computed. The transform is separable: first
+ * the one dimensional transform of each column is computed, then the one dimensional transform of
+ * each row of the result, where each one dimensional transform computes the lower envelope of
+ * parabolas rooted at the pixels. The columns and the rows can be processed in parallel.
+ *
+ * The image is stored in row major order, i.e. the index of the pixel (x, y) is <tt>y * width + x</tt>.
+ */
+public class EuclideanDistanceTransform {
+
+	/**
+	 * The squared distance of pixels without any feature pixel in the image. It is finite such that
+	 * the intersections of the parabolas can be computed without special cases.
+	 */
+	public static final double INFINITY = 1.0E20;
+
+	private EuclideanDistanceTransform() {}
+
+	/**
+	 * Computes the squared distances of all pixels to the nearest feature pixel.
+	 *
+	 * @param features      the binary image, <tt>true</tt> marks a feature pixel
+	 * @param width         the number of pixels of a row
+	 * @param height        the number of pixels of a column
+	 * @param parallelLoop  the loop which processes the columns and rows or <tt>null</tt> for a sequential computation
+	 * @return the squared distances in pixels, pixels without feature pixel in the image have a value of at least {@link #INFINITY}
+	 */
+	public static double[] squaredDistances(@NotNull final boolean[] features, final int width, final int height,
+	                                        @Nullable final ParallelLoop parallelLoop) {
+		if (features.length != width * height) {
+			throw new IllegalArgumentException("the image has " + features.length + " pixels instead of " + width + " x " + height);
+		}
+
+		final double[] distances = new double[features.length];
+		for (int i = 0; i < features.length; i++) {
+			distances[i] = features[i] ? 0 : INFINITY;
+		}
+
+		// transform the columns, the stride of a column is the width
+		forEach(width, parallelLoop, x -> transform(distances, x, width, height));
+
+		// transform the rows of the result
+		forEach(height, parallelLoop, y -> transform(distances, y * width, 1, width));
+
+		return distances;
+	}
+
+	private static void forEach(final int n, @Nullable final ParallelLoop parallelLoop, @NotNull final IntConsumer body) {
+		if (parallelLoop == null) {
+			for (int i = 0; i < n; i++) {
+				body.accept(i);
+			}
+		} else {
+			parallelLoop.forEach(n, body);
+		}
+	}
+
+	/**
+	 * The one dimensional transform of the line <tt>values[offset + i * stride]</tt> for
+	 * <tt>0 &lt;= i &lt; n</tt>, the result replaces the values of the line.
+	 */
+	private static void transform(@NotNull final double[] values, final int offset, final int stride, final int n) {
+		final double[] f = new double[n];
+		final int[] v = new int[n];
+		final double[] z = new double[n + 1];
+
+		for (int q = 0; q < n; q++) {
+			f[q] = values[offset + q * stride];
+		}
+
+		// compute the lower envelope, v are the roots of its parabolas, z the boundaries between them
+		int k = 0;
+		v[0] = 0;
+		z[0] = Double.NEGATIVE_INFINITY;
+		z[1] = Double.POSITIVE_INFINITY;
+		for (int q = 1; q < n; q++) {
+			double s = intersection(f, q, v[k]);
+			while (s <= z[k]) {
+				k--;
+				s = intersection(f, q, v[k]);
+			}
+			k++;
+			v[k] = q;
+			z[k] = s;
+			z[k + 1] = Double.POSITIVE_INFINITY;
+		}
+
+		// evaluate the lower envelope
+		k = 0;
+		for (int q = 0; q < n; q++) {
+			while (z[k + 1] < q) {
+				k++;
+			}
+			double d = q - v[k];
+			values[offset + q * stride] = d * d + f[v[k]];
+		}
+	}
+
+	private static double intersection(@NotNull final double[] f, final int q, final int p) {
+		return ((f[q] + (double) q * q) - (f[p] + (double) p * p)) / (2.0 * q - 2.0 * p);
+	}
+}
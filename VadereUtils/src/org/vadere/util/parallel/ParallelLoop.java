@@ -0,0 +1,92 @@
+package org.vadere.util.parallel;
+
+import org.vadere.util.config.VadereConfig;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Executes loops over an index range <tt>[0, n)</tt> in parallel on a {@link ForkJoinPool}.
+ * Instead of submitting one task per index, the range is split into contiguous chunks such that
+ * the task overhead is independent of <tt>n</tt> and idle workers can steal the remaining chunks
+ * of busy workers. A call of {@link #forEach(int, IntConsumer)} returns after all indices are
+ * processed, therefore all writes of one loop are visible to the next one.
+ *
+ * The number of threads is configured by the key <tt>Vadere.parallel.numberOfThreads</tt> of the
+ * {@link VadereConfig}. A value smaller than 1 means that all available processors are used.
+ */
+public class ParallelLoop {
+
+	/** the number of chunks per thread, more chunks improve the load balancing. */
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private final ForkJoinPool forkJoinPool;
+
+	public ParallelLoop() {
+		this(getConfiguredParallelism());
+	}
+
+	public ParallelLoop(final int parallelism) {
+		this.forkJoinPool = new ForkJoinPool(Math.max(1, parallelism));
+	}
+
+	/**
+	 * Returns the number of threads configured by <tt>Vadere.parallel.numberOfThreads</tt>.
+	 *
+	 * @return the number of threads which should be used for parallel computations
+	 */
+	public static int getConfiguredParallelism() {
+		int numberOfThreads = VadereConfig.getConfig().getInt("Vadere.parallel.numberOfThreads", 0);
+		return numberOfThreads < 1 ? Runtime.getRuntime().availableProcessors() : numberOfThreads;
+	}
+
+	public int getParallelism() {
+		return forkJoinPool.getParallelism();
+	}
+
+	/**
+	 * Calls <tt>body</tt> for each index in <tt>[0, n)</tt> in parallel and waits until all
+	 * calls are finished. Runtime exceptions thrown by <tt>body</tt> are re-thrown.
+	 *
+	 * @param n     the size of the index range
+	 * @param body  the loop body
+	 */
+	public void forEach(final int n, final IntConsumer body) {
+		if(n <= 0) {
+			return;
+		}
+		int chunkSize = Math.max(1, n / (getParallelism() * CHUNKS_PER_THREAD));
+		forkJoinPool.invoke(new ChunkAction(0, n, chunkSize, body));
+	}
+
+	public void shutdown() {
+		forkJoinPool.shutdown();
+	}
+
+	private static class ChunkAction extends RecursiveAction {
+		private final int from;
+		private final int to;
+		private final int chunkSize;
+		private final IntConsumer body;
+
+		private ChunkAction(final int from, final int to, final int chunkSize, final IntConsumer body) {
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+			this.body = body;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from <= chunkSize) {
+				for(int i = from; i < to; i++) {
+					body.accept(i);
+				}
+			} else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new ChunkAction(from, mid, chunkSize, body), new ChunkAction(mid, to, chunkSize, body));
+			}
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package org.vadere.util.data;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IndexedMinHeapTest {
+
+	private static final int CAPACITY = 100;
+
+	@Test
+	public void testPollOrdersByKeyAndIndex() {
+		IndexedMinHeap heap = new IndexedMinHeap(CAPACITY);
+		heap.insert(5, 1.0);
+		heap.insert(3, 2.0);
+		heap.insert(7, 1.0);
+		heap.insert(1, 0.5);
+
+		assertThat(heap.poll(), equalTo(1));
+		assertThat(heap.poll(), equalTo(5));
+		assertThat(heap.poll(), equalTo(7));
+		assertThat(heap.poll(), equalTo(3));
+		assertTrue(heap.isEmpty());
+	}
+
+	@Test
+	public void testDecreaseKey() {
+		IndexedMinHeap heap = new IndexedMinHeap(CAPACITY);
+		heap.insert(0, 3.0);
+		heap.insert(1, 2.0);
+		heap.insert(2, 1.0);
+
+		heap.decreaseKey(0, 0.5);
+		assertThat(heap.getKey(0), equalTo(0.5));
+		assertThat(heap.poll(), equalTo(0));
+		assertFalse(heap.contains(0));
+	}
+
+	@Test
+	public void testEnsureCapacity() {
+		IndexedMinHeap heap = new IndexedMinHeap(1);
+		heap.insert(0, 1.0);
+		heap.ensureCapacity(10);
+		heap.insert(9, 0.0);
+
+		assertTrue(heap.capacity() >= 10);
+		assertThat(heap.poll(), equalTo(9));
+		assertThat(heap.poll(), equalTo(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIncreaseKeyIsRejected() {
+		IndexedMinHeap heap = new IndexedMinHeap(CAPACITY);
+		heap.insert(0, 1.0);
+		heap.decreaseKey(0, 2.0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDuplicatesAreRejected() {
+		IndexedMinHeap heap = new IndexedMinHeap(CAPACITY);
+		heap.insert(0, 1.0);
+		heap.insert(0, 2.0);
+	}
+
+	@Test
+	public void testRandomOperationsAgreeWithTreeSet() {
+		Random random = new Random(0);
+		double[] keys = new double[CAPACITY];
+		TreeSet<Integer> reference = new TreeSet<>((i, j) -> keys[i] != keys[j] ? Double.compare(keys[i], keys[j]) : Integer.compare(i, j));
+		IndexedMinHeap heap = new IndexedMinHeap(CAPACITY);
+
+		for(int i = 0; i < 10000; i++) {
+			int index = random.nextInt(CAPACITY);
+			// few distinct keys such that the order of equal keys is tested as well
+			double key = random.nextInt(20);
+			switch (random.nextInt(4)) {
+				case 0:
+					if(!heap.contains(index)) {
+						keys[index] = key;
+						reference.add(index);
+						heap.insert(index, key);
+					}
+					break;
+				case 1:
+					if(heap.contains(index) && key <= keys[index]) {
+						reference.remove(index);
+						keys[index] = key;
+						reference.add(index);
+						heap.decreaseKey(index, key);
+					}
+					break;
+				case 2:
+					assertThat(heap.remove(index), equalTo(reference.remove(index)));
+					break;
+				default:
+					if(!reference.isEmpty()) {
+						assertThat(heap.poll(), equalTo(reference.pollFirst()));
+					}
+			}
+			assertThat(heap.size(), equalTo(reference.size()));
+		}
+
+		while (!reference.isEmpty()) {
+			assertThat(heap.poll(), equalTo(reference.pollFirst()));
+		}
+		assertTrue(heap.isEmpty());
+	}
+}
@@ -0,0 +1,55 @@
+package org.vadere.util.data.aabb;
+
+import org.junit.Test;
+import org.vadere.util.geometry.GeometryUtils;
+import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class AABBDistanceTreeTest {
+
+	private static final double EPSILON = 1.0E-8;
+
+	@Test
+	public void testEmptyTreeReturnsMaxValue() {
+		AABBDistanceTree<VShape> tree = new AABBDistanceTree<>(Collections.<VShape>emptyList(), VShape::getBounds2D, VShape::distance);
+		assertEquals(Double.MAX_VALUE, tree.distance(new VPoint(1, 1)), 0.0);
+	}
+
+	@Test
+	public void testDistanceEqualsBruteForce() {
+		Random random = new Random(0);
+		List<VShape> shapes = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			double x = random.nextDouble() * 100;
+			double y = random.nextDouble() * 100;
+			switch (i % 3) {
+				case 0:
+					shapes.add(new VRectangle(x, y, 0.5 + random.nextDouble() * 5, 0.5 + random.nextDouble() * 5));
+					break;
+				case 1:
+					shapes.add(new VCircle(new VPoint(x, y), 0.2 + random.nextDouble() * 2));
+					break;
+				default:
+					shapes.add(GeometryUtils.toPolygon(new VPoint(x, y), new VPoint(x + 4, y + 1), new VPoint(x + 1, y + 3)));
+			}
+		}
+
+		AABBDistanceTree<VShape> tree = new AABBDistanceTree<>(shapes, VShape::getBounds2D, VShape::distance);
+		assertEquals(shapes.size(), tree.size());
+
+		for (int i = 0; i < 2000; i++) {
+			VPoint point = new VPoint(random.nextDouble() * 110 - 5, random.nextDouble() * 110 - 5);
+			double expected = shapes.stream().mapToDouble(shape -> shape.distance(point)).min().getAsDouble();
+			assertEquals(expected, tree.distance(point), EPSILON);
+		}
+	}
+}
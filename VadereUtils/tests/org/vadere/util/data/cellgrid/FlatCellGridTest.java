@@ -0,0 +1,137 @@
+package org.vadere.util.data.cellgrid;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FlatCellGridTest {
+
+	private CellGrid cellGrid;
+	private FlatCellGrid flatCellGrid;
+
+	@Before
+	public void setUp() {
+		Random rnd = new Random(0);
+		cellGrid = new CellGrid(3.0, 2.0, 0.5, new CellState(), 1.0, -1.0);
+		flatCellGrid = new FlatCellGrid(3.0, 2.0, 0.5, new CellState(), 1.0, -1.0);
+		int maxPathFindingTag = PathFindingTag.values().length;
+
+		for (int row = 0; row < cellGrid.getNumPointsY(); row++) {
+			for (int col = 0; col < cellGrid.getNumPointsX(); col++) {
+				CellState state = new CellState(rnd.nextDouble(), PathFindingTag.values()[rnd.nextInt(maxPathFindingTag)]);
+				cellGrid.setValue(col, row, state.clone());
+				flatCellGrid.setValue(col, row, state.clone());
+			}
+		}
+	}
+
+	@Test
+	public void testSameValuesAsCellGrid() {
+		assertEquals(cellGrid.getNumPointsX(), flatCellGrid.getNumPointsX());
+		assertEquals(cellGrid.getNumPointsY(), flatCellGrid.getNumPointsY());
+
+		for (int row = 0; row < cellGrid.getNumPointsY(); row++) {
+			for (int col = 0; col < cellGrid.getNumPointsX(); col++) {
+				assertThat(flatCellGrid.getValue(col, row), equalTo(cellGrid.getValue(col, row)));
+				assertThat(flatCellGrid.getPotential(col, row), equalTo(cellGrid.getPotential(col, row)));
+				assertThat(flatCellGrid.getTag(col, row), equalTo(cellGrid.getTag(col, row)));
+			}
+		}
+
+		Iterator<CellState> flatIterator = flatCellGrid.getRawBuffer().iterator();
+		for (CellState state : cellGrid.getRawBuffer()) {
+			assertThat(flatIterator.next(), equalTo(state));
+		}
+		assertFalse(flatIterator.hasNext());
+	}
+
+	@Test
+	public void testInterpolation() {
+		Random rnd = new Random(1);
+		for (int i = 0; i < 100; i++) {
+			double x = 0.5 + rnd.nextDouble() * 4.0;
+			double y = -1.5 + rnd.nextDouble() * 3.0;
+			Pair<Double, Double> expected = cellGrid.getInterpolatedValueAt(x, y);
+			Pair<Double, Double> actual = flatCellGrid.getInterpolatedValueAt(x, y);
+			assertThat(actual, equalTo(expected));
+			assertThat(flatCellGrid.getInterpolationFunction().apply(new VPoint(x, y)),
+					equalTo(cellGrid.getInterpolationFunction().apply(new VPoint(x, y))));
+		}
+	}
+
+	@Test
+	public void testModificationsAndCopies() {
+		CellState detached = flatCellGrid.getValue(1, 2);
+		detached.potential = -1.0;
+		assertFalse(flatCellGrid.getPotential(1, 2) == -1.0);
+
+		FlatCellGrid copy = flatCellGrid.clone();
+		flatCellGrid.setPotential(1, 2, 42.0);
+		flatCellGrid.setTag(1, 2, PathFindingTag.Obstacle);
+		assertThat(flatCellGrid.getValue(1, 2), equalTo(new CellState(42.0, PathFindingTag.Obstacle)));
+		assertThat(copy.getPotential(1, 2), equalTo(cellGrid.getPotential(1, 2)));
+
+		CellGrid objectCopy = new CellGrid(flatCellGrid);
+		assertThat(objectCopy.getValue(1, 2), equalTo(new CellState(42.0, PathFindingTag.Obstacle)));
+		assertThat(new FlatCellGrid(cellGrid).asTable().toString(), equalTo(cellGrid.asTable().toString()));
+
+		flatCellGrid.reset(new CellState(1.0, PathFindingTag.Target));
+		assertThat(flatCellGrid.getValue(0, 0), equalTo(new CellState(1.0, PathFindingTag.Target)));
+	}
+
+	@Test
+	public void testSharedValuesAreCopiedOnWrite() {
+		FlatCellGrid sharing = new FlatCellGrid(3.0, 2.0, 0.5, new CellState(), 1.0, -1.0);
+		sharing.shareValues(flatCellGrid);
+		assertTrue(sharing.isShared());
+		assertThat(sharing.getValue(1, 2), equalTo(flatCellGrid.getValue(1, 2)));
+
+		double potential = flatCellGrid.getPotential(1, 2);
+		sharing.setPotential(1, 2, 42.0);
+		assertFalse(sharing.isShared());
+		assertThat(sharing.getPotential(1, 2), equalTo(42.0));
+		assertThat(flatCellGrid.getPotential(1, 2), equalTo(potential));
+		assertThat(sharing.getPotential(0, 1), equalTo(flatCellGrid.getPotential(0, 1)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSharingRequiresSameGeometry() {
+		new FlatCellGrid(3.0, 2.0, 0.5, new CellState()).shareValues(flatCellGrid);
+	}
+
+	@Test
+	public void testValuesFromBuffers() {
+		int size = flatCellGrid.getNumPointsX() * flatCellGrid.getNumPointsY();
+		DoubleBuffer potentials = DoubleBuffer.allocate(size);
+		ByteBuffer tags = ByteBuffer.allocate(size);
+		for (int row = 0; row < flatCellGrid.getNumPointsY(); row++) {
+			for (int col = 0; col < flatCellGrid.getNumPointsX(); col++) {
+				potentials.put(flatCellGrid.getPotential(col, row));
+				tags.put((byte) flatCellGrid.getTag(col, row).ordinal());
+			}
+		}
+
+		FlatCellGrid buffered = new FlatCellGrid(3.0, 2.0, 0.5, new CellState(), 1.0, -1.0);
+		buffered.shareValues(potentials, tags);
+		assertThat(buffered.asTable().toString(), equalTo(flatCellGrid.asTable().toString()));
+		assertThat(buffered.clone().asTable().toString(), equalTo(flatCellGrid.asTable().toString()));
+
+		buffered.setTag(1, 2, PathFindingTag.Obstacle);
+		assertFalse(buffered.isShared());
+		assertThat(buffered.getTag(1, 2), equalTo(PathFindingTag.Obstacle));
+		assertThat(buffered.getPotential(1, 2), equalTo(flatCellGrid.getPotential(1, 2)));
+		assertThat(tags.get(buffered.index(1, 2)), equalTo((byte) flatCellGrid.getTag(1, 2).ordinal()));
+	}
+}
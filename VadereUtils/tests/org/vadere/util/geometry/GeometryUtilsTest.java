@@ -1,6 +1,7 @@
 package org.vadere.util.geometry;
 
 import org.junit.Test;
+import org.vadere.util.geometry.shapes.VCircle;
 import org.vadere.util.geometry.shapes.VLine;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VPolygon;
@@ -8,6 +9,8 @@ import org.vadere.util.geometry.shapes.VRectangle;
 import org.vadere.util.geometry.shapes.VShape;
 
 import java.awt.geom.Path2D;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -130,4 +133,20 @@ public class GeometryUtilsTest {
 		assertTrue("Centroid Center and CircumCircle Center not the same for VRectangle", Math.abs(diff.y) < 0.001);
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testDiscDiscretizationPointsIntoArray() {
+		VCircle circle = new VCircle(new VPoint(3.5, -1.2), 0.8);
+		int n = GeometryUtils.getNumberOfDiscDiscretizationPoints(circle, 4, 18, Math.PI / 3);
+		List<VPoint> points = GeometryUtils.getDiscDiscretizationPoints(new Random(42), true, circle, 4, 18, 0.3, Math.PI / 3);
+		double[] coordinates = new double[2 * n + 2];
+		int m = GeometryUtils.getDiscDiscretizationPoints(new Random(42), true, circle, 4, 18, 0.3, Math.PI / 3, coordinates);
+
+		assertEquals(points.size(), n);
+		assertEquals(n, m);
+		for (int i = 0; i < n; i++) {
+			assertEquals(points.get(i).x, coordinates[2 * i], 0.0);
+			assertEquals(points.get(i).y, coordinates[2 * i + 1], 0.0);
+		}
+	}
+
+}
@@ -4,10 +4,13 @@ import org.junit.Before;
 import org.junit.Test;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.logging.Logger;
+import org.vadere.util.parallel.ParallelLoop;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -373,6 +376,71 @@ public class TestLinkedCellsGrid {
 				linkedCellsInteger.contains(coordinatedInteger4));
 	}
 
+	/**
+	 * Test method for {@link LinkedCellsGrid#rebuildPackedCells(ParallelLoop)}. The queries
+	 * on the packed cells have to return the same objects in the same order as the queries on the
+	 * linked cells, and modifications have to be visible after the rebuild.
+	 */
+	@Test
+	public void testPackedCells() {
+		fillGrid(linkedCellsInteger, 2500);
+		Random random = new Random(0);
+		VPoint[] searchPositions = new VPoint[100];
+		double[] radii = new double[searchPositions.length];
+		List<List<CoordinatedInteger>> expected = new ArrayList<>();
+		for (int i = 0; i < searchPositions.length; i++) {
+			searchPositions[i] = new VPoint(random.nextDouble() * width, random.nextDouble() * height);
+			radii[i] = random.nextDouble() * 10;
+			expected.add(linkedCellsInteger.getObjects(searchPositions[i], radii[i]));
+		}
+
+		ParallelLoop parallelLoop = new ParallelLoop(4);
+		linkedCellsInteger.rebuildPackedCells(parallelLoop);
+		parallelLoop.shutdown();
+
+		for (int i = 0; i < searchPositions.length; i++) {
+			List<CoordinatedInteger> visited = new ArrayList<>();
+			linkedCellsInteger.forEachObject(searchPositions[i], radii[i], visited::add);
+			assertEquals(expected.get(i), visited);
+			assertEquals(expected.get(i), linkedCellsInteger.getObjects(searchPositions[i], radii[i]));
+		}
+
+		CoordinatedInteger coordinatedInteger = new CoordinatedInteger(int1, new VPoint(50.5, 50.5));
+		linkedCellsInteger.addObject(coordinatedInteger);
+		assertTrue(linkedCellsInteger.getObjects(coordinatedInteger.getPosition(), 0.1).contains(coordinatedInteger));
+
+		linkedCellsInteger.rebuildPackedCells();
+		linkedCellsInteger.removeObject(coordinatedInteger);
+		assertFalse(linkedCellsInteger.getObjects(coordinatedInteger.getPosition(), 0.1).contains(coordinatedInteger));
+	}
+
+	/**
+	 * Test method for {@link LinkedCellsGrid#updateCells()}. Objects whose position changed
+	 * without a call of moveObject have to be found at their new position afterwards.
+	 */
+	@Test
+	public void testUpdateCells() {
+		NotComparableObject movingObject = new NotComparableObject(1, new VPoint(10.5, 10.5));
+		NotComparableObject fixedObject = new NotComparableObject(2, new VPoint(20.5, 20.5));
+		linkedCellsObject.addObject(movingObject);
+		linkedCellsObject.addObject(fixedObject);
+
+		movingObject.coord = new VPoint(10.7, 10.7);
+		assertEquals(0, linkedCellsObject.updateCells());
+
+		movingObject.coord = new VPoint(30.5, 30.5);
+		assertEquals(1, linkedCellsObject.updateCells());
+		assertEquals(2, linkedCellsObject.size());
+		assertTrue(linkedCellsObject.getObjects(new VPoint(30.5, 30.5), 0.1).contains(movingObject));
+		assertTrue(linkedCellsObject.getObjects(new VPoint(20.5, 20.5), 0.1).contains(fixedObject));
+
+		VPoint oldPosition = movingObject.coord;
+		movingObject.coord = new VPoint(40.5, 40.5);
+		linkedCellsObject.moveObject(movingObject, oldPosition);
+		assertEquals(0, linkedCellsObject.updateCells());
+		assertTrue(linkedCellsObject.getObjects(new VPoint(40.5, 40.5), 0.1).contains(movingObject));
+	}
+
 	/**
 	 * Test method for the complexity of
 	 * {@link LinkedCellsGrid#getObjects(VPoint, double)}. Should be O(1).
@@ -0,0 +1,106 @@
+package org.vadere.util.io;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.util.data.Row;
+import org.vadere.util.data.Table;
+import org.vadere.util.io.ColumnarTableWriter.ColumnType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class TestColumnarTable {
+
+	private static final String[] COLUMN_NAMES = {"pedestrianId", "simTime", "endTime-PID1", "targetId-PID2", "selfCategory-PID3"};
+	private static final ColumnType[] COLUMN_TYPES = {ColumnType.INT, ColumnType.DOUBLE, ColumnType.DOUBLE, ColumnType.STRING, ColumnType.STRING};
+	private static final String[] CATEGORIES = {"TARGET_ORIENTED", "COOPERATIVE", "INSIDE_THREAT_AREA"};
+	private static final int NUMBER_OF_ROWS = 25;
+	private static final int CHUNK_SIZE = 4;
+
+	private byte[] bytes;
+
+	@Before
+	public void setUp() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ColumnarTableWriter writer = new ColumnarTableWriter(out, COLUMN_NAMES, COLUMN_TYPES, 2, CHUNK_SIZE)) {
+			for (int row = 0; row < NUMBER_OF_ROWS; row++) {
+				writer.setInt(0, row % 7);
+				writer.setDouble(1, row * 0.4);
+				writer.setDouble(2, row * 0.4 + 0.25);
+				writer.setString(3, row % 5 == 0 ? "NA" : Integer.toString(row % 3));
+				writer.setString(4, CATEGORIES[row % CATEGORIES.length]);
+				writer.endRow();
+			}
+		}
+		bytes = out.toByteArray();
+	}
+
+	@Test
+	public void testReadTable() throws IOException {
+		try (ColumnarTableReader reader = new ColumnarTableReader(new ByteArrayInputStream(bytes))) {
+			assertThat(reader.getColumnNames(), equalTo(COLUMN_NAMES));
+			assertThat(reader.getIndexColumnCount(), equalTo(2));
+			Table table = reader.readTable();
+			assertThat(table.size(), equalTo(NUMBER_OF_ROWS));
+
+			Iterator<Row> rows = table.iterator();
+			for (int row = 0; row < NUMBER_OF_ROWS; row++) {
+				Row entry = rows.next();
+				assertThat(entry.getEntry("pedestrianId"), equalTo(row % 7));
+				assertThat(entry.getEntry("simTime"), equalTo(row * 0.4));
+				assertThat(entry.getEntry("endTime-PID1"), equalTo(row * 0.4 + 0.25));
+				assertThat(entry.getEntry("selfCategory-PID3"), equalTo(CATEGORIES[row % CATEGORIES.length]));
+			}
+		}
+	}
+
+	@Test
+	public void testReadSelectedColumns() throws IOException {
+		try (ColumnarTableReader reader = new ColumnarTableReader(new ByteArrayInputStream(bytes))) {
+			Table table = reader.readTable("simTime", "pedestrianId");
+			assertThat(table.getColumnNames(), equalTo(new String[]{"simTime", "pedestrianId"}));
+			assertThat(table.size(), equalTo(NUMBER_OF_ROWS));
+		}
+	}
+
+	@Test
+	public void testReadDataFrame() throws IOException {
+		try (ColumnarTableReader reader = new ColumnarTableReader(new ByteArrayInputStream(bytes))) {
+			tech.tablesaw.api.Table dataFrame = reader.readDataFrame("trajectories");
+			assertThat(dataFrame.columnNames(), equalTo(Arrays.asList(COLUMN_NAMES)));
+			assertThat(dataFrame.rowCount(), equalTo(NUMBER_OF_ROWS));
+			// numeric strings are converted like tablesaw does for text files
+			assertThat(dataFrame.column(3).type(), equalTo(tech.tablesaw.api.ColumnType.INTEGER));
+			assertThat(dataFrame.column(4).type(), equalTo(tech.tablesaw.api.ColumnType.STRING));
+			for (int row = 0; row < NUMBER_OF_ROWS; row++) {
+				assertThat(dataFrame.intColumn(0).getInt(row), equalTo(row % 7));
+				assertThat(dataFrame.doubleColumn(2).getDouble(row), equalTo(row * 0.4 + 0.25));
+				assertThat(dataFrame.intColumn(3).isMissing(row), equalTo(row % 5 == 0));
+				if (row % 5 != 0) {
+					assertThat(dataFrame.intColumn(3).getInt(row), equalTo(row % 3));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testIncompleteTableIsReadUpToTheLastCompleteChunk() throws IOException {
+		// the last chunk and the end are cut off
+		byte[] truncated = Arrays.copyOf(bytes, bytes.length - 10);
+		try (ColumnarTableReader reader = new ColumnarTableReader(new ByteArrayInputStream(truncated))) {
+			Table table = reader.readTable();
+			assertThat(table.size(), equalTo(NUMBER_OF_ROWS / CHUNK_SIZE * CHUNK_SIZE));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testTextIsRejected() throws IOException {
+		new ColumnarTableReader(new ByteArrayInputStream("pedestrianId simTime\n1 0.4\n".getBytes()));
+	}
+}
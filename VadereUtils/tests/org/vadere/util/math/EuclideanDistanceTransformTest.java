@@ -0,0 +1,60 @@
+package org.vadere.util.math;
+
+import org.junit.Test;
+import org.vadere.util.parallel.ParallelLoop;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EuclideanDistanceTransformTest {
+
+	@Test
+	public void testSquaredDistancesEqualBruteForce() {
+		Random random = new Random(0);
+		ParallelLoop parallelLoop = new ParallelLoop(4);
+		try {
+			for (int i = 0; i < 20; i++) {
+				int width = 1 + random.nextInt(40);
+				int height = 1 + random.nextInt(40);
+				boolean[] features = new boolean[width * height];
+				for (int j = 0; j < features.length; j++) {
+					features[j] = random.nextDouble() < 0.05;
+				}
+
+				double[] distances = EuclideanDistanceTransform.squaredDistances(features, width, height, i % 2 == 0 ? null : parallelLoop);
+
+				for (int y = 0; y < height; y++) {
+					for (int x = 0; x < width; x++) {
+						double expected = bruteForce(features, width, height, x, y);
+						if (expected == Double.MAX_VALUE) {
+							assertTrue(distances[y * width + x] >= EuclideanDistanceTransform.INFINITY);
+						} else {
+							assertEquals(expected, distances[y * width + x], 0.0);
+						}
+					}
+				}
+			}
+		} finally {
+			parallelLoop.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWrongImageSize() {
+		EuclideanDistanceTransform.squaredDistances(new boolean[5], 2, 2, null);
+	}
+
+	private static double bruteForce(final boolean[] features, final int width, final int height, final int x, final int y) {
+		double min = Double.MAX_VALUE;
+		for (int yy = 0; yy < height; yy++) {
+			for (int xx = 0; xx < width; xx++) {
+				if (features[yy * width + xx]) {
+					min = Math.min(min, (x - xx) * (x - xx) + (y - yy) * (y - yy));
+				}
+			}
+		}
+		return min;
+	}
+}
@@ -0,0 +1,56 @@
+package org.vadere.util.parallel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelLoopTest {
+
+	private ParallelLoop parallelLoop;
+
+	@Before
+	public void setUp() {
+		parallelLoop = new ParallelLoop(4);
+	}
+
+	@After
+	public void tearDown() {
+		parallelLoop.shutdown();
+	}
+
+	@Test
+	public void testEachIndexIsVisitedOnce() {
+		for (int n : new int[]{0, 1, 3, 17, 1000}) {
+			AtomicIntegerArray visits = new AtomicIntegerArray(n);
+			parallelLoop.forEach(n, i -> visits.incrementAndGet(i));
+			for (int i = 0; i < n; i++) {
+				assertEquals(1, visits.get(i));
+			}
+		}
+	}
+
+	@Test
+	public void testWritesAreVisibleAfterLoop() {
+		int n = 10000;
+		double[] values = new double[n];
+		parallelLoop.forEach(n, i -> values[i] = i * 0.5);
+		double sum = 0;
+		for (double value : values) {
+			sum += value;
+		}
+		assertEquals(0.5 * n * (n - 1) / 2.0, sum, 1e-9);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testExceptionsArePropagated() {
+		parallelLoop.forEach(100, i -> {
+			if (i == 42) {
+				throw new IllegalStateException();
+			}
+		});
+	}
+}